@@ -1,12 +1,10 @@
 package de.gdv.bsm.intern.applic;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.PrintStream;
 import java.util.List;
 import java.util.Optional;
 
+import de.gdv.bsm.intern.csv.CsvWriter;
 import de.gdv.bsm.intern.rechnung.Mittelwerte;
 import de.gdv.bsm.intern.rechnung.RechenThread;
 
@@ -61,8 +59,7 @@ public class AusgabThreadMittelwerte implements AusgabeThread {
 			master.ausgabeReady(this);
 			return;
 		}
-		try (final PrintStream out = new PrintStream(
-				new BufferedOutputStream(new FileOutputStream(fileName), 8 * 1024))) {
+		try (final CsvWriter out = new CsvWriter(fileName)) {
 			boolean first = true;
 			for (String f : mittelwerte.get(0).getTitleDruckZeile1()) {
 				out.print((first ? "" : ";") + f);
@@ -1,16 +1,10 @@
 package de.gdv.bsm.intern.applic;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.PrintStream;
-import java.lang.reflect.Field;
-import java.text.DecimalFormat;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import de.gdv.bsm.intern.csv.CsvWriter;
 import de.gdv.bsm.intern.rechnung.RechenThread;
 
 /**
@@ -36,9 +30,9 @@ public class AusgabeThreadTableField implements AusgabeThread {
 	private final RechenThread master;
 	private final RechenFortschrittInterface rechenFortschritt;
 	private final Class<?> klasse;
-	private final List<?> data;
+	private final TableFieldDaten data;
 	private final File fileName;
-	private final List<Field> dataFields;
+	private final List<TableFieldZugriff.Spalte> dataFields;
 
 	private Optional<Throwable> error = Optional.empty();
 
@@ -58,58 +52,58 @@ public class AusgabeThreadTableField implements AusgabeThread {
 	 */
 	public AusgabeThreadTableField(final RechenThread master, final RechenFortschrittInterface rechenFortschritt,
 			final Class<?> klasse, final List<?> data, final File fileName) {
+		this(master, rechenFortschritt, klasse, TableFieldDaten.von(data), fileName);
+	}
+
+	/**
+	 * Erstelle ein Runnable fr Zeilen, die nicht als Objekte der Zeilenklasse vorliegen.
+	 * 
+	 * @param master
+	 *            kontrollierender Prozess
+	 * @param rechenFortschritt
+	 *            fr die Ausgabe von Prozentangaben
+	 * @param klasse
+	 *            Basisklasse fr die {@link TableField}-Annotationen
+	 * @param data
+	 *            die auszugebenden Zeilen
+	 * @param fileName
+	 *            die Ausgabedatei
+	 */
+	public AusgabeThreadTableField(final RechenThread master, final RechenFortschrittInterface rechenFortschritt,
+			final Class<?> klasse, final TableFieldDaten data, final File fileName) {
 		this.master = master;
 		this.rechenFortschritt = rechenFortschritt;
 		this.klasse = klasse;
 		this.data = data;
 		this.fileName = fileName;
-
-		final List<Field> dataFields = new ArrayList<>();
-		for (Field f : klasse.getDeclaredFields()) {
-			final TableField tf = f.getAnnotation(TableField.class);
-			if (tf != null) {
-				dataFields.add(f);
-			}
-		}
-		this.dataFields = Collections.unmodifiableList(dataFields);
+		this.dataFields = TableFieldZugriff.fuer(klasse).getSpalten();
 	}
 
 	@Override
 	public void run() {
-		try (final PrintStream out = new PrintStream(
-				new BufferedOutputStream(new FileOutputStream(fileName), 8 * 1024))) {
-			final List<Boolean> accessible = new ArrayList<>();
-
+		try (final CsvWriter out = new CsvWriter(fileName)) {
 			boolean first = true;
-			for (Field f : dataFields) {
-				accessible.add(f.isAccessible());
-				f.setAccessible(true);
+			for (TableFieldZugriff.Spalte f : dataFields) {
 				out.print((first ? "" : ";") + f.getName());
 				first = false;
 			}
 			out.println();
 
-			final DecimalFormat df = new DecimalFormat("#.##############################");
-
 			int lastPercent = 0;
 			int anzahl = 0;
-			for (Object zeile : data) {
+			for (int zeile = 0; zeile < data.size(); ++zeile) {
 				first = true;
-				for (Field f : dataFields) {
+				for (TableFieldZugriff.Spalte f : dataFields) {
 					if (!first)
 						out.print(';');
-					final TableField tf = f.getAnnotation(TableField.class);
-					if (tf == null || !tf.suppress()) {
-						final Object data = f.get(zeile);
+					if (!f.getTableField().suppress()) {
 						first = false;
-						if (data instanceof Double) {
-							double d = ((Double) data).doubleValue();
-							if (Double.isFinite(d))
-								out.print(df.format(d));
-							else
-								out.print("0");
+						if (f.getTyp() == double.class) {
+							out.printWert(data.getDouble(zeile, f));
+						} else if (f.getTyp() == int.class) {
+							out.print(data.getInt(zeile, f));
 						} else {
-							out.print(data.toString());
+							out.print(data.get(zeile, f).toString());
 						}
 					}
 				}
@@ -121,12 +115,6 @@ public class AusgabeThreadTableField implements AusgabeThread {
 					lastPercent = percent;
 				}
 			}
-
-			// zugriffsmglichkeit wieder zurcksetzen:
-			for (int i = 0; i < dataFields.size(); ++i) {
-				dataFields.get(i).setAccessible(accessible.get(i));
-			}
-
 		} catch (
 
 		Throwable e)
@@ -1,12 +1,12 @@
 package de.gdv.bsm.intern.applic;
 
 import java.util.List;
-import java.util.TreeMap;
 
 import de.gdv.bsm.intern.rechnung.Mittelwerte;
 import de.gdv.bsm.vu.berechnung.Berechnung;
 import de.gdv.bsm.vu.kennzahlen.KennzahlenPfadweise;
 import de.gdv.bsm.vu.kennzahlen.KennzahlenPfadweiseLoB;
+import de.gdv.bsm.vu.kennzahlen.PfadErgebnisse;
 
 /**
  * Das Resultat einer Berechnung.
@@ -28,8 +28,7 @@ import de.gdv.bsm.vu.kennzahlen.KennzahlenPfadweiseLoB;
  */
 public class BerechnungResultat {
 	private final Berechnung letzteBerechnung;
-	private final TreeMap<Integer, TreeMap<Integer, KennzahlenPfadweise>> kennzahlenPfadweise;
-	private final TreeMap<Integer, TreeMap<Integer, List<KennzahlenPfadweiseLoB>>> kennzahlenPfadweiseLoB;
+	private final PfadErgebnisse pfadErgebnisse;
 	private final List<Mittelwerte> mittelwerte;
 
 	/**
@@ -37,21 +36,16 @@ public class BerechnungResultat {
 	 * 
 	 * @param letzteBerechnung
 	 *            Daten der letzten Berechnung
-	 * @param kennzahlenPfadweise
-	 *            die Pfadweise ermittelten Kennzeichen
-	 * @param kennzahlenPfadweiseLoB
-	 *            die ermittelten Kennzahlen pro Line of Business
+	 * @param pfadErgebnisse
+	 *            die Pfadweise ermittelten Kennzahlen, gesamt und pro Line of Business
 	 * @param mittelwerte
 	 *            die Ermittelten Mittelwerte pro Zeit (alle Pfade)
 	 */
 	public BerechnungResultat(final Berechnung letzteBerechnung,
-			final TreeMap<Integer, TreeMap<Integer, KennzahlenPfadweise>> kennzahlenPfadweise,
-			final TreeMap<Integer, TreeMap<Integer, List<KennzahlenPfadweiseLoB>>> kennzahlenPfadweiseLoB,
-			final List<Mittelwerte> mittelwerte) {
+			final PfadErgebnisse pfadErgebnisse, final List<Mittelwerte> mittelwerte) {
 		super();
 		this.letzteBerechnung = letzteBerechnung;
-		this.kennzahlenPfadweise = kennzahlenPfadweise;
-		this.kennzahlenPfadweiseLoB = kennzahlenPfadweiseLoB;
+		this.pfadErgebnisse = pfadErgebnisse;
 		this.mittelwerte = mittelwerte;
 	}
 
@@ -65,21 +59,22 @@ public class BerechnungResultat {
 	}
 
 	/**
-	 * Die Pfadweisen Kennzahlen
+	 * Die Pfadweisen Kennzahlen als Zeilen von {@link KennzahlenPfadweise}, sortiert nach Szenario und Pfad.
 	 * 
 	 * @return the kennzahlenPfadweise
 	 */
-	public TreeMap<Integer, TreeMap<Integer, KennzahlenPfadweise>> getKennzahlenPfadweise() {
-		return kennzahlenPfadweise;
+	public TableFieldDaten getKennzahlenPfadweise() {
+		return pfadErgebnisse.getKennzahlenPfadweise(false);
 	}
 
 	/**
-	 * Pfadweise Kennzahlen auf LoB Basis.
+	 * Pfadweise Kennzahlen auf LoB Basis als Zeilen von {@link KennzahlenPfadweiseLoB}, sortiert nach Szenario und
+	 * Pfad.
 	 * 
 	 * @return the kennzahlenPfadweiseLoB
 	 */
-	public TreeMap<Integer, TreeMap<Integer, List<KennzahlenPfadweiseLoB>>> getKennzahlenPfadweiseLoB() {
-		return kennzahlenPfadweiseLoB;
+	public TableFieldDaten getKennzahlenPfadweiseLoB() {
+		return pfadErgebnisse.getKennzahlenPfadweiseLoB(false);
 	}
 
 	/**
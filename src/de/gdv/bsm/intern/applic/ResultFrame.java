@@ -98,29 +98,13 @@ public class ResultFrame extends JFrame {
 		final JTable aggTable = new FieldTable(agg);
 		center.add("agg", new JScrollPane(aggTable));
 
-		final List<KennzahlenPfadweise> kennzahlenPfadweise = new ArrayList<>();
-		for (int i : berechnungResultat.getKennzahlenPfadweise().keySet()) {
-			final Map<Integer, KennzahlenPfadweise> kp = berechnungResultat.getKennzahlenPfadweise().get(i);
-			for (int j : kp.keySet()) {
-				kennzahlenPfadweise.add(kp.get(j));
-			}
-		}
-
 		final TableFieldModel<KennzahlenPfadweise> kennzPfad = new TableFieldModel<KennzahlenPfadweise>(
-				kennzahlenPfadweise, KennzahlenPfadweise.class);
+				berechnungResultat.getKennzahlenPfadweise(), KennzahlenPfadweise.class);
 		final JTable kennzPfadTable = new FieldTable(kennzPfad);
 		center.add("Kennzahlen Pfadweise", new JScrollPane(kennzPfadTable));
 
-		final List<KennzahlenPfadweiseLoB> kennzahlenPfadweiseLoB = new ArrayList<>();
-		for (int i : berechnungResultat.getKennzahlenPfadweiseLoB().keySet()) {
-			final Map<Integer, List<KennzahlenPfadweiseLoB>> kp = berechnungResultat.getKennzahlenPfadweiseLoB().get(i);
-			for (int j : kp.keySet()) {
-				kennzahlenPfadweiseLoB.addAll(kp.get(j));
-			}
-		}
-
 		final TableFieldModel<KennzahlenPfadweiseLoB> kennzPfadLoB = new TableFieldModel<KennzahlenPfadweiseLoB>(
-				kennzahlenPfadweiseLoB, KennzahlenPfadweiseLoB.class);
+				berechnungResultat.getKennzahlenPfadweiseLoB(), KennzahlenPfadweiseLoB.class);
 		final JTable kennzPfadLobTable = new FieldTable(kennzPfadLoB);
 		center.add("Kennzahlen Pfadweise LoB", new JScrollPane(kennzPfadLobTable));
 
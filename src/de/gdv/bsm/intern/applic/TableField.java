@@ -63,6 +63,15 @@ public @interface TableField {
 	 */
 	public boolean checkFinite() default true;
 
+	/**
+	 * Geht dieses Feld in keine Formel, keine Kennzahl und keinen Mittelwert ein, sondern nur in die Ausgabe der
+	 * Zeilen? Solche Felder werden bei {@link de.gdv.bsm.intern.params.Eingabe#isNurKennzahlen()} nur fr die
+	 * ausgegebenen Pfade berechnet und sonst auf NaN gesetzt.
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean nurAusgabe() default false;
+
 	/**
 	 * Feldname in {@link KennzahlenPfadweise} des CV Feldes. Fr Felder aus {@link KennzahlenPfadweise} und
 	 * {@link KennzahlenPfadweiseLoB} wird dies als CV verwendet (siehe die Definition im Excel-Blatt
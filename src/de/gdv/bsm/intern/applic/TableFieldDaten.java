@@ -0,0 +1,96 @@
+package de.gdv.bsm.intern.applic;
+
+import java.util.List;
+
+/**
+ * Zeilen einer Tabelle, deren Spalten durch die {@link TableField}-Annotationen einer Zeilenklasse beschrieben werden.
+ * Die Zeilen mssen nicht als Objekte dieser Klasse vorliegen; so knnen {@link AusgabeThreadTableField} und
+ * {@link TableFieldModel} auch flach abgelegte Stze direkt lesen.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public interface TableFieldDaten {
+
+	/**
+	 * Anzahl der Zeilen.
+	 * 
+	 * @return die Anzahl
+	 */
+	public int size();
+
+	/**
+	 * Lese den Wert eines double- oder int-Feldes.
+	 * 
+	 * @param zeile
+	 *            die Zeile
+	 * @param spalte
+	 *            die Spalte der Zeilenklasse
+	 * @return der Wert
+	 */
+	public double getDouble(final int zeile, final TableFieldZugriff.Spalte spalte);
+
+	/**
+	 * Lese den Wert eines int-Feldes.
+	 * 
+	 * @param zeile
+	 *            die Zeile
+	 * @param spalte
+	 *            die Spalte der Zeilenklasse
+	 * @return der Wert
+	 */
+	public int getInt(final int zeile, final TableFieldZugriff.Spalte spalte);
+
+	/**
+	 * Lese den Wert eines beliebigen Feldes, primitive Werte werden dabei verpackt.
+	 * 
+	 * @param zeile
+	 *            die Zeile
+	 * @param spalte
+	 *            die Spalte der Zeilenklasse
+	 * @return der Wert
+	 */
+	public Object get(final int zeile, final TableFieldZugriff.Spalte spalte);
+
+	/**
+	 * Die Zeilen einer Liste von Objekten der Zeilenklasse.
+	 * 
+	 * @param zeilen
+	 *            die Objekte
+	 * @return die Zeilen
+	 */
+	public static TableFieldDaten von(final List<?> zeilen) {
+		return new TableFieldDaten() {
+			@Override
+			public int size() {
+				return zeilen.size();
+			}
+
+			@Override
+			public double getDouble(final int zeile, final TableFieldZugriff.Spalte spalte) {
+				return spalte.getDouble(zeilen.get(zeile));
+			}
+
+			@Override
+			public int getInt(final int zeile, final TableFieldZugriff.Spalte spalte) {
+				return spalte.getInt(zeilen.get(zeile));
+			}
+
+			@Override
+			public Object get(final int zeile, final TableFieldZugriff.Spalte spalte) {
+				return spalte.get(zeilen.get(zeile));
+			}
+		};
+	}
+}
@@ -1,6 +1,5 @@
 package de.gdv.bsm.intern.applic;
 
-import java.lang.reflect.Field;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
@@ -32,9 +31,8 @@ import javax.swing.event.TableModelListener;
  *
  */
 public class TableFieldModel<T> implements SizedTableModel {
-	private final List<T> data;
-	private final List<Field> dataFields;
-	private final List<String> excelColumns;
+	private final TableFieldDaten data;
+	private final List<TableFieldZugriff.Spalte> dataFields;
 
 	/**
 	 * Erstelle ein Modell aus den Daten.
@@ -45,33 +43,27 @@ public class TableFieldModel<T> implements SizedTableModel {
 	 *            die zugehrige Klasse
 	 */
 	public TableFieldModel(final List<T> data, final Class<T> dataClass) {
+		this(TableFieldDaten.von(data), dataClass);
+	}
+
+	/**
+	 * Erstelle ein Modell aus Zeilen, die nicht als Objekte der Klasse vorliegen.
+	 * 
+	 * @param data
+	 *            die Zeilen
+	 * @param dataClass
+	 *            die Klasse, deren Annotationen die Spalten beschreiben
+	 */
+	public TableFieldModel(final TableFieldDaten data, final Class<T> dataClass) {
 		this.data = data;
 
-		char excelFirstChar = ' ';
-		char excelChar = 'A';
-
-		final List<Field> dataFields = new ArrayList<>();
-		final List<String> excelColumns = new ArrayList<>();
-		for (Field f : dataClass.getDeclaredFields()) {
-			final TableField tf = f.getAnnotation(TableField.class);
-			if (tf != null) {
-				if (!tf.suppress()) {
-					dataFields.add(f);
-					excelColumns.add((excelFirstChar == ' ' ? "" : String.valueOf(excelFirstChar)) + excelChar);
-				}
-				if (excelChar == 'Z') {
-					if (excelFirstChar == ' ')
-						excelFirstChar = 'A';
-					else
-						++excelFirstChar;
-					excelChar = 'A';
-				} else {
-					++excelChar;
-				}
+		final List<TableFieldZugriff.Spalte> dataFields = new ArrayList<>();
+		for (TableFieldZugriff.Spalte f : TableFieldZugriff.fuer(dataClass).getSpalten()) {
+			if (!f.getTableField().suppress()) {
+				dataFields.add(f);
 			}
 		}
 		this.dataFields = Collections.unmodifiableList(dataFields);
-		this.excelColumns = Collections.unmodifiableList(excelColumns);
 	}
 
 	/**
@@ -95,7 +87,7 @@ public class TableFieldModel<T> implements SizedTableModel {
 				}
 			} else if (v instanceof Double) {
 				int size = String.format("%,8.0f", (double) v).length()
-						+ dataFields.get(column).getAnnotation(TableField.class).nachKomma() + 1;
+						+ dataFields.get(column).getTableField().nachKomma() + 1;
 				if (size > width) {
 					width = size;
 				}
@@ -116,12 +108,13 @@ public class TableFieldModel<T> implements SizedTableModel {
 
 	@Override
 	public String getColumnName(int columnIndex) {
-		return "<html>" + dataFields.get(columnIndex).getName() + "<br/>(" + excelColumns.get(columnIndex) + ")</html>";
+		return "<html>" + dataFields.get(columnIndex).getName() + "<br/>(" + dataFields.get(columnIndex).getExcelSpalte()
+				+ ")</html>";
 	}
 
 	@Override
 	public Class<?> getColumnClass(int columnIndex) {
-		return dataFields.get(columnIndex).getType();
+		return dataFields.get(columnIndex).getTyp();
 	}
 
 	@Override
@@ -131,17 +124,7 @@ public class TableFieldModel<T> implements SizedTableModel {
 
 	@Override
 	public Object getValueAt(int rowIndex, int columnIndex) {
-		final Field f = dataFields.get(columnIndex);
-		final boolean acc = f.isAccessible();
-		f.setAccessible(true);
-		final Object v = data.get(rowIndex);
-		Object value = "?";
-		try {
-			value = f.get(v);
-		} catch (IllegalArgumentException | IllegalAccessException e) {
-		}
-		f.setAccessible(acc);
-		return value;
+		return data.get(rowIndex, dataFields.get(columnIndex));
 	}
 
 	@Override
@@ -164,11 +147,7 @@ public class TableFieldModel<T> implements SizedTableModel {
 	 * @return die Stellen
 	 */
 	public int getNachkommaStellen(final int column) {
-		final TableField anno = dataFields.get(column).getAnnotation(TableField.class);
-		if (anno != null) {
-			return anno.nachKomma();
-		}
-		return 1;
+		return dataFields.get(column).getTableField().nachKomma();
 	}
 
 	/**
@@ -179,11 +158,7 @@ public class TableFieldModel<T> implements SizedTableModel {
 	 * @return die Stellen
 	 */
 	public boolean isPercent(final int column) {
-		final TableField anno = dataFields.get(column).getAnnotation(TableField.class);
-		if (anno != null) {
-			return anno.percent();
-		}
-		return false;
+		return dataFields.get(column).getTableField().percent();
 	}
 
 	/**
@@ -205,7 +180,7 @@ public class TableFieldModel<T> implements SizedTableModel {
 		} else {
 			value = String.valueOf(v);
 		}
-		return value + " (" + excelColumns.get(column) + ")";
+		return value + " (" + dataFields.get(column).getExcelSpalte() + ")";
 	}
 
 }
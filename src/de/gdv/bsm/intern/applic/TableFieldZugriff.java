@@ -0,0 +1,260 @@
+package de.gdv.bsm.intern.applic;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zugriff auf die mit {@link TableField} markierten Felder einer Zeilenklasse. Die Felder werden je Klasse einmal
+ * ermittelt und ber {@link MethodHandle}s gebunden; danach erfolgt der Zugriff ohne weitere Reflection, ohne
+ * Zugriffsprfung und fr double- und int-Felder ohne Boxing.
+ * <p/>
+ * Die Spalten stehen in der Reihenfolge der Deklaration, einschlielich der mit {@link TableField#suppress()}
+ * unterdrckten Felder. Die Excel-Spalte ergibt sich aus dieser Reihenfolge (A, B, ..., Z, AA, AB, ...).
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public final class TableFieldZugriff {
+	// Zugriffe je Klasse, sie werden nur einmal aufgebaut
+	private static final Map<Class<?>, TableFieldZugriff> zugriffe = new ConcurrentHashMap<>();
+
+	private final Class<?> klasse;
+	private final List<Spalte> spalten;
+
+	private TableFieldZugriff(final Class<?> klasse) {
+		this.klasse = klasse;
+		final List<Spalte> spalten = new ArrayList<>();
+		for (Field field : klasse.getDeclaredFields()) {
+			final TableField tf = field.getAnnotation(TableField.class);
+			if (tf != null && !Modifier.isStatic(field.getModifiers())) {
+				spalten.add(new Spalte(field, tf, spalten.size()));
+			}
+		}
+		this.spalten = Collections.unmodifiableList(spalten);
+	}
+
+	/**
+	 * Der Zugriff auf die Felder einer Klasse.
+	 * 
+	 * @param klasse
+	 *            die Zeilenklasse
+	 * @return der Zugriff
+	 */
+	public static TableFieldZugriff fuer(final Class<?> klasse) {
+		return zugriffe.computeIfAbsent(klasse, TableFieldZugriff::new);
+	}
+
+	/**
+	 * @return die Zeilenklasse
+	 */
+	public Class<?> getKlasse() {
+		return klasse;
+	}
+
+	/**
+	 * Alle mit {@link TableField} markierten Felder in der Reihenfolge der Deklaration.
+	 * 
+	 * @return die Spalten
+	 */
+	public List<Spalte> getSpalten() {
+		return spalten;
+	}
+
+	/**
+	 * Suche eine Spalte ber den Feldnamen.
+	 * 
+	 * @param name
+	 *            der Feldname
+	 * @return die Spalte
+	 */
+	public Spalte getSpalte(final String name) {
+		for (Spalte s : spalten) {
+			if (s.name.equals(name)) {
+				return s;
+			}
+		}
+		throw new IllegalArgumentException("Das Feld " + name + " ist in " + klasse.getSimpleName() + " unbekannt.");
+	}
+
+	/**
+	 * Bezeichnung der Excel-Spalte zu einem Index.
+	 * 
+	 * @param index
+	 *            der Index, beginnend mit 0
+	 * @return die Spalte (A, B, ..., Z, AA, AB, ...)
+	 */
+	public static String excelSpalte(final int index) {
+		final StringBuilder sb = new StringBuilder();
+		for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+			sb.insert(0, (char) ('A' + (n - 1) % 26));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Ein Feld der Zeilenklasse.
+	 */
+	public static final class Spalte {
+		private final String name;
+		private final Class<?> typ;
+		private final TableField tableField;
+		private final int index;
+		private final String excelSpalte;
+		private final MethodHandle objekt;
+		private final MethodHandle zahl;
+		private final MethodHandle ganzeZahl;
+		private final MethodHandle zeichen;
+
+		private Spalte(final Field field, final TableField tableField, final int index) {
+			this.name = field.getName();
+			this.typ = field.getType();
+			this.tableField = tableField;
+			this.index = index;
+			this.excelSpalte = excelSpalte(index);
+			final MethodHandle getter;
+			try {
+				// einmalig beim Aufbau, das Field-Objekt wird danach nicht mehr verwendet
+				field.setAccessible(true);
+				getter = MethodHandles.lookup().unreflectGetter(field);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Fehler beim Zugriff auf " + name, e);
+			}
+			objekt = getter.asType(MethodType.methodType(Object.class, Object.class));
+			zahl = typ == double.class || typ == int.class
+					? getter.asType(MethodType.methodType(double.class, Object.class)) : null;
+			ganzeZahl = typ == int.class ? getter.asType(MethodType.methodType(int.class, Object.class)) : null;
+			zeichen = typ == char.class ? getter.asType(MethodType.methodType(char.class, Object.class)) : null;
+		}
+
+		/**
+		 * @return der Feldname
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return der Typ des Feldes
+		 */
+		public Class<?> getTyp() {
+			return typ;
+		}
+
+		/**
+		 * @return die Annotation des Feldes
+		 */
+		public TableField getTableField() {
+			return tableField;
+		}
+
+		/**
+		 * @return die Position unter allen Spalten der Klasse, beginnend mit 0
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return die Excel-Spalte (A, B, ..., Z, AA, AB, ...)
+		 */
+		public String getExcelSpalte() {
+			return excelSpalte;
+		}
+
+		/**
+		 * Lese den Wert eines double- oder int-Feldes.
+		 * 
+		 * @param zeile
+		 *            die Zeile
+		 * @return der Wert
+		 */
+		public double getDouble(final Object zeile) {
+			if (zahl == null) {
+				throw new IllegalStateException("Das Feld " + name + " ist nicht numerisch.");
+			}
+			try {
+				return (double) zahl.invokeExact(zeile);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Fehler beim Zugriff auf " + name, e);
+			}
+		}
+
+		/**
+		 * Lese den Wert eines int-Feldes.
+		 * 
+		 * @param zeile
+		 *            die Zeile
+		 * @return der Wert
+		 */
+		public int getInt(final Object zeile) {
+			if (ganzeZahl == null) {
+				throw new IllegalStateException("Das Feld " + name + " ist nicht vom Typ int.");
+			}
+			try {
+				return (int) ganzeZahl.invokeExact(zeile);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Fehler beim Zugriff auf " + name, e);
+			}
+		}
+
+		/**
+		 * Lese den Wert eines char-Feldes.
+		 * 
+		 * @param zeile
+		 *            die Zeile
+		 * @return der Wert
+		 */
+		public char getChar(final Object zeile) {
+			if (zeichen == null) {
+				throw new IllegalStateException("Das Feld " + name + " ist nicht vom Typ char.");
+			}
+			try {
+				return (char) zeichen.invokeExact(zeile);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Fehler beim Zugriff auf " + name, e);
+			}
+		}
+
+		/**
+		 * Lese den Wert eines beliebigen Feldes, primitive Werte werden dabei verpackt.
+		 * 
+		 * @param zeile
+		 *            die Zeile
+		 * @return der Wert
+		 */
+		public Object get(final Object zeile) {
+			try {
+				return objekt.invokeExact(zeile);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Fehler beim Zugriff auf " + name, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,369 @@
+package de.gdv.bsm.intern.csv;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Schreiben von csv-Dateien mit hohem Durchsatz. Zahlen werden direkt in einen wiederverwendeten Puffer formatiert,
+ * der ber einen {@link FileChannel} geschrieben wird.
+ * <p/>
+ * Die Ausgabe ist byte-gleich zu einem {@link java.io.PrintStream} mit dem Zeichensatz der Plattform, Zahlen werden
+ * wie von <code>new DecimalFormat("#.##############################")</code> formatiert, einschlielich der
+ * Trennzeichen der eingestellten Sprache. Die Ziffern liefert dazu - wie in {@link DecimalFormat} - die Umwandlung
+ * von {@link Double#toString(double)}; lediglich die Darstellung ohne Exponent erfolgt hier. Werte, die auf 30
+ * Nachkommastellen gerundet werden mssen, sowie nicht endliche Werte werden an {@link DecimalFormat} bergeben.
+ * Stimmen beide Formatierungen beim Laden der Klasse fr eine Reihe von Prfwerten nicht berein (etwa bei einer
+ * abweichenden Java-Version), so wird ausschlielich {@link DecimalFormat} verwendet.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class CsvWriter implements AutoCloseable {
+	/** Das Muster der Zahlenformatierung. */
+	public static final String MUSTER = "#.##############################";
+	private static final int MAX_NACHKOMMA = 30;
+	private static final int PUFFER_GROESSE = 1 << 20;
+	private static final byte[] ZEILENENDE = System.lineSeparator().getBytes();
+
+	// Werte fr den Selbsttest der schnellen Formatierung:
+	private static final double[] PRUEFWERTE = { 0.0, -0.0, 1.0, -1.0, 0.1, 0.1 + 0.2, 1.0 / 3.0, 2.0 / 3.0, 123.456,
+			-9876.54321, 1e7, 1.2345678e7, 1e15, 1e16, 9007199254740993.0, 1e20, 1e22, 2e23, 1e-3, 1e-10, 1.5e-20,
+			1e-29, 1e-30, Math.PI * 1e10, Math.E * 1e-5, Double.MAX_VALUE, 4.35, 0.5, 1.005, 1234567.891 };
+	private static final boolean SCHNELL = selbsttest();
+
+	private final FileChannel kanal;
+	private final FileOutputStream datei;
+	private final Charset zeichensatz = Charset.defaultCharset();
+	private final byte[] puffer = new byte[PUFFER_GROESSE];
+	private final ByteBuffer pufferNio = ByteBuffer.wrap(puffer);
+	private int position = 0;
+	private final Zahlenformat zahlenformat = new Zahlenformat();
+
+	/**
+	 * ffne eine csv-Datei zum Schreiben. Eine bestehende Datei wird berschrieben.
+	 * 
+	 * @param csvDatei
+	 *            die Datei
+	 * @throws IOException
+	 *             falls die Datei nicht geffnet werden kann
+	 */
+	public CsvWriter(final File csvDatei) throws IOException {
+		datei = new FileOutputStream(csvDatei);
+		kanal = datei.getChannel();
+	}
+
+	/**
+	 * Schreibe einen Text. Wie bei {@link java.io.PrintStream} wird <code>null</code> als "null" geschrieben.
+	 * 
+	 * @param text
+	 *            der Text
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 */
+	public void print(final String text) throws IOException {
+		final String s = String.valueOf(text);
+		final int n = s.length();
+		if (n > puffer.length - position) {
+			flush();
+		}
+		if (n <= puffer.length - position) {
+			// ASCII direkt, sonst ber den Zeichensatz:
+			int i = 0;
+			while (i < n && s.charAt(i) < 0x80) {
+				puffer[position + i] = (byte) s.charAt(i);
+				++i;
+			}
+			if (i == n) {
+				position += n;
+				return;
+			}
+		}
+		write(s.getBytes(zeichensatz));
+	}
+
+	/**
+	 * Schreibe ein Zeichen.
+	 * 
+	 * @param c
+	 *            das Zeichen
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 */
+	public void print(final char c) throws IOException {
+		if (c < 0x80) {
+			if (position == puffer.length) {
+				flush();
+			}
+			puffer[position++] = (byte) c;
+		} else {
+			print(String.valueOf(c));
+		}
+	}
+
+	/**
+	 * Schreibe eine ganze Zahl.
+	 * 
+	 * @param l
+	 *            die Zahl
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 */
+	public void print(final long l) throws IOException {
+		if (puffer.length - position < 20) {
+			flush();
+		}
+		position = zahlenformat.ganzzahl(l, puffer, position);
+	}
+
+	/**
+	 * Schreibe eine Zahl wie <code>new DecimalFormat(MUSTER).format(d)</code>.
+	 * 
+	 * @param d
+	 *            die Zahl
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 */
+	public void print(final double d) throws IOException {
+		// maximal Vorzeichen, 309 Stellen vor und 30 nach dem Komma:
+		if (puffer.length - position < 400) {
+			flush();
+		}
+		final int p = SCHNELL ? zahlenformat.format(d, puffer, position) : -1;
+		if (p >= 0) {
+			position = p;
+		} else {
+			print(zahlenformat.decimalFormat.format(d));
+		}
+	}
+
+	/**
+	 * Schreibe einen Wert, wie in den Ausgaben blich: nicht endliche Werte werden als 0 geschrieben, sonst wie
+	 * {@link #print(double)}.
+	 * 
+	 * @param d
+	 *            der Wert
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 */
+	public void printWert(final double d) throws IOException {
+		if (Double.isFinite(d)) {
+			print(d);
+		} else {
+			print('0');
+		}
+	}
+
+	/**
+	 * Beende die Zeile.
+	 * 
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 */
+	public void println() throws IOException {
+		write(ZEILENENDE);
+	}
+
+	/**
+	 * Schreibe einen Text und beende die Zeile.
+	 * 
+	 * @param s
+	 *            der Text
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 */
+	public void println(final String s) throws IOException {
+		print(s);
+		println();
+	}
+
+	private void write(final byte[] b) throws IOException {
+		if (b.length > puffer.length - position) {
+			flush();
+			if (b.length > puffer.length) {
+				schreibe(ByteBuffer.wrap(b));
+				return;
+			}
+		}
+		System.arraycopy(b, 0, puffer, position, b.length);
+		position += b.length;
+	}
+
+	/**
+	 * Schreibe den Puffer in die Datei.
+	 * 
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 */
+	public void flush() throws IOException {
+		pufferNio.clear();
+		pufferNio.limit(position);
+		schreibe(pufferNio);
+		position = 0;
+	}
+
+	private void schreibe(final ByteBuffer b) throws IOException {
+		while (b.hasRemaining()) {
+			kanal.write(b);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			datei.close();
+		}
+	}
+
+	private static boolean selbsttest() {
+		final Zahlenformat z = new Zahlenformat();
+		if (z.dezimaltrenner >= 0x80 || z.minus >= 0x80 || z.null0 != '0') {
+			return false;
+		}
+		final byte[] b = new byte[400];
+		for (double d : PRUEFWERTE) {
+			for (double x : new double[] { d, -d, d * 7.0 / 3.0, Math.nextUp(d) }) {
+				final int n = z.format(x, b, 0);
+				if (n >= 0 && !new String(b, 0, n, StandardCharsets.US_ASCII).equals(z.decimalFormat.format(x))) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Die Formatierung der Zahlen. Nicht threadsicher, daher je Writer eine Instanz.
+	 */
+	private static final class Zahlenformat {
+		private final DecimalFormat decimalFormat = new DecimalFormat(MUSTER);
+		private final char dezimaltrenner;
+		private final byte dezimaltrennerByte;
+		private final char minus;
+		private final char null0;
+		private final byte[] ziffern = new byte[32];
+
+		Zahlenformat() {
+			final DecimalFormatSymbols symbole = decimalFormat.getDecimalFormatSymbols();
+			dezimaltrenner = symbole.getDecimalSeparator();
+			dezimaltrennerByte = (byte) dezimaltrenner;
+			minus = symbole.getMinusSign();
+			null0 = symbole.getZeroDigit();
+		}
+
+		/**
+		 * Schreibe eine ganze Zahl in den Puffer.
+		 * 
+		 * @return die neue Position
+		 */
+		int ganzzahl(final long l, final byte[] puffer, int position) {
+			if (l == Long.MIN_VALUE) {
+				final byte[] b = Long.toString(l).getBytes();
+				System.arraycopy(b, 0, puffer, position, b.length);
+				return position + b.length;
+			}
+			long x = l;
+			if (x < 0) {
+				puffer[position++] = '-';
+				x = -x;
+			}
+			int n = 0;
+			do {
+				ziffern[n++] = (byte) ('0' + x % 10);
+				x /= 10;
+			} while (x != 0);
+			while (n > 0) {
+				puffer[position++] = ziffern[--n];
+			}
+			return position;
+		}
+
+		/**
+		 * Schreibe eine Zahl in den Puffer.
+		 * 
+		 * @return die neue Position, oder -1 falls die Zahl von {@link DecimalFormat} formatiert werden muss
+		 */
+		int format(final double d, final byte[] puffer, final int start) {
+			if (!Double.isFinite(d)) {
+				return -1;
+			}
+			int position = start;
+			if (d < 0.0 || (d == 0.0 && 1.0 / d < 0.0)) {
+				puffer[position++] = (byte) minus;
+			}
+			final double a = Math.abs(d);
+			if (a < 9007199254740992.0 && a == Math.rint(a)) {
+				// ganze Zahlen sind exakt darstellbar
+				return ganzzahl((long) a, puffer, position);
+			}
+
+			// Ziffern und Exponent aus Double.toString, z.B. "123.456", "1.0E-5" oder "1.234E10":
+			final String s = Double.toString(a);
+			int anzahl = 0;
+			int komma = -1;
+			int exponent = 0;
+			for (int i = 0; i < s.length(); ++i) {
+				final char c = s.charAt(i);
+				if (c == '.') {
+					komma = anzahl;
+				} else if (c == 'E') {
+					exponent = Integer.parseInt(s.substring(i + 1));
+					break;
+				} else {
+					ziffern[anzahl++] = (byte) c;
+				}
+			}
+			// fhrende und abschlieende Nullen entfernen:
+			int von = 0;
+			while (von < anzahl && ziffern[von] == '0') {
+				++von;
+			}
+			while (anzahl > von && ziffern[anzahl - 1] == '0') {
+				--anzahl;
+			}
+			// Position des Kommas relativ zur ersten signifikanten Ziffer:
+			final int vorKomma = komma + exponent - von;
+			final int stellen = anzahl - von;
+			if (stellen - vorKomma > MAX_NACHKOMMA) {
+				// hier msste gerundet werden
+				return -1;
+			}
+			if (vorKomma <= 0) {
+				puffer[position++] = '0';
+			} else {
+				for (int i = 0; i < vorKomma; ++i) {
+					puffer[position++] = i < stellen ? ziffern[von + i] : (byte) '0';
+				}
+			}
+			if (stellen > vorKomma) {
+				puffer[position++] = dezimaltrennerByte;
+				for (int i = vorKomma; i < 0; ++i) {
+					puffer[position++] = '0';
+				}
+				for (int i = Math.max(vorKomma, 0); i < stellen; ++i) {
+					puffer[position++] = ziffern[von + i];
+				}
+			}
+			return position;
+		}
+	}
+}
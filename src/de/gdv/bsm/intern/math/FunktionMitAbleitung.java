@@ -0,0 +1,68 @@
+package de.gdv.bsm.intern.math;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Eine reelle Funktion, deren Wert und Ableitung in einem gemeinsamen Durchlauf ausgewertet werden knnen. Das ist
+ * dann sinnvoll, wenn sich Funktion und Ableitung aufwndige Teilausdrcke (z.B. Potenzen) teilen.
+ * <p/>
+ * Der Funktionswert allein wird ber {@link #applyAsDouble(double)} ermittelt. Die Default-Implementierung rechnet die
+ * Ableitung dabei mit, sie sollte daher berschrieben werden, wenn der Funktionswert allein gnstiger zu haben ist.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+@FunctionalInterface
+public interface FunktionMitAbleitung extends DoubleUnaryOperator {
+
+	/**
+	 * Werte Funktion und Ableitung an der Stelle <code>x</code> aus.
+	 *
+	 * @param x
+	 *            die Stelle
+	 * @param ableitung
+	 *            hier wird in <code>ableitung[0]</code> der Wert der Ableitung abgelegt
+	 * @return der Funktionswert
+	 */
+	double applyMitAbleitung(double x, double[] ableitung);
+
+	@Override
+	default double applyAsDouble(double x) {
+		return applyMitAbleitung(x, new double[1]);
+	}
+
+	/**
+	 * Erstelle eine Funktion aus getrennt gegebener Funktion und Ableitung.
+	 *
+	 * @param f
+	 *            die Funktion
+	 * @param df
+	 *            die Ableitung von f
+	 * @return die kombinierte Funktion
+	 */
+	static FunktionMitAbleitung of(final DoubleUnaryOperator f, final DoubleUnaryOperator df) {
+		return new FunktionMitAbleitung() {
+			@Override
+			public double applyMitAbleitung(double x, double[] ableitung) {
+				ableitung[0] = df.applyAsDouble(x);
+				return f.applyAsDouble(x);
+			}
+
+			@Override
+			public double applyAsDouble(double x) {
+				return f.applyAsDouble(x);
+			}
+		};
+	}
+}
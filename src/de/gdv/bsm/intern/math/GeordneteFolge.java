@@ -0,0 +1,107 @@
+package de.gdv.bsm.intern.math;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bringt Ergebnisse, die in beliebiger Reihenfolge fertig werden (etwa die Pfade der parallel laufenden Berechnungen),
+ * in eine feste Reihenfolge. Vorzeitig fertige Ergebnisse werden zwischengespeichert, bis alle Vorgnger vorliegen.
+ * Werden die Ergebnisse in dieser Reihenfolge aggregiert, so sind Summen und Schtzer unabhngig von der Anzahl der
+ * Threads bitgleich.
+ * <p/>
+ * Da die Ergebnisse in der festen Reihenfolge angestoen werden, liegen nie mehr Ergebnisse im Zwischenspeicher, als
+ * Berechnungen gleichzeitig laufen.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class GeordneteFolge<T> {
+	// Position der Schlssel in der Reihenfolge:
+	private final Map<Integer, Integer> position = new HashMap<>();
+	private final Map<Integer, T> zwischenspeicher = new HashMap<>();
+	private int naechste = 0;
+
+	/**
+	 * Erstelle eine leere Folge.
+	 * 
+	 * @param reihenfolge
+	 *            die Schlssel in der gewnschten Reihenfolge
+	 */
+	public GeordneteFolge(final List<Integer> reihenfolge) {
+		for (int i = 0; i < reihenfolge.size(); ++i) {
+			if (position.put(reihenfolge.get(i), i) != null) {
+				throw new IllegalArgumentException("Schlssel doppelt: " + reihenfolge.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Ist dies der Schlssel, der als nchster geliefert wird? Dann wird ein mit {@link #add(int, Object)}
+	 * hinzugefgtes Ergebnis sofort von {@link #naechster()} geliefert und muss nicht kopiert werden.
+	 * 
+	 * @param schluessel
+	 *            der Schlssel
+	 * @return ja oder nein
+	 */
+	public boolean isNaechster(final int schluessel) {
+		return position(schluessel) == naechste;
+	}
+
+	/**
+	 * Fge ein Ergebnis hinzu.
+	 * 
+	 * @param schluessel
+	 *            der Schlssel des Ergebnisses
+	 * @param wert
+	 *            das Ergebnis
+	 */
+	public void add(final int schluessel, final T wert) {
+		final int p = position(schluessel);
+		if (p < naechste || zwischenspeicher.containsKey(p)) {
+			throw new IllegalStateException("Ergebnis doppelt: " + schluessel);
+		}
+		zwischenspeicher.put(p, wert);
+	}
+
+	/**
+	 * Liefere das nchste Ergebnis in der festen Reihenfolge, sofern es vorliegt.
+	 * 
+	 * @return das Ergebnis, oder null
+	 */
+	public T naechster() {
+		final T wert = zwischenspeicher.remove(naechste);
+		if (wert != null) {
+			++naechste;
+		}
+		return wert;
+	}
+
+	/**
+	 * Anzahl der Ergebnisse, die noch auf einen Vorgnger warten.
+	 * 
+	 * @return die Anzahl
+	 */
+	public int getAnzahlWartend() {
+		return zwischenspeicher.size();
+	}
+
+	private int position(final int schluessel) {
+		final Integer p = position.get(schluessel);
+		if (p == null) {
+			throw new IllegalArgumentException("Unbekannter Schlssel: " + schluessel);
+		}
+		return p;
+	}
+}
@@ -0,0 +1,180 @@
+package de.gdv.bsm.intern.math;
+
+import java.util.Arrays;
+
+/**
+ * Wiederverwendbarer Arbeitsbereich fr die stabile Sortierung von Indizes nach primitiven double-Schlsseln. Die
+ * Schlssel werden wie bei <code>Double.compare</code> geordnet, Eintrge mit gleichem Schlssel behalten ihre
+ * Einfgereihenfolge. Die Reihenfolge entspricht damit genau dem Durchlauf durch eine
+ * <code>TreeMap&lt;Double, List&lt;...&gt;&gt;</code>, in der die Eintrge gleichen Schlssels gesammelt werden.
+ * <p/>
+ * Die Felder werden nur bei Bedarf vergrert, so dass bei wiederholter Verwendung keine Objekte erzeugt werden. Eine
+ * Instanz darf nicht von mehreren Threads gleichzeitig verwendet werden.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class IndexSortierung {
+	/** Bis zu dieser Lnge wird durch Einfgen sortiert. */
+	private static final int EINFUEGEN_BIS = 32;
+
+	private double[] schluessel;
+	private int[] index;
+	private int[] reihenfolge;
+	private int[] temp;
+	private int anzahl = 0;
+
+	/**
+	 * Erzeuge einen leeren Arbeitsbereich.
+	 */
+	public IndexSortierung() {
+		this(16);
+	}
+
+	/**
+	 * Erzeuge einen leeren Arbeitsbereich mit einer anfnglichen Kapazitt.
+	 * 
+	 * @param kapazitaet
+	 *            die anfngliche Kapazitt
+	 */
+	public IndexSortierung(final int kapazitaet) {
+		final int n = Math.max(1, kapazitaet);
+		schluessel = new double[n];
+		index = new int[n];
+		reihenfolge = new int[n];
+		temp = new int[n];
+	}
+
+	/**
+	 * Entferne alle Eintrge. Die Kapazitt bleibt erhalten.
+	 */
+	public void clear() {
+		anzahl = 0;
+	}
+
+	/**
+	 * Fge einen Eintrag hinzu.
+	 * 
+	 * @param key
+	 *            der Sortierschlssel
+	 * @param idx
+	 *            der zugehrige Index
+	 */
+	public void add(final double key, final int idx) {
+		if (anzahl == schluessel.length) {
+			final int n = 2 * anzahl;
+			schluessel = Arrays.copyOf(schluessel, n);
+			index = Arrays.copyOf(index, n);
+			reihenfolge = new int[n];
+			temp = new int[n];
+		}
+		schluessel[anzahl] = key;
+		index[anzahl] = idx;
+		++anzahl;
+	}
+
+	/**
+	 * @return die Anzahl der Eintrge
+	 */
+	public int size() {
+		return anzahl;
+	}
+
+	/**
+	 * Sortiere die Eintrge stabil nach ihren Schlsseln.
+	 */
+	public void sort() {
+		for (int i = 0; i < anzahl; ++i) {
+			reihenfolge[i] = i;
+		}
+		if (anzahl <= EINFUEGEN_BIS) {
+			einfuegen(reihenfolge, 0, anzahl);
+		} else {
+			// Lufe der Lnge EINFUEGEN_BIS durch Einfgen sortieren, dann paarweise mischen
+			for (int von = 0; von < anzahl; von += EINFUEGEN_BIS) {
+				einfuegen(reihenfolge, von, Math.min(von + EINFUEGEN_BIS, anzahl));
+			}
+			int[] quelle = reihenfolge;
+			int[] ziel = temp;
+			for (int breite = EINFUEGEN_BIS; breite < anzahl; breite *= 2) {
+				for (int von = 0; von < anzahl; von += 2 * breite) {
+					final int mitte = Math.min(von + breite, anzahl);
+					final int bis = Math.min(von + 2 * breite, anzahl);
+					mischen(quelle, ziel, von, mitte, bis);
+				}
+				final int[] h = quelle;
+				quelle = ziel;
+				ziel = h;
+			}
+			if (quelle != reihenfolge) {
+				System.arraycopy(quelle, 0, reihenfolge, 0, anzahl);
+			}
+		}
+	}
+
+	/**
+	 * Schlssel an einer Position der sortierten Folge.
+	 * 
+	 * @param i
+	 *            die Position, 0 bis {@link #size()} - 1
+	 * @return der Schlssel
+	 */
+	public double getSchluessel(final int i) {
+		return schluessel[reihenfolge[i]];
+	}
+
+	/**
+	 * Index an einer Position der sortierten Folge.
+	 * 
+	 * @param i
+	 *            die Position, 0 bis {@link #size()} - 1
+	 * @return der Index
+	 */
+	public int getIndex(final int i) {
+		return index[reihenfolge[i]];
+	}
+
+	private void einfuegen(final int[] r, final int von, final int bis) {
+		for (int i = von + 1; i < bis; ++i) {
+			final int e = r[i];
+			final double key = schluessel[e];
+			int j = i - 1;
+			while (j >= von && Double.compare(schluessel[r[j]], key) > 0) {
+				r[j + 1] = r[j];
+				--j;
+			}
+			r[j + 1] = e;
+		}
+	}
+
+	private void mischen(final int[] quelle, final int[] ziel, final int von, final int mitte, final int bis) {
+		int i = von;
+		int j = mitte;
+		int k = von;
+		while (i < mitte && j < bis) {
+			// bei Gleichheit zuerst aus dem linken Lauf, damit die Sortierung stabil bleibt
+			if (Double.compare(schluessel[quelle[j]], schluessel[quelle[i]]) < 0) {
+				ziel[k++] = quelle[j++];
+			} else {
+				ziel[k++] = quelle[i++];
+			}
+		}
+		while (i < mitte) {
+			ziel[k++] = quelle[i++];
+		}
+		while (j < bis) {
+			ziel[k++] = quelle[j++];
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package de.gdv.bsm.intern.math;
+
+import java.util.stream.DoubleStream;
+
+/**
+ * Kompensierte Summation mehrerer Summen nach dem Verfahren von {@link java.util.stream.DoubleStream#sum()}
+ * (Kahan-Summation; ist das kompensierte Ergebnis undefiniert, die einfache Summe aber unendlich, so gilt diese). Die
+ * Summen sind damit bitgleich zu denen ber einen Stream der Summanden in derselben Reihenfolge, es wird aber weder ein
+ * Stream noch ein Zwischenspeicher der Summanden angelegt. Ein Objekt kann fr beliebig viele Summationen
+ * wiederverwendet werden, siehe {@link #reset()}.
+ * <p/>
+ * Die Laufzeitumgebungen unterscheiden sich im letzten Schritt: Java 8 addiert den mitgefhrten Rundungsfehler, ab
+ * Java 11 wird er abgezogen. Welches Verfahren vorliegt, wird einmalig an einem Beispiel bestimmt.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class KahanSumme {
+	// bei 1 + 2^-53 liefert nur das Addieren des Rundungsfehlers einen Wert kleiner 1:
+	private static final boolean KOMPENSATION_ADDIEREN = DoubleStream.of(1.0, 0x1p-53).sum() < 1.0;
+
+	private final double[] summe;
+	private final double[] kompensation;
+	private final double[] einfacheSumme;
+
+	/**
+	 * Erstelle leere Summen.
+	 * 
+	 * @param laenge
+	 *            Anzahl der Summen
+	 */
+	public KahanSumme(final int laenge) {
+		summe = new double[laenge];
+		kompensation = new double[laenge];
+		einfacheSumme = new double[laenge];
+	}
+
+	/**
+	 * Setze alle Summen auf 0.
+	 */
+	public void reset() {
+		for (int i = 0; i < summe.length; ++i) {
+			summe[i] = 0.0;
+			kompensation[i] = 0.0;
+			einfacheSumme[i] = 0.0;
+		}
+	}
+
+	/**
+	 * Addiere einen Summanden.
+	 * 
+	 * @param i
+	 *            die Summe
+	 * @param x
+	 *            der Summand
+	 */
+	public void add(final int i, final double x) {
+		final double y = x - kompensation[i];
+		final double s = summe[i];
+		final double t = s + y;
+		kompensation[i] = (t - s) - y;
+		summe[i] = t;
+		einfacheSumme[i] += x;
+	}
+
+	/**
+	 * Der Wert einer Summe.
+	 * 
+	 * @param i
+	 *            die Summe
+	 * @return der Wert
+	 */
+	public double getSumme(final int i) {
+		final double s = KOMPENSATION_ADDIEREN ? summe[i] + kompensation[i] : summe[i] - kompensation[i];
+		if (Double.isNaN(s) && Double.isInfinite(einfacheSumme[i])) {
+			return einfacheSumme[i];
+		}
+		return s;
+	}
+}
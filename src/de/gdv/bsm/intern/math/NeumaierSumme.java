@@ -0,0 +1,118 @@
+package de.gdv.bsm.intern.math;
+
+/**
+ * Kompensierte Summation von Vektoren (Verfahren nach Neumaier, eine Verbesserung der Kahan-Summation). Je Komponente
+ * wird neben der Summe der bei der Addition verlorene Rundungsfehler mitgefhrt und am Ende addiert. Der Fehler der
+ * Summe ist damit praktisch unabhngig von der Anzahl der Summanden.
+ * <p/>
+ * Bitgleiche Ergebnisse bei paralleler Berechnung erfordern zustzlich eine feste Reihenfolge der Summanden, siehe
+ * {@link GeordneteFolge}. Teilsummen knnen mit {@link #add(NeumaierSumme)} zusammengefhrt werden; das Ergebnis hngt
+ * dann nur von der Reihenfolge der Zusammenfhrung ab.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class NeumaierSumme {
+	private final double[] summe;
+	private final double[] kompensation;
+	private long anzahl = 0;
+
+	/**
+	 * Erstelle eine leere Summe.
+	 * 
+	 * @param laenge
+	 *            Lnge der Vektoren
+	 */
+	public NeumaierSumme(final int laenge) {
+		summe = new double[laenge];
+		kompensation = new double[laenge];
+	}
+
+	/**
+	 * Addiere einen Vektor.
+	 * 
+	 * @param werte
+	 *            der Vektor
+	 */
+	public void add(final double[] werte) {
+		if (werte.length != summe.length) {
+			throw new IllegalArgumentException("Lnge " + werte.length + " statt " + summe.length);
+		}
+		for (int i = 0; i < summe.length; ++i) {
+			add(i, werte[i]);
+		}
+		++anzahl;
+	}
+
+	/**
+	 * Fhre eine andere Summe mit dieser zusammen.
+	 * 
+	 * @param s
+	 *            die andere Summe
+	 */
+	public void add(final NeumaierSumme s) {
+		if (s.summe.length != summe.length) {
+			throw new IllegalArgumentException("Lnge " + s.summe.length + " statt " + summe.length);
+		}
+		for (int i = 0; i < summe.length; ++i) {
+			add(i, s.summe[i]);
+			add(i, s.kompensation[i]);
+		}
+		anzahl += s.anzahl;
+	}
+
+	private void add(final int i, final double x) {
+		final double s = summe[i];
+		final double t = s + x;
+		if (Math.abs(s) >= Math.abs(x)) {
+			kompensation[i] += (s - t) + x;
+		} else {
+			kompensation[i] += (x - t) + s;
+		}
+		summe[i] = t;
+	}
+
+	/**
+	 * Anzahl der addierten Vektoren.
+	 * 
+	 * @return die Anzahl
+	 */
+	public long getAnzahl() {
+		return anzahl;
+	}
+
+	/**
+	 * Die Summe einer Komponente.
+	 * 
+	 * @param i
+	 *            die Komponente
+	 * @return die Summe
+	 */
+	public double getSumme(final int i) {
+		return summe[i] + kompensation[i];
+	}
+
+	/**
+	 * Die Summen aller Komponenten.
+	 * 
+	 * @return die Summen
+	 */
+	public double[] getSummen() {
+		final double[] s = new double[summe.length];
+		for (int i = 0; i < s.length; ++i) {
+			s[i] = getSumme(i);
+		}
+		return s;
+	}
+}
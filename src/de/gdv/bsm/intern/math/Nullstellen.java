@@ -0,0 +1,326 @@
+package de.gdv.bsm.intern.math;
+
+import static java.lang.Double.NaN;
+import static java.lang.Double.isFinite;
+import static java.lang.Math.abs;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Nullstellenbestimmung auf primitiven double-Funktionen. Im Gegensatz zu {@link Newton} wird hier nicht mit
+ * <code>Function&lt;Double, Double&gt;</code> gearbeitet, es entfllt also das Ein- und Auspacken der Werte in jeder
+ * Iteration. Funktion und Ableitung werden fr das Newton-Verfahren in einem Durchlauf ausgewertet, siehe
+ * {@link FunktionMitAbleitung}.
+ * <p/>
+ * Zur Verfgung stehen:
+ * <ul>
+ * <li>{@link #newton(FunktionMitAbleitung, double, double, int)} - das reine Newton-Verfahren,</li>
+ * <li>{@link #solve(FunktionMitAbleitung, double, double, int, double, double)} - das Kombinationsverfahren aus
+ * {@link Newton#solve(java.util.function.Function, java.util.function.Function, double, double, int, double, double)}
+ * mit identischer Iterationsfolge, die Intervallhalbierung erfolgt aber ohne Rekursion,</li>
+ * <li>{@link #newtonBisektion(FunktionMitAbleitung, double, double, double, double, int)} - ein abgesichertes
+ * Newton-Verfahren, das bei schlechten Newton-Schritten auf Intervallhalbierung ausweicht,</li>
+ * <li>{@link #brent(DoubleUnaryOperator, double, double, double, int)} - das Verfahren von Brent, das ohne Ableitung
+ * auskommt; auch eine {@link FunktionMitAbleitung} kann direkt bergeben werden.</li>
+ * </ul>
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class Nullstellen {
+	private static final double EPS = Math.ulp(1.0);
+
+	private Nullstellen() {
+	}
+
+	/**
+	 * Newton-Verfahren zur Nullstellenbestimmung. Das Verfahren endet positiv, wenn
+	 * <code>abs(f(x)) <= epsilon</code> gilt, wobei <code>x</code> ein Schtzwert fr die Nullstelle ist. Treten
+	 * whrend der Iteraton nicht-endliche Werte auf, oder konvergiert das Verfahren nicht nach der Maximalzahl
+	 * gewnschter Schritte, so wird <code>Double.NaN</code> zurckgegeben.
+	 *
+	 * @param f
+	 *            die Funktion mit Ableitung, zu der eine Nullstelle gesucht wird
+	 * @param start
+	 *            Startwert fr die Newton-Iteration (Nherung der Nullstelle)
+	 * @param epsilon
+	 *            gewnschte Genauigkeit
+	 * @param maxIter
+	 *            maximale Anzahl Iterationen
+	 * @return die Nullstelle, oder <code>Double.NaN</code>, wenn keine Nullstelle gefunden wurde
+	 */
+	public static double newton(final FunktionMitAbleitung f, final double start, final double epsilon,
+			final int maxIter) {
+		final double[] ableitung = new double[1];
+		int iter = maxIter;
+		double run = start;
+		double fAkt = f.applyMitAbleitung(run, ableitung);
+		while (iter > 0 && isFinite(run) && isFinite(fAkt) && abs(fAkt) > epsilon) {
+			run -= fAkt / ableitung[0];
+			fAkt = f.applyMitAbleitung(run, ableitung);
+			--iter;
+		}
+		if (abs(fAkt) <= epsilon)
+			return run;
+		return NaN;
+	}
+
+	/**
+	 * Kombinatinonsverfahren mit Intervallhalbierung und dem Newton-Verfahren zur Nullstellenbestimmung. Zuerst wird
+	 * fr den Startwert <code>start</code> versucht, eine Nullstelle mit
+	 * {@link #newton(FunktionMitAbleitung, double, double, int)} zu ermitteln.
+	 * <p/>
+	 * Gelingt dies nicht, werden in Schritten <code>increment</code> Intervalle um <code>start</code> anhand des
+	 * Vorzeichens von <code>f</code> untersucht, ob dort eine Nullstelle vorliegt. Wenn ja, so wird mit
+	 * {@link #newtonIntervall(FunktionMitAbleitung, double, int, double, double)} versucht, eine Nullstelle zu
+	 * bestimmen.
+	 * <p/>
+	 * Gelingt auch dies nicht innerhalb von Intervallen der Lnge <code>maxIncrement</code>, wird
+	 * <code>Double.NaN</code> zurckgeliefert.
+	 *
+	 * @param f
+	 *            Funktion mit Ableitung, zu der eine Nullstelle gesucht wird
+	 * @param start
+	 *            Startwert
+	 * @param epsilon
+	 *            gewnschte Genauigkeit fr das Newton-Verfahren
+	 * @param maxIter
+	 *            maximale Anzahl Iterationen fr das Newton-Verfahren
+	 * @param increment
+	 *            fr die Intervallgre
+	 * @param maxIncrement
+	 *            maximal Intervalllnge
+	 * @return die Nullstelle, oder <code>Double.NaN</code>, wenn keine Nullstelle gefunden wurde
+	 */
+	public static double solve(final FunktionMitAbleitung f, final double start, final double epsilon,
+			final int maxIter, final double increment, final double maxIncrement) {
+		final double result = newton(f, start, epsilon, maxIter);
+		if (isFinite(result))
+			return result;
+		final double fAkt = f.applyAsDouble(start);
+		if (!isFinite(fAkt)) {
+			throw new IllegalArgumentException("Funktionswert am Startpunkt nicht endlich.");
+		}
+		double dist = increment;
+		while (dist <= maxIncrement) {
+			if (f.applyAsDouble(start - dist) * fAkt < 0) {
+				return newtonIntervall(f, epsilon, maxIter, start - dist, start);
+			} else if (f.applyAsDouble(start + dist) * fAkt < 0) {
+				return newtonIntervall(f, epsilon, maxIter, start, start + dist);
+			}
+			dist += increment;
+		}
+		return NaN;
+	}
+
+	/**
+	 * Kombinationsverfahren mit Intervallhalbierung und Newton. Es muss zwischen <code>min</code> und <code>max</code>
+	 * eine Nullstelle liegen. Es wird auf der Intervallmitte eine Newton-Iteration versucht. Konvergiert das Verfahren
+	 * nicht oder nicht schnell genug, wird das Intervall halbiert und das Verfahren dort wiederholt. Lsst sich das
+	 * Intervall nicht weiter teilen, wird <code>Double.NaN</code> zurckgeliefert.
+	 *
+	 * @param f
+	 *            Funktion mit Ableitung, zu der eine Nullstelle gesucht wird
+	 * @param epsilon
+	 *            gewnschte Genauigkeit fr das Newton-Verfahren
+	 * @param maxIter
+	 *            maximale Anzahl Iterationen fr das Newton-Verfahren
+	 * @param min
+	 *            untere Grenze des Intervalls, in dem die Nullstelle gesucht wird
+	 * @param max
+	 *            obere Grenze des Intervalls, in dem die Nullstelle gesucht wird
+	 * @return die Nullstelle, oder <code>Double.NaN</code>, wenn keine Nullstelle gefunden wurde
+	 */
+	public static double newtonIntervall(final FunktionMitAbleitung f, final double epsilon, final int maxIter,
+			final double min, final double max) {
+		double unten = min;
+		double oben = max;
+		while (true) {
+			final double current = (oben + unten) / 2.0;
+			final double result = newton(f, current, epsilon, maxIter);
+			if (isFinite(result)) {
+				return result;
+			}
+			if (current == unten || current == oben) {
+				return NaN;
+			}
+			if (f.applyAsDouble(current) * f.applyAsDouble(oben) > 0.0) {
+				oben = current;
+			} else {
+				unten = current;
+			}
+		}
+	}
+
+	/**
+	 * Abgesichertes Newton-Verfahren. Zwischen <code>min</code> und <code>max</code> muss ein Vorzeichenwechsel von
+	 * <code>f</code> liegen. Die Iteration bleibt immer innerhalb des (schrumpfenden) Intervalls: wrde ein
+	 * Newton-Schritt das Intervall verlassen oder nicht schnell genug konvergieren, so wird stattdessen das Intervall
+	 * halbiert.
+	 *
+	 * @param f
+	 *            Funktion mit Ableitung, zu der eine Nullstelle gesucht wird
+	 * @param min
+	 *            untere Grenze des Intervalls
+	 * @param max
+	 *            obere Grenze des Intervalls
+	 * @param epsilon
+	 *            gewnschte Genauigkeit fr den Funktionswert
+	 * @param xToleranz
+	 *            gewnschte Genauigkeit fr die Nullstelle
+	 * @param maxIter
+	 *            maximale Anzahl Iterationen
+	 * @return die Nullstelle, oder <code>Double.NaN</code>, wenn kein Vorzeichenwechsel vorliegt oder keine Nullstelle
+	 *         gefunden wurde
+	 */
+	public static double newtonBisektion(final FunktionMitAbleitung f, final double min, final double max,
+			final double epsilon, final double xToleranz, final int maxIter) {
+		final double fMin = f.applyAsDouble(min);
+		final double fMax = f.applyAsDouble(max);
+		if (!isFinite(fMin) || !isFinite(fMax) || fMin * fMax > 0.0) {
+			return NaN;
+		}
+		if (abs(fMin) <= epsilon) {
+			return min;
+		}
+		if (abs(fMax) <= epsilon) {
+			return max;
+		}
+		// xl ist immer die Seite mit negativem Funktionswert:
+		double xl = fMin < 0.0 ? min : max;
+		double xh = fMin < 0.0 ? max : min;
+
+		final double[] ableitung = new double[1];
+		double run = 0.5 * (min + max);
+		double dxAlt = abs(max - min);
+		double dx = dxAlt;
+		double fAkt = f.applyMitAbleitung(run, ableitung);
+		for (int iter = 0; iter < maxIter; ++iter) {
+			final double df = ableitung[0];
+			if (!isFinite(fAkt) || ((run - xh) * df - fAkt) * ((run - xl) * df - fAkt) > 0.0
+					|| abs(2.0 * fAkt) > abs(dxAlt * df)) {
+				// Newton wrde das Intervall verlassen oder konvergiert zu langsam: Intervallhalbierung
+				dxAlt = dx;
+				dx = 0.5 * (xh - xl);
+				run = xl + dx;
+			} else {
+				dxAlt = dx;
+				dx = fAkt / df;
+				run -= dx;
+			}
+			fAkt = f.applyMitAbleitung(run, ableitung);
+			if (abs(fAkt) <= epsilon || abs(dx) <= xToleranz) {
+				return isFinite(fAkt) ? run : NaN;
+			}
+			if (fAkt < 0.0) {
+				xl = run;
+			} else {
+				xh = run;
+			}
+		}
+		return NaN;
+	}
+
+	/**
+	 * Verfahren von Brent zur Nullstellenbestimmung ohne Ableitung. Es kombiniert Intervallhalbierung,
+	 * Sekantenverfahren und inverse quadratische Interpolation. Zwischen <code>min</code> und <code>max</code> muss ein
+	 * Vorzeichenwechsel von <code>f</code> liegen.
+	 *
+	 * @param f
+	 *            Funktion, zu der eine Nullstelle gesucht wird
+	 * @param min
+	 *            untere Grenze des Intervalls
+	 * @param max
+	 *            obere Grenze des Intervalls
+	 * @param xToleranz
+	 *            gewnschte Genauigkeit fr die Nullstelle
+	 * @param maxIter
+	 *            maximale Anzahl Iterationen
+	 * @return die Nullstelle, oder <code>Double.NaN</code>, wenn kein Vorzeichenwechsel vorliegt oder keine Nullstelle
+	 *         gefunden wurde
+	 */
+	public static double brent(final DoubleUnaryOperator f, final double min, final double max,
+			final double xToleranz, final int maxIter) {
+		double a = min;
+		double b = max;
+		double fa = f.applyAsDouble(a);
+		double fb = f.applyAsDouble(b);
+		if (!isFinite(fa) || !isFinite(fb) || fa * fb > 0.0) {
+			return NaN;
+		}
+		double c = b;
+		double fc = fb;
+		double d = b - a;
+		double e = d;
+		for (int iter = 0; iter < maxIter; ++iter) {
+			if ((fb > 0.0 && fc > 0.0) || (fb < 0.0 && fc < 0.0)) {
+				// c so whlen, dass die Nullstelle zwischen b und c liegt
+				c = a;
+				fc = fa;
+				d = b - a;
+				e = d;
+			}
+			if (abs(fc) < abs(fb)) {
+				a = b;
+				b = c;
+				c = a;
+				fa = fb;
+				fb = fc;
+				fc = fa;
+			}
+			final double tol = 2.0 * EPS * abs(b) + 0.5 * xToleranz;
+			final double xm = 0.5 * (c - b);
+			if (abs(xm) <= tol || fb == 0.0) {
+				return b;
+			}
+			if (abs(e) >= tol && abs(fa) > abs(fb)) {
+				// Interpolation versuchen
+				final double s = fb / fa;
+				double p;
+				double q;
+				if (a == c) {
+					p = 2.0 * xm * s;
+					q = 1.0 - s;
+				} else {
+					final double qa = fa / fc;
+					final double r = fb / fc;
+					p = s * (2.0 * xm * qa * (qa - r) - (b - a) * (r - 1.0));
+					q = (qa - 1.0) * (r - 1.0) * (s - 1.0);
+				}
+				if (p > 0.0) {
+					q = -q;
+				}
+				p = abs(p);
+				if (2.0 * p < Math.min(3.0 * xm * q - abs(tol * q), abs(e * q))) {
+					e = d;
+					d = p / q;
+				} else {
+					d = xm;
+					e = d;
+				}
+			} else {
+				d = xm;
+				e = d;
+			}
+			a = b;
+			fa = fb;
+			b += abs(d) > tol ? d : Math.copySign(tol, xm);
+			fb = f.applyAsDouble(b);
+			if (!isFinite(fb)) {
+				return NaN;
+			}
+		}
+		return NaN;
+	}
+}
@@ -6,6 +6,7 @@ import java.util.List;
 
 import de.gdv.bsm.intern.applic.Pair;
 import de.gdv.bsm.intern.csv.CsvReader;
+import de.gdv.bsm.intern.csv.CsvZeile;
 import de.gdv.bsm.intern.csv.LineFormatException;
 
 /**
@@ -35,6 +36,16 @@ public class Eingabe {
 	private String pfadSzenariensatz = "";
 	private boolean negAusfallwk = false;
 	private boolean ausgabe = false;
+	private boolean schnellePruefung = false;
+	private boolean kohortenParallel = false;
+	private boolean ablaufUeberspringen = false;
+	private boolean pfadZustandPruefen = false;
+	private double zielGenauigkeit = 0.0;
+	private int mindestPfade = 0;
+	private boolean esgKontrollvariablen = false;
+	private int bootstrapStichproben = 0;
+	private int pfadBuendel = 0;
+	private boolean nurKennzahlen = false;
 
 	private final List<Pair<Integer, String>> szenarienList;
 
@@ -98,6 +109,18 @@ public class Eingabe {
 			} else {
 				ausgabe = false;
 			}
+
+			// die folgenden Zeilen sind optional, ltere Eingabedateien enthalten sie nicht:
+			schnellePruefung = optionalerSchalter(csv);
+			kohortenParallel = optionalerSchalter(csv);
+			ablaufUeberspringen = optionalerSchalter(csv);
+			pfadZustandPruefen = optionalerSchalter(csv);
+			zielGenauigkeit = optionaleZahl(csv);
+			mindestPfade = (int) optionaleZahl(csv);
+			esgKontrollvariablen = optionalerSchalter(csv);
+			bootstrapStichproben = (int) optionaleZahl(csv);
+			pfadBuendel = (int) optionaleZahl(csv);
+			nurKennzahlen = optionalerSchalter(csv);
 		}
 
 	}
@@ -112,7 +135,7 @@ public class Eingabe {
 	}
 
 	/**
-	 * Sollen alle Szenarien gerechnet werden?
+	 * Setze, ob alle Szenarien gerechnet werden.
 	 * 
 	 * @param alleSzenarien
 	 *            ja oder nein
@@ -251,4 +274,251 @@ public class Eingabe {
 		return ausgabe;
 	}
 
+	/**
+	 * Sollen die Ergebnisse eines Pfades nur einmal am Ende auf berlufe geprft werden? Nur wenn diese Prfung
+	 * anschlgt, wird der Pfad mit der vollstndigen Prfung aller Zeilen erneut gerechnet, um die betroffenen Felder zu
+	 * melden. berlufe, die sich nicht auf die Kennzahlen auswirken, werden in diesem Modus nicht gemeldet.
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isSchnellePruefung() {
+		return schnellePruefung;
+	}
+
+	/**
+	 * Setze, ob die Ergebnisse eines Pfades nur einmal am Ende auf berlufe geprft werden sollen.
+	 * 
+	 * @param schnellePruefung
+	 *            ja oder nein
+	 */
+	public void setSchnellePruefung(boolean schnellePruefung) {
+		this.schnellePruefung = schnellePruefung;
+	}
+
+	/**
+	 * Sollen die rzg-Zeilen innerhalb eines Pfades parallel gerechnet werden? Das wird nur genutzt, wenn weniger Pfade
+	 * als Prozessoren zu rechnen sind und je Zeit gengend rzg-Zeilen vorliegen, ansonsten wird wie bisher nur ber
+	 * die Pfade parallelisiert.
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isKohortenParallel() {
+		return kohortenParallel;
+	}
+
+	/**
+	 * Setze, ob die rzg-Zeilen innerhalb eines Pfades parallel gerechnet werden sollen.
+	 * 
+	 * @param kohortenParallel
+	 *            ja oder nein
+	 */
+	public void setKohortenParallel(boolean kohortenParallel) {
+		this.kohortenParallel = kohortenParallel;
+	}
+
+	/**
+	 * Sollen rzg-Zeilen nach Ablauf ihrer Bestandsgruppe bersprungen werden? Eine klassische Bestandsgruppe gilt in
+	 * einem Pfad als abgelaufen, wenn ihre Eingaben ab einer Zeit verschwinden und Deckungsrckstellung, SAF, ZZR und
+	 * Leistungsbarwert exakt Null sind. bersprungen werden nur die rzg-Zeilen, die agg-Zeilen werden weiter bis zum
+	 * Projektionshorizont gerechnet, da Kapitalanlagen und Kennzahlen von ihnen abhngen. Alle Ergebnisse sind
+	 * bitgleich zur Rechnung ohne diesen Schalter.
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isAblaufUeberspringen() {
+		return ablaufUeberspringen;
+	}
+
+	/**
+	 * Setze, ob rzg-Zeilen nach Ablauf ihrer Bestandsgruppe bersprungen werden sollen.
+	 * 
+	 * @param ablaufUeberspringen
+	 *            ja oder nein
+	 */
+	public void setAblaufUeberspringen(boolean ablaufUeberspringen) {
+		this.ablaufUeberspringen = ablaufUeberspringen;
+	}
+
+	/**
+	 * Soll geprft werden, ob Werte eines Pfades in den nchsten Pfad bernommen werden? Jeder Pfad wird dann zweimal
+	 * gerechnet, einmal wie blich und einmal ab dem Zustand vor dem ersten Pfad. Weichen die Ergebnisse ab, so wird
+	 * die Rechnung mit einer Fehlermeldung abgebrochen. Nur fr die Fehlersuche gedacht.
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isPfadZustandPruefen() {
+		return pfadZustandPruefen;
+	}
+
+	/**
+	 * Setze, ob die bernahme von Werten in den nchsten Pfad geprft werden soll.
+	 * 
+	 * @param pfadZustandPruefen
+	 *            ja oder nein
+	 */
+	public void setPfadZustandPruefen(boolean pfadZustandPruefen) {
+		this.pfadZustandPruefen = pfadZustandPruefen;
+	}
+
+	/**
+	 * Geforderte Genauigkeit fr den vorzeitigen Abbruch der Pfade: der Standardfehler der Mittelwerte von be und
+	 * mwPassiva relativ zum Betrag des Mittelwerts. Ist sie erreicht, so werden fr das Stressszenario keine weiteren
+	 * Pfade gerechnet. 0 bedeutet, dass immer alle Pfade gerechnet werden.
+	 * 
+	 * @return die Genauigkeit
+	 */
+	public double getZielGenauigkeit() {
+		return zielGenauigkeit;
+	}
+
+	/**
+	 * Setze die geforderte Genauigkeit fr den vorzeitigen Abbruch der Pfade.
+	 * 
+	 * @param zielGenauigkeit
+	 *            die Genauigkeit, 0 fr keinen Abbruch
+	 */
+	public void setZielGenauigkeit(double zielGenauigkeit) {
+		this.zielGenauigkeit = zielGenauigkeit;
+	}
+
+	/**
+	 * Mindestanzahl an Pfaden, die vor einem vorzeitigen Abbruch gerechnet werden.
+	 * 
+	 * @return die Anzahl
+	 */
+	public int getMindestPfade() {
+		return mindestPfade;
+	}
+
+	/**
+	 * Setze die Mindestanzahl an Pfaden, die vor einem vorzeitigen Abbruch gerechnet werden.
+	 * 
+	 * @param mindestPfade
+	 *            die Anzahl
+	 */
+	public void setMindestPfade(int mindestPfade) {
+		this.mindestPfade = mindestPfade;
+	}
+
+	/**
+	 * Sollen die Mittelwerte der stochastischen Kennzahlen zustzlich mit den Martingaltests des Szenariensatzes als
+	 * Kontrollvariablen geschtzt werden?
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isEsgKontrollvariablen() {
+		return esgKontrollvariablen;
+	}
+
+	/**
+	 * Setze, ob die Mittelwerte zustzlich mit Kontrollvariablen geschtzt werden sollen.
+	 * 
+	 * @param esgKontrollvariablen
+	 *            ja oder nein
+	 */
+	public void setEsgKontrollvariablen(boolean esgKontrollvariablen) {
+		this.esgKontrollvariablen = esgKontrollvariablen;
+	}
+
+	/**
+	 * Anzahl der Bootstrap-Stichproben fr die Standardfehler der stochastischen Kennzahlen. 0 bedeutet, dass kein
+	 * Bootstrap gerechnet wird, sonst sind mindestens 2 Stichproben ntig.
+	 * 
+	 * @return die Anzahl
+	 */
+	public int getBootstrapStichproben() {
+		return bootstrapStichproben;
+	}
+
+	/**
+	 * Setze die Anzahl der Bootstrap-Stichproben.
+	 * 
+	 * @param bootstrapStichproben
+	 *            die Anzahl, 0 fr keinen Bootstrap, sonst mindestens 2
+	 */
+	public void setBootstrapStichproben(int bootstrapStichproben) {
+		this.bootstrapStichproben = bootstrapStichproben;
+	}
+
+	/**
+	 * Anzahl der Pfade, die ein Rechenthread als Bndel bernimmt. Die nur vom Szenariensatz abhngigen
+	 * Diskontfaktoren werden dann fr alle Pfade eines Bndels im Gleichschritt ermittelt. 0 oder 1 bedeutet, dass
+	 * jeder Pfad einzeln gerechnet wird.
+	 * 
+	 * @return die Anzahl
+	 */
+	public int getPfadBuendel() {
+		return pfadBuendel;
+	}
+
+	/**
+	 * Setze die Anzahl der Pfade je Bndel.
+	 * 
+	 * @param pfadBuendel
+	 *            die Anzahl, 0 oder 1 fr Einzelberechnung
+	 */
+	public void setPfadBuendel(int pfadBuendel) {
+		this.pfadBuendel = pfadBuendel;
+	}
+
+	/**
+	 * Sollen Felder, die nur in die Ausgabe der agg- und rzg-Zeilen eingehen, nur fr die ausgegebenen Pfade
+	 * berechnet werden? Das sind der letzte Pfad und die Pfade mit Spalten in Save2csv.
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isNurKennzahlen() {
+		return nurKennzahlen;
+	}
+
+	/**
+	 * Sollen Felder, die nur in die Ausgabe eingehen, nur fr die ausgegebenen Pfade berechnet werden?
+	 * 
+	 * @param nurKennzahlen
+	 *            ja oder nein
+	 */
+	public void setNurKennzahlen(boolean nurKennzahlen) {
+		this.nurKennzahlen = nurKennzahlen;
+	}
+
+	/**
+	 * Lese einen optionalen Schalter (WAHR/TRUE) aus der nchsten Zeile. Fehlt die Zeile, so ist der Schalter nicht
+	 * gesetzt.
+	 * 
+	 * @param csv
+	 *            die Eingabedatei
+	 * @return der Schalter
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 * @throws LineFormatException
+	 *             bei Fehlern in der csv-Datei
+	 */
+	private static boolean optionalerSchalter(final CsvReader csv) throws IOException, LineFormatException {
+		final CsvZeile zeile = csv.readLine();
+		if (zeile == null || zeile.size() < 2 || zeile.getString(1) == null) {
+			return false;
+		}
+		final String wert = zeile.getString(1).trim().toUpperCase();
+		return wert.equals("WAHR") || wert.equals("TRUE");
+	}
+
+	/**
+	 * Lese eine optionale Zahl aus der nchsten Zeile. Fehlt die Zeile oder ist sie leer, so ist der Wert 0.
+	 * 
+	 * @param csv
+	 *            die Eingabedatei
+	 * @return die Zahl
+	 * @throws IOException
+	 *             bei IO-Fehlern
+	 * @throws LineFormatException
+	 *             bei Fehlern in der csv-Datei
+	 */
+	private static double optionaleZahl(final CsvReader csv) throws IOException, LineFormatException {
+		final CsvZeile zeile = csv.readLine();
+		if (zeile == null || zeile.size() < 2 || zeile.getString(1) == null || zeile.getString(1).trim().isEmpty()) {
+			return 0.0;
+		}
+		return zeile.getDouble(1);
+	}
+
 }
@@ -27,6 +27,10 @@ public class LobMappingZeile {
 	private final String kategorie;
 	private final String uebNueb;
 	private final String zinsSensitiv;
+	private final boolean ueb;
+	private final boolean nueb;
+	private final boolean flv;
+	private final boolean istZinsSensitiv;
 	private final int kaKostenstressDerLob;
 
 	/**
@@ -45,6 +49,10 @@ public class LobMappingZeile {
 		zinsSensitiv = zeile.getString(4);
 		kaKostenstressDerLob = zeile.getInt(5);
 
+		ueb = uebNueb.equals("UEB");
+		nueb = uebNueb.equals("NUEB");
+		flv = kategorie.equals("FLV");
+		istZinsSensitiv = "j".equals(zinsSensitiv);
 	}
 
 	/**
@@ -83,6 +91,33 @@ public class LobMappingZeile {
 		return uebNueb;
 	}
 
+	/**
+	 * Kennzeichen berschussberechtigt, einmalig aus Spalte D bestimmt.
+	 * 
+	 * @return true bei UEB
+	 */
+	public boolean isUeb() {
+		return ueb;
+	}
+
+	/**
+	 * Kennzeichen nicht berschussberechtigt, einmalig aus Spalte D bestimmt.
+	 * 
+	 * @return true bei NUEB
+	 */
+	public boolean isNueb() {
+		return nueb;
+	}
+
+	/**
+	 * Kennzeichen FLV, einmalig aus Spalte C bestimmt.
+	 * 
+	 * @return true bei Kategorie FLV
+	 */
+	public boolean isFlv() {
+		return flv;
+	}
+
 	/**
 	 * Zinssensitiv (j/n) Spalte E
 	 *
@@ -92,6 +127,15 @@ public class LobMappingZeile {
 		return zinsSensitiv;
 	}
 
+	/**
+	 * Zinssensitiv, einmalig aus Spalte E bestimmt.
+	 *
+	 * @return true bei j
+	 */
+	public boolean isZinsSensitiv() {
+		return istZinsSensitiv;
+	}
+
 	/**
 	 * KA-Kostenstress der LoB Spalte F
 	 * 
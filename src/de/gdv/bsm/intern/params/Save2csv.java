@@ -2,7 +2,6 @@ package de.gdv.bsm.intern.params;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,7 +9,7 @@ import java.util.TreeMap;
 import java.util.Vector;
 
 import de.gdv.bsm.intern.applic.Pair;
-import de.gdv.bsm.intern.applic.TableField;
+import de.gdv.bsm.intern.applic.TableFieldZugriff;
 import de.gdv.bsm.intern.csv.CsvReader;
 import de.gdv.bsm.intern.csv.CsvZeile;
 import de.gdv.bsm.intern.csv.LineFormatException;
@@ -40,8 +39,8 @@ public class Save2csv {
 
 	private final Map<Integer, Map<Integer, List<Pair<String, Pair<String, String>>>>> fields;
 
-	private final Map<String, Field> aggFields;
-	private final Map<String, Field> rzgFields;
+	private final Map<String, TableFieldZugriff.Spalte> aggFields;
+	private final Map<String, TableFieldZugriff.Spalte> rzgFields;
 
 	/**
 	 * Einlesen des Blattes Save2csv
@@ -51,19 +50,13 @@ public class Save2csv {
 	 * @throws LineFormatException
 	 */
 	public Save2csv(final File dataFile) throws IOException, LineFormatException {
-		final Map<String, Field> aggDefinedFields = new TreeMap<>();
-		for (Field f : AggZeile.class.getDeclaredFields()) {
-			final TableField t = f.getAnnotation(TableField.class);
-			if (t != null) {
-				aggDefinedFields.put(t.testColumn(), f);
-			}
+		final Map<String, TableFieldZugriff.Spalte> aggDefinedFields = new TreeMap<>();
+		for (TableFieldZugriff.Spalte f : TableFieldZugriff.fuer(AggZeile.class).getSpalten()) {
+			aggDefinedFields.put(f.getTableField().testColumn(), f);
 		}
-		final Map<String, Field> rzgDefinedFields = new TreeMap<>();
-		for (Field f : RzgZeile.class.getDeclaredFields()) {
-			final TableField t = f.getAnnotation(TableField.class);
-			if (t != null) {
-				rzgDefinedFields.put(t.testColumn(), f);
-			}
+		final Map<String, TableFieldZugriff.Spalte> rzgDefinedFields = new TreeMap<>();
+		for (TableFieldZugriff.Spalte f : TableFieldZugriff.fuer(RzgZeile.class).getSpalten()) {
+			rzgDefinedFields.put(f.getTableField().testColumn(), f);
 		}
 
 		try (final CsvReader csv = new CsvReader(dataFile, ';', '"')) {
@@ -134,7 +127,7 @@ public class Save2csv {
 	 * 
 	 * @return Map
 	 */
-	public Field getAggField(String spalte) {
+	public TableFieldZugriff.Spalte getAggField(String spalte) {
 		return aggFields.get(spalte);
 	}
 
@@ -145,7 +138,7 @@ public class Save2csv {
 	 * 
 	 * @return Map
 	 */
-	public Field getRzgField(String spalte) {
+	public TableFieldZugriff.Spalte getRzgField(String spalte) {
 		return rzgFields.get(spalte);
 	}
 
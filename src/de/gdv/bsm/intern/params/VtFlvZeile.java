@@ -29,6 +29,8 @@ public class VtFlvZeile {
 	private final int zeit;
 	private final int rechnungszinsgeneration;
 	private final String altNeuBestand;
+	private final boolean altBestand;
+	private final boolean neuBestand;
 
 	private final double kostenRentenbezug;
 	private final double praemienVerrentendesKapital;
@@ -69,6 +71,8 @@ public class VtFlvZeile {
 		zeit = zeile.getInt(3);
 		rechnungszinsgeneration = zeile.getInt(4);
 		altNeuBestand = zeile.getString(5);
+		altBestand = "a".equals(altNeuBestand);
+		neuBestand = "n".equals(altNeuBestand);
 
 		kostenRentenbezug = zeile.getDouble(6);
 		praemienVerrentendesKapital = zeile.getDouble(7);
@@ -147,6 +151,24 @@ public class VtFlvZeile {
 		return altNeuBestand;
 	}
 
+	/**
+	 * Kennzeichen Altbestand, beim Einlesen einmalig aus Spalte F bestimmt.
+	 * 
+	 * @return true, wenn Spalte F den Wert a enthlt
+	 */
+	public boolean isAltBestand() {
+		return altBestand;
+	}
+
+	/**
+	 * Kennzeichen Neubestand, beim Einlesen einmalig aus Spalte F bestimmt.
+	 * 
+	 * @return true, wenn Spalte F den Wert n enthlt
+	 */
+	public boolean isNeuBestand() {
+		return neuBestand;
+	}
+
 	/**
 	 * Kosten (Rentenbezug), Euro. Spalte G.
 	 * 
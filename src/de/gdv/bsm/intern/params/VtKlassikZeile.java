@@ -29,6 +29,8 @@ public class VtKlassikZeile {
 	private final int zeit;
 	private final int zinsGeneration;
 	private final String altNeuBestand;
+	private final boolean altBestand;
+	private final boolean neuBestand;
 	private final double kosten;
 	private final double praemien;
 	private final double leistungBeiTod;
@@ -67,6 +69,8 @@ public class VtKlassikZeile {
 		zeit = zeile.getInt(3);
 		zinsGeneration = zeile.getInt(4);
 		altNeuBestand = zeile.getString(5);
+		altBestand = "a".equals(altNeuBestand);
+		neuBestand = "n".equals(altNeuBestand);
 		kosten = zeile.getDouble(6);
 		praemien = zeile.getDouble(7);
 		leistungBeiTod = zeile.getDouble(8);
@@ -135,6 +139,24 @@ public class VtKlassikZeile {
 		return altNeuBestand;
 	}
 
+	/**
+	 * Kennzeichen Altbestand, beim Einlesen einmalig aus Spalte F bestimmt.
+	 * 
+	 * @return true, wenn Spalte F den Wert a enthlt
+	 */
+	public boolean isAltBestand() {
+		return altBestand;
+	}
+
+	/**
+	 * Kennzeichen Neubestand, beim Einlesen einmalig aus Spalte F bestimmt.
+	 * 
+	 * @return true, wenn Spalte F den Wert n enthlt
+	 */
+	public boolean isNeuBestand() {
+		return neuBestand;
+	}
+
 	/**
 	 * Kosten des Unternehmens. Spalten G.
 	 * 
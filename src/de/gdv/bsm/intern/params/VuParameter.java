@@ -68,6 +68,16 @@ public class VuParameter {
 	public static final String KENNZAHLEN_MITTELWERTE = "Mittelwerte zeitschrittig.csv";
 	/** Dateiname fr die Ausgabe der Stochastischen Kennzahlen pro LoB. */
 	public static final String STOCHASTISCHE_KENNZAHLEN_LOB = "Stoch. Kennzahlen LoB.csv";
+	/** Dateiname fr die Ausgabe der Quantile ausgewhlter pfadweiser Kennzahlen. */
+	public static final String QUANTILE_KENNZAHLEN = "Quantile Kennzahlen.csv";
+	/** Dateiname fr die Ausgabe der Stochastischen Kennzahlen mit Kontrollvariablen. */
+	public static final String STOCHASTISCHE_KENNZAHLEN_CV = "Stoch. Kennzahlen CV.csv";
+	/** Dateiname fr die Ausgabe der Stochastischen Kennzahlen mit Kontrollvariablen pro LoB. */
+	public static final String STOCHASTISCHE_KENNZAHLEN_CV_LOB = "Stoch. Kennzahlen CV LoB.csv";
+	/** Dateiname fr die Ausgabe der Bootstrap-Standardfehler der Stochastischen Kennzahlen. */
+	public static final String BOOTSTRAP_KENNZAHLEN = "Bootstrap Kennzahlen.csv";
+	/** Dateiname fr die Ausgabe der Bootstrap-Standardfehler der Stochastischen Kennzahlen pro LoB. */
+	public static final String BOOTSTRAP_KENNZAHLEN_LOB = "Bootstrap Kennzahlen LoB.csv";
 	/** Dateiname fr das Blatt Ausgabe. */
 	public static final String AUSGABE = "Ausgabe.csv";
 	/** Dateinames-Muster fr die Ausgaben aus agg und rzg. */
@@ -60,6 +60,7 @@ public class ZeitunabhManReg {
 	// B30
 	private final double schalterVerrechnungLebensversicherungsreformgesetz;
 	private final String zzrMethodeAltbestand;
+	private final boolean zzrMethodeAltbestand2M;
 	private final double parameter2M;
 	private final double pFrfbMin;
 	private final double pFrfbMax;
@@ -122,6 +123,7 @@ public class ZeitunabhManReg {
 			// B30
 			schalterVerrechnungLebensversicherungsreformgesetz = getDouble(csv);
 			zzrMethodeAltbestand = getString(csv);
+			zzrMethodeAltbestand2M = "2M".equals(zzrMethodeAltbestand);
 			parameter2M = getDouble(csv);
 			pFrfbMin = getDouble(csv);
 			pFrfbMax = getDouble(csv);
@@ -416,6 +418,15 @@ public class ZeitunabhManReg {
 		return zzrMethodeAltbestand;
 	}
 
+	/**
+	 * Ist die ZZR Methode fr Altbestand 2M? Einmalig aus Feld B31 bestimmt.
+	 * 
+	 * @return der Wert
+	 */
+	public boolean isZzrMethodeAltbestand2M() {
+		return zzrMethodeAltbestand2M;
+	}
+
 	/**
 	 * Parameter fr Methode 2M: Bercksichtigung des Korrekturterms in Prozent. Feld B32.
 	 *
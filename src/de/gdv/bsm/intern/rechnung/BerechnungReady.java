@@ -1,13 +1,9 @@
 package de.gdv.bsm.intern.rechnung;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
-import de.gdv.bsm.vu.kennzahlen.KennzahlenPfadweise;
-import de.gdv.bsm.vu.kennzahlen.KennzahlenPfadweiseLoB;
-import de.gdv.bsm.vu.kennzahlen.MittelwerteNurCe;
-import de.gdv.bsm.vu.kennzahlen.MittelwerteUndCe;
+import de.gdv.bsm.vu.berechnung.LobZeitIndex;
+import de.gdv.bsm.vu.kennzahlen.PfadErgebnisse;
 
 /**
  * Meldung ber die Beendigung deer Berechnung eines Pfades.
@@ -32,14 +28,20 @@ public class BerechnungReady {
 	public final BerechnungThread doer;
 	/** Der berechnete Pfad. */
 	public final Optional<Integer> berechneterPfad;
-	/** Die berechneten Pfadweisen Kennzahlen. */
-	public final KennzahlenPfadweise kennzahlenPfadweise;
-	/** Die berechneten Kennzahlen pro LOB. */
-	public final List<KennzahlenPfadweiseLoB> kennzahlenPfadweiseLoB;
-	/** Mittelwerte und CE pro Lob und Zeit. */
-	public final Map<String, Map<Integer, MittelwerteUndCe>> mittelwerteUndCe;
-	/** Mittelwerte ohne CE pro Lob und Zeit. */
-	public final Map<String, Map<Integer, MittelwerteNurCe>> mittelwerteNurCe;
+	/**
+	 * Die berechneten pfadweisen Kennzahlen gesamt und pro LoB als Satz von {@link PfadErgebnisse}, die LoB in der
+	 * Reihenfolge des {@link #lobZeitIndex}. Der Satz gehrt dem Empfnger.
+	 */
+	public final double[] kennzahlen;
+	/** Gruppierung der Mittelwerte nach Lob und Zeit. */
+	public final LobZeitIndex lobZeitIndex;
+	/**
+	 * Mittelwerte und CE pro Lob und Zeit. Das Feld gehrt der Berechnung und ist nur gltig, bis der nchste Pfad
+	 * angestoen wird.
+	 */
+	public final double[] mittelwerteUndCe;
+	/** Mittelwerte ohne CE pro Lob und Zeit, nur fr Pfad 0 gltig. */
+	public final double[] mittelwerteNurCe;
 	/** Eine potentielle Fehlermeldung. */
 	public final Optional<Throwable> error;
 
@@ -50,10 +52,10 @@ public class BerechnungReady {
 	 *            Der ausfhrende Thread.
 	 * @param berechneterPfad
 	 *            Der berechnete Pfad.
-	 * @param kennzahlenPfadweise
-	 *            die Kennzahlen fr die Pfade
-	 * @param kennzahlenPfadweiseLoB
-	 *            die Kennzahlen fr die Pfade und LoB
+	 * @param kennzahlen
+	 *            die Kennzahlen des Pfades gesamt und pro LoB
+	 * @param lobZeitIndex
+	 *            Gruppierung der Mittelwerte
 	 * @param mittelwerteUndCe
 	 *            Berechnete Kennzahlen
 	 * @param mittelwerteNurCe
@@ -61,11 +63,9 @@ public class BerechnungReady {
 	 * 
 	 */
 	public BerechnungReady(final BerechnungThread doer, final Optional<Integer> berechneterPfad,
-			final KennzahlenPfadweise kennzahlenPfadweise, List<KennzahlenPfadweiseLoB> kennzahlenPfadweiseLoB,
-			final Map<String, Map<Integer, MittelwerteUndCe>> mittelwerteUndCe,
-			final Map<String, Map<Integer, MittelwerteNurCe>> mittelwerteNurCe) {
-		this(doer, berechneterPfad, kennzahlenPfadweise, kennzahlenPfadweiseLoB, mittelwerteUndCe, mittelwerteNurCe,
-				Optional.empty());
+			final double[] kennzahlen, final LobZeitIndex lobZeitIndex, final double[] mittelwerteUndCe,
+			final double[] mittelwerteNurCe) {
+		this(doer, berechneterPfad, kennzahlen, lobZeitIndex, mittelwerteUndCe, mittelwerteNurCe, Optional.empty());
 	}
 
 	/**
@@ -75,10 +75,10 @@ public class BerechnungReady {
 	 *            Der ausfhrende Thread.
 	 * @param berechneterPfad
 	 *            Der berechnete Pfad.
-	 * @param kennzahlenPfadweise
-	 *            die Kennzahlen fr die Pfade
-	 * @param kennzahlenPfadweiseLoB
-	 *            die Kennzahlen fr die Pfade und LoB
+	 * @param kennzahlen
+	 *            die Kennzahlen des Pfades gesamt und pro LoB
+	 * @param lobZeitIndex
+	 *            Gruppierung der Mittelwerte
 	 * @param mittelwerteUndCe
 	 *            Berechnete Kennzahlen
 	 * @param mittelwerteNurCe
@@ -88,13 +88,12 @@ public class BerechnungReady {
 	 * 
 	 */
 	public BerechnungReady(final BerechnungThread doer, final Optional<Integer> berechneterPfad,
-			final KennzahlenPfadweise kennzahlenPfadweise, List<KennzahlenPfadweiseLoB> kennzahlenPfadweiseLoB,
-			final Map<String, Map<Integer, MittelwerteUndCe>> mittelwerteUndCe,
-			final Map<String, Map<Integer, MittelwerteNurCe>> mittelwerteNurCe, final Optional<Throwable> error) {
+			final double[] kennzahlen, final LobZeitIndex lobZeitIndex, final double[] mittelwerteUndCe,
+			final double[] mittelwerteNurCe, final Optional<Throwable> error) {
 		this.doer = doer;
 		this.berechneterPfad = berechneterPfad;
-		this.kennzahlenPfadweise = kennzahlenPfadweise;
-		this.kennzahlenPfadweiseLoB = kennzahlenPfadweiseLoB;
+		this.kennzahlen = kennzahlen;
+		this.lobZeitIndex = lobZeitIndex;
 		this.mittelwerteUndCe = mittelwerteUndCe;
 		this.mittelwerteNurCe = mittelwerteNurCe;
 		this.error = error;
@@ -1,5 +1,7 @@
 package de.gdv.bsm.intern.rechnung;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -24,9 +26,12 @@ import de.gdv.bsm.vu.berechnung.Berechnung;
  * <b>Simulationsmodell  GDV 2016</b>
  */
 public class BerechnungThread implements Runnable {
-	private final BlockingQueue<Optional<Integer>> nextPfad = new LinkedBlockingQueue<>();
+	private final BlockingQueue<Optional<Auftrag>> nextPfad = new LinkedBlockingQueue<>();
 	private final Berechnung berechnung;
 	private final RechenThread rechenThread;
+	// Rechenzeit dieses Threads in Nanosekunden und Anzahl der gerechneten Pfade, fr das Protokoll:
+	private long rechenzeit = 0;
+	private int anzahlPfade = 0;
 
 	/**
 	 * Erstelle einen Thread fr die Berechnung. Die eigentliche Berechnung muss jedoch durch die Funktion
@@ -47,17 +52,24 @@ public class BerechnungThread implements Runnable {
 		try {
 			while (true) {
 				try {
-					final Optional<Integer> letzterPfad = nextPfad.take();
+					final Optional<Auftrag> auftrag = nextPfad.take();
+					final Optional<Integer> letzterPfad = auftrag.map(a -> a.pfad);
 					if (letzterPfad.isPresent()) {
 						if (!berechnung.isPfadKorrekt(letzterPfad.get())) {
 							throw new IllegalArgumentException("Fehler in Szenariensatz fr Stressszenario "
 									+ berechnung.getSzenarioId()
 									+ ": Anzahl der Pfade im Szenariensatz ist kleiner als letzter zu rechnender Pfad");
 						}
+						final long start = zeit();
+						if (auftrag.get().buendel != null) {
+							berechnung.setPfadBuendel(auftrag.get().buendel);
+						}
 						// berechne den nchsten Pfad:
 						berechnung.berechnung(letzterPfad.get());
-						rechenThread.done(new BerechnungReady(this, letzterPfad, berechnung.getKennzahlenPfadweise(),
-								berechnung.getKennzahlenPfadweiseLoB(), berechnung.getMittelwerteUndCe(),
+						rechenzeit += zeit() - start;
+						++anzahlPfade;
+						rechenThread.done(new BerechnungReady(this, letzterPfad, berechnung.getKennzahlen(),
+								berechnung.getLobZeitIndex(), berechnung.getMittelwerteUndCe(),
 								berechnung.getMittelwerteNurCe()));
 					} else {
 						// alle Pfade sind berechnet, Signalisiere das Ende:
@@ -68,7 +80,8 @@ public class BerechnungThread implements Runnable {
 				}
 			}
 		} catch (Throwable t) {
-			rechenThread.done(new BerechnungReady(this, Optional.empty(), null, null, null, null, Optional.of(t)));
+			rechenThread
+					.done(new BerechnungReady(this, Optional.empty(), null, null, null, null, Optional.of(t)));
 		}
 	}
 
@@ -79,9 +92,24 @@ public class BerechnungThread implements Runnable {
 	 *            der Pfad
 	 */
 	public synchronized void berechne(final int pfad) {
+		berechne(pfad, null);
+	}
+
+	/**
+	 * Berechne den ersten Pfad eines Bndels. Die Diskontfaktoren werden dabei fr alle Pfade des Bndels ermittelt,
+	 * die brigen Pfade mssen anschlieend mit {@link #berechne(int)} angestoen werden.
+	 * 
+	 * @param buendel
+	 *            die Pfade des Bndels
+	 */
+	public synchronized void berechne(final int[] buendel) {
+		berechne(buendel[0], buendel);
+	}
+
+	private void berechne(final int pfad, final int[] buendel) {
 		while (true) {
 			try {
-				nextPfad.put(Optional.of(pfad));
+				nextPfad.put(Optional.of(new Auftrag(pfad, buendel)));
 				return;
 			} catch (InterruptedException e) {
 			}
@@ -109,4 +137,41 @@ public class BerechnungThread implements Runnable {
 		return berechnung;
 	}
 
+	/**
+	 * Rechenzeit dieses Threads fr die gerechneten Pfade, bevorzugt als CPU-Zeit. Sie ist erst gltig, wenn das Ende
+	 * des Threads signalisiert ist.
+	 * 
+	 * @return die Zeit in Nanosekunden
+	 */
+	public long getRechenzeit() {
+		return rechenzeit;
+	}
+
+	/**
+	 * Anzahl der von diesem Thread gerechneten Pfade.
+	 * 
+	 * @return die Anzahl
+	 */
+	public int getAnzahlPfade() {
+		return anzahlPfade;
+	}
+
+	private static long zeit() {
+		final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		return bean.isCurrentThreadCpuTimeSupported() ? bean.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+
+	/**
+	 * Ein zu rechnender Pfad, gegebenenfalls mit dem Bndel, das mit ihm beginnt.
+	 */
+	private static final class Auftrag {
+		private final int pfad;
+		private final int[] buendel;
+
+		Auftrag(final int pfad, final int[] buendel) {
+			this.pfad = pfad;
+			this.buendel = buendel;
+		}
+	}
+
 }
@@ -1,12 +1,12 @@
 package de.gdv.bsm.intern.rechnung;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.gdv.bsm.intern.applic.TableField;
+import de.gdv.bsm.intern.applic.TableFieldZugriff;
 
 /**
  * berprfung von Double-Feldern auf illegale Werte.
@@ -28,7 +28,9 @@ import de.gdv.bsm.intern.applic.TableField;
  */
 public class CheckData {
 	// Map mit allen zu prfenden Feldern pro Klasse
-	private static final Map<Class<?>, List<Field>> doubleFields = new HashMap<>();
+	private static final Map<Class<?>, List<TableFieldZugriff.Spalte>> doubleFields = new ConcurrentHashMap<>();
+	// dieselben Felder ohne die, die nur in die Ausgabe eingehen
+	private static final Map<Class<?>, List<TableFieldZugriff.Spalte>> doubleFieldsOhneAusgabe = new ConcurrentHashMap<>();
 
 	/**
 	 * Prfe alle als {@link TableField} markierten double-Felder auf gltige Werte.
@@ -43,38 +45,42 @@ public class CheckData {
 	 *            die zu prfenden Daten
 	 * @return die Liste der fehlerhaften Felder, oder eine leere Liste
 	 */
-	public synchronized static List<String> checkFinite(final Object data) {
-		if (!doubleFields.containsKey(data.getClass())) {
-			cashFields(data);
-		}
+	public static List<String> checkFinite(final Object data) {
+		return checkFinite(data, false);
+	}
+
+	/**
+	 * Wie {@link #checkFinite(Object)}, wahlweise ohne die Felder mit {@link TableField#nurAusgabe()}. Diese sind auf
+	 * Pfaden, deren Zeilen nicht ausgegeben werden, nicht berechnet.
+	 * 
+	 * @param data
+	 *            die zu prfenden Daten
+	 * @param ohneAusgabe
+	 *            sollen die nur fr die Ausgabe berechneten Felder bergangen werden?
+	 * @return die Liste der fehlerhaften Felder, oder eine leere Liste
+	 */
+	public static List<String> checkFinite(final Object data, final boolean ohneAusgabe) {
 		final List<String> errors = new ArrayList<>();
-		for (Field field : doubleFields.get(data.getClass())) {
-			final boolean accessible = field.isAccessible();
-			field.setAccessible(true);
-			try {
-				final double value = field.getDouble(data);
-				if (!Double.isFinite(value)) {
-					errors.add(data.getClass().getSimpleName() + "." + field.getName());
-				}
-			} catch (IllegalArgumentException | IllegalAccessException e) {
-				throw new IllegalStateException("Fehler beim Zugriff", e);
+		final List<TableFieldZugriff.Spalte> fields = ohneAusgabe
+				? doubleFieldsOhneAusgabe.computeIfAbsent(data.getClass(), c -> cashFields(c, true))
+				: doubleFields.computeIfAbsent(data.getClass(), c -> cashFields(c, false));
+		for (TableFieldZugriff.Spalte field : fields) {
+			final double value = field.getDouble(data);
+			if (!Double.isFinite(value)) {
+				errors.add(data.getClass().getSimpleName() + "." + field.getName());
 			}
-			field.setAccessible(accessible);
 		}
 		return errors;
 	}
 
-	private static void cashFields(Object data) {
-		final Class<?> c = data.getClass();
-		final List<Field> fields = new ArrayList<>();
-		for (Field field : c.getDeclaredFields()) {
-			final TableField tf = field.getAnnotation(TableField.class);
-			if (tf != null && tf.checkFinite()) {
-				if (field.getType() == double.class) {
-					fields.add(field);
-				}
+	private static List<TableFieldZugriff.Spalte> cashFields(final Class<?> c, final boolean ohneAusgabe) {
+		final List<TableFieldZugriff.Spalte> fields = new ArrayList<>();
+		for (TableFieldZugriff.Spalte field : TableFieldZugriff.fuer(c).getSpalten()) {
+			if (field.getTableField().checkFinite() && field.getTyp() == double.class
+					&& !(ohneAusgabe && field.getTableField().nurAusgabe())) {
+				fields.add(field);
 			}
 		}
-		doubleFields.put(c, fields);
+		return fields;
 	}
 }
@@ -1,12 +1,11 @@
 package de.gdv.bsm.intern.rechnung;
 
-import java.io.PrintStream;
-import java.lang.reflect.Field;
-import java.text.DecimalFormat;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-import de.gdv.bsm.intern.applic.TableField;
+import de.gdv.bsm.intern.csv.CsvWriter;
 import de.gdv.bsm.vu.kennzahlen.MittelwerteNurCe;
 import de.gdv.bsm.vu.kennzahlen.MittelwerteUndCe;
 
@@ -29,205 +28,161 @@ import de.gdv.bsm.vu.kennzahlen.MittelwerteUndCe;
  * <b>Simulationsmodell  GDV 2016</b>
  */
 public class Mittelwerte {
+	// Anzahl der ber die Pfade summierten Werte am Anfang von values
+	private static final int anzahlSummen = MittelwerteUndCe.ANZAHL_KENNZAHLEN;
+	// die berschriften sind fr alle Zeilen gleich:
+	private static final List<String> title;
+	private static final List<String> titleDrZeile1;
+	private static final List<String> titleDrZeile2;
+
+	static {
+		final List<String> t = new ArrayList<>();
+		final List<String> t1 = new ArrayList<>();
+		final List<String> t2 = new ArrayList<>();
+		t.add("<html><p>Szenario</p><br/><p></p></html>");
+		t.add("<html><p>Szenario ID</p><br/><p></p></html>");
+		t.add("<html><p>LoB</p><br/><p></p></html>");
+		t.add("<html><p>Zeit</p><br/><p></p></html>");
+		t1.add("Szenario");
+		t1.add("Szenario ID");
+		t1.add("LoB");
+		t1.add("Zeit");
+		for (int i = 0; i < 4; ++i) {
+			t2.add("");
+		}
+		for (String name : MittelwerteUndCe.KENNZAHLEN) {
+			t.add("<html><p>" + name + "</p><p>Mittelwert</p></html>");
+			t1.add(name);
+			t2.add("Mittelwert");
+		}
+		final List<String> ce = new ArrayList<>(MittelwerteUndCe.KENNZAHLEN);
+		ce.addAll(MittelwerteNurCe.KENNZAHLEN);
+		for (String name : ce) {
+			t.add("<html><p>" + name + "</p><p>CE</p></html>");
+			t1.add(name);
+			t2.add("CE");
+		}
+		title = Collections.unmodifiableList(t);
+		titleDrZeile1 = Collections.unmodifiableList(t1);
+		titleDrZeile2 = Collections.unmodifiableList(t2);
+	}
+
 	private final String szenario;
 	private final int szenarioId;
 	private final String lob;
 	private final int zeit;
 
-	private int anzahl = 0;
-	private List<Field> sumFields = new ArrayList<>();
-	private List<String> title = new ArrayList<>();
-	private List<String> titleDrZeile1 = new ArrayList<>();
-	private List<String> titleDrZeile2 = new ArrayList<>();
-	private List<Double> values = new ArrayList<>();
+	private int anzahl;
+	// Summen der Mittelwerte, gefolgt von den CE aus Pfad 0
+	private final double[] values;
 
 	/**
-	 * Erstelle die Grunddaten einer Zeile.
+	 * Erstelle eine Zeile aus den ber die Pfade summierten Mittelwerten und den Werten von Pfad 0. Die Felder sind
+	 * in Blcken je LoB und Zeit angeordnet, siehe {@link MittelwerteUndCe#berechne} und
+	 * {@link MittelwerteNurCe#berechne}.
 	 * 
-	 * @param mwUndCe
-	 *            die Grunddaten
-	 * @param addierePfad0
-	 *            sollen die Daten fr Pfad 0 mit addiert werden?
-	 * @throws IllegalArgumentException
-	 *             bei Systemfehlern
-	 * @throws IllegalAccessException
-	 *             bei Systemfehlern
+	 * @param szenario
+	 *            Name des Szenarios
+	 * @param szenarioId
+	 *            ID des Szenarios
+	 * @param lob
+	 *            die LoB
+	 * @param zeit
+	 *            der Zeitpunkt
+	 * @param anzahl
+	 *            Anzahl der summierten Pfade
+	 * @param summen
+	 *            die ber die Pfade summierten Mittelwerte und CE
+	 * @param undCe
+	 *            die Mittelwerte und CE von Pfad 0
+	 * @param offsetUndCe
+	 *            Beginn des Blocks in <code>summen</code> und <code>undCe</code>
+	 * @param nurCe
+	 *            die Mittelwerte (nur CE) von Pfad 0
+	 * @param offsetNurCe
+	 *            Beginn des Blocks in <code>nurCe</code>
 	 */
-	public Mittelwerte(final MittelwerteUndCe mwUndCe, final boolean addierePfad0)
-			throws IllegalArgumentException, IllegalAccessException {
-		this.szenario = mwUndCe.getSzenario();
-		this.szenarioId = mwUndCe.getSzenarioId();
-		this.lob = mwUndCe.getLob();
-		this.zeit = mwUndCe.getZeit();
-
-		for (Field field : mwUndCe.getClass().getDeclaredFields()) {
-			final TableField tf = field.getAnnotation(TableField.class);
-			if (tf != null) {
-				sumFields.add(field);
-				title.add("<html><p>" + field.getName() + "</p><p>Mittelwert</p></html>");
-				titleDrZeile1.add(field.getName());
-				titleDrZeile2.add("Mittelwert");
-				values.add(0.0);
-			}
-		}
-		addValues(mwUndCe, addierePfad0);
+	public Mittelwerte(final String szenario, final int szenarioId, final String lob, final int zeit,
+			final int anzahl, final double[] summen, final double[] undCe, final int offsetUndCe, final double[] nurCe,
+			final int offsetNurCe) {
+		this.szenario = szenario;
+		this.szenarioId = szenarioId;
+		this.lob = lob;
+		this.zeit = zeit;
+		this.anzahl = anzahl;
+
+		values = new double[2 * MittelwerteUndCe.ANZAHL_KENNZAHLEN + MittelwerteNurCe.ANZAHL_KENNZAHLEN];
+		System.arraycopy(summen, offsetUndCe, values, 0, anzahlSummen);
+		System.arraycopy(undCe, offsetUndCe, values, anzahlSummen, MittelwerteUndCe.ANZAHL_KENNZAHLEN);
+		System.arraycopy(nurCe, offsetNurCe, values, anzahlSummen + MittelwerteUndCe.ANZAHL_KENNZAHLEN,
+				MittelwerteNurCe.ANZAHL_KENNZAHLEN);
 	}
 
 	/**
-	 * Addiere den Grunddaten die Daten fr einen weiteren Pfad hinzu.
+	 * Fge die Summen einer Zeile eines anderen Threads oder Teillaufs hinzu. Die CE stammen aus Pfad 0 und sind in
+	 * allen Teillufen gleich, es bleiben die dieser Zeile.
 	 * 
-	 * @param mwUndCe
-	 *            die Daten von Pfad 0.
-	 * @param addierePfad0
-	 *            sollen die Daten fr Pfad 0 mit addiert werden?
-	 * @throws IllegalArgumentException
-	 *             bei Systemfehlern
-	 * @throws IllegalAccessException
-	 *             bei Systemfehlern
+	 * @param other
+	 *            die Zeile mit gleichem Szenario, LoB und Zeitpunkt
 	 */
-	public void addValues(final MittelwerteUndCe mwUndCe, final boolean addierePfad0)
-			throws IllegalArgumentException, IllegalAccessException {
-		if (mwUndCe.getPfad() == 0 && !addierePfad0)
-			return;
-		++anzahl;
-		for (int i = 0; i < sumFields.size(); ++i) {
-			final Field f = sumFields.get(i);
-			final boolean accessible = f.isAccessible();
-			f.setAccessible(true);
-			final Object value = f.get(mwUndCe);
-			if (value instanceof Double) {
-				values.set(i, values.get(i) + ((double) value));
-			} else {
-				throw new IllegalArgumentException(
-						"Mit TableField annotierte Felder in Mittelwerte und Ce mssen vom Typ double sein!");
-			}
-			f.setAccessible(accessible);
+	public void merge(final Mittelwerte other) {
+		if (other.szenarioId != szenarioId || !other.lob.equals(lob) || other.zeit != zeit) {
+			throw new IllegalArgumentException("Mittelwerte von Szenario " + other.szenarioId + ", LoB " + other.lob
+					+ ", Zeit " + other.zeit + " passen nicht zu Szenario " + szenarioId + ", LoB " + lob + ", Zeit "
+					+ zeit);
 		}
-	}
-
-	/**
-	 * Fge die Daten hinzu von Pfad 0.
-	 * 
-	 * @param mwCe
-	 *            die gerechneten Daten
-	 * @throws IllegalArgumentException
-	 *             bei Systemfehlern
-	 * @throws IllegalAccessException
-	 *             bei Systemfehlern
-	 */
-	public void setValues(final MittelwerteUndCe mwCe) throws IllegalArgumentException, IllegalAccessException {
-		for (int i = 0; i < sumFields.size(); ++i) {
-			final Field f = sumFields.get(i);
-			final boolean accessible = f.isAccessible();
-			f.setAccessible(true);
-			final Object value = f.get(mwCe);
-			title.add("<html><p>" + f.getName() + "</p><p>CE</p></html>");
-			titleDrZeile1.add(f.getName());
-			titleDrZeile2.add("CE");
-			if (value instanceof Double) {
-				values.add((double) value);
-			} else {
-				throw new IllegalArgumentException(
-						"Mit TableField annotierte Felder in Mittelwerte und Ce mssen vom Typ double sein!");
-			}
-			f.setAccessible(accessible);
-		}
-
-	}
-
-	/**
-	 * Fge die Daten hinzu, die nur auf Pfad 0 gerechnet werden.
-	 * 
-	 * @param mwNurCe
-	 *            die gerechneten Daten
-	 * @throws IllegalArgumentException
-	 *             bei Systemfehlern
-	 * @throws IllegalAccessException
-	 *             bei Systemfehlern
-	 */
-	public void setValues(final MittelwerteNurCe mwNurCe) throws IllegalArgumentException, IllegalAccessException {
-		for (Field f : mwNurCe.getClass().getDeclaredFields()) {
-			final TableField tf = f.getAnnotation(TableField.class);
-			if (tf != null) {
-				final boolean accessible = f.isAccessible();
-				f.setAccessible(true);
-				final Object value = f.get(mwNurCe);
-				title.add("<html><p>" + f.getName() + "</p><p>CE</p></html>");
-				titleDrZeile1.add(f.getName());
-				titleDrZeile2.add("CE");
-				if (value instanceof Double) {
-					values.add((double) value);
-				} else {
-					throw new IllegalArgumentException(
-							"Mit TableField annotierte Felder in Mittelwerte und Ce mssen vom Typ double sein!");
-				}
-				f.setAccessible(accessible);
-			}
+		for (int i = 0; i < anzahlSummen; ++i) {
+			values[i] += other.values[i];
 		}
+		anzahl += other.anzahl;
 	}
 
-	private final DecimalFormat df = new DecimalFormat("#.##############################");
-
 	/**
 	 * Gebe die Daten dieser Zeile im csv-Format aus.
 	 * 
-	 * @param printStream
-	 *            der Ausgabestrom
+	 * @param out
+	 *            die Ausgabedatei
+	 * @throws IOException
+	 *             bei Ausgabefehlern
 	 */
-	public void writeZeile(final PrintStream printStream) {
-		printStream.print(szenario + ";" + szenarioId + ";" + lob + ";" + zeit);
-		int i = 0;
-		for (double v : values) {
-			if (i < sumFields.size()) {
-				printStream.print(";" + df.format(v / anzahl));
+	public void writeZeile(final CsvWriter out) throws IOException {
+		out.print(szenario);
+		out.print(';');
+		out.print(szenarioId);
+		out.print(';');
+		out.print(lob);
+		out.print(';');
+		out.print(zeit);
+		for (int i = 0; i < values.length; ++i) {
+			out.print(';');
+			if (i < anzahlSummen) {
+				out.print(values[i] / anzahl);
 			} else {
-				printStream.print(";" + df.format(v));
+				out.print(values[i]);
 			}
-			++i;
 		}
-		printStream.println();
+		out.println();
 	}
 
 	/**
 	 * @return the title fr das Tablemodel
 	 */
 	public List<String> getTitle() {
-		final List<String> alleTitel = new ArrayList<>();
-		alleTitel.add("<html><p>Szenario</p><br/><p></p></html>");
-		alleTitel.add("<html><p>Szenario ID</p><br/><p></p></html>");
-		alleTitel.add("<html><p>LoB</p><br/><p></p></html>");
-		alleTitel.add("<html><p>Zeit</p><br/><p></p></html>");
-		alleTitel.addAll(title);
-
-		return alleTitel;
+		return title;
 	}
 
 	/**
 	 * @return the title fr die csv_Datei - Zeile 1
 	 */
 	public List<String> getTitleDruckZeile1() {
-		final List<String> alleTitel = new ArrayList<>();
-		alleTitel.add("Szenario");
-		alleTitel.add("Szenario ID");
-		alleTitel.add("LoB");
-		alleTitel.add("Zeit");
-		alleTitel.addAll(titleDrZeile1);
-
-		return alleTitel;
+		return titleDrZeile1;
 	}
 
 	/**
 	 * @return the title fr die csv_Datei - Zeile 2
 	 */
 	public List<String> getTitleDruckZeile2() {
-		final List<String> alleTitel = new ArrayList<>();
-		alleTitel.add("");
-		alleTitel.add("");
-		alleTitel.add("");
-		alleTitel.add("");
-		alleTitel.addAll(titleDrZeile2);
-
-		return alleTitel;
+		return titleDrZeile2;
 	}
 
 	/**
@@ -238,10 +193,10 @@ public class Mittelwerte {
 	 * @return der Wert
 	 */
 	public double getValue(final int index) {
-		if (index < sumFields.size()) {
-			return values.get(index) / anzahl;
+		if (index < anzahlSummen) {
+			return values[index] / anzahl;
 		} else {
-			return values.get(index);
+			return values[index];
 		}
 	}
 
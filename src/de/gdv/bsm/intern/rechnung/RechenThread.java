@@ -3,10 +3,12 @@ package de.gdv.bsm.intern.rechnung;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
-import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Deque;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -17,6 +19,7 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import de.gdv.bsm.intern.applic.AusgabThreadMittelwerte;
@@ -24,6 +27,10 @@ import de.gdv.bsm.intern.applic.AusgabeThread;
 import de.gdv.bsm.intern.applic.AusgabeThreadTableField;
 import de.gdv.bsm.intern.applic.BerechnungResultat;
 import de.gdv.bsm.intern.applic.RechenFortschrittInterface;
+import de.gdv.bsm.intern.applic.TableFieldDaten;
+import de.gdv.bsm.intern.csv.CsvWriter;
+import de.gdv.bsm.intern.math.GeordneteFolge;
+import de.gdv.bsm.intern.math.NeumaierSumme;
 import de.gdv.bsm.intern.params.Eingabe;
 import de.gdv.bsm.intern.params.SzenarioMapping;
 import de.gdv.bsm.intern.params.SzenarioMappingZeile;
@@ -31,11 +38,19 @@ import de.gdv.bsm.intern.params.VuParameter;
 import de.gdv.bsm.intern.szenario.Szenario;
 import de.gdv.bsm.vu.berechnung.AggZeile;
 import de.gdv.bsm.vu.berechnung.Berechnung;
+import de.gdv.bsm.vu.berechnung.BerechnungOptionen;
+import de.gdv.bsm.vu.berechnung.LobZeitIndex;
 import de.gdv.bsm.vu.berechnung.RzgZeile;
+import de.gdv.bsm.vu.kennzahlen.Bootstrap;
+import de.gdv.bsm.vu.kennzahlen.EsgKontrollen;
 import de.gdv.bsm.vu.kennzahlen.KennzahlenPfadweise;
 import de.gdv.bsm.vu.kennzahlen.KennzahlenPfadweiseLoB;
+import de.gdv.bsm.vu.kennzahlen.KontrollvariablenSchaetzer;
 import de.gdv.bsm.vu.kennzahlen.MittelwerteNurCe;
 import de.gdv.bsm.vu.kennzahlen.MittelwerteUndCe;
+import de.gdv.bsm.vu.kennzahlen.PfadErgebnisse;
+import de.gdv.bsm.vu.kennzahlen.QuantilKennzahlen;
+import de.gdv.bsm.vu.kennzahlen.Schaetzer;
 
 /**
  * Rechenkern fr die komplette Ausfhrung von Berechnungen.
@@ -62,6 +77,10 @@ public class RechenThread implements Runnable {
 	private List<Integer> pfade = new ArrayList<>();
 	// nchster zu berechnender Pfad:
 	private int nextPfad = 0;
+	// Anzahl aufeinanderfolgender Pfade, die ein Berechnungsthread als Bndel erhlt:
+	private int buendelBreite = 1;
+	// je Berechnungsthread die noch nicht angestoenen Pfade seines Bndels:
+	private final Map<BerechnungThread, Deque<Integer>> buendelRest = new HashMap<>();
 	// Alle asymchronen Berechnung-Threads
 	private final Set<BerechnungThread> berechnungThreads = new HashSet<>();
 	// Queue mit den Resultaten
@@ -70,10 +89,14 @@ public class RechenThread implements Runnable {
 	private final BlockingQueue<AusgabeThread> ausgaben = new LinkedBlockingQueue<>();
 	// bereits berechnete Pfade:
 	private final Set<Integer> berechnetePfade = new HashSet<>();
-	// die gesammelten berechneten Kennzahlen
-	private final TreeMap<Integer, TreeMap<Integer, KennzahlenPfadweise>> kennzahlenPfadweise = new TreeMap<>();
-	private final TreeMap<Integer, TreeMap<Integer, List<KennzahlenPfadweiseLoB>>> kennzahlenPfadweiseLoB = new TreeMap<>();
+	// die gesammelten berechneten Kennzahlen, je Pfad ein kompakter Satz
+	private final PfadErgebnisse pfadErgebnisse = new PfadErgebnisse();
 	private final List<Mittelwerte> mittelwerteList = new ArrayList<>();
+	/** Kennzahlen, deren Standardfehler beim vorzeitigen Abbruch der Pfade geprft werden. */
+	private static final List<String> KONVERGENZ_KENNZAHLEN = Arrays.asList("be", "mwPassiva");
+	/** Spalten der {@link #KONVERGENZ_KENNZAHLEN} in den Schtzern. */
+	private static final int[] KONVERGENZ_INDEX = KONVERGENZ_KENNZAHLEN.stream()
+			.mapToInt(k -> KennzahlenPfadweise.getKennzahlNamen().indexOf(k)).toArray();
 
 	/**
 	 * Erstelle den Rechenkern.
@@ -115,7 +138,7 @@ public class RechenThread implements Runnable {
 	@Override
 	public void run() {
 		final File ausgabeFile = new File(vuParameter.getTransferDir(), VuParameter.AUSGABE);
-		try (final PrintStream ausgabe = new PrintStream(new FileOutputStream(ausgabeFile))) {
+		try (final CsvWriter ausgabe = new CsvWriter(ausgabeFile)) {
 			// Startzeit der Simulation
 			final Calendar start = new GregorianCalendar();
 			final Map<Integer, List<String>> sznrHeader = new TreeMap<>();
@@ -136,6 +159,11 @@ public class RechenThread implements Runnable {
 			if (eingabe.getPfadVon() > eingabe.getPfadBis() && eingabe.getPfadBis() != 0) {
 				throw new IllegalArgumentException("Pfad von grer als Pfad bis.");
 			}
+			// vor der Berechnung prfen, der Bootstrap wird erst nach allen Pfaden gerechnet:
+			if (eingabe.getBootstrapStichproben() < 0 || eingabe.getBootstrapStichproben() == 1) {
+				throw new IllegalArgumentException(
+						"Fr den Bootstrap werden mindestens 2 Stichproben bentigt: " + eingabe.getBootstrapStichproben());
+			}
 			// Pfad bis kann null sein, dann nur Pfad von rechnen:
 			final int pfadBis = Math.max(eingabe.getPfadVon(), eingabe.getPfadBis());
 
@@ -167,30 +195,69 @@ public class RechenThread implements Runnable {
 			}
 
 			Berechnung letzteBerechnung = null;
+			// der Pfad, dessen Zeilen ausgegeben werden; bei vorzeitig erreichter Genauigkeit der letzte verwendete:
+			int ausgabePfad = pfadBis;
 
 			ausgabe.println(
 					"Stressszenario ID;Stressszenarion;Modifizierte Duration Zinstitel-Portfolio;FI-Ausfall-Wahrscheinlichkeit");
-			final DecimalFormat df = new DecimalFormat("#.##############################");
 
 			Szenario szenario = null;
 			int szenarioId = 0;
+			final BerechnungOptionen optionen = new BerechnungOptionen(eingabe);
+			// die Ausfallwahrscheinlichkeit hngt nur vom Stressszenario ab und wird je Szenario einmal ermittelt:
+			final Map<Integer, Double> ausfallCache = new HashMap<>();
+			// zusammenfassbare klassische Bestandsgruppen je Stressszenario, fr das Protokoll:
+			final Map<Integer, String> verdichtbar = new TreeMap<>();
+			// Schtzer der stochastischen Kennzahlen je Stressszenario und LoB, fortgeschrieben mit jedem Pfad:
+			final Map<Integer, Schaetzer> schaetzer = new HashMap<>();
+			final Map<Integer, Map<String, Schaetzer>> schaetzerLob = new HashMap<>();
+			final int anzahlKennzahlen = KennzahlenPfadweise.getKennzahlNamen().size();
+			final int anzahlKennzahlenLob = KennzahlenPfadweiseLoB.getKennzahlNamen().size();
+			final int[] cvIndex = PfadErgebnisse.getCvIndex();
+			final int[] cvIndexLob = PfadErgebnisse.getCvIndexLob();
+			// Quantile ausgewhlter Kennzahlen je Stressszenario, ebenfalls mit jedem Pfad fortgeschrieben:
+			final Map<Integer, QuantilKennzahlen> quantile = new HashMap<>();
+			// optional Schtzer mit den Martingaltests des Szenariensatzes als Kontrollvariablen:
+			final Map<Integer, KontrollvariablenSchaetzer> kontrolle = new HashMap<>();
+			final Map<Integer, Map<String, KontrollvariablenSchaetzer>> kontrolleLob = new HashMap<>();
+			final int anzahlKontrollen = EsgKontrollen.NAMEN.size();
+			// Pfadanzahl und erreichte Genauigkeit je Stressszenario, fr das Protokoll:
+			final Map<Integer, String> konvergenz = new TreeMap<>();
+			// Parallelisierung innerhalb der Pfade nur, wenn ber die Pfade nicht alle Prozessoren genutzt werden:
+			final int prozessoren = Runtime.getRuntime().availableProcessors();
+			final ForkJoinPool kohortenPool = eingabe.isKohortenParallel() && pfade.size() < prozessoren - 1
+					? new ForkJoinPool(prozessoren - 1) : null;
+			buendelBreite = Math.max(1, eingabe.getPfadBuendel());
+			// Rechenzeit der Berechnungsthreads und Anzahl der dort gerechneten Pfade, fr das Protokoll:
+			long rechenzeit = 0;
+			int gerechnetePfade = 0;
 
 			for (SzenarioMappingZeile sz : szenarien) {
 				boolean ausgabeGeschrieben = false;
 
-				// Mittelwerte gesammelt zunchst fr das aktuelle Szenario:
-				final Map<String, Map<Integer, List<MittelwerteUndCe>>> mittelwerteUndCe = new HashMap<>();
-				final Map<String, Map<Integer, List<MittelwerteNurCe>>> mittelwerteNurCe = new HashMap<>();
+				// Mittelwerte gesammelt zunchst fr das aktuelle Szenario, in Blcken je LoB und Zeit:
+				LobZeitIndex lobZeitIndex = null;
+				NeumaierSumme mittelwerteSumme = null;
+				double[] mittelwerteUndCe = null;
+				double[] mittelwerteNurCe = null;
+				// die Pfade werden in ihrer Reihenfolge aggregiert, nicht in der Reihenfolge der Fertigstellung; so
+				// sind Summen und Schtzer bei jeder Anzahl von Threads bitgleich:
+				final GeordneteFolge<PfadBeitrag> pfadFolge = new GeordneteFolge<>(pfade);
+				// ist die geforderte Genauigkeit erreicht, so werden keine weiteren Pfade angestoen, und die Pfade
+				// nach dem ersten Pfad, mit dem sie erreicht wurde, werden nicht mehr verwendet:
+				boolean konvergiert = false;
+				ausgabePfad = pfadBis;
 
 				fortschritt.setBerechnungPercent(sz.getId(), 0);
 				nextPfad = 0;
 				berechnungThreads.clear();
+				buendelRest.clear();
 				berechnetePfade.clear();
 
 				// setze parallele Threads auf, maximal einer weniger als Prozessoren
-				// und zu berechnende Pfade
+				// und zu berechnende Pfade bzw. Bndel
 				final int threadCount = Math.max(1,
-						Math.min(Runtime.getRuntime().availableProcessors() - 1, pfade.size()));
+						Math.min(prozessoren - 1, (pfade.size() + buendelBreite - 1) / buendelBreite));
 				for (int i = 0; i < threadCount; ++i) {
 					if (szenarioId != sz.getZinskurve()) {
 						szenario = new Szenario(new File(eingabe.getPfadSzenariensatz()), sz.getZinskurve(), pfadBis,
@@ -198,13 +265,18 @@ public class RechenThread implements Runnable {
 						szenarioId = sz.getZinskurve();
 						sznrHeader.put(sz.getZinskurve(), szenario.getHeader());
 					}
-					final Berechnung berechnung = new Berechnung(sz.getId(), eingabe.isFlvRechnen(),
-							eingabe.isNegAusfallwk(), eingabe.isAusgabe(), vuParameter, szenario);
+					final Berechnung berechnung = new Berechnung(sz.getId(), optionen, vuParameter, szenario,
+							ausfallCache, kohortenPool);
+					berechnung.setAusgabePfad(pfadBis);
 
 					if (!ausgabeGeschrieben) {
-						ausgabe.println(
-								sz.getId() + ";" + sz.getName() + ";" + df.format(berechnung.getDurationKaBestand())
-										+ ";" + df.format(berechnung.getAusfallWahrscheinlichkeitQ()));
+						ausgabe.print(sz.getId() + ";" + sz.getName() + ";");
+						ausgabe.print(berechnung.getDurationKaBestand());
+						ausgabe.print(';');
+						ausgabe.print(berechnung.getAusfallWahrscheinlichkeitQ());
+						ausgabe.println();
+						verdichtbar.put(sz.getId(), berechnung.getAnzahlVerdichtbar() + " von "
+								+ berechnung.getAnzahlBestandsgruppenKlassik());
 						ausgabeGeschrieben = true;
 					}
 
@@ -214,11 +286,9 @@ public class RechenThread implements Runnable {
 				}
 
 				for (BerechnungThread bt : berechnungThreads) {
-					bt.berechne(pfade.get(nextPfad));
-					if (pfade.get(nextPfad) == pfadBis) {
+					if (starteNaechsten(bt) == pfadBis) {
 						letzteBerechnung = bt.getBerechnung();
 					}
-					++nextPfad;
 				}
 
 				while (true) {
@@ -231,41 +301,69 @@ public class RechenThread implements Runnable {
 							}
 							berechnetePfade.add(pfad);
 
-							if (!kennzahlenPfadweise.containsKey(sz.getId())) {
-								kennzahlenPfadweise.put(sz.getId(), new TreeMap<>());
-							}
-							kennzahlenPfadweise.get(sz.getId()).put(pfad, br.kennzahlenPfadweise);
-
-							if (!kennzahlenPfadweiseLoB.containsKey(sz.getId())) {
-								kennzahlenPfadweiseLoB.put(sz.getId(), new TreeMap<>());
+							// die Blcke der Mittelwerte gehren der Berechnung, sie mssen daher hier verarbeitet
+							// werden, bevor der nchste Pfad angestoen wird:
+							if (lobZeitIndex == null) {
+								// die Gruppierung ist fr alle Berechnungen eines Szenarios gleich
+								lobZeitIndex = br.lobZeitIndex;
+								mittelwerteSumme = new NeumaierSumme(br.mittelwerteUndCe.length);
 							}
-							kennzahlenPfadweiseLoB.get(sz.getId()).put(pfad, br.kennzahlenPfadweiseLoB);
-
-							for (String lob : br.mittelwerteUndCe.keySet()) {
-								if (!mittelwerteUndCe.containsKey(lob)) {
-									mittelwerteUndCe.put(lob, new HashMap<>());
+							// ein vorzeitig fertiger Pfad wartet auf seine Vorgnger, dann muss der Block kopiert werden:
+							pfadFolge.add(pfad, new PfadBeitrag(pfad, br.kennzahlen,
+									pfadFolge.isNaechster(pfad) ? br.mittelwerteUndCe : br.mittelwerteUndCe.clone()));
+							for (PfadBeitrag b = pfadFolge.naechster(); b != null; b = pfadFolge.naechster()) {
+								if (konvergiert) {
+									// noch laufende Pfade nach dem Erreichen der Genauigkeit werden verworfen, so ist
+									// das Ergebnis unabhngig davon, wie viele Pfade gerade in Arbeit waren
+									continue;
 								}
-								final Map<Integer, MittelwerteUndCe> map = br.mittelwerteUndCe.get(lob);
-								for (int zeit : map.keySet()) {
-									if (!mittelwerteUndCe.get(lob).containsKey(zeit)) {
-										mittelwerteUndCe.get(lob).put(zeit, new ArrayList<>());
-									}
-									mittelwerteUndCe.get(lob).get(zeit).add(map.get(zeit));
+								// alle Auswertungen lesen direkt aus dem Satz des Pfades, er wird ohne Kopie abgelegt:
+								final List<String> lobs = lobZeitIndex.getLobs();
+								pfadErgebnisse.add(sz.getId(), b.pfad, lobs, b.kennzahlen);
+								if (b.pfad == 0 && !addierePfad0) {
+									continue;
 								}
-							}
-
-							for (String lob : br.mittelwerteNurCe.keySet()) {
-								if (!mittelwerteNurCe.containsKey(lob)) {
-									mittelwerteNurCe.put(lob, new HashMap<>());
+								mittelwerteSumme.add(b.mittelwerteUndCe);
+
+								schaetzer.computeIfAbsent(sz.getId(), k -> new Schaetzer(anzahlKennzahlen))
+										.add(b.kennzahlen, 0, cvIndex);
+								final Map<String, Schaetzer> jeLob = schaetzerLob.computeIfAbsent(sz.getId(),
+										k -> new HashMap<>());
+								for (int l = 0; l < lobs.size(); ++l) {
+									jeLob.computeIfAbsent(lobs.get(l), k -> new Schaetzer(anzahlKennzahlenLob))
+											.add(b.kennzahlen, PfadErgebnisse.getAnfangLob(l), cvIndexLob);
+								}
+								quantile.computeIfAbsent(sz.getId(), k -> new QuantilKennzahlen()).add(lobs,
+										b.kennzahlen);
+								if (eingabe.isEsgKontrollvariablen()) {
+									final double[] kontrollen = EsgKontrollen.berechne(szenario, b.pfad);
+									kontrolle.computeIfAbsent(sz.getId(),
+											k -> new KontrollvariablenSchaetzer(anzahlKennzahlen, anzahlKontrollen))
+											.add(b.kennzahlen, 0, kontrollen);
+									final Map<String, KontrollvariablenSchaetzer> kontrolleJeLob = kontrolleLob
+											.computeIfAbsent(sz.getId(), k -> new HashMap<>());
+									for (int l = 0; l < lobs.size(); ++l) {
+										kontrolleJeLob.computeIfAbsent(lobs.get(l),
+												k -> new KontrollvariablenSchaetzer(anzahlKennzahlenLob,
+														anzahlKontrollen))
+												.add(b.kennzahlen, PfadErgebnisse.getAnfangLob(l), kontrollen);
+									}
 								}
-								final Map<Integer, MittelwerteNurCe> map = br.mittelwerteNurCe.get(lob);
-								for (int zeit : map.keySet()) {
-									if (!mittelwerteNurCe.get(lob).containsKey(zeit)) {
-										mittelwerteNurCe.get(lob).put(zeit, new ArrayList<>());
+								// geprft wird nach jedem Pfad in der festen Reihenfolge, verwendet wird also der
+								// krzeste Anfang der Pfade, mit dem die Genauigkeit erreicht ist:
+								if (eingabe.getZielGenauigkeit() > 0.0 && isKonvergiert(schaetzer.get(sz.getId()))) {
+									konvergiert = true;
+									if (b.pfad != pfadBis) {
+										// ausgegeben wird der letzte verwendete Pfad, er wird am Ende neu gerechnet
+										ausgabePfad = b.pfad;
+										letzteBerechnung = br.doer.getBerechnung();
 									}
-									mittelwerteNurCe.get(lob).get(zeit).add(map.get(zeit));
 								}
 							}
+							if (pfad == 0) {
+								mittelwerteUndCe = br.mittelwerteUndCe.clone();
+								mittelwerteNurCe = br.mittelwerteNurCe.clone();
+							}
 
 							final int percent = berechnetePfade.size() * 100 / pfade.size();
 							if (percent != lastPercent) {
@@ -273,12 +371,10 @@ public class RechenThread implements Runnable {
 								lastPercent = percent;
 							}
 
-							if (nextPfad < pfade.size() && !fortschritt.isAbbruch()) {
-								br.doer.berechne(pfade.get(nextPfad));
-								if (pfade.get(nextPfad) == pfadBis) {
+							if (hatNaechsten(br.doer) && !fortschritt.isAbbruch() && !konvergiert) {
+								if (starteNaechsten(br.doer) == pfadBis) {
 									letzteBerechnung = br.doer.getBerechnung();
 								}
-								++nextPfad;
 							} else {
 								br.doer.stop();
 							}
@@ -289,6 +385,8 @@ public class RechenThread implements Runnable {
 								throw br.error.get();
 							}
 							// doer has stopped:
+							rechenzeit += br.doer.getRechenzeit();
+							gerechnetePfade += br.doer.getAnzahlPfade();
 							berechnungThreads.remove(br.doer);
 							if (berechnungThreads.isEmpty()) {
 								// all threads ready: stop
@@ -299,54 +397,50 @@ public class RechenThread implements Runnable {
 					}
 				}
 
-				if (berechnetePfade.size() != pfade.size() && !fortschritt.isAbbruch()) {
+				if (berechnetePfade.size() != pfade.size() && !fortschritt.isAbbruch() && !konvergiert) {
 					throw new IllegalStateException("es wurden einige Pfade nicht berechnet!");
 				}
+				if (eingabe.getZielGenauigkeit() > 0.0) {
+					final Schaetzer s = schaetzer.computeIfAbsent(sz.getId(), k -> new Schaetzer(anzahlKennzahlen));
+					final StringBuilder sb = new StringBuilder();
+					sb.append(s.getAnzahl());
+					for (int j = 0; j < KONVERGENZ_INDEX.length; ++j) {
+						final int i = KONVERGENZ_INDEX[j];
+						sb.append(";relativer Standardfehler " + KONVERGENZ_KENNZAHLEN.get(j) + ";"
+								+ s.getStandardfehler(i) / Math.abs(s.getMittelwert(i)));
+					}
+					konvergenz.put(sz.getId(), sb.toString());
+				}
 
 				fortschritt.setBerechnungPercent(sz.getId(), 100);
 
-				// alle Lobs, die in den Daten gefunden wurden
-				final Set<String> lobs = new HashSet<>();
-				lobs.addAll(mittelwerteUndCe.keySet());
-				lobs.addAll(mittelwerteNurCe.keySet());
-
-				for (String lob : vuParameter.getLobs()) {
-					lobs.remove(lob);
-
-					if (!mittelwerteUndCe.containsKey(lob)) {
-						continue;
-					}
-
-					// Alle Zeiten in der korrekten Sortierung
-					final TreeSet<Integer> zeiten = new TreeSet<>();
-					zeiten.addAll(mittelwerteUndCe.get(lob).keySet());
-
-					for (int zeit : zeiten) {
-						Mittelwerte mittelwerte = null;
-						MittelwerteUndCe undCeNurCe = null;
-						MittelwerteNurCe nurCe = null;
-						for (MittelwerteUndCe mwCe : mittelwerteUndCe.get(lob).get(zeit)) {
-							if (mittelwerte == null) {
-								mittelwerte = new Mittelwerte(mwCe, addierePfad0);
-							} else {
-								mittelwerte.addValues(mwCe, addierePfad0);
-							}
-							if (mwCe.getPfad() == 0) {
-								undCeNurCe = mwCe;
-							}
-						}
-						for (MittelwerteNurCe nce : mittelwerteNurCe.get(lob).get(zeit)) {
-							if (nce.getPfad() == 0) {
-								nurCe = nce;
-								break;
+				if (pfadFolge.getAnzahlWartend() > 0 && !fortschritt.isAbbruch() && !konvergiert) {
+					throw new IllegalStateException("es wurden nicht alle Pfade aggregiert!");
+				}
+				if (lobZeitIndex != null) {
+					final double[] summen = mittelwerteSumme.getSummen();
+					// Ausgabe in der Reihenfolge der LoB, innerhalb einer LoB sind die Gruppen nach Zeit sortiert
+					for (String lob : vuParameter.getLobs()) {
+						for (int g = 0; g < lobZeitIndex.getAnzahlGruppen(); ++g) {
+							if (lobZeitIndex.getGruppeLob(g).equals(lob)) {
+								mittelwerteList.add(new Mittelwerte(sz.getName(), sz.getId(), lob,
+										lobZeitIndex.getGruppeZeit(g), (int) mittelwerteSumme.getAnzahl(), summen,
+										mittelwerteUndCe, g * MittelwerteUndCe.ANZAHL_KENNZAHLEN, mittelwerteNurCe,
+										g * MittelwerteNurCe.ANZAHL_KENNZAHLEN));
 							}
 						}
-						mittelwerte.setValues(undCeNurCe);
-						mittelwerte.setValues(nurCe);
-						mittelwerteList.add(mittelwerte);
 					}
 				}
 			}
+			if (kohortenPool != null) {
+				kohortenPool.shutdown();
+			}
+
+			if (letzteBerechnung.getAktuellerPfad() != ausgabePfad || !letzteBerechnung.isVollstaendig()) {
+				// die Berechnung hat nach dem ausgegebenen Pfad noch weitere gerechnet, oder ihn nicht vollstndig:
+				letzteBerechnung.setAusgabePfad(ausgabePfad);
+				letzteBerechnung.berechnung(ausgabePfad);
+			}
 
 			final Set<AusgabeThread> ausgabeThreads = new HashSet<>();
 
@@ -363,17 +457,7 @@ public class RechenThread implements Runnable {
 			new Thread(aggT).start();
 
 			// Ausgabe der Dateien
-			final List<KennzahlenPfadweise> kp = new ArrayList<>();
-			for (int i : kennzahlenPfadweise.keySet()) {
-				Map<Integer, KennzahlenPfadweise> map = kennzahlenPfadweise.get(i);
-				for (int j : map.keySet()) {
-					final KennzahlenPfadweise kptmp = map.get(j);
-					kp.add(map.get(j));
-					if (kptmp.getPfad() == 0 && eingabe.getPfadVon() == 0) {
-						kp.add(map.get(j));
-					}
-				}
-			}
+			final TableFieldDaten kp = pfadErgebnisse.getKennzahlenPfadweise(eingabe.getPfadVon() == 0);
 
 			final File kennzPfadFileName = new File(vuParameter.getTransferDir(), VuParameter.KENNZAHLEN_PFADWEISE);
 			final AusgabeThreadTableField kpt = new AusgabeThreadTableField(this, fortschritt,
@@ -384,32 +468,104 @@ public class RechenThread implements Runnable {
 			// Hier schon mmal die Header fr Kennzahlen Pfadweise ausgeben:
 			final File schaetzerMittelwerteFileName = new File(vuParameter.getTransferDir(),
 					VuParameter.SCHAETZER_MITTELWERTE);
-			KennzahlenPfadweise.writeSchaeterMittelwerte(schaetzerMittelwerteFileName, kp);
+			KennzahlenPfadweise.writeSchaeterMittelwerte(schaetzerMittelwerteFileName, pfadErgebnisse);
 
-			// und auch den Header fr die Stochastischen Kennzahlen:
+			// und die Stochastischen Kennzahlen:
 			{
 				final File stochastischeKennzahlen = new File(vuParameter.getTransferDir(),
 						VuParameter.STOCHASTISCHE_KENNZAHLEN);
 				try (final PrintStream ps = new PrintStream(new FileOutputStream(stochastischeKennzahlen))) {
-					ps.println("Stressszenario;Stressszenario ID");
+					Schaetzer.writeHeader(ps, "Stressszenario;Stressszenario ID",
+							KennzahlenPfadweise.getKennzahlNamen());
+					for (SzenarioMappingZeile z : szenarien) {
+						schaetzer.computeIfAbsent(z.getId(), k -> new Schaetzer(anzahlKennzahlen)).write(ps,
+								z.getName() + ";" + z.getId());
+					}
+				}
+			}
+
+			// die Quantile:
+			{
+				final File quantileKennzahlen = new File(vuParameter.getTransferDir(),
+						VuParameter.QUANTILE_KENNZAHLEN);
+				try (final PrintStream ps = new PrintStream(new FileOutputStream(quantileKennzahlen))) {
+					QuantilKennzahlen.writeHeader(ps, "Stressszenario;Stressszenario ID");
+					for (SzenarioMappingZeile z : szenarien) {
+						quantile.computeIfAbsent(z.getId(), k -> new QuantilKennzahlen()).write(ps,
+								z.getName() + ";" + z.getId());
+					}
+				}
+			}
+
+			if (eingabe.isEsgKontrollvariablen()) {
+				// die Stochastischen Kennzahlen mit Kontrollvariablen, gesamt und pro LoB:
+				try (final PrintStream ps = new PrintStream(new FileOutputStream(
+						new File(vuParameter.getTransferDir(), VuParameter.STOCHASTISCHE_KENNZAHLEN_CV)))) {
+					KontrollvariablenSchaetzer.writeHeader(ps, "Stressszenario;Stressszenario ID",
+							KennzahlenPfadweise.getKennzahlNamen());
+					for (SzenarioMappingZeile z : szenarien) {
+						if (kontrolle.containsKey(z.getId())) {
+							kontrolle.get(z.getId()).write(ps, z.getName() + ";" + z.getId());
+						}
+					}
+				}
+				try (final PrintStream ps = new PrintStream(new FileOutputStream(
+						new File(vuParameter.getTransferDir(), VuParameter.STOCHASTISCHE_KENNZAHLEN_CV_LOB)))) {
+					KontrollvariablenSchaetzer.writeHeader(ps, "Stressszenario;Stressszenario ID;LoB",
+							KennzahlenPfadweiseLoB.getKennzahlNamen());
 					for (SzenarioMappingZeile z : szenarien) {
-						ps.println(z.getName() + ";" + z.getId());
+						final Map<String, KontrollvariablenSchaetzer> jeLob = kontrolleLob.get(z.getId());
+						for (String lob : vuParameter.getLobs()) {
+							if (jeLob != null && jeLob.containsKey(lob)) {
+								jeLob.get(lob).write(ps, z.getName() + ";" + z.getId() + ";" + lob);
+							}
+						}
 					}
 				}
 			}
 
-			final List<KennzahlenPfadweiseLoB> kpl = new ArrayList<>();
-			for (int i : kennzahlenPfadweiseLoB.keySet()) {
-				Map<Integer, List<KennzahlenPfadweiseLoB>> map = kennzahlenPfadweiseLoB.get(i);
-				for (int j : map.keySet()) {
-					kpl.addAll(map.get(j));
-					if (j == 0 && eingabe.getPfadVon() == 0) {
-						// pfad 0 doppelt ausgeben:
-						kpl.addAll(map.get(j));
+			if (eingabe.getBootstrapStichproben() > 0) {
+				// Bootstrap aus den Werten der gerechneten Pfade; je Szenario werden fr alle LoB dieselben Pfade
+				// gezogen:
+				try (final PrintStream ps = new PrintStream(new FileOutputStream(
+						new File(vuParameter.getTransferDir(), VuParameter.BOOTSTRAP_KENNZAHLEN)));
+						final PrintStream psLob = new PrintStream(new FileOutputStream(
+								new File(vuParameter.getTransferDir(), VuParameter.BOOTSTRAP_KENNZAHLEN_LOB)))) {
+					Bootstrap.writeHeader(ps, "Stressszenario;Stressszenario ID", KennzahlenPfadweise.getKennzahlNamen());
+					Bootstrap.writeHeader(psLob, "Stressszenario;Stressszenario ID;LoB",
+							KennzahlenPfadweiseLoB.getKennzahlNamen());
+					for (SzenarioMappingZeile z : szenarien) {
+						if (!pfadErgebnisse.getSzenarien().contains(z.getId())) {
+							continue;
+						}
+						final List<String> lobs = pfadErgebnisse.getLobs(z.getId());
+						final List<double[]> werte = new ArrayList<>();
+						final Map<String, List<double[]>> werteLob = new HashMap<>();
+						for (int pfad : pfadErgebnisse.getPfade(z.getId())) {
+							if (pfad != 0 || addierePfad0) {
+								werte.add(pfadErgebnisse.getWerte(z.getId(), pfad));
+								for (int l = 0; l < lobs.size(); ++l) {
+									werteLob.computeIfAbsent(lobs.get(l), k -> new ArrayList<>())
+											.add(pfadErgebnisse.getWerteLob(z.getId(), pfad, l));
+								}
+							}
+						}
+						new Bootstrap(werte.toArray(new double[werte.size()][]), eingabe.getBootstrapStichproben(),
+								z.getId()).write(ps, z.getName() + ";" + z.getId());
+						for (String lob : vuParameter.getLobs()) {
+							final List<double[]> w = werteLob.get(lob);
+							if (w != null) {
+								new Bootstrap(w.toArray(new double[w.size()][]), eingabe.getBootstrapStichproben(),
+										z.getId()).write(psLob, z.getName() + ";" + z.getId() + ";" + lob);
+							}
+						}
 					}
 				}
 			}
 
+			// pfad 0 doppelt ausgeben, wenn ab Pfad 0 gerechnet wird:
+			final TableFieldDaten kpl = pfadErgebnisse.getKennzahlenPfadweiseLoB(eingabe.getPfadVon() == 0);
+
 			final File kennzPfadLobFileName = new File(vuParameter.getTransferDir(),
 					VuParameter.KENNZAHLEN_PFADWEISE_LOB);
 			final AusgabeThreadTableField kplt = new AusgabeThreadTableField(this, fortschritt,
@@ -420,24 +576,21 @@ public class RechenThread implements Runnable {
 			// Hier schon mmal die Header fr Kennzahlen Pfadweise LoB ausgeben:
 			final File schaetzerMittelwerteLobFileName = new File(vuParameter.getTransferDir(),
 					VuParameter.SCHAETZER_MITTELWERTE_LOB);
-			KennzahlenPfadweiseLoB.writeSchaeterMittelwerteLob(schaetzerMittelwerteLobFileName, kpl);
+			KennzahlenPfadweiseLoB.writeSchaeterMittelwerteLob(schaetzerMittelwerteLobFileName, pfadErgebnisse);
 
 			{
-				// und den Header fr die Stochastischen Kennzahlen pro LoB
-				final Map<Integer, Set<String>> szenarioNachLob = new HashMap<>();
+				// und die Stochastischen Kennzahlen pro LoB
 				final File stochastischeKennzahlen = new File(vuParameter.getTransferDir(),
 						VuParameter.STOCHASTISCHE_KENNZAHLEN_LOB);
 				try (final PrintStream ps = new PrintStream(new FileOutputStream(stochastischeKennzahlen))) {
-					ps.println("");
-					for (KennzahlenPfadweiseLoB k : kpl) {
-						if (!szenarioNachLob.containsKey(k.getSzenarioId())) {
-							szenarioNachLob.put(k.getSzenarioId(), new HashSet<>());
-						}
-						if (!szenarioNachLob.get(k.getSzenarioId()).contains(k.getLob())) {
-							szenarioNachLob.get(k.getSzenarioId()).add(k.getLob());
-							final String name = vuParameter.getSzenarioMapping().getSzenarionMapping(k.getSzenarioId())
-									.getName();
-							ps.println(name + ";" + k.getSzenarioId() + ";" + k.getLob());
+					Schaetzer.writeHeader(ps, "Stressszenario;Stressszenario ID;LoB",
+							KennzahlenPfadweiseLoB.getKennzahlNamen());
+					for (int id : pfadErgebnisse.getSzenarien()) {
+						final String name = vuParameter.getSzenarioMapping().getSzenarionMapping(id).getName();
+						for (String lob : pfadErgebnisse.getLobs(id)) {
+							schaetzerLob.computeIfAbsent(id, s -> new HashMap<>())
+									.computeIfAbsent(lob, s -> new Schaetzer(anzahlKennzahlenLob))
+									.write(ps, name + ";" + id + ";" + lob);
 						}
 					}
 				}
@@ -487,6 +640,19 @@ public class RechenThread implements Runnable {
 				out.println("Pfad von:;" + eingabe.getPfadVon());
 				out.println("Pfad bis:;" + eingabe.getPfadBis());
 				out.println("Rechenkern:;Java");
+				out.println("Pfadbndel:;" + buendelBreite);
+				if (gerechnetePfade > 0 && rechenzeit > 0) {
+					out.println("Rechenzeit je Pfad:;" + String.format("%.3f", rechenzeit / 1.0e6 / gerechnetePfade)
+							+ " Msec");
+					out.println("Pfade je Sekunde und Rechenthread:;"
+							+ String.format("%.1f", gerechnetePfade * 1.0e9 / rechenzeit));
+				}
+				for (Map.Entry<Integer, String> e : verdichtbar.entrySet()) {
+					out.println("Zusammenfassbare Bestandsgruppen Szenario " + e.getKey() + ":;" + e.getValue());
+				}
+				for (Map.Entry<Integer, String> e : konvergenz.entrySet()) {
+					out.println("Gerechnete Pfade Szenario " + e.getKey() + ":;" + e.getValue());
+				}
 				out.println();
 				for (int sznrId : sznrAlleIdSet) {
 					for (String headerLine : sznrHeader.get(sznrId)) {
@@ -496,8 +662,8 @@ public class RechenThread implements Runnable {
 			}
 
 			// Resultat der Berechnung:
-			final BerechnungResultat resultat = new BerechnungResultat(letzteBerechnung, kennzahlenPfadweise,
-					kennzahlenPfadweiseLoB, mittelwerteList);
+			final BerechnungResultat resultat = new BerechnungResultat(letzteBerechnung, pfadErgebnisse,
+					mittelwerteList);
 			fortschritt.berechnungBeendet(resultat);
 
 		} catch (Throwable e) {
@@ -506,6 +672,85 @@ public class RechenThread implements Runnable {
 		}
 	}
 
+	/**
+	 * Gibt es fr diesen Berechnungsthread noch einen Pfad?
+	 * 
+	 * @param bt
+	 *            der Berechnungsthread
+	 * @return ja, wenn ein Pfad seines Bndels oder ein nicht angestoener Pfad aussteht
+	 */
+	private boolean hatNaechsten(final BerechnungThread bt) {
+		final Deque<Integer> rest = buendelRest.get(bt);
+		return nextPfad < pfade.size() || rest != null && !rest.isEmpty();
+	}
+
+	/**
+	 * Stoe den nchsten Pfad auf einem Berechnungsthread an. Bei Pfadbndeln erhlt der Thread zunchst die
+	 * restlichen Pfade seines Bndels, danach die nchsten aufeinanderfolgenden Pfade als neues Bndel.
+	 * 
+	 * @param bt
+	 *            der Berechnungsthread
+	 * @return der angestoene Pfad
+	 */
+	private int starteNaechsten(final BerechnungThread bt) {
+		if (buendelBreite <= 1) {
+			final int pfad = pfade.get(nextPfad++);
+			bt.berechne(pfad);
+			return pfad;
+		}
+		final Deque<Integer> rest = buendelRest.computeIfAbsent(bt, k -> new ArrayDeque<>());
+		if (!rest.isEmpty()) {
+			final int pfad = rest.poll();
+			bt.berechne(pfad);
+			return pfad;
+		}
+		final int[] buendel = new int[Math.min(buendelBreite, pfade.size() - nextPfad)];
+		for (int i = 0; i < buendel.length; ++i) {
+			buendel[i] = pfade.get(nextPfad++);
+			if (i > 0) {
+				rest.add(buendel[i]);
+			}
+		}
+		bt.berechne(buendel);
+		return buendel[0];
+	}
+
+	/**
+	 * Ist die geforderte Genauigkeit erreicht? Dazu muss fr alle {@link #KONVERGENZ_KENNZAHLEN} der Standardfehler
+	 * hchstens die Zielgenauigkeit relativ zum Betrag des Mittelwerts sein, und es muss die Mindestanzahl an Pfaden
+	 * gerechnet sein.
+	 * 
+	 * @param s
+	 *            die Schtzer des Stressszenarios, oder null
+	 * @return ja oder nein
+	 */
+	private boolean isKonvergiert(final Schaetzer s) {
+		if (s == null || s.getAnzahl() < Math.max(2, eingabe.getMindestPfade())) {
+			return false;
+		}
+		for (int i : KONVERGENZ_INDEX) {
+			if (!(s.getStandardfehler(i) <= eingabe.getZielGenauigkeit() * Math.abs(s.getMittelwert(i)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Beitrag eines gerechneten Pfades zu den Mittelwerten und Schtzern.
+	 */
+	private static final class PfadBeitrag {
+		private final int pfad;
+		private final double[] kennzahlen;
+		private final double[] mittelwerteUndCe;
+
+		PfadBeitrag(final int pfad, final double[] kennzahlen, final double[] mittelwerteUndCe) {
+			this.pfad = pfad;
+			this.kennzahlen = kennzahlen;
+			this.mittelwerteUndCe = mittelwerteUndCe;
+		}
+	}
+
 	/**
 	 * Signaliesiere das Ende einer Ausgabe.
 	 * 
@@ -3,18 +3,23 @@ package de.gdv.bsm.vu.berechnung;
 import static de.gdv.bsm.vu.module.Functions.nanZero;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 
 import de.gdv.bsm.intern.applic.TableField;
 import de.gdv.bsm.intern.applic.TableField.TestOption;
-import de.gdv.bsm.intern.params.ReferenzZinssatz;
+import de.gdv.bsm.intern.params.ZeitabhManRegZeile;
 import de.gdv.bsm.intern.params.ZeitunabhManReg;
 import de.gdv.bsm.intern.rechnung.CheckData;
 import de.gdv.bsm.intern.rechnung.ResultNotFinite;
 import de.gdv.bsm.intern.szenario.PfadZeile;
 import de.gdv.bsm.vu.module.Bilanzpositionen;
 import de.gdv.bsm.vu.module.Deklaration;
+import de.gdv.bsm.vu.module.DiskontFunktion;
 import de.gdv.bsm.vu.module.EsgFormeln;
 import de.gdv.bsm.vu.module.Functions;
 import de.gdv.bsm.vu.module.KaModellierung;
@@ -52,6 +57,12 @@ public class AggZeile {
 	private final Berechnung berechnung;
 	/** rzg-Zeilen, die von diesem Agg Aggregiert werden */
 	private final List<RzgZeile> rzgZeilen;
+	/** Aufteilung der rzg-Zeilen fr die parallele Rechnung, null fr serielle Rechnung. */
+	private final KohortenAufteilung kohortenAufteilung;
+	/** rzg-Zeilen, deren Bestandsgruppe im aktuellen Pfad noch nicht abgelaufen ist, in ursprnglicher Reihenfolge. */
+	private final RzgZeile[] aktiveZeilen;
+	/** Anzahl der gltigen Eintrge in {@link #aktiveZeilen}. */
+	private int anzahlAktiv;
 	/** flv-Zeilen zur selben Zeit. */
 	private final List<FlvZeile> flvZeilen;
 
@@ -414,8 +425,8 @@ public class AggZeile {
 	/** Buchwert, gesamt nach 2. Realisierung. */
 	@TableField(testColumn = "DB", testOption = TestOption.START, nachKomma = 0)
 	double bwRlsII = DOUBLE_INIT;
-	/** Marktwert, gesamt nach 2. Realisierung */
-	@TableField(testColumn = "DC", testOption = TestOption.START, nachKomma = 0)
+	/** Marktwert, gesamt nach 2. Realisierung. Geht in keine Formel und keine Kennzahl ein, nur in die Ausgabe. */
+	@TableField(testColumn = "DC", testOption = TestOption.START, nachKomma = 0, nurAusgabe = true)
 	double mwRlsII = DOUBLE_INIT;
 	/** Kapitalertragsdefizite aus den Vorjahren zum Verrechnen. */
 	@TableField(testColumn = "DD", testOption = TestOption.START, nachKomma = 0)
@@ -570,6 +581,8 @@ public class AggZeile {
 	@TableField(testColumn = "EY", testOption = TestOption.START, nachKomma = 0)
 	double nfRfB56b = DOUBLE_INIT;
 	private double[] nfRfB56bArr;
+	/** Zwischenspeicher fr J, RfB_Zuf und nfRfB_56b-Entnahmen aus einer Auswertung. */
+	private final double[] jueRfBZuf = new double[3];
 	/** ZAG, festgelegt. */
 	@TableField(testColumn = "EZ", testOption = TestOption.START, nachKomma = 0)
 	double zag = DOUBLE_INIT;
@@ -643,8 +656,8 @@ public class AggZeile {
 	/** Deckungsrckstellung, Gesamtbestand Lock-In. */
 	@TableField(testColumn = "FU", testOption = TestOption.START, nachKomma = 0)
 	double drLockInAgg = DOUBLE_INIT;
-	/** Deckungsrckstellung Gesamt - NB. FQ, */
-	@TableField(testColumn = "FV", testOption = TestOption.START, nachKomma = 0)
+	/** Deckungsrckstellung Gesamt - NB. FQ. Geht in keine Formel und keine Kennzahl ein, nur in die Ausgabe. */
+	@TableField(testColumn = "FV", testOption = TestOption.START, nachKomma = 0, nurAusgabe = true)
 	double drVorDeklNuebAgg = DOUBLE_INIT;
 	/** Deckungsrckstellung gesamt. */
 	@TableField(testColumn = "FW", testOption = TestOption.START, nachKomma = 0)
@@ -701,6 +714,10 @@ public class AggZeile {
 	/** Mittlerer jhrlicher Zins (fr Aufzinsung). */
 	@TableField(testColumn = "GM", nachKomma = 3, percent = true)
 	double jaehrlZinsEsg = DOUBLE_INIT;
+	/** Faktor der Diskontierung zum VU-Zeitpunkt, wird je Pfad bei der ersten Verwendung ermittelt. */
+	private double dfVuFaktor = DOUBLE_INIT;
+	/** Der VU-Zeitpunkt, zu dem {@link #dfVuFaktor} ermittelt wurde. */
+	private double dfVuMonat = DOUBLE_INIT;
 	/** Leistungen Gesamt, , aufgezinst. */
 	@TableField(testColumn = "GN", testOption = TestOption.START, nachKomma = 0)
 	double aufzinsungGesamt = DOUBLE_INIT;
@@ -823,6 +840,15 @@ public class AggZeile {
 		szenarioId = berechnung.szenarioId;
 		this.zeit = rzgZeilen.get(0).zeit;
 
+		// nur bei gengend Zeilen lohnt sich die Parallelisierung innerhalb des Pfades:
+		if (berechnung.kohortenPool != null && rzgZeilen.size() >= KohortenAufteilung.MIN_ZEILEN) {
+			kohortenAufteilung = new KohortenAufteilung(rzgZeilen);
+		} else {
+			kohortenAufteilung = null;
+		}
+		aktiveZeilen = rzgZeilen.toArray(new RzgZeile[rzgZeilen.size()]);
+		anzahlAktiv = aktiveZeilen.length;
+
 		// Summation der rohen Aggregationen aus den rzg-LoB's
 		double kAgg = 0.0;
 		double bAgg = 0.0;
@@ -911,6 +937,26 @@ public class AggZeile {
 		this.nf = nf;
 	}
 
+	/**
+	 * Setze den Zustand der Zeile auerhalb der double-Felder auf den Anfang eines Pfades. Die Felder der Zeitrekursion
+	 * werden mit NaN gefllt, ein Lesen vor dem Schreiben fllt so als berlauf auf.
+	 */
+	void pfadStart() {
+		rlz = Integer.MAX_VALUE;
+		zpFaelligkeit = Integer.MAX_VALUE;
+		anzahlAktiv = aktiveZeilen.length;
+		if (zpFaelligkeitArr != null) {
+			Arrays.fill(zpFaelligkeitArr, Integer.MAX_VALUE);
+		}
+		for (double[] arr : new double[][] { kuponEsgArr, bwFiNeuAnArr, kedVjVerrechnenArr, kedVerrechnungArr, rohuebArr,
+				rfBZufArr, nfRfB56bArr, sUeAf56bEntnahmeArr, fRfB56bEntnahmeArr, drLockInAggWennLoBArr,
+				deklsurplusfRfBarr, sUeAfZufSfArr, sUeAfEntSfArr, cfFis, cfFiZeitschrittig }) {
+			if (arr != null) {
+				Arrays.fill(arr, DOUBLE_INIT);
+			}
+		}
+	}
+
 	/**
 	 * Durchfhrung der Berechnung auf der ersten Ebene.
 	 * 
@@ -918,8 +964,8 @@ public class AggZeile {
 	 *            Nummer des Pfades, der gerechnet werden soll
 	 */
 	public void berechnungLevel01(final int pfad) {
-		kuponEsgArr = fillArr(agg -> agg.kuponEsg, kuponEsgArr);
-		zpFaelligkeitArr = fillArrInt(agg -> agg.zpFaelligkeit, zpFaelligkeitArr);
+		kuponEsgArr = fillArr(agg -> agg.kuponEsgArr, agg -> agg.kuponEsg, kuponEsgArr);
+		zpFaelligkeitArr = fillArrInt(agg -> agg.zpFaelligkeitArr, agg -> agg.zpFaelligkeit, zpFaelligkeitArr);
 
 		spotVnVerhaltenEsg = berechnung.szenario.getPfad(pfad).getPfadZeile(zeit).getSpotRlz(10);
 
@@ -954,25 +1000,14 @@ public class AggZeile {
 		if (zeit > 0) {
 			jaehrlZinsEsg = EsgFormeln.jaehrlZinsEsg(vg.diskontEsg, diskontEsg);
 		}
+		// der Faktor zum VU-Zeitpunkt muss fr diesen Pfad neu ermittelt werden:
+		dfVuMonat = DOUBLE_INIT;
 
 		zzrSpotEsg = berechnung.szenario.getPfad(pfad).getPfadZeile(zeit).spotrate10jZZR;
-
-		{
-			final ReferenzZinssatz rz = berechnung.referenzZinssatz;
-			AggZeile az = this;
-			double[] zinsArr = new double[10];
-			double[] zzrSpotEsgArr = new double[10];
-			for (int i = 0; i <= 9; ++i) {
-				if (zeit - i > 0) {
-					zzrSpotEsgArr[i] = az.zzrSpotEsg;
-				} else {
-					zinsArr[i] = rz.getZins(zeit - i);
-				}
-				if (az != null)
-					az = az.vg;
-			}
-			referenzZinssatz = Rohueberschuss.referenzZinssatz(zeit, zzrSpotEsgArr, zinsArr);
-		}
+		// die Vorgnger sind in diesem Pfad bereits eingetragen:
+		berechnung.zzrSpotEsgPfad[zeit] = zzrSpotEsg;
+		referenzZinssatz = Rohueberschuss.referenzZinssatz(zeit, berechnung.zzrSpotEsgPfad,
+				berechnung.referenzZinsHistorie);
 		if (zeit > 0) {
 			refZins2M = Rohueberschuss.refZins2M(vg.referenzZinssatz, referenzZinssatz, vg.refZins2M, zzrSpotEsg, zeit,
 					berechnung.getZeitunabhManReg().getParameter2M());
@@ -988,22 +1023,28 @@ public class AggZeile {
 	 *            der gerechnet werden soll
 	 */
 	public void zeitRekursionL01(final int pfad) {
-		deklsurplusfRfBarr = fillArr(agg -> agg.deklsurplusfRfB, deklsurplusfRfBarr);
-		sUeAf56bEntnahmeArr = fillArr(agg -> agg.sUeAf56bEntnahme, sUeAf56bEntnahmeArr);
-		fRfB56bEntnahmeArr = fillArr(agg -> agg.fRfB56bEntnahme, fRfB56bEntnahmeArr);
-		bwFiNeuAnArr = fillArr(agg -> agg.bwFiNeuAn, bwFiNeuAnArr);
+		deklsurplusfRfBarr = fillArr(agg -> agg.deklsurplusfRfBarr, agg -> agg.deklsurplusfRfB, deklsurplusfRfBarr);
+		sUeAf56bEntnahmeArr = fillArr(agg -> agg.sUeAf56bEntnahmeArr, agg -> agg.sUeAf56bEntnahme, sUeAf56bEntnahmeArr);
+		fRfB56bEntnahmeArr = fillArr(agg -> agg.fRfB56bEntnahmeArr, agg -> agg.fRfB56bEntnahme, fRfB56bEntnahmeArr);
+		bwFiNeuAnArr = fillArr(agg -> agg.bwFiNeuAnArr, agg -> agg.bwFiNeuAn, bwFiNeuAnArr);
 		kuponEsgArr[zeit] = kuponEsg;
-		kedVerrechnungArr = fillArr(agg -> agg.kedVerrechnung, kedVerrechnungArr);
-		kedVjVerrechnenArr = fillArr(agg -> agg.kedVjVerrechnen, kedVjVerrechnenArr);
-		rohuebArr = fillArr(agg -> agg.rohueb, rohuebArr);
-		rfBZufArr = fillArr(agg -> agg.rfBZuf, rfBZufArr);
-		nfRfB56bArr = fillArr(agg -> agg.nfRfB56b, nfRfB56bArr);
-		sUeAfZufSfArr = fillArr(agg -> agg.sUeAfZufSf, sUeAfZufSfArr);
-		sUeAfEntSfArr = fillArr(agg -> agg.sUeAfEntSf, sUeAfEntSfArr);
-		drLockInAggWennLoBArr = fillArr(agg -> agg.drLockInAggWennLoB, drLockInAggWennLoBArr);
-
-		cfFis = new double[berechnung.zeitHorizont + 1];
-		cfFiZeitschrittig = new double[berechnung.zeitHorizont + 1];
+		kedVerrechnungArr = fillArr(agg -> agg.kedVerrechnungArr, agg -> agg.kedVerrechnung, kedVerrechnungArr);
+		kedVjVerrechnenArr = fillArr(agg -> agg.kedVjVerrechnenArr, agg -> agg.kedVjVerrechnen, kedVjVerrechnenArr);
+		rohuebArr = fillArr(agg -> agg.rohuebArr, agg -> agg.rohueb, rohuebArr);
+		rfBZufArr = fillArr(agg -> agg.rfBZufArr, agg -> agg.rfBZuf, rfBZufArr);
+		nfRfB56bArr = fillArr(agg -> agg.nfRfB56bArr, agg -> agg.nfRfB56b, nfRfB56bArr);
+		sUeAfZufSfArr = fillArr(agg -> agg.sUeAfZufSfArr, agg -> agg.sUeAfZufSf, sUeAfZufSfArr);
+		sUeAfEntSfArr = fillArr(agg -> agg.sUeAfEntSfArr, agg -> agg.sUeAfEntSf, sUeAfEntSfArr);
+		drLockInAggWennLoBArr = fillArr(agg -> agg.drLockInAggWennLoBArr,
+				agg -> agg.drLockInAggWennLoB, drLockInAggWennLoBArr);
+
+		if (cfFis == null) {
+			cfFis = new double[berechnung.zeitHorizont + 1];
+			cfFiZeitschrittig = new double[berechnung.zeitHorizont + 1];
+		} else {
+			Arrays.fill(cfFis, 0.0);
+			Arrays.fill(cfFiZeitschrittig, 0.0);
+		}
 
 		if (zeit == 0) {
 			// hier kann FI-CFs und FI-MW gerechnet werden (werte aus FiAusfall)!
@@ -1018,9 +1059,14 @@ public class AggZeile {
 				cfFiZeitschrittig[rlz] = cfFis[rlz];
 			}
 
-			PfadZeile pfadZeile = berechnung.szenario.getPfad(pfad).getPfadZeile(zeit);
-			mwFiJahresende = KaModellierung.mwFiJahresende(rlz, cfFiZeitschrittig, pfadZeile, pfad, zeit,
-					berechnung.bwAktivaFi.getMaxZeitCashflowFi(), berechnung.maxRlzNeuAnl);
+			if (berechnung.buendelPosition >= 0) {
+				mwFiJahresende = berechnung.pfadBuendel.mwFiJahresende(berechnung.buendelPosition, zeit,
+						cfFiZeitschrittig, berechnung.bwAktivaFi.getMaxZeitCashflowFi(), berechnung.maxRlzNeuAnl);
+			} else {
+				PfadZeile pfadZeile = berechnung.szenario.getPfad(pfad).getPfadZeile(zeit);
+				mwFiJahresende = KaModellierung.mwFiJahresende(rlz, cfFiZeitschrittig, pfadZeile, pfad, zeit,
+						berechnung.bwAktivaFi.getMaxZeitCashflowFi(), berechnung.maxRlzNeuAnl);
+			}
 
 		}
 
@@ -1035,10 +1081,7 @@ public class AggZeile {
 			cashflowGesamt = 0.0;
 			if (flvZeilen != null) {
 				for (FlvZeile flvZeile : flvZeilen) {
-					if (flvZeile.uebNueb.equals("UEB")) {
-						cashflowGesamt += flvZeile.uebrigesErgebnis;
-						cashflowGesamt += flvZeile.risikoErgebnis;
-					} else if (flvZeile.uebNueb.equals("NUEB")) {
+					if (flvZeile.ueb || flvZeile.nueb) {
 						cashflowGesamt += flvZeile.uebrigesErgebnis;
 						cashflowGesamt += flvZeile.risikoErgebnis;
 					}
@@ -1061,9 +1104,15 @@ public class AggZeile {
 
 			final PfadZeile pfadZeile = berechnung.szenario.getPfad(pfad).getPfadZeile(zeit);
 
-			mwFiJahresende = KaModellierung.mwFiJahresende(rlz, cfFiZeitschrittig, pfadZeile, pfad, zeit,
-					berechnung.bwAktivaFi.getMaxZeitCashflowFi(),
-					berechnung.getZeitabhManReg().get(zeit).getRlzNeuAnl());
+			if (berechnung.buendelPosition >= 0) {
+				mwFiJahresende = berechnung.pfadBuendel.mwFiJahresende(berechnung.buendelPosition, zeit,
+						cfFiZeitschrittig, berechnung.bwAktivaFi.getMaxZeitCashflowFi(),
+						berechnung.getZeitabhManReg().get(zeit).getRlzNeuAnl());
+			} else {
+				mwFiJahresende = KaModellierung.mwFiJahresende(rlz, cfFiZeitschrittig, pfadZeile, pfad, zeit,
+						berechnung.bwAktivaFi.getMaxZeitCashflowFi(),
+						berechnung.getZeitabhManReg().get(zeit).getRlzNeuAnl());
+			}
 
 			fiMw = mwFiJahresende;
 
@@ -1162,8 +1211,16 @@ public class AggZeile {
 
 		}
 
-		for (RzgZeile rzg : rzgZeilen) {
-			rzg.zeitRekursionL01(this);
+		rzgRekursion(rzg -> rzg.zeitRekursionL01(this), false);
+
+		// abgelaufene Zeilen liefern in allen Summen exakt Null und werden im weiteren Verlauf bergangen:
+		if (berechnung.ablaufUeberspringen) {
+			anzahlAktiv = 0;
+			for (RzgZeile z : rzgZeilen) {
+				if (!z.abgelaufen) {
+					aktiveZeilen[anzahlAktiv++] = z;
+				}
+			}
 		}
 	}
 
@@ -1174,8 +1231,21 @@ public class AggZeile {
 	 *            der gerechnet werden soll
 	 */
 	public void zeitRekursionL02(final int pfad) {
-		final ZeitunabhManReg zeitunabhManReg = berechnung.getZeitunabhManReg();
+		summenL02();
+		kapitalanlagenVorRls(pfad);
+		umschichtung();
+		if (zeit > 0) {
+			rohueberschussUndDeklaration();
+		}
 
+		rzgRekursion(rzg -> rzg.zeitRekursionL02(this), false);
+	}
+
+	/**
+	 * Summation der rzg-Zeilen fr Ebene 2. Die Ebene 2 ist in mehrere Methoden aufgeteilt, damit jede davon fr sich
+	 * vom JIT bersetzt werden kann.
+	 */
+	private void summenL02() {
 		// pauschale Initialisierungen fr Summationen (auch Zeit 0)
 		zzrAlt = 0.0;
 		zzrNeu = 0.0;
@@ -1184,7 +1254,7 @@ public class AggZeile {
 		drVorDeklUebAgg = 0.0;
 		lbwGarAgg = 0.0;
 		fRfBVorEndzahlung = fRfBFrei;
-		drVorDeklNuebAgg = 0.0;
+		drVorDeklNuebAgg = berechnung.vollstaendig ? 0.0 : DOUBLE_INIT;
 
 		// pauschale Initialisierungen fr Summationen (Zeit > 0)
 		if (zeit > 0) {
@@ -1207,7 +1277,8 @@ public class AggZeile {
 			risikoUebStochAgg = 0.0;
 			lGarStochAgg = 0.0;
 		}
-		for (RzgZeile z : rzgZeilen) {
+		for (int i = 0; i < anzahlAktiv; ++i) {
+			final RzgZeile z = aktiveZeilen[i];
 			// pauschale Additionen (immer)
 			drVorDeklAgg += z.drVorDekl;
 			lbwGarAgg += z.lbwGar;
@@ -1226,9 +1297,9 @@ public class AggZeile {
 
 			}
 
-			if (z.uebNueb.equals("UEB")) {
+			if (z.ueb) {
 				// Additionen nur UEB
-				if (z.altNeuBestand.equals("a")) {
+				if (z.altBestand) {
 					// Speuialfall "alt", siehe SummeUeberRZGzumGleichenZPWennAltNeu
 					zzrAlt += z.zzrJ;
 					if (zeit > 0) {
@@ -1237,7 +1308,7 @@ public class AggZeile {
 						reAlt += z.risikoUebStoch;
 					}
 				}
-				if (z.altNeuBestand.equals("n")) {
+				if (z.neuBestand) {
 					// Speuialfall "neu", siehe SummeUeberRZGzumGleichenZPWennAltNeu
 					zzrNeu += z.zzrJ;
 					if (zeit > 0) {
@@ -1248,12 +1319,14 @@ public class AggZeile {
 				}
 				drVorDeklUebAgg += z.drVorDekl;
 			}
-			if (z.uebNueb.equals("NUEB")) {
+			if (z.nueb) {
 				// Additionen nur UEB
 				zzrNueb += z.zzrJ;
 				ueEnueb += z.kostenUebStoch;
 				risikoUebStochAgg += z.risikoUebStoch;
-				drVorDeklNuebAgg += z.drVorDekl;
+				if (berechnung.vollstaendig) {
+					drVorDeklNuebAgg += z.drVorDekl;
+				}
 
 				if (zeit > 0) {
 					rmzNueb += z.rmZTarif;
@@ -1261,6 +1334,15 @@ public class AggZeile {
 			}
 
 		}
+	}
+
+	/**
+	 * Kapitalertrge und Buch- und Marktwerte der Kapitalanlagen vor der Umschichtung, Ebene 2.
+	 * 
+	 * @param pfad
+	 *            der gerechnet werden soll
+	 */
+	private void kapitalanlagenVorRls(final int pfad) {
 		aufzinsungcfEvuRvu = KaModellierung.aufzinsung(cfRvstochAgg, jaehrlZinsEsg,
 				berechnung.getZeitunabhManReg().getMonatZahlung(), zeit, berechnung.laengeProjektionDr);
 		aufzinsungBeitraege = KaModellierung.aufzinsung(bStochAgg, jaehrlZinsEsg,
@@ -1322,12 +1404,25 @@ public class AggZeile {
 		aVN = KaModellierung.aVn(zeit, kAgg, bAgg, kStochAgg, bStochAgg);
 		lockInFaktor = KaModellierung.lockInFaktor(zeit, lTodAgg, kaAgg, lSonstErlAgg, rkAgg, lGarStochAgg);
 
-		final PfadZeile pfadZeile = berechnung.szenario.getPfad(pfad).getPfadZeile(zeit);
-		mwVt = KaModellierung.mwVt(rlz, berechnung.leistGar, berechnung.restGar, berechnung.aufwendungenKa0,
-				lockInFaktor, aVN, aKaAufwendungen, pfadZeile, pfad, zeit, berechnung.szenario.projektionsHorizont, // szenario.projektionsHorizont,
-				berechnung.getZeitunabhManReg().getMonatZahlung());
+		if (berechnung.buendelPosition >= 0) {
+			mwVt = berechnung.pfadBuendel.mwVt(berechnung.buendelPosition, zeit, berechnung.leistGar,
+					berechnung.restGar, berechnung.aufwendungenKa0, lockInFaktor, aVN, aKaAufwendungen);
+		} else {
+			final PfadZeile pfadZeile = berechnung.szenario.getPfad(pfad).getPfadZeile(zeit);
+			mwVt = KaModellierung.mwVt(rlz, berechnung.leistGar, berechnung.restGar, berechnung.aufwendungenKa0,
+					lockInFaktor, aVN, aKaAufwendungen, pfadZeile, pfad, zeit,
+					berechnung.szenario.projektionsHorizont, // szenario.projektionsHorizont,
+					berechnung.getZeitunabhManReg().getMonatZahlung());
+		}
 
 		bwrPas = KaModellierung.bwrPas(drVorDeklAgg, zzrGesamt, mwVt);
+	}
+
+	/**
+	 * Zielallokation und Umschichtung der Kapitalanlagen, Ebene 2.
+	 */
+	private void umschichtung() {
+		final ZeitunabhManReg zeitunabhManReg = berechnung.getZeitunabhManReg();
 
 		aReZielDaa = KaModellierung.aReZielDaa(zeit, berechnung.laengeProjektionDr,
 				berechnung.getZeitunabhManReg().getSteuerungsMethodeAssetAllokation(), nanZero(rzMittel),
@@ -1386,84 +1481,71 @@ public class AggZeile {
 					vg.drLockInAggWennLoB, zzrAlt + zzrNeu, vg.zzrAlt + vg.zzrNeu, vg.nfRfB);
 
 			bwEqRlsII = KaModellierung.bwEqRlsII(aEqRlsII, bwEqRlsI);
-			rohueb = Rohueberschuss.rohueb(keVerrechnung, rmzUebGesamtAlt + rmzUebGesamtNeu, rmzNuebGesamt,
-					reAlt + reNeu, risikoUebStochAgg, ueEaltNoGcr + ueEneuNoGcr, ueEnueb, aufwendungenKa, zinsen);
-			rohuebArr[zeit] = rohueb;
-
-			mindZf = Rohueberschuss.mindZf(kapitalertragAnrechenbar, deltaZzrUebAlt + rmzUebAlt, reAlt, ueEaltNoGcr,
-					vg.drLockInAlt, vg.zzrAlt, vg.sueAfAlt, deltaZzrUebNeu + rmzUebNeu, reNeu, ueEneuNoGcr,
-					vg.drLockInNeu, vg.zzrNeu, vg.sueAfNeu);
-
-			mindZfGes = Rohueberschuss.mindZfGes(mindZf, vg.mindZfKk);
-
-			rfBZuf = Rohueberschuss.jUERfBZuf(2, zeit, rohuebArr, mindZfGes, mindZf, jueZiel, ueEaltNoGcr + ueEneuNoGcr,
-					vg.fRfBFrei, rfBZufArr, berechnung.vuHistorie, // zwei Parameter im Original
-					berechnung.getZeitabhManReg().get(zeit).getRohUeb(),
-					berechnung.getZeitabhManReg().get(zeit).getRfbEntnahme(),
-					berechnung.getZeitabhManReg().get(zeit).getSueafEntnahme(), vg.sueAf,
-					berechnung.getZeitunabhManReg().getStrategie(), nfRfB56bArr, drVorDeklUebAgg, vg.drLockInAggWennLoB,
-					keVerrechnung, kapitalertragAnrechenbar);
-			rfBZufArr[zeit] = rfBZuf;
-
-			nfRfB56b = Rohueberschuss.jUERfBZuf(3, zeit, rohuebArr, mindZfGes, mindZf, jueZiel,
-					ueEaltNoGcr + ueEneuNoGcr, vg.fRfBFrei, rfBZufArr, berechnung.vuHistorie, // zwei Parameter im
-																								// Original
-					berechnung.getZeitabhManReg().get(zeit).getRohUeb(),
-					berechnung.getZeitabhManReg().get(zeit).getRfbEntnahme(),
-					berechnung.getZeitabhManReg().get(zeit).getSueafEntnahme(), vg.sueAf,
-					berechnung.getZeitunabhManReg().getStrategie(), nfRfB56bArr, drVorDeklUebAgg, vg.drLockInAggWennLoB,
-					keVerrechnung, kapitalertragAnrechenbar);
-			nfRfB56bArr[zeit] = nfRfB56b;
-
-			jue = Rohueberschuss.jUERfBZuf(1, zeit, rohuebArr, mindZfGes, mindZf, jueZiel, ueEaltNoGcr + ueEneuNoGcr,
-					vg.fRfBFrei, rfBZufArr, berechnung.vuHistorie, // zwei Parameter im
-					// Original
-					berechnung.getZeitabhManReg().get(zeit).getRohUeb(),
-					berechnung.getZeitabhManReg().get(zeit).getRfbEntnahme(),
-					berechnung.getZeitabhManReg().get(zeit).getSueafEntnahme(), vg.sueAf,
-					berechnung.getZeitunabhManReg().getStrategie(), nfRfB56bArr, drVorDeklUebAgg, vg.drLockInAggWennLoB,
-					keVerrechnung, kapitalertragAnrechenbar);
-			jUeZielerhoehung = Rohueberschuss.jUeZielerhoehung(zeit, berechnung.getZeitunabhManReg().isiJuez(), jueZiel,
-					jue, berechnung.getZeitunabhManReg().getStrategie());
-
-			mindZfKk = Rohueberschuss.mindZfKk(zeit, vg.mindZfKk, mindZf, rfBZuf);
-			ertragssteuer = Rohueberschuss.ertragssteuer(jue, berechnung.getZeitunabhManReg().getSteuersatz(), vg.vv);
-			vv = Rohueberschuss.vv(vg.vv, jue, ertragssteuer, berechnung.getZeitunabhManReg().getSteuersatz());
-			ertragsSteuerLs = Rohueberschuss.ertragssteuerLs(ertragssteuer, vg.lsHgb);
-			lsHgb = Rohueberschuss.lsHgb(vg.lsHgb, ertragssteuer, ertragsSteuerLs);
-
-			mittlRfBZufuehrung = Deklaration.mittlRfBZufuehrung(
-					berechnung.getZeitunabhManReg().getAnzahlJahreDurchschnittlRfbZufuehrung(), zeit, rfBZufArr,
-					drLockInAggWennLoBArr, berechnung.vuHistorie);
-
-			sUeAf56bEntnahme = Deklaration.sUeAf56bEntnahme(vg.fRfBFrei, nfRfB56b, zeit,
-					berechnung.getZeitabhManReg().get(zeit).getRfbEntnahme());
-			sUeAf56bEntnahmeArr[zeit] = sUeAf56bEntnahme;
-			fRfB56bEntnahme = nfRfB56b - sUeAf56bEntnahme;
-			fRfB56bEntnahmeArr[zeit] = fRfB56bEntnahme;
-			zielDeklaration = Deklaration.zielDeklaration(mittlRfBZufuehrung, vg.drLockInAggWennLoB);
-			fRfBUeberlauf = Deklaration.fRfBUeberlauf(vg.fRfBFrei, nfRfB56b, rfBZuf, zielDeklaration, fRfBMax, zeit,
-					berechnung.laengeProjektionDr);
-			fRfBVorEndzahlung = Deklaration.fRfBVorEndzahlung(vg.fRfBFrei, rfBZuf, nfRfB56b, fRfBMin, fRfBMax,
-					zielDeklaration, sUeAf56bEntnahme);
-			dekl = Deklaration.dekl(vg.fRfBVorEndzahlung, fRfBVorEndzahlung, rfBZuf, nfRfB56b, sUeAf56bEntnahme,
-					fRfBMin, zielDeklaration, berechnung.getZeitabhManReg().get(zeit).getFrfbUeberlauf(), fRfBUeberlauf,
-					zeit, berechnung.laengeProjektionDr);
-			if (lbwGarAgg > 0.001) {
-				fRfBFrei = fRfBVorEndzahlung;
-			} else {
-				fRfBFrei = 0.0;
-			}
-			deklRest = Deklaration.deklRest(berechnung.getZeitunabhManReg().getDeklarationsMethode(), dekl,
-					berechnung.getZeitabhManReg().get(zeit).getGrundUeberschuss(), reAlt, reNeu, ueEaltNoGcr,
-					ueEneuNoGcr);
-			deklZins = Deklaration.deklZins(berechnung.getZeitunabhManReg().getDeklarationsMethode(), dekl, deklRest);
-			vzGes = Deklaration.vzGes(deklZins, rzgZeilen);
 		}
+	}
 
-		for (RzgZeile rzg : rzgZeilen) {
-			rzg.zeitRekursionL02(this);
+	/**
+	 * Rohberschuss, Steuern und Deklaration, Ebene 2. Nur fr Zeit &gt; 0.
+	 */
+	private void rohueberschussUndDeklaration() {
+		rohueb = Rohueberschuss.rohueb(keVerrechnung, rmzUebGesamtAlt + rmzUebGesamtNeu, rmzNuebGesamt,
+				reAlt + reNeu, risikoUebStochAgg, ueEaltNoGcr + ueEneuNoGcr, ueEnueb, aufwendungenKa, zinsen);
+		rohuebArr[zeit] = rohueb;
+
+		mindZf = Rohueberschuss.mindZf(kapitalertragAnrechenbar, deltaZzrUebAlt + rmzUebAlt, reAlt, ueEaltNoGcr,
+				vg.drLockInAlt, vg.zzrAlt, vg.sueAfAlt, deltaZzrUebNeu + rmzUebNeu, reNeu, ueEneuNoGcr,
+				vg.drLockInNeu, vg.zzrNeu, vg.sueAfNeu);
+
+		mindZfGes = Rohueberschuss.mindZfGes(mindZf, vg.mindZfKk);
+
+		// Jahresberschuss, RfB-Zufhrung und 56b-Entnahme aus einer Auswertung
+		final ZeitabhManRegZeile manReg = berechnung.getZeitabhManReg().get(zeit);
+		Rohueberschuss.jUERfBZuf(jueRfBZuf, zeit, rohuebArr, mindZfGes, mindZf, jueZiel, ueEaltNoGcr + ueEneuNoGcr,
+				vg.fRfBFrei, rfBZufArr, berechnung.vuHistorie, // zwei Parameter im Original
+				manReg.getRohUeb(), manReg.getRfbEntnahme(), manReg.getSueafEntnahme(), vg.sueAf,
+				berechnung.getZeitunabhManReg().getStrategie(), nfRfB56bArr, drVorDeklUebAgg, vg.drLockInAggWennLoB,
+				keVerrechnung, kapitalertragAnrechenbar);
+		jue = jueRfBZuf[0];
+		rfBZuf = jueRfBZuf[1];
+		rfBZufArr[zeit] = rfBZuf;
+		nfRfB56b = jueRfBZuf[2];
+		nfRfB56bArr[zeit] = nfRfB56b;
+		jUeZielerhoehung = Rohueberschuss.jUeZielerhoehung(zeit, berechnung.getZeitunabhManReg().isiJuez(), jueZiel,
+				jue, berechnung.getZeitunabhManReg().getStrategie());
+
+		mindZfKk = Rohueberschuss.mindZfKk(zeit, vg.mindZfKk, mindZf, rfBZuf);
+		ertragssteuer = Rohueberschuss.ertragssteuer(jue, berechnung.getZeitunabhManReg().getSteuersatz(), vg.vv);
+		vv = Rohueberschuss.vv(vg.vv, jue, ertragssteuer, berechnung.getZeitunabhManReg().getSteuersatz());
+		ertragsSteuerLs = Rohueberschuss.ertragssteuerLs(ertragssteuer, vg.lsHgb);
+		lsHgb = Rohueberschuss.lsHgb(vg.lsHgb, ertragssteuer, ertragsSteuerLs);
+
+		mittlRfBZufuehrung = Deklaration.mittlRfBZufuehrung(
+				berechnung.getZeitunabhManReg().getAnzahlJahreDurchschnittlRfbZufuehrung(), zeit, rfBZufArr,
+				drLockInAggWennLoBArr, berechnung.vuHistorie);
+
+		sUeAf56bEntnahme = Deklaration.sUeAf56bEntnahme(vg.fRfBFrei, nfRfB56b, zeit,
+				berechnung.getZeitabhManReg().get(zeit).getRfbEntnahme());
+		sUeAf56bEntnahmeArr[zeit] = sUeAf56bEntnahme;
+		fRfB56bEntnahme = nfRfB56b - sUeAf56bEntnahme;
+		fRfB56bEntnahmeArr[zeit] = fRfB56bEntnahme;
+		zielDeklaration = Deklaration.zielDeklaration(mittlRfBZufuehrung, vg.drLockInAggWennLoB);
+		fRfBUeberlauf = Deklaration.fRfBUeberlauf(vg.fRfBFrei, nfRfB56b, rfBZuf, zielDeklaration, fRfBMax, zeit,
+				berechnung.laengeProjektionDr);
+		fRfBVorEndzahlung = Deklaration.fRfBVorEndzahlung(vg.fRfBFrei, rfBZuf, nfRfB56b, fRfBMin, fRfBMax,
+				zielDeklaration, sUeAf56bEntnahme);
+		dekl = Deklaration.dekl(vg.fRfBVorEndzahlung, fRfBVorEndzahlung, rfBZuf, nfRfB56b, sUeAf56bEntnahme,
+				fRfBMin, zielDeklaration, berechnung.getZeitabhManReg().get(zeit).getFrfbUeberlauf(), fRfBUeberlauf,
+				zeit, berechnung.laengeProjektionDr);
+		if (lbwGarAgg > 0.001) {
+			fRfBFrei = fRfBVorEndzahlung;
+		} else {
+			fRfBFrei = 0.0;
 		}
+		deklRest = Deklaration.deklRest(berechnung.getZeitunabhManReg().getDeklarationsMethode(), dekl,
+				berechnung.getZeitabhManReg().get(zeit).getGrundUeberschuss(), reAlt, reNeu, ueEaltNoGcr,
+				ueEneuNoGcr);
+		deklZins = Deklaration.deklZins(berechnung.getZeitunabhManReg().getDeklarationsMethode(), dekl, deklRest);
+		vzGes = Deklaration.vzGes(deklZins, rzgZeilen, berechnung.vzGesSortierung);
 	}
 
 	/**
@@ -1489,7 +1571,8 @@ public class AggZeile {
 			rohuebKpP = 0.0;
 			deltaLAgg = 0.0;
 		}
-		for (RzgZeile rzg : rzgZeilen) {
+		for (int i = 0; i < anzahlAktiv; ++i) {
+			final RzgZeile rzg = aktiveZeilen[i];
 			endZahlungAgg += rzg.endZahlung;
 			drLockInAgg += rzg.drLockInRzg;
 			barAgg += nanZero(rzg.bar);
@@ -1504,14 +1587,14 @@ public class AggZeile {
 				rohuebKpP += rzg.rohuebKpRzg;
 				deltaLAgg += rzg.deltaLRzg;
 			}
-			if (rzg.uebNueb.equals("UEB")) {
+			if (rzg.ueb) {
 				// Additionen nur UEB
-				if (rzg.altNeuBestand.equals("a")) {
+				if (rzg.altBestand) {
 					// Speuialfall "alt", siehe SummeUeberRZGzumGleichenZPWennAltNeu
 					drLockInAlt += rzg.drLockInRzg;
 					sueAfAlt += rzg.sUeAfRzg;
 				}
-				if (rzg.altNeuBestand.equals("n")) {
+				if (rzg.neuBestand) {
 					// Speuialfall "neu", siehe SummeUeberRZGzumGleichenZPWennAltNeu
 					drLockInNeu += rzg.drLockInRzg;
 					sueAfNeu += rzg.sUeAfRzg;
@@ -1554,8 +1637,12 @@ public class AggZeile {
 
 			zagEndzahlung = Rohueberschuss.zagEndzahlung(zeit, berechnung.laengeProjektionDr, cfVorKredit,
 					ertragssteuer);
-			mwRlsII = KaModellierung.mwRlsII(fiMw, mwRenachRls, mwEqRlsII, cfFi, keMieten, keDiv, cfReRls, cfEqRlsII,
-					cfOhneKa, zeit == 1 ? berechnung.arapMieten : 0.0, endZahlungAgg);
+			if (berechnung.vollstaendig) {
+				mwRlsII = KaModellierung.mwRlsII(fiMw, mwRenachRls, mwEqRlsII, cfFi, keMieten, keDiv, cfReRls,
+						cfEqRlsII, cfOhneKa, zeit == 1 ? berechnung.arapMieten : 0.0, endZahlungAgg);
+			} else {
+				mwRlsII = DOUBLE_INIT;
+			}
 			sUeAfEntSf = Bilanzpositionen.sueafEntSf(berechnung.getAggZeile(0).sueAf, sueAFEntnahmeAgg, sUeAfZufSfArr,
 					vg.sUeAfEntSfArr, vg.sUeAf56bEntnahmeArr);
 			sUeAfEntSfArr[zeit] = sUeAfEntSf;
@@ -1566,10 +1653,30 @@ public class AggZeile {
 		sueAf = Rohueberschuss.sueAf(sueAfAlt, sueAfNeu);
 		nfRfB = Rohueberschuss.nfRfB(sueAf, fRfBFrei);
 
-		for (RzgZeile rzg : rzgZeilen) {
-			rzg.zeitRekursionL03(this);
-		}
+		// auch die abgelaufenen Zeilen: das Vorzeichen ihrer Null in jueVnKpRzg hngt vom Gesamtbestand ab
+		rzgRekursion(rzg -> rzg.zeitRekursionL03(this), false);
+	}
 
+	/**
+	 * Fhre einen Rekursionsschritt fr alle rzg-Zeilen dieser Zeit aus, je nach Aufteilung seriell oder parallel.
+	 * 
+	 * @param schritt
+	 *            der Rekursionsschritt einer Zeile
+	 * @param nurAktive
+	 *            knnen abgelaufene Zeilen bergangen werden?
+	 */
+	private void rzgRekursion(final Consumer<RzgZeile> schritt, final boolean nurAktive) {
+		if (kohortenAufteilung != null) {
+			kohortenAufteilung.rekursion(berechnung.kohortenPool, schritt);
+		} else if (nurAktive) {
+			for (int i = 0; i < anzahlAktiv; ++i) {
+				schritt.accept(aktiveZeilen[i]);
+			}
+		} else {
+			for (RzgZeile rzg : rzgZeilen) {
+				schritt.accept(rzg);
+			}
+		}
 	}
 
 	/**
@@ -1580,9 +1687,9 @@ public class AggZeile {
 		// in Zeit == 0 gibt es viele NaN, die lassen wir weg
 		if (zeit > 0) {
 			final List<String> errors = new ArrayList<>();
-			errors.addAll(CheckData.checkFinite(this));
+			errors.addAll(CheckData.checkFinite(this, !berechnung.vollstaendig));
 			for (RzgZeile rzg : rzgZeilen) {
-				errors.addAll(CheckData.checkFinite(rzg));
+				errors.addAll(CheckData.checkFinite(rzg, !berechnung.vollstaendig));
 			}
 			if (errors.size() > 0) {
 				final String header = "In Szenario " + szenarioId + " (" + szenario + "), pfad = "
@@ -1594,79 +1701,66 @@ public class AggZeile {
 	}
 
 	/**
-	 * Flle ein Array von double rekursiv rckwrts ber die Zeit. Aus technischen Grnden wird als aktueller Wert NaN
-	 * eingetragen.
+	 * Flle ein Array von double rckwrts ber die Zeit. Die Werte bis zur Zeit - 2 werden aus dem bereits gefllten
+	 * Array des Vorgngers kopiert, nur der Wert des Vorgngers selbst wird ber die Funktion ermittelt. Aus
+	 * technischen Grnden wird als aktueller Wert NaN eingetragen.
 	 * 
+	 * @param vgData
+	 *            liefert zu einer Zeile das entsprechende, in diesem Berechnungsschritt bereits gefllte Array
 	 * @param f
 	 *            die Funktion, die auf Zeilen angewendet den gewnschten Wert erbigt
 	 * @param data
 	 *            das zu fllende Array, es wird erzeugt, wenn es null ist
 	 * @return das Array
 	 */
-	public double[] fillArr(final Function<AggZeile, Double> f, double[] data) {
+	private double[] fillArr(final Function<AggZeile, double[]> vgData, final ToDoubleFunction<AggZeile> f,
+			double[] data) {
 		if (data == null) {
 			data = new double[zeit + 1];
 		}
-		final int index;
 		if (vg != null) {
-			index = vg.fillArrRecursive(f, data);
-		} else {
-			index = 0;
+			if (vg.zeit != zeit - 1)
+				throw new IllegalStateException(
+						"Vorgnger und Zeiten divergieren: index = " + (vg.zeit + 1) + ", zeit = " + zeit);
+			System.arraycopy(vgData.apply(vg), 0, data, 0, zeit - 1);
+			data[zeit - 1] = f.applyAsDouble(vg);
+		} else if (zeit != 0) {
+			throw new IllegalStateException("Vorgnger und Zeiten divergieren: index = 0, zeit = " + zeit);
 		}
-		if (index != zeit)
-			throw new IllegalStateException("Vorgnger und Zeiten divergieren: index = " + index + ", zeit = " + zeit);
-		data[index] = Double.NaN;
+		data[zeit] = Double.NaN;
 		return data;
 	}
 
 	/**
-	 * Flle ein Array von ints rekursiv rckwrts ber die Zeit. Aus technischen Grnden wird als aktueller Wert NaN
-	 * eingetragen.
+	 * Flle ein Array von ints rckwrts ber die Zeit, analog zu
+	 * {@link #fillArr(Function, ToDoubleFunction, double[])}. Aus technischen Grnden wird als aktueller Wert
+	 * {@link Integer#MAX_VALUE} eingetragen.
 	 * 
+	 * @param vgData
+	 *            liefert zu einer Zeile das entsprechende, in diesem Berechnungsschritt bereits gefllte Array
 	 * @param f
 	 *            die Funktion, die auf Zeilen angewendet den gewnschten Wert erbigt
 	 * @param data
 	 *            das zu fllende Array, es wird erzeugt, wenn es null ist
 	 * @return das Array
 	 */
-	public int[] fillArrInt(final Function<AggZeile, Integer> f, int[] data) {
+	private int[] fillArrInt(final Function<AggZeile, int[]> vgData, final ToIntFunction<AggZeile> f, int[] data) {
 		if (data == null) {
 			data = new int[zeit + 1];
 		}
-		final int index;
 		if (vg != null) {
-			index = vg.fillArrRecursiveInt(f, data);
-		} else {
-			index = 0;
+			if (vg.zeit != zeit - 1)
+				throw new IllegalStateException(
+						"Vorgnger und Zeiten divergieren: index = " + (vg.zeit + 1) + ", zeit = " + zeit);
+			System.arraycopy(vgData.apply(vg), 0, data, 0, zeit - 1);
+			data[zeit - 1] = f.applyAsInt(vg);
+		} else if (zeit != 0) {
+			throw new IllegalStateException("Vorgnger und Zeiten divergieren: index = 0, zeit = " + zeit);
 		}
-		if (index != zeit)
-			throw new IllegalStateException("Vorgnger und Zeiten divergieren: index = " + index + ", zeit = " + zeit);
-		data[index] = Integer.MAX_VALUE;
+		data[zeit] = Integer.MAX_VALUE;
 		return data;
 	}
 
-	private final int fillArrRecursive(final Function<AggZeile, Double> f, final double[] data) {
-		if (vg == null) {
-			data[0] = f.apply(this);
-			return 1;
-		} else {
-			final int index = vg.fillArrRecursive(f, data);
-			data[index] = f.apply(this);
-			return index + 1;
-		}
-	}
-
-	private final int fillArrRecursiveInt(final Function<AggZeile, Integer> f, final int[] data) {
-		if (vg == null) {
-			data[0] = f.apply(this);
-			return 1;
-		} else {
-			final int index = vg.fillArrRecursiveInt(f, data);
-			data[index] = f.apply(this);
-			return index + 1;
-		}
-	}
-
 	// ========================================================================
 	// Get-Funktionen des Blattes FI CFs.
 
@@ -1887,6 +1981,22 @@ public class AggZeile {
 		return jaehrlZinsEsg;
 	}
 
+	/**
+	 * Faktor der Diskontierung zum VU-Zeitpunkt, siehe {@link DiskontFunktion#dfVu(double, AggZeile, double)}. Der
+	 * Faktor wird je Pfad und VU-Zeitpunkt nur einmal ermittelt.
+	 * 
+	 * @param monat
+	 *            VU-Zeitpunkt
+	 * @return der Faktor
+	 */
+	public double getDfVuFaktor(final double monat) {
+		if (monat != dfVuMonat) {
+			dfVuFaktor = DiskontFunktion.vuFaktor(jaehrlZinsEsg, monat);
+			dfVuMonat = monat;
+		}
+		return dfVuFaktor;
+	}
+
 	/**
 	 * Leistungen durch Endzahlung. GQ.
 	 * 
@@ -5,17 +5,22 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import de.gdv.bsm.intern.applic.Pair;
-import de.gdv.bsm.intern.math.Newton;
+import de.gdv.bsm.intern.applic.TableFieldZugriff;
+import de.gdv.bsm.intern.math.FunktionMitAbleitung;
+import de.gdv.bsm.intern.math.IndexSortierung;
+import de.gdv.bsm.intern.math.KahanSumme;
+import de.gdv.bsm.intern.math.Nullstellen;
 import de.gdv.bsm.intern.params.BwAktivaFi;
 import de.gdv.bsm.intern.params.GenussNachrang;
 import de.gdv.bsm.intern.params.HgbBilanzdaten;
@@ -38,6 +43,7 @@ import de.gdv.bsm.vu.kennzahlen.KennzahlenPfadweise;
 import de.gdv.bsm.vu.kennzahlen.KennzahlenPfadweiseLoB;
 import de.gdv.bsm.vu.kennzahlen.MittelwerteNurCe;
 import de.gdv.bsm.vu.kennzahlen.MittelwerteUndCe;
+import de.gdv.bsm.vu.kennzahlen.PfadErgebnisse;
 import de.gdv.bsm.vu.module.KaModellierung;
 
 /**
@@ -66,10 +72,32 @@ public class Berechnung {
 	public final boolean flvRechnen;
 	/** sollen Zwischenergebnisse aus agg und rzg ausgegeben werden? */
 	public final boolean ausgabe;
+	/** sollen die Ergebnisse eines Pfades nur einmal am Ende auf berlufe geprft werden? */
+	public final boolean schnellePruefung;
+	/** Pool fr die parallele Rechnung der rzg-Zeilen innerhalb eines Pfades, null fr serielle Rechnung. */
+	final ForkJoinPool kohortenPool;
+	/** sollen rzg-Zeilen nach Ablauf ihrer Bestandsgruppe bersprungen werden? */
+	public final boolean ablaufUeberspringen;
+	/** sollen Felder, die nur in die Ausgabe eingehen, nur fr die ausgegebenen Pfade berechnet werden? */
+	public final boolean nurKennzahlen;
+	/** Pfad, dessen Zeilen ausgegeben werden und der daher vollstndig gerechnet wird. */
+	private int ausgabePfad = -1;
+	/** werden im aktuellen Pfad alle Felder gerechnet, auch die nur fr die Ausgabe? */
+	boolean vollstaendig = true;
+	/** Anfangszustand aller Zeilen fr die Prfung der Pfadunabhngigkeit, null wenn nicht geprft wird. */
+	private final PfadZustand pfadZustand;
+	/** Diskontfaktoren des aktuellen Pfadbndels, null wenn jeder Pfad einzeln gerechnet wird. */
+	PfadBuendel pfadBuendel = null;
+	/** Position des aktuellen Pfades im Bndel, -1 wenn der Pfad einzeln gerechnet wird. */
+	int buendelPosition = -1;
 	final VuParameter vuParameter;
 	final LobMapping lobMapping;
 	final VtOStress vtOStress;
 	final ReferenzZinssatz referenzZinssatz;
+	/** Referenzzinsstze der Zeiten 0, -1, ..., -9, indiziert ber das negative Vorzeichen der Zeit. */
+	final double[] referenzZinsHistorie = new double[10];
+	/** Zins einer 10-jhrigen Nullkupon-Anleihe im aktuellen Pfad, indiziert ber die Zeit. */
+	final double[] zzrSpotEsgPfad;
 	final HgbBilanzdaten hgbBilanzdaten;
 	final VUHistorie vuHistorie;
 	final GenussNachrang genussNachrang;
@@ -86,18 +114,20 @@ public class Berechnung {
 	public static final String LOB_MAP_KAT_FLV = "FLV";
 
 	// Ergebnisse der Berechnung dieses Pfades
-	// Pfadweise Kennzahlen aggregiert
-	private KennzahlenPfadweise kennzahlenPfadweise = null;
+	// Pfadweise Kennzahlen gesamt und je LoB als Satz von PfadErgebnisse; fr jeden Pfad ein neuer Satz
+	private double[] kennzahlen = null;
 	// lobs in der auftretenden Reihenfolge
 	private List<String> lobs = new ArrayList<>();
-	// Kennzahlen aggregiert nur auf LoB Ebene
-	private List<KennzahlenPfadweiseLoB> kennzahlenPfadweiseLoBs = null;
-	// Mittelwerte mit CE aggregiert auf LoB Ebene
-	// Lob -> Zeit -> Mittelwerte
-	private Map<String, Map<Integer, MittelwerteUndCe>> mittelwerteUndCe = null;
-	// Mittelwerte ohne CE aggregiert auf LoB Ebene
-	// Lob -> Zeit -> Mittelwerte
-	private Map<String, Map<Integer, MittelwerteNurCe>> mittelwerteNurCe = null;
+	// Gruppierung der rzg-Zeilen nach LoB und Zeit, unabhngig vom Pfad
+	private final LobZeitIndex lobZeitIndex;
+	// Mittelwerte mit CE aggregiert auf LoB Ebene, je Gruppe des lobZeitIndex ein Block von
+	// MittelwerteUndCe.ANZAHL_KENNZAHLEN Werten; wird fr jeden Pfad berschrieben
+	private final double[] mittelwerteUndCe;
+	// Mittelwerte ohne CE aggregiert auf LoB Ebene, Blcke wie oben; wird nur fr Pfad 0 gerechnet
+	private final double[] mittelwerteNurCe;
+	// Speicher fr die Summation der Kennzahlen und Mittelwerte, wird fr jede Gruppe berschrieben
+	private final KahanSumme summen = new KahanSumme(Math.max(KennzahlenPfadweise.ANZAHL_KENNZAHLEN,
+			Math.max(KennzahlenPfadweiseLoB.ANZAHL_KENNZAHLEN, MittelwerteUndCe.ANZAHL_KENNZAHLEN)));
 
 	// Blatt VT Klassik MW
 	// =================================================================
@@ -140,6 +170,8 @@ public class Berechnung {
 
 	/** Das Blatt agg indiziert ber die Zeit. */
 	private final List<AggZeile> aggList;
+	/** Arbeitsbereich fr die Sortierung der Zinsgenerationen in {@link de.gdv.bsm.vu.module.Deklaration#vzGes}. */
+	final IndexSortierung vzGesSortierung = new IndexSortierung();
 
 	// ========================================================================
 	// Sondervariablen, die in Excel in FI Ausfall stehen
@@ -199,22 +231,56 @@ public class Berechnung {
 	 *            soll mit negativer Ausfallwahrscheinlichkeit weiter gerechnet werden?
 	 * @param ausgabe
 	 *            sollen Zwischenergebnisse aus agg und rzg ausgegeben werden
+	 * @param schnellePruefung
+	 *            sollen die Ergebnisse eines Pfades nur einmal am Ende auf berlufe geprft werden?
 	 * @param vuParameter
 	 *            Sammlung aller VU-Parameter
 	 * @param szenario
 	 *            die Daten des Zinsszenarios
 	 */
 	public Berechnung(final int szenarioId, final boolean flvRechnen, final boolean negAusfall, final boolean ausgabe,
-			final VuParameter vuParameter, final Szenario szenario) {
+			final boolean schnellePruefung, final VuParameter vuParameter, final Szenario szenario) {
+		this(szenarioId, new BerechnungOptionen(flvRechnen, negAusfall, ausgabe, schnellePruefung), vuParameter,
+				szenario, new HashMap<>(), null);
+	}
+
+	/**
+	 * Erstelle eine Berechnung und berechne die pfadunabhngigen Daten. Die Ausfallwahrscheinlichkeit wird dabei nur
+	 * dann ermittelt, wenn sie fr dieses Stressszenario noch nicht im Cache vorliegt.
+	 * 
+	 * @param szenarioId
+	 *            des zu berechnenden Szenarios
+	 * @param optionen
+	 *            die Schalter der Berechnung
+	 * @param vuParameter
+	 *            Sammlung aller VU-Parameter
+	 * @param szenario
+	 *            die Daten des Zinsszenarios
+	 * @param ausfallCache
+	 *            Ausfallwahrscheinlichkeiten je Stressszenario-ID; darf nur fr Berechnungen mit gleichen
+	 *            VU-Parametern und Zinsszenarien geteilt werden
+	 * @param kohortenPool
+	 *            Pool fr die parallele Rechnung der rzg-Zeilen innerhalb eines Pfades; null fr serielle Rechnung.
+	 *            Der Pool kann von mehreren Berechnungen geteilt werden.
+	 */
+	public Berechnung(final int szenarioId, final BerechnungOptionen optionen, final VuParameter vuParameter,
+			final Szenario szenario, final Map<Integer, Double> ausfallCache, final ForkJoinPool kohortenPool) {
 		this.szenarioId = szenarioId;
 		this.szenarioName = vuParameter.getSzenarioMapping().getSzenarionMapping(szenarioId).getName();
-		this.flvRechnen = flvRechnen;
-		this.ausgabe = ausgabe;
+		this.flvRechnen = optionen.isFlvRechnen();
+		this.ausgabe = optionen.isAusgabe();
+		this.schnellePruefung = optionen.isSchnellePruefung();
+		this.kohortenPool = kohortenPool;
+		this.ablaufUeberspringen = optionen.isAblaufUeberspringen();
+		this.nurKennzahlen = optionen.isNurKennzahlen();
 
 		this.vuParameter = vuParameter;
 		this.lobMapping = vuParameter.getLobMapping();
 		this.vtOStress = vuParameter.getVtOStress();
 		this.referenzZinssatz = vuParameter.getReferenzZinssatz();
+		for (int i = 0; i < referenzZinsHistorie.length; ++i) {
+			referenzZinsHistorie[i] = referenzZinssatz.getZins(-i);
+		}
 		this.hgbBilanzdaten = vuParameter.getHgbBilanzdaten();
 		this.vuHistorie = vuParameter.getVuHistorie();
 		this.genussNachrang = vuParameter.getGenussNachrang();
@@ -388,6 +454,11 @@ public class Berechnung {
 		rzgZeilenReversed = new ArrayList<RzgZeile>(rzgZeilen);
 		Collections.reverse(rzgZeilenReversed);
 
+		lobZeitIndex = new LobZeitIndex(lobs, rzgMap);
+		mittelwerteUndCe = new double[lobZeitIndex.getAnzahlGruppen() * MittelwerteUndCe.ANZAHL_KENNZAHLEN];
+		mittelwerteNurCe = new double[lobZeitIndex.getAnzahlGruppen() * MittelwerteNurCe.ANZAHL_KENNZAHLEN];
+
+		zzrSpotEsgPfad = new double[zeitHorizont + 1];
 		{
 			aggList = new ArrayList<AggZeile>(zeitHorizont + 1);
 			AggZeile vg = null;
@@ -428,30 +499,40 @@ public class Berechnung {
 		{
 			final double faelligZins = getZeitunabhManReg().getFaelligkeitZinstitel();
 
-			// Funktion, zu der die Nullstelle gesucht wird
 			// Achtung: Zielwert getAggZeile(1).mwFianfangJ muss in AggZeile im Konstruktor berechnet werden
-			final Function<Double, Double> f = q -> {
-				double r = -getAggZeile(1).mwFianfangJ;
-				for (int i = 1; i <= zeitHorizont; ++i) {
-					r += k[i] * Math.pow(1 - q, i - 1 + faelligZins / 12);
+			final double mwFianfangJ = getAggZeile(1).mwFianfangJ;
+
+			// Funktion, zu der die Nullstelle gesucht wird, zusammen mit ihrer Ableitung:
+			final FunktionMitAbleitung f = new FunktionMitAbleitung() {
+				@Override
+				public double applyAsDouble(final double q) {
+					double r = -mwFianfangJ;
+					for (int i = 1; i <= zeitHorizont; ++i) {
+						r += k[i] * Math.pow(1 - q, i - 1 + faelligZins / 12);
+					}
+					return r;
 				}
-				return r;
-			};
 
-			// Ableitung der Funktion:
-			final Function<Double, Double> df = q -> {
-				double r = 0.0;
-				for (int i = 1; i <= zeitHorizont; ++i) {
-					r -= k[i] * (i - 1 + faelligZins / 12) * Math.pow(1 - q, i - 2 + faelligZins / 12);
+				@Override
+				public double applyMitAbleitung(final double q, final double[] ableitung) {
+					double r = -mwFianfangJ;
+					double dr = 0.0;
+					for (int i = 1; i <= zeitHorizont; ++i) {
+						// beide Potenzen werden getrennt ausgewertet, so bleiben Funktionswert und Ableitung bitgenau
+						// gleich, und bei q = 1 ergibt sich wie bisher ein unendlicher statt ein undefinierter Wert:
+						r += k[i] * Math.pow(1 - q, i - 1 + faelligZins / 12);
+						dr -= k[i] * (i - 1 + faelligZins / 12) * Math.pow(1 - q, i - 2 + faelligZins / 12);
+					}
+					ableitung[0] = dr;
+					return r;
 				}
-				return r;
 			};
 
-			// Ermitteln der Nullstelle
-			q = Newton.solve(f, df, 0.01, 0.001, 20, 0.1, 2.0, false);
+			// Ermitteln der Nullstelle, sofern nicht schon fr dieses Stressszenario geschehen
+			q = ausfallCache.computeIfAbsent(szenarioId, id -> Nullstellen.solve(f, 0.01, 0.001, 20, 0.1, 2.0));
 			if (!Double.isFinite(q)) {
 				throw new IllegalStateException("Ausfallwahrscheinlichkeit konnte nicht ermittelt werden!");
-			} else if (q < 0.0 && !negAusfall) {
+			} else if (q < 0.0 && !optionen.isNegAusfall()) {
 				throw new IllegalStateException("Berechnete Ausfallwahrscheinlichkeit ist negativ!");
 			}
 		}
@@ -494,6 +575,30 @@ public class Berechnung {
 				z.berechnungReversed00();
 			}
 		}
+		for (RzgZeile z : rzgZeilen) {
+			z.initLaengeProjektionDr();
+		}
+
+		// abgelaufene Bestandsgruppen: welche Zeilen kommen dafr berhaupt in Frage?
+		if (ablaufUeberspringen) {
+			for (Map<Integer, Map<String, Map<String, List<RzgZeile>>>> m1 : rzgMap.values()) {
+				for (Map<String, Map<String, List<RzgZeile>>> m2 : m1.values()) {
+					for (Map<String, List<RzgZeile>> m3 : m2.values()) {
+						for (List<RzgZeile> gruppe : m3.values()) {
+							int letzteAktiveZeit = -1;
+							for (RzgZeile z : gruppe) {
+								if (!z.isEingabenNull()) {
+									letzteAktiveZeit = Math.max(letzteAktiveZeit, z.zeit);
+								}
+							}
+							for (RzgZeile z : gruppe) {
+								z.initAblauf(letzteAktiveZeit);
+							}
+						}
+					}
+				}
+			}
+		}
 
 		leistGar = new double[szenario.projektionsHorizont];
 		restGar = new double[szenario.projektionsHorizont];
@@ -515,6 +620,9 @@ public class Berechnung {
 				aufwendungenKa0[i] = 0.0;
 			}
 		}
+
+		// erst jetzt sind alle pfadunabhngigen Werte bestimmt:
+		pfadZustand = optionen.isPfadZustandPruefen() ? new PfadZustand(aggList, rzgZeilen, flvZeilen) : null;
 	}
 
 	/**
@@ -525,13 +633,10 @@ public class Berechnung {
 	 *            der gewnschte Pfad
 	 * @throws FileNotFoundException
 	 *             falls die Ausgabe nicht geschrieben werden kann
-	 * @throws IllegalAccessException
-	 *             falls Zugriffe auf Felder scheitern
 	 * @throws IllegalArgumentException
 	 *             falls Zugriffe auf Felder scheitern
 	 */
-	public void berechnung(final int pfad)
-			throws FileNotFoundException, IllegalArgumentException, IllegalAccessException {
+	public void berechnung(final int pfad) throws FileNotFoundException, IllegalArgumentException {
 		berechnung(pfad, Optional.empty());
 	}
 
@@ -545,15 +650,105 @@ public class Berechnung {
 	 *            Transfer-Dir, wenn abweichend von den VuParametern
 	 * @throws FileNotFoundException
 	 *             falls die Ausgabe nicht geschrieben werden kann
-	 * @throws IllegalAccessException
-	 *             falls Zugriffe auf Felder scheitern
 	 * @throws IllegalArgumentException
 	 *             falls Zugriffe auf Felder scheitern
 	 */
 	public void berechnung(final int pfad, final Optional<File> transferDir)
-			throws FileNotFoundException, IllegalArgumentException, IllegalAccessException {
+			throws FileNotFoundException, IllegalArgumentException {
+
+		if (pfadZustand != null) {
+			// Prflauf: zuerst mit den Werten des vorherigen Pfades, dann ab dem Anfangszustand; jede Abweichung
+			// bedeutet, dass ein Feld vor dem Schreiben gelesen wurde
+			berechnePfad(pfad, true);
+			final long[] werte = pfadZustand.lesen();
+			pfadZustand.zuruecksetzen();
+			berechnePfad(pfad, true);
+			final List<String> felder = pfadZustand.abweichungen(werte);
+			if (felder.size() > 0) {
+				throw new IllegalStateException("In Szenario " + szenarioId + " (" + szenarioName + "), pfad = " + pfad
+						+ " hngen vom vorherigen Pfad ab: " + String.join(", ", felder));
+			}
+		} else if (schnellePruefung) {
+			berechnePfad(pfad, false);
+			if (!isErgebnisFinit()) {
+				// Diagnoselauf: der Pfad wird mit Prfung aller Zeilen erneut gerechnet, damit die betroffenen Felder
+				// wie gewohnt gemeldet werden.
+				berechnePfad(pfad, true);
+				// alle Zeilen sind finit, der berlauf kann aber erst in den Kennzahlen entstehen:
+				final List<String> errors = getNichtFiniteKennzahlen();
+				if (errors.size() > 0) {
+					final String header = "In Szenario " + szenarioId + " (" + szenarioName + "), pfad = " + pfad
+							+ " traten berlufe auf in den Kennzahlen";
+					final String felder = String.join(", ", errors);
+					throw new ResultNotFinite(header + ": " + felder, header, felder);
+				}
+			}
+		} else {
+			berechnePfad(pfad, true);
+		}
+
+		ausgabeSave2csv(pfad, transferDir);
+	}
+
+	/**
+	 * Ermittle die nur vom Szenariensatz abhngigen Diskontfaktoren fr ein Bndel von Pfaden im Gleichschritt. Die
+	 * Pfade werden anschlieend wie gewohnt mit {@link #berechnung(int)} gerechnet, die Ergebnisse sind bitgleich zur
+	 * Einzelberechnung. Pfade, die nicht zum Bndel gehren, werden einzeln gerechnet.
+	 * 
+	 * @param pfade
+	 *            die Pfade des Bndels
+	 */
+	public void setPfadBuendel(final int[] pfade) {
+		if (pfadBuendel == null || pfadBuendel.getBreite() < pfade.length) {
+			pfadBuendel = new PfadBuendel(szenario, zeitHorizont,
+					Math.max(bwAktivaFi.getMaxZeitCashflowFi(), maxRlzNeuAnl), zeitunabhManReg.getMonatZahlung(),
+					pfade.length);
+		}
+		pfadBuendel.fuellen(pfade);
+	}
+
+	/**
+	 * Setze den Pfad, dessen Zeilen ausgegeben werden. Bei {@link #nurKennzahlen} wird er als einziger Pfad neben
+	 * denen mit Spalten in Save2csv vollstndig gerechnet.
+	 * 
+	 * @param pfad
+	 *            der Pfad
+	 */
+	public void setAusgabePfad(final int pfad) {
+		ausgabePfad = pfad;
+	}
+
+	/**
+	 * Wurden im zuletzt gerechneten Pfad alle Felder berechnet, auch die nur fr die Ausgabe?
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isVollstaendig() {
+		return vollstaendig;
+	}
+
+	/**
+	 * Rechne einen Pfad bis einschlielich der Kennzahlen.
+	 * 
+	 * @param pfad
+	 *            der gewnschte Pfad
+	 * @param pruefen
+	 *            sollen alle Zeilen nach jedem Zeitschritt auf berlufe geprft werden?
+	 */
+	private void berechnePfad(final int pfad, final boolean pruefen) {
+		// Anfangszustand des Pfades fr alles, was nicht in den double-Feldern der Zeilen liegt; diese werden von der
+		// Zeitrekursion vor dem Lesen geschrieben, was pfadZustandPruefen nachweist
+		Arrays.fill(zzrSpotEsgPfad, Double.NaN);
+		for (AggZeile aggZeile : aggList) {
+			aggZeile.pfadStart();
+		}
+		for (RzgZeile z : rzgZeilen) {
+			z.pfadStart();
+		}
 
 		aktuellerPfad = pfad;
+		vollstaendig = !nurKennzahlen || pfad == ausgabePfad || isSave2csvPfad(pfad);
+		buendelPosition = pfadBuendel == null ? -1 : pfadBuendel.getPosition(pfad);
 		for (AggZeile aggZeile : aggList) {
 			aggZeile.berechnungLevel01(pfad);
 		}
@@ -564,7 +759,7 @@ public class Berechnung {
 				for (FlvZeile flvZeile : aggFlvZeilen.get(aggZeile.zeit)) {
 					// Bei der Berechnung FLV fliet nur der Vorgnger ein:
 					flvZeile.rechnen(aggZeile.vg);
-					if (flvZeile.zeit > 0) {
+					if (pruefen && flvZeile.zeit > 0) {
 						final List<String> errors = CheckData.checkFinite(flvZeile);
 						if (errors.size() > 0) {
 							final String header = "In Szenario " + szenarioId + " (" + szenarioName + "), pfad = "
@@ -584,52 +779,92 @@ public class Berechnung {
 
 			// jetzt ist die aktuelle Zeile gerechnet, wir prfen nun die Daten
 			// (bis auf die Ausnahme surplugFond)
-			aggZeile.checkFinite();
+			if (pruefen) {
+				aggZeile.checkFinite();
+			}
 		}
 		for (RzgZeile z : rzgZeilen) {
 			z.surplusFondRueckwaerts(getAggZeile(z.zeit));
 		}
 
-		kennzahlenPfadweise = new KennzahlenPfadweise(szenarioId, pfad, aggList, zeitunabhManReg.getMonatZahlung());
-
-		kennzahlenPfadweiseLoBs = new ArrayList<>();
-		mittelwerteUndCe = new HashMap<>();
-		mittelwerteNurCe = new HashMap<>();
-		for (String lob : lobs) {
-			final Map<Integer, Map<String, Map<String, List<RzgZeile>>>> rzgMapLob = rzgMap.get(lob);
-			final KennzahlenPfadweiseLoB kpl = new KennzahlenPfadweiseLoB(szenarioId, pfad, lob, rzgMapLob, aggList,
-					zeitunabhManReg.getMonatZahlung());
-			kennzahlenPfadweiseLoBs.add(kpl);
-
-			final HashMap<Integer, MittelwerteUndCe> mwUndCeLocal = new HashMap<>();
-			mittelwerteUndCe.put(lob, mwUndCeLocal);
-
-			final HashMap<Integer, MittelwerteNurCe> mwNurCeLocal = new HashMap<>();
-			mittelwerteNurCe.put(lob, mwNurCeLocal);
-			final Map<Integer, List<RzgZeile>> zeitMap = new HashMap<>();
-			for (int zins : rzgMapLob.keySet()) {
-				for (String altNeu : rzgMapLob.get(zins).keySet()) {
-					for (String deckungsStock : rzgMapLob.get(zins).get(altNeu).keySet()) {
-						for (RzgZeile rzg : rzgMapLob.get(zins).get(altNeu).get(deckungsStock)) {
-							if (!zeitMap.containsKey(rzg.zeit)) {
-								zeitMap.put(rzg.zeit, new ArrayList<>());
-							}
-							zeitMap.get(rzg.zeit).add(rzg);
-						}
-					}
-				}
+		// die Kennzahlen werden direkt in einen neuen Satz geschrieben, der ohne Kopie an PfadErgebnisse bergeben wird
+		final double monat = zeitunabhManReg.getMonatZahlung();
+		final RzgZeile[] zeilenNachLob = lobZeitIndex.getZeilenNachLob();
+		final double[] satz = new double[PfadErgebnisse.getLaenge(lobZeitIndex.getAnzahlLobs())];
+		KennzahlenPfadweise.berechne(aggList, monat, summen, satz, 0);
+		for (int l = 0; l < lobZeitIndex.getAnzahlLobs(); ++l) {
+			KennzahlenPfadweiseLoB.berechne(zeilenNachLob, lobZeitIndex.getLobVon(l), lobZeitIndex.getLobBis(l),
+					aggList, monat, summen, satz, PfadErgebnisse.getAnfangLob(l));
+		}
+		kennzahlen = satz;
+
+		// die Mittelwerte werden in die vorab angelegten Blcke geschrieben, die Werte ohne CE nur fr Pfad 0
+		final RzgZeile[] zeilenNachZeit = lobZeitIndex.getZeilenNachLobUndZeit();
+		for (int g = 0; g < lobZeitIndex.getAnzahlGruppen(); ++g) {
+			final AggZeile agg = getAggZeile(lobZeitIndex.getGruppeZeit(g));
+			final int von = lobZeitIndex.getGruppeVon(g);
+			final int bis = lobZeitIndex.getGruppeBis(g);
+			MittelwerteUndCe.berechne(zeilenNachZeit, von, bis, agg, monat, summen, mittelwerteUndCe,
+					g * MittelwerteUndCe.ANZAHL_KENNZAHLEN);
+			if (pfad == 0) {
+				MittelwerteNurCe.berechne(zeilenNachZeit, von, bis, agg, monat, summen, mittelwerteNurCe,
+						g * MittelwerteNurCe.ANZAHL_KENNZAHLEN);
 			}
-			for (int zeit : zeitMap.keySet()) {
-				final MittelwerteUndCe mittelwerteUndCe = new MittelwerteUndCe(pfad, szenarioName, szenarioId, lob,
-						zeit, zeitMap.get(zeit), getAggZeile(zeit), zeitunabhManReg.getMonatZahlung());
-				mwUndCeLocal.put(zeit, mittelwerteUndCe);
+		}
+	}
 
-				final MittelwerteNurCe mittelwerteNurCe = new MittelwerteNurCe(pfad, szenarioName, szenarioId, lob,
-						zeit, zeitMap.get(zeit), getAggZeile(zeit), zeitunabhManReg.getMonatZahlung());
-				mwNurCeLocal.put(zeit, mittelwerteNurCe);
+	/**
+	 * Schnelle Prfung der Ergebnisse des aktuellen Pfades: ist die Summe aller Kennzahlen finit? Ein berlauf bei der
+	 * Summation selbst fhrt lediglich zu einem unntigen Diagnoselauf. Die Mittelwerte gehen nicht ein, sie enthalten
+	 * auch bei fehlerfreier Rechnung undefinierte Quoten (etwa br zum Zeitpunkt 0).
+	 * 
+	 * @return ja oder nein
+	 */
+	private boolean isErgebnisFinit() {
+		double summe = 0.0;
+		for (double k : kennzahlen) {
+			summe += k;
+		}
+		return Double.isFinite(summe);
+	}
+
+	/**
+	 * Namen der nicht finiten Kennzahlen des aktuellen Pfades, fr die Meldung nach {@link #isErgebnisFinit()}. Die
+	 * Liste ist leer, wenn lediglich die Summation der schnellen Prfung bergelaufen ist.
+	 * 
+	 * @return die Namen
+	 */
+	private List<String> getNichtFiniteKennzahlen() {
+		final List<String> namen = new ArrayList<>();
+		final List<String> kennzahlNamen = KennzahlenPfadweise.getKennzahlNamen();
+		for (int i = 0; i < kennzahlNamen.size(); ++i) {
+			if (!Double.isFinite(kennzahlen[i])) {
+				namen.add(kennzahlNamen.get(i));
+			}
+		}
+		final List<String> kennzahlNamenLob = KennzahlenPfadweiseLoB.getKennzahlNamen();
+		for (int l = 0; l < lobZeitIndex.getAnzahlLobs(); ++l) {
+			final int anfang = PfadErgebnisse.getAnfangLob(l);
+			for (int i = 0; i < kennzahlNamenLob.size(); ++i) {
+				if (!Double.isFinite(kennzahlen[anfang + i])) {
+					namen.add(kennzahlNamenLob.get(i) + " (LoB " + lobZeitIndex.getLob(l) + ")");
+				}
 			}
 		}
+		return namen;
+	}
 
+	/**
+	 * Ausgabe von Spalten aus agg und rzg in csv-Dateien, sofern dies gewnscht ist.
+	 * 
+	 * @param pfad
+	 *            der gerechnete Pfad
+	 * @param transferDir
+	 *            Transfer-Dir, wenn abweichend von den VuParametern
+	 * @throws FileNotFoundException
+	 *             falls die Ausgabe nicht geschrieben werden kann
+	 */
+	private void ausgabeSave2csv(final int pfad, final Optional<File> transferDir) throws FileNotFoundException {
 		if (ausgabe) {
 			// Ausgabe von Spalten aus agg und rzg in csv-Dateien:
 			final Save2csv save2csv = vuParameter.getSave2csv();
@@ -681,6 +916,12 @@ public class Berechnung {
 		}
 	}
 
+	private boolean isSave2csvPfad(final int pfad) {
+		final Map<Integer, Map<Integer, List<Pair<String, Pair<String, String>>>>> fields = vuParameter.getSave2csv()
+				.getFields();
+		return ausgabe && fields.containsKey(szenarioId) && fields.get(szenarioId).containsKey(pfad);
+	}
+
 	private boolean separator(final PrintStream out, final boolean first) {
 		if (!first) {
 			out.print(";");
@@ -688,16 +929,13 @@ public class Berechnung {
 		return false;
 	}
 
-	private void writeField(final PrintStream out, final Object zeile, final Field field)
-			throws IllegalAccessException {
+	private void writeField(final PrintStream out, final Object zeile, final TableFieldZugriff.Spalte field) {
 		// jetzt wert rausschreiben:
-		final boolean accessible = field.isAccessible();
-		field.setAccessible(true);
-		if (field.getType() == char.class) {
+		if (field.getTyp() == char.class) {
 			out.print(field.getChar(zeile));
-		} else if (field.getType() == int.class) {
+		} else if (field.getTyp() == int.class) {
 			out.print(field.getInt(zeile));
-		} else if (field.getType() == double.class) {
+		} else if (field.getTyp() == double.class) {
 			final double w = field.getDouble(zeile);
 			if (Double.isFinite(w) && !Double.isNaN(w)) {
 				out.format("%.2f", w);
@@ -705,7 +943,6 @@ public class Berechnung {
 		} else {
 			out.print(field.get(zeile));
 		}
-		field.setAccessible(accessible);
 	}
 
 	/**
@@ -910,38 +1147,43 @@ public class Berechnung {
 	}
 
 	/**
-	 * Die Ergebnisliste der pfadweisen Kennzahlen.
+	 * Die pfadweisen Kennzahlen des zuletzt gerechneten Pfades, gesamt und je LoB in der Reihenfolge von
+	 * {@link #getLobZeitIndex()}, als Satz von {@link PfadErgebnisse}. Fr jeden Pfad wird ein neuer Satz angelegt,
+	 * er kann daher ohne Kopie bernommen werden.
 	 * 
-	 * @return die Kennzahlen
+	 * @return der Satz
 	 */
-	public KennzahlenPfadweise getKennzahlenPfadweise() {
-		return kennzahlenPfadweise;
+	public double[] getKennzahlen() {
+		return kennzahlen;
 	}
 
 	/**
-	 * Die Ergebnisse der pfadweisen Berechnung pro LoB.
+	 * Die Gruppierung der Mittelwerte nach LoB und Zeit.
 	 * 
-	 * @return die Ergebnisse
+	 * @return die Gruppierung
 	 */
-	public List<KennzahlenPfadweiseLoB> getKennzahlenPfadweiseLoB() {
-		return Collections.unmodifiableList(kennzahlenPfadweiseLoBs);
+	public LobZeitIndex getLobZeitIndex() {
+		return lobZeitIndex;
 	}
 
 	/**
-	 * Die Ergebnisse der Berechnung der Mittelwerte und CE.
+	 * Die Ergebnisse der Berechnung der Mittelwerte und CE, je Gruppe des {@link #getLobZeitIndex()} ein Block von
+	 * {@link MittelwerteUndCe#ANZAHL_KENNZAHLEN} Werten. Das Feld wird bei der Berechnung des nchsten Pfades
+	 * berschrieben.
 	 * 
 	 * @return die Ergebnisse
 	 */
-	public Map<String, Map<Integer, MittelwerteUndCe>> getMittelwerteUndCe() {
+	public double[] getMittelwerteUndCe() {
 		return mittelwerteUndCe;
 	}
 
 	/**
-	 * Die Ergebnisse der Berechnung der Mittelwerte (nur CE).
+	 * Die Ergebnisse der Berechnung der Mittelwerte (nur CE), je Gruppe des {@link #getLobZeitIndex()} ein Block von
+	 * {@link MittelwerteNurCe#ANZAHL_KENNZAHLEN} Werten. Sie werden nur fr Pfad 0 berechnet.
 	 * 
 	 * @return die Mittelwerte
 	 */
-	public Map<String, Map<Integer, MittelwerteNurCe>> getMittelwerteNurCe() {
+	public double[] getMittelwerteNurCe() {
 		return mittelwerteNurCe;
 	}
 
@@ -973,4 +1215,94 @@ public class Berechnung {
 	public double getDurationKaBestand() {
 		return durationKaBestand;
 	}
+
+	/**
+	 * Anzahl der klassischen Bestandsgruppen (LoB, Zinsgeneration, Alt/Neubestand) im KDS.
+	 * 
+	 * @return die Anzahl
+	 */
+	public int getAnzahlBestandsgruppenKlassik() {
+		return bestandsgruppenKlassik().size();
+	}
+
+	/**
+	 * Anzahl der klassischen Bestandsgruppen, die sich mit einer anderen Bestandsgruppe zusammenfassen lieen. Das ist
+	 * der Fall, wenn beide in Zinsgeneration, Alt/Neubestand, den Merkmalen des LoB-Mappings (B/NB,
+	 * Zinssensitivitt, KA-Kostenstress) und den eingegebenen Quoten zu allen Zeiten exakt bereinstimmen, der
+	 * Basisstorno bis auf Rundungsfehler gleich ist und ihre Betrge zu allen Zeiten bis auf einen gemeinsamen
+	 * positiven Faktor gleich sind. Es wird nur gezhlt, die Rechnung bleibt unverndert.
+	 * 
+	 * @return die Anzahl
+	 */
+	public int getAnzahlVerdichtbar() {
+		// je Merkmalen und Quoten die Bestandsgruppen, die keiner frheren proportional sind:
+		final Map<String, List<List<RzgZeile>>> vertreter = new HashMap<>();
+		int anzahl = 0;
+		for (List<RzgZeile> gruppe : bestandsgruppenKlassik()) {
+			final RzgZeile z = gruppe.get(0);
+			final StringBuilder signatur = new StringBuilder();
+			signatur.append(z.ueb).append(';').append(z.nueb).append(';').append(z.zinsSensitiv).append(';')
+					.append(z.kaKostenstressDerLob).append(';').append(z.zinsGeneration).append(';')
+					.append(z.altNeuBestand);
+			for (RzgZeile zeile : gruppe) {
+				signatur.append(';').append(zeile.zeit).append(Arrays.toString(zeile.quoten()));
+			}
+			final List<List<RzgZeile>> liste = vertreter.computeIfAbsent(signatur.toString(),
+					k -> new ArrayList<>());
+			if (liste.stream().anyMatch(v -> !Double.isNaN(faktor(v, gruppe)))) {
+				++anzahl;
+			} else {
+				liste.add(gruppe);
+			}
+		}
+		return anzahl;
+	}
+
+	private List<List<RzgZeile>> bestandsgruppenKlassik() {
+		final List<List<RzgZeile>> gruppen = new ArrayList<>();
+		for (Map<Integer, Map<String, Map<String, List<RzgZeile>>>> m1 : rzgMap.values()) {
+			for (Map<String, Map<String, List<RzgZeile>>> m2 : m1.values()) {
+				for (Map<String, List<RzgZeile>> m3 : m2.values()) {
+					for (List<RzgZeile> gruppe : m3.values()) {
+						if (!gruppe.isEmpty() && !gruppe.get(0).flv && !gruppe.get(0).fonds) {
+							gruppen.add(gruppe);
+						}
+					}
+				}
+			}
+		}
+		return gruppen;
+	}
+
+	/**
+	 * Sind die Betrge von b ein positives Vielfaches der Betrge von a und stimmt der Basisstorno berein? Verglichen
+	 * wird bis auf Rundungsfehler. Die Zeiten beider Bestandsgruppen mssen bereinstimmen.
+	 * 
+	 * @return der Faktor, NaN wenn sie es nicht sind
+	 */
+	private static double faktor(final List<RzgZeile> a, final List<RzgZeile> b) {
+		double faktor = Double.NaN;
+		for (int i = 0; i < a.size(); ++i) {
+			final double sa = a.get(i).sBasis;
+			final double sb = b.get(i).sBasis;
+			if (Math.abs(sb - sa) > 1e-12 * Math.max(Math.abs(sa), Math.abs(sb))) {
+				return Double.NaN;
+			}
+			final double[] ea = a.get(i).volumen();
+			final double[] eb = b.get(i).volumen();
+			for (int j = 0; j < ea.length; ++j) {
+				if (Double.isNaN(faktor) && ea[j] != 0.0) {
+					faktor = eb[j] / ea[j];
+					if (!(faktor > 0.0) || Double.isInfinite(faktor)) {
+						return Double.NaN;
+					}
+				}
+				final double erwartet = Double.isNaN(faktor) ? 0.0 : faktor * ea[j];
+				if (Math.abs(eb[j] - erwartet) > 1e-12 * Math.max(Math.abs(eb[j]), Math.abs(erwartet))) {
+					return Double.NaN;
+				}
+			}
+		}
+		return faktor;
+	}
 }
@@ -0,0 +1,134 @@
+package de.gdv.bsm.vu.berechnung;
+
+import de.gdv.bsm.intern.params.Eingabe;
+
+/**
+ * Die Schalter, mit denen eine {@link Berechnung} gerechnet wird. Sie werden aus der {@link Eingabe} bernommen und
+ * bleiben fr die Berechnung unverndert.
+ * 
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class BerechnungOptionen {
+	private final boolean flvRechnen;
+	private final boolean negAusfall;
+	private final boolean ausgabe;
+	private final boolean schnellePruefung;
+	private final boolean ablaufUeberspringen;
+	private final boolean pfadZustandPruefen;
+	private final boolean nurKennzahlen;
+
+	/**
+	 * bernimm die Schalter aus der Eingabe.
+	 * 
+	 * @param eingabe
+	 *            die Vorgabeparameter der Berechnung
+	 */
+	public BerechnungOptionen(final Eingabe eingabe) {
+		flvRechnen = eingabe.isFlvRechnen();
+		negAusfall = eingabe.isNegAusfallwk();
+		ausgabe = eingabe.isAusgabe();
+		schnellePruefung = eingabe.isSchnellePruefung();
+		ablaufUeberspringen = eingabe.isAblaufUeberspringen();
+		pfadZustandPruefen = eingabe.isPfadZustandPruefen();
+		nurKennzahlen = eingabe.isNurKennzahlen();
+	}
+
+	/**
+	 * Setze nur die ursprnglichen Schalter, alle anderen sind aus.
+	 * 
+	 * @param flvRechnen
+	 *            soll FLV gerechnet werden?
+	 * @param negAusfall
+	 *            soll mit negativer Ausfallwahrscheinlichkeit weiter gerechnet werden?
+	 * @param ausgabe
+	 *            sollen Zwischenergebnisse aus agg und rzg ausgegeben werden
+	 * @param schnellePruefung
+	 *            sollen die Ergebnisse eines Pfades nur einmal am Ende auf berlufe geprft werden?
+	 */
+	public BerechnungOptionen(final boolean flvRechnen, final boolean negAusfall, final boolean ausgabe,
+			final boolean schnellePruefung) {
+		this.flvRechnen = flvRechnen;
+		this.negAusfall = negAusfall;
+		this.ausgabe = ausgabe;
+		this.schnellePruefung = schnellePruefung;
+		this.ablaufUeberspringen = false;
+		this.pfadZustandPruefen = false;
+		this.nurKennzahlen = false;
+	}
+
+	/**
+	 * Soll FLV gerechnet werden?
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isFlvRechnen() {
+		return flvRechnen;
+	}
+
+	/**
+	 * Soll mit negativer Ausfallwahrscheinlichkeit weiter gerechnet werden?
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isNegAusfall() {
+		return negAusfall;
+	}
+
+	/**
+	 * Sollen Zwischenergebnisse aus agg und rzg ausgegeben werden?
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isAusgabe() {
+		return ausgabe;
+	}
+
+	/**
+	 * Sollen die Ergebnisse eines Pfades nur einmal am Ende auf berlufe geprft werden?
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isSchnellePruefung() {
+		return schnellePruefung;
+	}
+
+	/**
+	 * Sollen rzg-Zeilen nach Ablauf ihrer Bestandsgruppe bersprungen werden?
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isAblaufUeberspringen() {
+		return ablaufUeberspringen;
+	}
+
+	/**
+	 * Soll geprft werden, ob Werte eines Pfades in den nchsten Pfad bernommen werden?
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isPfadZustandPruefen() {
+		return pfadZustandPruefen;
+	}
+
+	/**
+	 * Sollen Felder, die nur in die Ausgabe eingehen, nur fr die ausgegebenen Pfade berechnet werden?
+	 * 
+	 * @return ja oder nein
+	 */
+	public boolean isNurKennzahlen() {
+		return nurKennzahlen;
+	}
+}
@@ -49,6 +49,10 @@ public class FlvZeile {
 	/** B/NB. G, L 0. */
 	@TableField
 	final String uebNueb;
+	/** Kennzeichen B, einmalig aus {@link #uebNueb} bestimmt. */
+	final boolean ueb;
+	/** Kennzeichen NB, einmalig aus {@link #uebNueb} bestimmt. */
+	final boolean nueb;
 	/** Kosten VU, Aufschubzeit, Euro. H, L 0. */
 	@TableField
 	final double kosten;
@@ -142,6 +146,8 @@ public class FlvZeile {
 		zinsGeneration = zeile.getRechnungsZinsGeneration();
 		altNeu = zeile.getAltNeuBestand();
 		uebNueb = berechnung.lobMapping.getLobMapping(lob).getUebNueb();
+		ueb = berechnung.lobMapping.getLobMapping(lob).isUeb();
+		nueb = berechnung.lobMapping.getLobMapping(lob).isNueb();
 		kosten = zeile.getKostenVuAufschubzeit();
 		praemien = zeile.getPraemienAufschubzeit();
 		tod = zeile.getLeistungenBeiTodAufschubzeit();
@@ -0,0 +1,139 @@
+package de.gdv.bsm.vu.berechnung;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Aufteilung der rzg-Zeilen einer {@link AggZeile} in Gruppen, die innerhalb eines Pfades parallel gerechnet werden
+ * knnen. Die Zeilen einer Zeit hngen nur von ihren Vorgngern und von der agg-Zeile ab, mit einer Ausnahme: eine
+ * FLV-Zeile mit Deckungsstock Fonds schreibt in {@link RzgZeile#zeitRekursionL02(AggZeile)} in die zugehrige
+ * KDS-Zeile. Diese beiden Zeilen bilden daher eine Gruppe, die in der ursprnglichen Reihenfolge seriell gerechnet
+ * wird. Alle brigen Zeilen bilden eine eigene Gruppe. Damit sind die Ergebnisse identisch zur seriellen Rechnung.
+ * <p/>
+ * Die Aufteilung hngt nicht vom Pfad ab und wird einmal je agg-Zeile ermittelt.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+final class KohortenAufteilung {
+	/** Ab dieser Anzahl von rzg-Zeilen je Zeit lohnt sich die Aufteilung. */
+	static final int MIN_ZEILEN = 64;
+	/** Anzahl Gruppen, die in einer Teilaufgabe seriell gerechnet werden. */
+	private static final int GRUPPEN_JE_TEIL = 16;
+
+	private final RzgZeile[] zeilen;
+	// Beginn der Zeilen einer Gruppe, mit abschlieendem Ende
+	private final int[] gruppeVon;
+
+	/**
+	 * Ermittle die Aufteilung.
+	 *
+	 * @param rzgZeilen
+	 *            die rzg-Zeilen einer Zeit
+	 */
+	KohortenAufteilung(final List<RzgZeile> rzgZeilen) {
+		final Map<String, RzgZeile> kdsZeilen = new HashMap<>();
+		for (RzgZeile z : rzgZeilen) {
+			if (!z.fonds) {
+				kdsZeilen.put(schluessel(z), z);
+			}
+		}
+
+		// Gruppen in der Reihenfolge ihrer ersten Zeile, innerhalb der Gruppe bleibt die Reihenfolge erhalten
+		final Map<RzgZeile, List<RzgZeile>> gruppen = new LinkedHashMap<>();
+		final Map<RzgZeile, List<RzgZeile>> gruppeDerKds = new HashMap<>();
+		for (RzgZeile z : rzgZeilen) {
+			final RzgZeile kds = z.flv && z.fonds ? kdsZeilen.get(schluessel(z)) : z.fonds ? null : z;
+			List<RzgZeile> gruppe = kds == null ? null : gruppeDerKds.get(kds);
+			if (gruppe == null) {
+				gruppe = new ArrayList<>();
+				gruppen.put(z, gruppe);
+				if (kds != null) {
+					gruppeDerKds.put(kds, gruppe);
+				}
+			}
+			gruppe.add(z);
+		}
+
+		zeilen = new RzgZeile[rzgZeilen.size()];
+		gruppeVon = new int[gruppen.size() + 1];
+		int i = 0;
+		int g = 0;
+		for (List<RzgZeile> gruppe : gruppen.values()) {
+			gruppeVon[g++] = i;
+			for (RzgZeile z : gruppe) {
+				zeilen[i++] = z;
+			}
+		}
+		gruppeVon[g] = i;
+	}
+
+	private static String schluessel(final RzgZeile z) {
+		return z.lob + ";" + z.zinsGeneration + ";" + z.altNeuBestand;
+	}
+
+	/**
+	 * Fhre einen Rekursionsschritt fr alle Zeilen im Pool aus. Die Methode kehrt erst zurck, wenn alle Zeilen
+	 * gerechnet sind.
+	 *
+	 * @param pool
+	 *            der zu verwendende Pool
+	 * @param schritt
+	 *            der Rekursionsschritt einer Zeile
+	 */
+	void rekursion(final ForkJoinPool pool, final Consumer<RzgZeile> schritt) {
+		pool.invoke(new Teil(zeilen, gruppeVon, 0, gruppeVon.length - 1, schritt));
+	}
+
+	/**
+	 * Ein Bereich von Gruppen, der bei Bedarf weiter geteilt wird.
+	 */
+	private static final class Teil extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final RzgZeile[] zeilen;
+		private final int[] gruppeVon;
+		private final int von;
+		private final int bis;
+		private final Consumer<RzgZeile> schritt;
+
+		Teil(final RzgZeile[] zeilen, final int[] gruppeVon, final int von, final int bis,
+				final Consumer<RzgZeile> schritt) {
+			this.zeilen = zeilen;
+			this.gruppeVon = gruppeVon;
+			this.von = von;
+			this.bis = bis;
+			this.schritt = schritt;
+		}
+
+		@Override
+		protected void compute() {
+			if (bis - von <= GRUPPEN_JE_TEIL) {
+				for (int i = gruppeVon[von]; i < gruppeVon[bis]; ++i) {
+					schritt.accept(zeilen[i]);
+				}
+			} else {
+				final int mitte = (von + bis) >>> 1;
+				invokeAll(new Teil(zeilen, gruppeVon, von, mitte, schritt),
+						new Teil(zeilen, gruppeVon, mitte, bis, schritt));
+			}
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package de.gdv.bsm.vu.berechnung;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Gruppierung der rzg-Zeilen nach LoB bzw. nach LoB und Zeit. Die Gruppierung hngt nicht vom Pfad ab und wird daher
+ * einmal je {@link Berechnung} ermittelt. Die Gruppen werden als Indexbereiche auf zwei Feldern von rzg-Zeilen
+ * abgelegt:
+ * <ul>
+ * <li>{@link #getZeilenNachLob()}: die Zeilen je LoB in der Reihenfolge der LoB und innerhalb einer LoB in der
+ * Reihenfolge der Map <code>LoB -&gt; Zinsgeneration -&gt; Alt/Neu -&gt; Deckungsstock</code>,</li>
+ * <li>{@link #getZeilenNachLobUndZeit()}: dieselben Zeilen, innerhalb einer LoB aufsteigend nach der Zeit gruppiert.
+ * Innerhalb einer Gruppe bleibt die obige Reihenfolge erhalten.</li>
+ * </ul>
+ * Die Felder drfen nicht verndert werden.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class LobZeitIndex {
+	private final String[] lobs;
+	private final List<String> lobListe;
+	private final RzgZeile[] zeilenNachLob;
+	// Beginn der Zeilen einer LoB, mit abschlieendem Ende
+	private final int[] lobVon;
+	private final RzgZeile[] zeilenNachLobUndZeit;
+	// je Gruppe: Index der LoB, Zeit und Beginn der Zeilen (mit abschlieendem Ende)
+	private final int[] gruppeLob;
+	private final int[] gruppeZeit;
+	private final int[] gruppeVon;
+
+	/**
+	 * Erstelle die Gruppierung.
+	 * 
+	 * @param lobs
+	 *            die LoB in der gewnschten Reihenfolge
+	 * @param rzgMap
+	 *            Zuordnung LoB -&gt; Zinsgeneration -&gt; Alt/Neu -&gt; Deckungsstock -&gt; Zeilen
+	 */
+	LobZeitIndex(final List<String> lobs,
+			final Map<String, Map<Integer, Map<String, Map<String, List<RzgZeile>>>>> rzgMap) {
+		this.lobs = lobs.toArray(new String[lobs.size()]);
+		lobListe = Collections.unmodifiableList(Arrays.asList(this.lobs));
+		lobVon = new int[this.lobs.length + 1];
+
+		final List<RzgZeile> nachLob = new ArrayList<>();
+		final List<RzgZeile> nachLobUndZeit = new ArrayList<>();
+		final List<int[]> gruppen = new ArrayList<>();
+		for (int l = 0; l < this.lobs.length; ++l) {
+			lobVon[l] = nachLob.size();
+			final Map<Integer, Map<String, Map<String, List<RzgZeile>>>> lobMap = rzgMap.get(this.lobs[l]);
+			for (int zins : lobMap.keySet()) {
+				for (String altNeu : lobMap.get(zins).keySet()) {
+					for (List<RzgZeile> values : lobMap.get(zins).get(altNeu).values()) {
+						nachLob.addAll(values);
+					}
+				}
+			}
+
+			// innerhalb der LoB nach der Zeit gruppieren, die Reihenfolge bleibt dabei erhalten
+			final TreeMap<Integer, List<RzgZeile>> zeitMap = new TreeMap<>();
+			for (int i = lobVon[l]; i < nachLob.size(); ++i) {
+				final RzgZeile z = nachLob.get(i);
+				if (!zeitMap.containsKey(z.zeit)) {
+					zeitMap.put(z.zeit, new ArrayList<>());
+				}
+				zeitMap.get(z.zeit).add(z);
+			}
+			for (int zeit : zeitMap.keySet()) {
+				gruppen.add(new int[] { l, zeit, nachLobUndZeit.size() });
+				nachLobUndZeit.addAll(zeitMap.get(zeit));
+			}
+		}
+		lobVon[this.lobs.length] = nachLob.size();
+		zeilenNachLob = nachLob.toArray(new RzgZeile[nachLob.size()]);
+		zeilenNachLobUndZeit = nachLobUndZeit.toArray(new RzgZeile[nachLobUndZeit.size()]);
+
+		gruppeLob = new int[gruppen.size()];
+		gruppeZeit = new int[gruppen.size()];
+		gruppeVon = new int[gruppen.size() + 1];
+		for (int g = 0; g < gruppen.size(); ++g) {
+			gruppeLob[g] = gruppen.get(g)[0];
+			gruppeZeit[g] = gruppen.get(g)[1];
+			gruppeVon[g] = gruppen.get(g)[2];
+		}
+		gruppeVon[gruppen.size()] = nachLobUndZeit.size();
+	}
+
+	/**
+	 * @return die Anzahl der LoB
+	 */
+	public int getAnzahlLobs() {
+		return lobs.length;
+	}
+
+	/**
+	 * @return die LoB in der Reihenfolge ihrer Indizes
+	 */
+	public List<String> getLobs() {
+		return lobListe;
+	}
+
+	/**
+	 * Name einer LoB.
+	 * 
+	 * @param l
+	 *            Index der LoB
+	 * @return der Name
+	 */
+	public String getLob(final int l) {
+		return lobs[l];
+	}
+
+	/**
+	 * Beginn der Zeilen einer LoB in {@link #getZeilenNachLob()}.
+	 * 
+	 * @param l
+	 *            Index der LoB
+	 * @return Index der ersten Zeile
+	 */
+	public int getLobVon(final int l) {
+		return lobVon[l];
+	}
+
+	/**
+	 * Ende der Zeilen einer LoB in {@link #getZeilenNachLob()}.
+	 * 
+	 * @param l
+	 *            Index der LoB
+	 * @return Index nach der letzten Zeile
+	 */
+	public int getLobBis(final int l) {
+		return lobVon[l + 1];
+	}
+
+	/**
+	 * @return die Zeilen nach LoB
+	 */
+	public RzgZeile[] getZeilenNachLob() {
+		return zeilenNachLob;
+	}
+
+	/**
+	 * @return die Anzahl der Gruppen aus LoB und Zeit
+	 */
+	public int getAnzahlGruppen() {
+		return gruppeZeit.length;
+	}
+
+	/**
+	 * LoB einer Gruppe.
+	 * 
+	 * @param g
+	 *            Index der Gruppe
+	 * @return die LoB
+	 */
+	public String getGruppeLob(final int g) {
+		return lobs[gruppeLob[g]];
+	}
+
+	/**
+	 * Zeit einer Gruppe.
+	 * 
+	 * @param g
+	 *            Index der Gruppe
+	 * @return die Zeit
+	 */
+	public int getGruppeZeit(final int g) {
+		return gruppeZeit[g];
+	}
+
+	/**
+	 * Beginn der Zeilen einer Gruppe in {@link #getZeilenNachLobUndZeit()}.
+	 * 
+	 * @param g
+	 *            Index der Gruppe
+	 * @return Index der ersten Zeile
+	 */
+	public int getGruppeVon(final int g) {
+		return gruppeVon[g];
+	}
+
+	/**
+	 * Ende der Zeilen einer Gruppe in {@link #getZeilenNachLobUndZeit()}.
+	 * 
+	 * @param g
+	 *            Index der Gruppe
+	 * @return Index nach der letzten Zeile
+	 */
+	public int getGruppeBis(final int g) {
+		return gruppeVon[g + 1];
+	}
+
+	/**
+	 * @return die Zeilen nach LoB und Zeit
+	 */
+	public RzgZeile[] getZeilenNachLobUndZeit() {
+		return zeilenNachLobUndZeit;
+	}
+}
@@ -0,0 +1,233 @@
+package de.gdv.bsm.vu.berechnung;
+
+import de.gdv.bsm.intern.szenario.PfadZeile;
+import de.gdv.bsm.intern.szenario.Szenario;
+import de.gdv.bsm.vu.module.KaModellierung;
+
+/**
+ * Ein Bndel von Pfaden, fr das die nur vom Szenariensatz abhngigen Diskontfaktoren von {@link KaModellierung#mwVt}
+ * und {@link KaModellierung#mwFiJahresende} im Gleichschritt ber alle Pfade ermittelt werden. Je Zeit und Laufzeit
+ * liegen die Faktoren der Pfade des Bndels nebeneinander, die Schleifen ber die Pfade laufen also ber primitive
+ * Felder.
+ * <p/>
+ * Die Faktoren werden mit denselben Ausdrcken wie in den beiden Funktionen berechnet, die Ergebnisse eines Pfades
+ * sind daher bitgleich zur Einzelberechnung.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+final class PfadBuendel {
+	private final Szenario szenario;
+	private final int zeitHorizont;
+	private final int laufzeitenFi;
+	private final double vu;
+	private final int breite;
+
+	// die Pfade des aktuellen Bndels:
+	private final int[] pfade;
+	private int anzahl = 0;
+
+	// je Zeit die Diskontfaktoren fr MW VT, Index (t - 1) * breite + Pfad im Bndel:
+	private final double[][] dfVt;
+	private final double[][] dfVuVt;
+	// je Zeit die Aufzinsungsfaktoren (1 + spot)^t fr MW FI, gleicher Index:
+	private final double[][] potenzFi;
+
+	// Arbeitsfelder fr eine Zeit:
+	private final PfadZeile[] zeilen;
+	private final double[] spot;
+
+	/**
+	 * Lege die Felder fr ein Bndel an.
+	 * 
+	 * @param szenario
+	 *            der Szenariensatz
+	 * @param zeitHorizont
+	 *            letzte Zeit der agg-Zeilen
+	 * @param laufzeitenFi
+	 *            maximale Anzahl Laufzeiten fr MW FI
+	 * @param monat
+	 *            der Zahlungsmonat aus den zeitunabhngigen Managementregeln
+	 * @param breite
+	 *            maximale Anzahl Pfade je Bndel
+	 */
+	PfadBuendel(final Szenario szenario, final int zeitHorizont, final int laufzeitenFi, final double monat,
+			final int breite) {
+		this.szenario = szenario;
+		this.zeitHorizont = zeitHorizont;
+		this.laufzeitenFi = laufzeitenFi;
+		this.vu = monat / 12.0;
+		this.breite = breite;
+		pfade = new int[breite];
+		dfVt = new double[zeitHorizont + 1][];
+		dfVuVt = new double[zeitHorizont + 1][];
+		potenzFi = new double[zeitHorizont + 1][];
+		int maxLaufzeiten = laufzeitenFi;
+		for (int zeit = 0; zeit <= zeitHorizont; ++zeit) {
+			final int n = laufzeitenVt(zeit);
+			dfVt[zeit] = new double[n * breite];
+			dfVuVt[zeit] = new double[n * breite];
+			potenzFi[zeit] = new double[laufzeitenFi * breite];
+			maxLaufzeiten = Math.max(maxLaufzeiten, n);
+		}
+		zeilen = new PfadZeile[breite];
+		spot = new double[maxLaufzeiten * breite];
+	}
+
+	/**
+	 * Maximale Anzahl Pfade je Bndel.
+	 * 
+	 * @return die Anzahl
+	 */
+	int getBreite() {
+		return breite;
+	}
+
+	/**
+	 * Ermittle die Faktoren fr ein neues Bndel.
+	 * 
+	 * @param neuePfade
+	 *            die Pfade des Bndels
+	 */
+	void fuellen(final int[] neuePfade) {
+		if (neuePfade.length > breite) {
+			throw new IllegalArgumentException("Bndel mit " + neuePfade.length + " Pfaden, maximal " + breite);
+		}
+		anzahl = neuePfade.length;
+		System.arraycopy(neuePfade, 0, pfade, 0, anzahl);
+
+		for (int zeit = 0; zeit <= zeitHorizont; ++zeit) {
+			final int n = laufzeitenVt(zeit);
+			final int m = Math.max(n, laufzeitenFi);
+			for (int p = 0; p < anzahl; ++p) {
+				zeilen[p] = szenario.getPfad(pfade[p]).getPfadZeile(zeit);
+			}
+			// die Spotraten aller Pfade nebeneinander:
+			for (int t = 1; t <= m; ++t) {
+				final int basis = (t - 1) * breite;
+				for (int p = 0; p < anzahl; ++p) {
+					spot[basis + p] = zeilen[p].getSpotRlz(t);
+				}
+			}
+
+			final double[] df = dfVt[zeit];
+			final double[] dfVu = dfVuVt[zeit];
+			for (int t = 1; t <= n; ++t) {
+				final int basis = (t - 1) * breite;
+				for (int p = 0; p < anzahl; ++p) {
+					final double dummy = 1.0 / (1.0 + spot[basis + p]);
+					df[basis + p] = Math.pow(dummy, t);
+					if (t == 1) {
+						dfVu[basis + p] = 1 / Math.pow(1.0 + spot[basis + p], t * vu);
+					} else {
+						final double dummyV = 1.0 / (1.0 + spot[basis - breite + p]);
+						dfVu[basis + p] = Math.pow(dummyV, (t - 1.0) * (1.0 - vu)) * Math.pow(dummy, t * vu);
+					}
+				}
+			}
+
+			final double[] potenz = potenzFi[zeit];
+			for (int t = 1; t <= laufzeitenFi; ++t) {
+				final int basis = (t - 1) * breite;
+				for (int p = 0; p < anzahl; ++p) {
+					potenz[basis + p] = Math.pow((1.0 + spot[basis + p]), t);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Position eines Pfades im aktuellen Bndel.
+	 * 
+	 * @param pfad
+	 *            der Pfad
+	 * @return die Position, oder -1, wenn der Pfad nicht zum Bndel gehrt
+	 */
+	int getPosition(final int pfad) {
+		for (int p = 0; p < anzahl; ++p) {
+			if (pfade[p] == pfad) {
+				return p;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Marktwert der versicherungstechnischen Rckstellungen mit den Faktoren des Bndels, siehe
+	 * {@link KaModellierung#mwVt}.
+	 * 
+	 * @param position
+	 *            Position des Pfades im Bndel
+	 * @param zeit
+	 *            Zeit
+	 * @param leistCf
+	 *            garantierte Leistungscashflows
+	 * @param restCf
+	 *            restliche garantierte Cashflows
+	 * @param kaAufwendungen
+	 *            Aufwendungen fr Kapitalanlagen
+	 * @param le
+	 *            Faktor, Leistungserhhung
+	 * @param aVn
+	 *            Faktor, stoch. Anpassung durch VN-Verhalten
+	 * @param aKa
+	 *            Faktor, stoch. Anpassung der KA-Aufwendungen
+	 * @return Barwert
+	 */
+	double mwVt(final int position, final int zeit, final double[] leistCf, final double[] restCf,
+			final double[] kaAufwendungen, final double le, final double aVn, final double aKa) {
+		final double[] df = dfVt[zeit];
+		final double[] dfVu = dfVuVt[zeit];
+		double mwVt = 0.0;
+		for (int t = 1; t <= laufzeitenVt(zeit); ++t) {
+			final int i = (t - 1) * breite + position;
+			mwVt += (le * leistCf[t + zeit - 1] + aVn * restCf[t + zeit - 1]) * dfVu[i]
+					+ aKa * kaAufwendungen[t + zeit - 1] * df[i];
+		}
+		return mwVt;
+	}
+
+	/**
+	 * Marktwert FI zum Jahresende mit den Faktoren des Bndels, siehe {@link KaModellierung#mwFiJahresende}.
+	 * 
+	 * @param position
+	 *            Position des Pfades im Bndel
+	 * @param zeit
+	 *            Zeit
+	 * @param cfFiZeitschrittig
+	 *            Cash Flow zu den vorgegebenen Zeitpunkten
+	 * @param bwAktivaFiCf
+	 *            FI Cash Flow aus Blatt BW Aktiva FI
+	 * @param fiNeuanlageRestlaufzeit
+	 *            FI Neuanlage Restlaufzeit
+	 * @return Barwert
+	 */
+	double mwFiJahresende(final int position, final int zeit, final double[] cfFiZeitschrittig,
+			final int bwAktivaFiCf, final int fiNeuanlageRestlaufzeit) {
+		final int max = Math.max(bwAktivaFiCf, fiNeuanlageRestlaufzeit);
+		if (max > laufzeitenFi) {
+			throw new IllegalArgumentException("MW FI mit " + max + " Laufzeiten, vorbereitet " + laufzeitenFi);
+		}
+		final double[] potenz = potenzFi[zeit];
+		double mwFiJahresende = 0.0;
+		for (int t = 1; t <= max; ++t) {
+			mwFiJahresende += cfFiZeitschrittig[t] / potenz[(t - 1) * breite + position];
+		}
+		return mwFiJahresende;
+	}
+
+	private int laufzeitenVt(final int zeit) {
+		return Math.max(szenario.projektionsHorizont - zeit, 0);
+	}
+}
@@ -0,0 +1,153 @@
+package de.gdv.bsm.vu.berechnung;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Der pfadabhngige Zustand aller Zeilen einer {@link Berechnung}. Die Zeilen werden fr jeden Pfad wiederverwendet,
+ * dabei werden die Felder der Zeitrekursion lediglich berschrieben. Hier wird der Zustand nach dem Aufbau der
+ * Berechnung, also vor dem ersten Pfad, festgehalten und kann vor jedem weiteren Pfad wiederhergestellt werden.
+ * Pfadunabhngige Felder behalten dabei ihren Wert, alle pfadabhngigen double-Felder sind wieder
+ * {@link AggZeile#DOUBLE_INIT}, also NaN; ein Lesen vor dem Schreiben ndert damit das Ergebnis.
+ * <p/>
+ * Erfasst werden alle nicht statischen, nicht finalen double-, int- und boolean-Felder der Zeilen. Die Arrays der
+ * Zeilen und der Berechnung werden in der Rcksetzphase jedes Pfades mit NaN gefllt (siehe
+ * {@link AggZeile#pfadStart()}), sie werden hier nicht erfasst.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+final class PfadZustand {
+	// Map mit allen erfassten Feldern pro Klasse, die Felder sind bereits zugreifbar gemacht
+	private static final Map<Class<?>, Field[]> felderJeKlasse = new ConcurrentHashMap<>();
+
+	private final List<Object> zeilen = new ArrayList<>();
+	// die Werte als Bitmuster, double ber Double.doubleToRawLongBits
+	private final long[] anfang;
+
+	/**
+	 * Halte den aktuellen Zustand der Zeilen als Anfangszustand fest.
+	 * 
+	 * @param listen
+	 *            die Zeilen der Berechnung
+	 */
+	PfadZustand(final List<?>... listen) {
+		for (List<?> liste : listen) {
+			zeilen.addAll(liste);
+		}
+		anfang = lesen();
+	}
+
+	/**
+	 * Stelle den Anfangszustand aller Zeilen wieder her.
+	 */
+	void zuruecksetzen() {
+		int i = 0;
+		for (Object zeile : zeilen) {
+			for (Field field : felder(zeile.getClass())) {
+				try {
+					final long wert = anfang[i++];
+					if (field.getType() == double.class) {
+						field.setDouble(zeile, Double.longBitsToDouble(wert));
+					} else if (field.getType() == int.class) {
+						field.setInt(zeile, (int) wert);
+					} else {
+						field.setBoolean(zeile, wert != 0);
+					}
+				} catch (IllegalArgumentException | IllegalAccessException e) {
+					throw new IllegalStateException("Fehler beim Zugriff", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Lies den aktuellen Zustand aller Zeilen.
+	 * 
+	 * @return die Werte aller erfassten Felder als Bitmuster
+	 */
+	long[] lesen() {
+		int anzahl = 0;
+		for (Object zeile : zeilen) {
+			anzahl += felder(zeile.getClass()).length;
+		}
+		final long[] werte = new long[anzahl];
+		int i = 0;
+		for (Object zeile : zeilen) {
+			for (Field field : felder(zeile.getClass())) {
+				try {
+					if (field.getType() == double.class) {
+						werte[i++] = Double.doubleToRawLongBits(field.getDouble(zeile));
+					} else if (field.getType() == int.class) {
+						werte[i++] = field.getInt(zeile);
+					} else {
+						werte[i++] = field.getBoolean(zeile) ? 1 : 0;
+					}
+				} catch (IllegalArgumentException | IllegalAccessException e) {
+					throw new IllegalStateException("Fehler beim Zugriff", e);
+				}
+			}
+		}
+		return werte;
+	}
+
+	/**
+	 * Vergleiche einen frher gelesenen Zustand mit dem aktuellen. Werte gelten als gleich, wenn sie bitweise
+	 * bereinstimmen.
+	 * 
+	 * @param werte
+	 *            der frher gelesene Zustand
+	 * @return die Namen der abweichenden Felder, jeweils nur einmal; leer, wenn es keine Abweichungen gibt
+	 */
+	List<String> abweichungen(final long[] werte) {
+		final long[] aktuell = lesen();
+		final List<String> namen = new ArrayList<>();
+		int i = 0;
+		for (Object zeile : zeilen) {
+			for (Field field : felder(zeile.getClass())) {
+				if (werte[i] != aktuell[i]) {
+					final String name = zeile.getClass().getSimpleName() + "." + field.getName();
+					if (!namen.contains(name)) {
+						namen.add(name);
+					}
+				}
+				++i;
+			}
+		}
+		return namen;
+	}
+
+	private static Field[] felder(final Class<?> c) {
+		return felderJeKlasse.computeIfAbsent(c, PfadZustand::erfassteFelder);
+	}
+
+	private static Field[] erfassteFelder(final Class<?> c) {
+		final List<Field> fields = new ArrayList<>();
+		for (Field field : c.getDeclaredFields()) {
+			final int mod = field.getModifiers();
+			final Class<?> typ = field.getType();
+			if ((typ == double.class || typ == int.class || typ == boolean.class) && !Modifier.isStatic(mod)
+					&& !Modifier.isFinal(mod)) {
+				// die Field-Objekte gehren nur diesem Cache, daher bleiben sie dauerhaft zugreifbar
+				field.setAccessible(true);
+				fields.add(field);
+			}
+		}
+		return fields.toArray(new Field[fields.size()]);
+	}
+}
@@ -80,6 +80,28 @@ public class RzgZeile {
 	/** VN-Verhalten zinssensitiv. */
 	@TableField(testColumn = "J")
 	final String vnZinsSensitiv;
+	/** Kennzeichen B, einmalig aus {@link #uebNueb} bestimmt. */
+	final boolean ueb;
+	/** Kennzeichen NB, einmalig aus {@link #uebNueb} bestimmt. */
+	final boolean nueb;
+	/** Kennzeichen FLV, einmalig aus {@link #klassikFlv} bestimmt. */
+	final boolean flv;
+	/** Kennzeichen Deckungsstock Fonds (sonst KDS), einmalig aus {@link #deckungsStock} bestimmt. */
+	final boolean fonds;
+	/** Kennzeichen zinssensitiv, einmalig aus {@link #vnZinsSensitiv} bestimmt. */
+	final boolean zinsSensitiv;
+	/** Kennzeichen Altbestand, einmalig aus {@link #altNeuBestand} bestimmt. */
+	final boolean altBestand;
+	/** Kennzeichen Neubestand, einmalig aus {@link #altNeuBestand} bestimmt. */
+	final boolean neuBestand;
+	/** Zinsfaktor vom VU-Zeitpunkt bis Jahresende, pfadunabhngig einmalig bestimmt. */
+	private double zinsFaktorRestjahr;
+	/** Zinsfaktor vom Jahresbeginn bis zum VU-Zeitpunkt, pfadunabhngig einmalig bestimmt. */
+	private double zinsFaktorMonat;
+	/** Kann die Zeile nach Ablauf der Bestandsgruppe bersprungen werden? Siehe {@link #initAblauf()}. */
+	private boolean ablaufMoeglich = false;
+	/** Ist die Bestandsgruppe im aktuellen Pfad zu dieser Zeit abgelaufen? */
+	boolean abgelaufen = false;
 	/** Stress, in dem gestresste KA-Kostenfaktoren verwendet werden. */
 	@TableField(testColumn = "K")
 	final int kaKostenstressDerLob;
@@ -308,8 +330,8 @@ public class RzgZeile {
 	/** Summe der Beitrge zum Rohberschuss, nur positive Teile, ber m Jahre, nur E und RE. */
 	@TableField(testColumn = "CD", testOption = TestOption.START, nachKomma = 0)
 	double beitragRueRzg = DOUBLE_INIT;
-	/** Anteil an Deklaration 2.Methode. */
-	@TableField(testColumn = "CE", testOption = TestOption.START, nachKomma = 0, percent = true)
+	/** Anteil an Deklaration 2.Methode. Wird nur fr die eigene Fortschreibung und die Ausgabe bentigt. */
+	@TableField(testColumn = "CE", testOption = TestOption.START, nachKomma = 0, percent = true, nurAusgabe = true)
 	double anteilDekl = DOUBLE_INIT;
 	/** Cashflow gesamt, berschussbeteiligung, ohne Endzahlung. */
 	@TableField(testColumn = "CF", testOption = TestOption.START, nachKomma = 0)
@@ -350,6 +372,13 @@ public class RzgZeile {
 		klassikFlv = berechnung.lobMapping.getLobMapping(lob).getKategorie();
 		deckungsStock = DECKUNGS_STOCK_KDS;
 		vnZinsSensitiv = berechnung.getVuParameter().getLobMapping().getLobMapping(lob).getZinsSensitiv();
+		ueb = berechnung.lobMapping.getLobMapping(lob).isUeb();
+		nueb = berechnung.lobMapping.getLobMapping(lob).isNueb();
+		flv = berechnung.lobMapping.getLobMapping(lob).isFlv();
+		fonds = false;
+		zinsSensitiv = berechnung.getVuParameter().getLobMapping().getLobMapping(lob).isZinsSensitiv();
+		altBestand = base.isAltBestand();
+		neuBestand = base.isNeuBestand();
 		kaKostenstressDerLob = berechnung.getVuParameter().getLobMapping().getLobMapping(lob).getKaKostenstressDerLob();
 		kosten = base.getKosten();
 		praemien = base.getPraemien();
@@ -407,6 +436,13 @@ public class RzgZeile {
 		klassikFlv = berechnung.lobMapping.getLobMapping(lob).getKategorie();
 		deckungsStock = deckungsStockP;
 		vnZinsSensitiv = berechnung.getVuParameter().getLobMapping().getLobMapping(lob).getZinsSensitiv();
+		ueb = berechnung.lobMapping.getLobMapping(lob).isUeb();
+		nueb = berechnung.lobMapping.getLobMapping(lob).isNueb();
+		flv = berechnung.lobMapping.getLobMapping(lob).isFlv();
+		fonds = deckungsStockP.equals(DECKUNGS_STOCK_FONDS);
+		zinsSensitiv = berechnung.getVuParameter().getLobMapping().getLobMapping(lob).isZinsSensitiv();
+		altBestand = base.isAltBestand();
+		neuBestand = base.isNeuBestand();
 		kaKostenstressDerLob = berechnung.getVuParameter().getLobMapping().getLobMapping(lob).getKaKostenstressDerLob();
 		if (deckungsStockP.equals(DECKUNGS_STOCK_KDS)) {
 			kosten = base.getKostenRentenbezug();
@@ -462,7 +498,7 @@ public class RzgZeile {
 	private void initBerechnung(final Berechnung berechnung, final ZeitunabhManReg zeitunabhManReg, final RzgZeile vg) {
 
 		if (zeit == 0) {
-			if (!klassikFlv.equals("FLV") || deckungsStock.equals("Fonds")) {
+			if (!flv || fonds) {
 				sUeAfRzg = berechnung.vtOStress.getMap().get(lob).get(altNeuBestand).get(zinsGeneration).get(0)
 						.getSueaf();
 				zzrJ = berechnung.vtOStress.getMap().get(lob).get(altNeuBestand).get(zinsGeneration).get(0).getZzr();
@@ -472,6 +508,8 @@ public class RzgZeile {
 			}
 		}
 
+		zinsFaktorRestjahr = Functions.zinsFaktorRestjahr(zinsGeneration, zeitunabhManReg.getMonatZahlung());
+		zinsFaktorMonat = Functions.zinsFaktorMonat(zinsGeneration, zeitunabhManReg.getMonatZahlung());
 		sBasis = Kundenverhalten.sBasis(lRkw, drDet, zinsGeneration, zeitunabhManReg.getMonatZahlung());
 		lGarantiertOSonstErl = Kundenverhalten.lGarantiertOSonstErl(lTod, lKa, lRkw);
 		lGarantiertDet = Rohueberschuss.lGarantiertDet(lGarantiertOSonstErl, sonstigeErlebensfallLeistungen);
@@ -515,6 +553,22 @@ public class RzgZeile {
 		}
 	}
 
+	/**
+	 * Bestimme die Projektionslnge der Versicherungstechnik. Sie hngt nur von den Eingabedaten ab und wird daher
+	 * einmalig vor dem ersten Pfad ermittelt.
+	 */
+	void initLaengeProjektionDr() {
+		final List<RzgZeile> zeilen = berechnung.getRzgZeilen(lob, zinsGeneration, altNeuBestand, deckungsStock);
+		laengeProjektionDr = KaModellierung.laengeProjektionDR(fonds, zeilen);
+	}
+
+	/**
+	 * Setze den Zustand der Zeile auerhalb der double-Felder auf den Anfang eines Pfades.
+	 */
+	void pfadStart() {
+		abgelaufen = false;
+	}
+
 	/**
 	 * Chronologische Rekursione auf der ersten Ebene.
 	 * 
@@ -522,8 +576,13 @@ public class RzgZeile {
 	 *            die zeitlich zugehrige agg-Zeile
 	 */
 	public void zeitRekursionL01(final AggZeile agg) {
-		final List<RzgZeile> zeilen = berechnung.getRzgZeilen(lob, zinsGeneration, altNeuBestand, deckungsStock);
-		laengeProjektionDr = KaModellierung.laengeProjektionDR(deckungsStock, zeilen);
+		if (ablaufMoeglich) {
+			abgelaufen = vg.isGeschlossen();
+			if (abgelaufen) {
+				schliessen();
+				return;
+			}
+		}
 		// final FlvZeile flvZeile = berechnung.getFlvZeile(lob, zinsGeneration, altNeuBestand, zeit);
 		if (zeit == 0) {
 			lambda = Kundenverhalten.lambdaStartwert();
@@ -531,21 +590,21 @@ public class RzgZeile {
 			drVorDekl = Rohueberschuss.drVorDekl(zeit, drDet, 0.0, laKapWahlXsAggr, lbwSonstErl, lbwGar, lambda);
 		}
 		if (zeit > 0) {
-			lambdaStorno = Kundenverhalten.lambdaStorno(vnZinsSensitiv, vg.deltaI,
+			lambdaStorno = Kundenverhalten.lambdaStorno(zinsSensitiv, vg.deltaI,
 					berechnung.getZeitunabhManReg().getZinsToleranz(),
 					berechnung.getZeitunabhManReg().getErhoehungBasisStorno(), sBasis, drDet);
-			lambda = Kundenverhalten.lambda(vnZinsSensitiv, vg.lambda, lambdaStorno, sBasis);
-			lambdaKa = Kundenverhalten.lambdaKa(vnZinsSensitiv, vg.deltaI,
+			lambda = Kundenverhalten.lambda(zinsSensitiv, vg.lambda, lambdaStorno, sBasis);
+			lambdaKa = Kundenverhalten.lambdaKa(zinsSensitiv, vg.deltaI,
 					berechnung.getZeitunabhManReg().getZinsToleranz(),
 					berechnung.getZeitunabhManReg().getErhoehungKapitalAbfindung(), drDet, lKa, lambdaStorno, sBasis);
 
 			final FlvZeile flvZeile;
-			if (klassikFlv.equals("FLV") && deckungsStock.equals("KDS")) {
+			if (flv && !fonds) {
 				flvZeile = berechnung.getFlvZeile(lob, zinsGeneration, altNeuBestand, zeit);
 			} else {
 				flvZeile = null;
 			}
-			beitraegeStoch = Flv.beitraegeStoch(vg.lambda, praemien, klassikFlv, deckungsStock, flvZeile);
+			beitraegeStoch = Flv.beitraegeStoch(vg.lambda, praemien, flv, !fonds, flvZeile);
 			kostenStoch = Kundenverhalten.kostenStoch(kosten, vg.lambda);
 			risikoUebStoch = Kundenverhalten.risikoUebStoch(risikoErgebnis, vg.lambda);
 			kostenUebStoch = Kundenverhalten.kostenUebStoch(uebrigesErgebnis, vg.lambda);
@@ -559,33 +618,32 @@ public class RzgZeile {
 
 			lGarStoch = Deklaration.lGarStoch(lGarantiert, vg.leLockInAggrFlv, vg.lambda);
 
-			beitragRueRzg = Deklaration.beitragRueRzg(uebNueb, risikoUebStoch, kostenUebStoch);
+			beitragRueRzg = Deklaration.beitragRueRzg(ueb, risikoUebStoch, kostenUebStoch);
 			kaGarXs = Kundenverhalten.kaGarXs(lKa, vg.lambda, lambdaKa);
-			laKapWahlXsAggr = Kundenverhalten.laKapWahlXsAggr(vg.laKapWahlXsAggr, kaGarXs, lbwSonstErl, zinsGeneration,
-					lambda, berechnung.getZeitunabhManReg().getMonatZahlung());
+			laKapWahlXsAggr = Kundenverhalten.laKapWahlXsAggr(vg.laKapWahlXsAggr, kaGarXs, lbwSonstErl, lambda,
+					zinsFaktorRestjahr);
 
 			lbwGar = Deklaration.lbwGar(lbwGarOSonstErl, lbwSonstErl, laKapWahlXsAggr, lambda);
 			rkwXs = Kundenverhalten.rkwXs(sBasis, lambda, vg.lambda, lambdaStorno, drDet, vg.leLockInAggrFlv, lbwGar,
-					vg.laKapWahlXsAggr, lbwSonstErl, zinsGeneration, berechnung.getZeitunabhManReg().getMonatZahlung());
+					vg.laKapWahlXsAggr, lbwSonstErl, zinsFaktorRestjahr);
 			leistungsAnpassungFlv = Flv.leistungsAnpassungFlv(vg.leistungsAnpassungFlv, praemien, beitraegeStoch,
-					lbwGar, zinsGeneration, klassikFlv, berechnung.getZeitunabhManReg().getMonatZahlung(), zeit);
+					lbwGar, zinsFaktorRestjahr, flv, zeit);
 			cashflowZuebRzg = Bilanzpositionen.cashflowZuebRzg(vg.bar, vg.leGesamtAggr, lGarantiert, vg.lambda, kaGarXs,
-					vg.lbwGar, berechnung.getZeitunabhManReg().getMonatZahlung(), zeit, laengeProjektionDr,
-					zinsGeneration, vg.leistungsAnpassungFlv);
+					vg.lbwGar, zinsFaktorMonat, zeit, laengeProjektionDr, vg.leistungsAnpassungFlv);
 
 			drVorDekl = Rohueberschuss.drVorDekl(zeit, drDet, vg.leLockInAggrFlv, laKapWahlXsAggr, lbwSonstErl, lbwGar,
 					lambda);
 
-			zzrJ = Rohueberschuss.zzrJ(altNeuBestand, zinsGeneration, agg.referenzZinssatz, agg.refZins2M, aufwand,
-					drVorDekl, berechnung.getZeitunabhManReg().getZzrMethodeAltbestand(), korrekturZzr,
+			zzrJ = Rohueberschuss.zzrJ(altBestand, zinsGeneration, agg.referenzZinssatz, agg.refZins2M, aufwand,
+					drVorDekl, berechnung.getZeitunabhManReg().isZzrMethodeAltbestand2M(), korrekturZzr,
 					startWertRefZins);
-			lGesamt = Deklaration.lGesamt(vg.leGesamtAggr, lGarantiert, zeit, zinsGeneration, vg.bar, vg.lambda,
-					kaGarXs, rkwXs, berechnung.getZeitunabhManReg().getMonatZahlung(), vg.lbwGar);
+			lGesamt = Deklaration.lGesamt(vg.leGesamtAggr, lGarantiert, zeit, vg.bar, vg.lambda, kaGarXs, rkwXs,
+					zinsFaktorMonat, vg.lbwGar);
 
 			rmZTarif = Rohueberschuss.rmZTarif(zinsaufwand, vg.leLockInAggrFlv, lbwGar, vg.lbwGar, lGarantiert, zeit,
 					zinsGeneration, vg.sUeAfEntnahme, vg.bar, rkwXs, sonstigeErlebensfallLeistungen, kaGarXs,
 					vg.laKapWahlXsAggr, vg.lbwSonstErl, berechnung.getZeitunabhManReg().getMonatZahlung(), vg.lambda,
-					beitraegeStoch, praemien, klassikFlv);
+					beitraegeStoch, praemien, flv);
 
 			deltaZZR = Rohueberschuss.deltaZzr(zzrJ, vg.zzrJ);
 
@@ -601,33 +659,45 @@ public class RzgZeile {
 	 *            die zeitlich zugehrige Agg-Zeile
 	 */
 	public void zeitRekursionL02(final AggZeile agg) {
+		if (abgelaufen) {
+			// als einziger Wert hngt der Anteil an der Deklaration noch vom Pfad ab
+			anteilDekl = berechnung.vollstaendig
+					? Deklaration.anteilDekl(zeit, nueb, beitragRueRzg, agg.beitragRohUebAgg, vg.anteilDekl,
+							vg.drLockInRzg, vg.sUeAfRzg, agg.vg.drLockInAggWennLoB, agg.vg.sueAf)
+					: DOUBLE_INIT;
+			return;
+		}
 		if (zeit > 0) {
-			cfGcrRzg = KaModellierung.cfGcrRzg(uebNueb, kostenUebStoch, agg.ueEalt, agg.ueEneu, agg.gcrUeB);
+			cfGcrRzg = KaModellierung.cfGcrRzg(ueb, kostenUebStoch, agg.ueEalt, agg.ueEneu, agg.gcrUeB);
 
 			kostenKaRzg = KaModellierung.kostenKaRzg(vg.drLockInRzg, agg.vg.drLockInAgg, agg.aufwendungenKa);
 			rohuebKpRzg = Bilanzpositionen.rohuebKpRzg(agg.kapitalertragAnrechenbar, agg.keVerrechnung, agg.vg.drGesAgg,
-					vg.drGesamtRzg, rmZTarif + deltaZZR, risikoUebStoch, kostenUebStoch, vg.drDet, vg.drDet, "pos");
+					vg.drGesamtRzg, rmZTarif + deltaZZR, risikoUebStoch, kostenUebStoch, vg.drDet, vg.drDet, true);
 			rohuebKpRzgBY = Bilanzpositionen.rohuebKpRzg(agg.kapitalertragAnrechenbar, agg.keVerrechnung,
 					agg.vg.drGesAgg, vg.drGesamtRzg, rmZTarif + deltaZZR, risikoUebStoch, kostenUebStoch, vg.drDet,
-					vg.drstKp, "pos");
+					vg.drstKp, true);
 			rohuebKpRzgNeg = Bilanzpositionen.rohuebKpRzg(agg.kapitalertragAnrechenbar, agg.keVerrechnung,
 					agg.vg.drGesAgg, vg.drGesamtRzg, rmZTarif + deltaZZR, risikoUebStoch, kostenUebStoch, vg.drDet,
-					vg.drstKp, "neg");
+					vg.drstKp, false);
 			sUeAf56bEntnahmeRzg = Deklaration.sUeAf56bEntnahmeRzg(agg.vg.sueAf, vg.sUeAfRzg, agg.sUeAf56bEntnahme,
 					zeit);
 			deklRzgRest = Deklaration.deklRzgRest(beitragRueRzg, agg.beitragRohUebAgg, agg.deklRest);
-			anteilDekl = Deklaration.anteilDekl(zeit, uebNueb, beitragRueRzg, agg.beitragRohUebAgg, vg.anteilDekl,
-					vg.drLockInRzg, vg.sUeAfRzg, agg.vg.drLockInAggWennLoB, agg.vg.sueAf);
+			if (berechnung.vollstaendig) {
+				anteilDekl = Deklaration.anteilDekl(zeit, nueb, beitragRueRzg, agg.beitragRohUebAgg, vg.anteilDekl,
+						vg.drLockInRzg, vg.sUeAfRzg, agg.vg.drLockInAggWennLoB, agg.vg.sueAf);
+			} else {
+				anteilDekl = DOUBLE_INIT;
+			}
 			deklRzg = Deklaration.deklRzg(berechnung.getZeitunabhManReg().getDeklarationsMethode(), agg.vzGes, rmZTarif,
-					vg.drLockInRzg, zeit, uebNueb, agg.deklZins, deklRzgRest);
+					vg.drLockInRzg, zeit, nueb, agg.deklZins, deklRzgRest);
 			sueafZufFrfbUeberlauf = Deklaration.sueafZufFrfbUeberlauf(agg.dekl, deklRzg,
-					berechnung.getZeitabhManReg().get(zeit).getFrfbUeberlauf(), agg.fRfBUeberlauf, zeit, uebNueb);
-			sUeAfzuf = Deklaration.sUeAfzuf(deckungsStock,
+					berechnung.getZeitabhManReg().get(zeit).getFrfbUeberlauf(), agg.fRfBUeberlauf, zeit, ueb);
+			sUeAfzuf = Deklaration.sUeAfzuf(fonds,
 					berechnung.getZeitabhManReg().get(zeit).getZielBarauszahlungFlv(),
 					berechnung.getZeitabhManReg().get(zeit).getSueafZuf(),
 					berechnung.getZeitabhManReg().get(zeit).getSueafZufMin(), vg.drLockInRzg, deklRzg, zeit,
 					sueafZufFrfbUeberlauf, risikoErgebnis, uebrigesErgebnis, laengeProjektionDr);
-			bar = Deklaration.bar(deckungsStock,
+			bar = Deklaration.bar(fonds,
 					berechnung.getZeitabhManReg().get(zeit).getZielBarauszahlungKlassisch(), praemien, deklRzg,
 					sUeAfzuf, sueafZufFrfbUeberlauf);
 
@@ -649,11 +719,11 @@ public class RzgZeile {
 					nfLGarantiert = Rohueberschuss.lGarantiert(nf.lGarantiertOSonstErl,
 							nf.sonstigeErlebensfallLeistungen, Functions.nanZero(laKapWahlXsAggr));
 					// man braucht BN6 (lambdaStorno) fr das neue ...
-					final double nfLambdaStorno = Kundenverhalten.lambdaStorno(nf.vnZinsSensitiv, deltaI,
+					final double nfLambdaStorno = Kundenverhalten.lambdaStorno(nf.zinsSensitiv, deltaI,
 							berechnung.getZeitunabhManReg().getZinsToleranz(),
 							berechnung.getZeitunabhManReg().getErhoehungBasisStorno(), nf.sBasis, nf.drDet);
 					// =lambda_KA(J5;BM4;zeitunabh.ManReg!B$33;zeitunabh.ManReg!B$35;W5;O5;BN5;BL5)
-					final double nflambdaKa = Kundenverhalten.lambdaKa(nf.vnZinsSensitiv, deltaI,
+					final double nflambdaKa = Kundenverhalten.lambdaKa(nf.zinsSensitiv, deltaI,
 							berechnung.getZeitunabhManReg().getZinsToleranz(),
 							berechnung.getZeitunabhManReg().getErhoehungKapitalAbfindung(), nf.drDet, nf.lKa,
 							nfLambdaStorno, sBasis);
@@ -662,10 +732,10 @@ public class RzgZeile {
 				final FlvZeile flvZeile = berechnung.getFlvZeile(lob, zinsGeneration, altNeuBestand, zeit);
 				// hier brauchen wir nf.L_garantiert:
 				sUeAfEntnahme = Deklaration.sUeAfEntnahme(leSUeAf, nfLGarantiert, lbwGar, vg.sUeAfRzg, sUeAfzuf,
-						sUeAf56bEntnahmeRzg, nfKAGarXS, lambda, berechnung.getZeitunabhManReg().getMonatZahlung(),
-						deckungsStock, zinsGeneration, flvZeile, berechnung.zeitHorizont, laengeProjektionDr, zeit);
+						sUeAf56bEntnahmeRzg, nfKAGarXS, lambda, zinsFaktorMonat, fonds, flvZeile,
+						berechnung.zeitHorizont, laengeProjektionDr, zeit);
 				sueAfFlvBewegungAus = Deklaration.sueAfFlvBewegungAus(vg.sUeAfRzg, sUeAfzuf, sUeAf56bEntnahmeRzg,
-						klassikFlv, deckungsStock, flvZeile, berechnung.zeitHorizont, laengeProjektionDr, zeit);
+						flv && fonds, flvZeile, berechnung.zeitHorizont, laengeProjektionDr, zeit);
 				/**
 				 * wird im Excelblatt in Deklaration.SUeAF_FLV_Bewegung_aus gerechnet. Der gerechnete Wert
 				 * sueAfFlvBewegungAus wird fr Deckungsstock=Fonds nach sueafFlvBewegungIn fr Deckungsstock=KDS
@@ -675,8 +745,8 @@ public class RzgZeile {
 			leLockInAggrFlv = Flv.leLockInAggrFlv(leLockInAggr, leistungsAnpassungFlv);
 			leGesamtAggr = Deklaration.leGesamtAggr(leLockInAggrFlv, leSUeAf);
 
-			endZahlung = Deklaration.endZahlung(deckungsStock, sUeAfEntnahme, lockIn, bar, agg.fRfBVorEndzahlung,
-					agg.vg.drLockInAggWennLoB, vg.drLockInRzg, uebNueb, zeit, laengeProjektionDr,
+			endZahlung = Deklaration.endZahlung(fonds, sUeAfEntnahme, lockIn, bar, agg.fRfBVorEndzahlung,
+					agg.vg.drLockInAggWennLoB, vg.drLockInRzg, ueb, zeit, laengeProjektionDr,
 					berechnung.laengeProjektionDr, lbwGar);
 
 			deltaLRzg = Bilanzpositionen.deltaLRzg(lGesamt, lGarantiert, zeit, vg.lambda, kaGarXs, rkwXs,
@@ -687,8 +757,8 @@ public class RzgZeile {
 		drLockInRzg = Deklaration.drLockInRzg(drDet, leLockInAggrFlv, lbwGar, sUeAfEntnahme, bar, lbwSonstErl,
 				laKapWahlXsAggr, lambda);
 
-		if (klassikFlv.equals("FLV") && deckungsStock.equals("Fonds")) {
-			RzgZeile zeile = berechnung.getRzgZeile(lob, zinsGeneration, altNeuBestand, "KDS", zeit);
+		if (flv && fonds) {
+			RzgZeile zeile = berechnung.getRzgZeile(lob, zinsGeneration, altNeuBestand, DECKUNGS_STOCK_KDS, zeit);
 			zeile.sueafFlvBewegungIn = sueAfFlvBewegungAus;
 			if (zeit > 0) {
 				zeile.sUeAfRzg = Deklaration.sueafRzg(zeile.vg.sUeAfRzg, zeile.sUeAfzuf, zeile.sUeAfEntnahme,
@@ -701,7 +771,7 @@ public class RzgZeile {
 						sUeAf56bEntnahmeRzg, sueAfFlvBewegungAus, sueafFlvBewegungIn);
 			}
 			drGesamtRzg = Deklaration.drGesamtRzg(drLockInRzg, sUeAfRzg);
-		} else if (!klassikFlv.equals("FLV")) {
+		} else if (!flv) {
 			sueafFlvBewegungIn = 0.0;
 			if (zeit > 0) {
 				sUeAfRzg = Deklaration.sueafRzg(vg != null ? vg.sUeAfRzg : 0.0, sUeAfzuf, sUeAfEntnahme,
@@ -723,11 +793,129 @@ public class RzgZeile {
 	 */
 	public void zeitRekursionL03(final AggZeile agg) {
 		if (zeit > 0) {
+			// auch abgelaufene Zeilen, ihr Anteil ist Null mit dem Vorzeichen des Gesamtwertes
 			jueVnKpRzg = Bilanzpositionen.jueVnKpRzg(agg.jueVnKp, agg.rohuebKpK, rohuebKpRzgBY, agg.rohuebKpN,
 					rohuebKpRzgNeg, agg.vg.hgbDrAgg, vg.drDet);
 		}
 	}
 
+	/**
+	 * Bestimme, ob die Zeile nach Ablauf der Bestandsgruppe bersprungen werden kann. Das ist nur fr klassische
+	 * Bestandsgruppen mglich, und nur nach der letzten Zeit mit von Null verschiedenen Eingaben. Ob die Bestandsgruppe
+	 * im Pfad tatschlich abgelaufen ist, wird in {@link #zeitRekursionL01(AggZeile)} anhand der Vorgngerzeile
+	 * entschieden.
+	 * 
+	 * @param letzteAktiveZeit
+	 *            letzte Zeit der Bestandsgruppe mit von Null verschiedenen Eingaben, -1 wenn es keine gibt
+	 */
+	void initAblauf(final int letzteAktiveZeit) {
+		ablaufMoeglich = !flv && !fonds && zeit > letzteAktiveZeit + 1 && vg != null && vg.zeit == zeit - 1;
+	}
+
+	/**
+	 * Die pfadunabhngigen Betrge dieser Zeile als Vektor: die Eingaben ohne Quoten, die daraus einmalig
+	 * abgeleiteten Betrge und die Startwerte aus VT o.Stress.
+	 * 
+	 * @return die Betrge
+	 */
+	double[] volumen() {
+		return new double[] { kosten, praemien, lTod, lKa, sonstigeErlebensfallLeistungen, lRkw, risikoErgebnis,
+				uebrigesErgebnis, cfEvuRvu, zinsratenZuschlag, zinsaufwand, drDet, lGarantiertOSonstErl, lGarantiertDet,
+				lbwSonstErl, lbwGarOSonstErl, drstKp, zeit > 0 ? kbmRzg : 0.0, zeit == 0 ? sUeAfRzg : 0.0,
+				zeit == 0 ? zzrJ : 0.0 };
+	}
+
+	/**
+	 * Die eingegebenen Quoten dieser Zeile als Vektor. Sie mssen fr zusammenfassbare Bestandsgruppen exakt
+	 * bereinstimmen; der aus Betrgen abgeleitete {@link #sBasis} nur bis auf Rundungsfehler.
+	 * 
+	 * @return die Quoten
+	 */
+	double[] quoten() {
+		return new double[] { aufwand, korrekturZzr, startWertRefZins, laengeProjektionDr };
+	}
+
+	/**
+	 * Verschwinden alle Eingaben dieser Zeile?
+	 * 
+	 * @return ja oder nein
+	 */
+	boolean isEingabenNull() {
+		return kosten == 0.0 && praemien == 0.0 && lTod == 0.0 && lKa == 0.0 && sonstigeErlebensfallLeistungen == 0.0
+				&& lRkw == 0.0 && risikoErgebnis == 0.0 && uebrigesErgebnis == 0.0 && cfEvuRvu == 0.0
+				&& zinsratenZuschlag == 0.0 && zinsaufwand == 0.0 && drDet == 0.0 && lGarantiertOSonstErl == 0.0
+				&& lGarantiertDet == 0.0 && lbwSonstErl == 0.0 && lbwGarOSonstErl == 0.0 && sBasis == 0.0;
+	}
+
+	/**
+	 * Ist die Bestandsgruppe zu dieser Zeit geschlossen? Dann liefern bei verschwindenden Eingaben alle Formeln der
+	 * Nachfolgezeile exakt Null, bis auf den fortgeschriebenen Storno und den Anteil an der Deklaration.
+	 * 
+	 * @return ja oder nein
+	 */
+	private boolean isGeschlossen() {
+		return abgelaufen || lbwGar == 0.0 && drLockInRzg == 0.0 && sUeAfRzg == 0.0 && drGesamtRzg == 0.0
+				&& zzrJ == 0.0 && Double.isFinite(lambda) && Double.isFinite(laKapWahlXsAggr)
+				&& Double.isFinite(leLockInAggrFlv) && Double.isFinite(leGesamtAggr)
+				&& Double.isFinite(leistungsAnpassungFlv);
+	}
+
+	/**
+	 * Setze die Werte einer abgelaufenen Zeile, wie sie die Formeln der Zeitrekursion liefern wrden.
+	 */
+	private void schliessen() {
+		sUeAfRzg = 0.0;
+		zzrJ = 0.0;
+		sueAfFlvBewegungAus = 0.0;
+		sueafFlvBewegungIn = 0.0;
+		beitraegeStoch = 0.0;
+		kostenStoch = 0.0;
+		risikoUebStoch = 0.0;
+		kostenUebStoch = 0.0;
+		kostenueberschussBestand = 0.0;
+		cfRvStoch = 0.0;
+		ziRaZuStoch = 0.0;
+		lGarantiert = 0.0;
+		rmZTarif = 0.0;
+		deltaZZR = 0.0;
+		drVorDekl = 0.0;
+		lbwGar = 0.0;
+		deklRzgRest = 0.0;
+		deklRzg = 0.0;
+		sueafZufFrfbUeberlauf = 0.0;
+		sUeAfzuf = 0.0;
+		bar = 0.0;
+		lockIn = 0.0;
+		leLockInAggr = 0.0;
+		leistungsAnpassungFlv = 0.0;
+		leLockInAggrFlv = 0.0;
+		lGarStoch = 0.0;
+		sUeAfEntnahme = 0.0;
+		sUeAf56bEntnahmeRzg = 0.0;
+		leSUeAf = 0.0;
+		leGesamtAggr = 0.0;
+		lGesamt = 0.0;
+		endZahlung = 0.0;
+		drLockInRzg = 0.0;
+		drGesamtRzg = 0.0;
+		deltaI = 0.0;
+		lambdaStorno = 0.0;
+		lambdaKa = 0.0;
+		lambda = Kundenverhalten.lambda(zinsSensitiv, vg.lambda, lambdaStorno, sBasis);
+		rkwXs = 0.0;
+		kaGarXs = 0.0;
+		laKapWahlXsAggr = 0.0;
+		kostenKaRzg = 0.0;
+		deltaLRzg = 0.0;
+		rohuebKpRzg = 0.0;
+		rohuebKpRzgBY = 0.0;
+		rohuebKpRzgNeg = 0.0;
+		beitragRueRzg = 0.0;
+		cashflowZuebRzg = 0.0;
+		cashflowOptionenRzg = 0.0;
+		cfGcrRzg = 0.0;
+	}
+
 	/**
 	 * Chronologische Rckwrtsberechnung der Spalte surplusFondRzg.
 	 * 
@@ -739,7 +927,7 @@ public class RzgZeile {
 			surplusFondRzg = Bilanzpositionen.surplusfondRzg(aggZeile.cashflowSf,
 					aggZeile.nf == null ? 0.0 : aggZeile.nf.deltaLAgg, aggZeile.deltaLAgg,
 					nf == null ? 0.0 : nf.deltaLRzg, deltaLRzg, aggZeile.vg.drLockInAggWennLoB, vg.drLockInRzg,
-					uebNueb);
+					ueb);
 		}
 	}
 
@@ -782,6 +970,15 @@ public class RzgZeile {
 		return uebNueb;
 	}
 
+	/**
+	 * Kennzeichen B, einmalig aus Spalte G bestimmt.
+	 * 
+	 * @return true bei UEB
+	 */
+	public boolean isUeb() {
+		return ueb;
+	}
+
 	/**
 	 * Deckungsstock (KDS/Fonds). I.
 	 * 
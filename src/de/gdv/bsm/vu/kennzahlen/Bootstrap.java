@@ -0,0 +1,183 @@
+package de.gdv.bsm.vu.kennzahlen;
+
+import java.io.PrintStream;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Bootstrap-Schtzung der Unsicherheit der Mittelwerte pfadweiser Kennzahlen, ohne Pfade erneut zu rechnen. Aus den
+ * Werten der gerechneten Pfade werden Stichproben mit Zurcklegen gezogen und deren Mittelwerte bestimmt. Deren
+ * Standardabweichung ist der Bootstrap-Standardfehler, ihre Quantile ergeben das Perzentil-Konfidenzintervall.
+ * <p/>
+ * Die Stichproben werden parallel gezogen. Jede Stichprobe hat einen eigenen, aus Startwert und Nummer abgeleiteten
+ * Zufallszahlengenerator, das Ergebnis ist daher unabhngig von der Parallelisierung reproduzierbar. Gespeichert werden
+ * nur die Werte der Pfade und die Mittelwerte je Stichprobe.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class Bootstrap {
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private final int anzahlPfade;
+	private final double[] mittel;
+	// Mittelwerte je Kennzahl und Stichprobe, je Kennzahl aufsteigend sortiert:
+	private final double[][] stichprobenMittel;
+
+	/**
+	 * Ziehe die Stichproben.
+	 * 
+	 * @param werte
+	 *            die Werte der Kennzahlen je Pfad
+	 * @param stichproben
+	 *            Anzahl der Stichproben
+	 * @param startwert
+	 *            Startwert der Zufallszahlen; bei gleichem Startwert werden die gleichen Pfade gezogen
+	 */
+	public Bootstrap(final double[][] werte, final int stichproben, final long startwert) {
+		if (stichproben < 2) {
+			throw new IllegalArgumentException("Es werden mindestens 2 Stichproben bentigt: " + stichproben);
+		}
+		anzahlPfade = werte.length;
+		final int anzahlKennzahlen = werte.length == 0 ? 0 : werte[0].length;
+		mittel = new double[anzahlKennzahlen];
+		for (double[] w : werte) {
+			for (int i = 0; i < anzahlKennzahlen; ++i) {
+				mittel[i] += w[i];
+			}
+		}
+		for (int i = 0; i < anzahlKennzahlen; ++i) {
+			mittel[i] /= anzahlPfade;
+		}
+
+		stichprobenMittel = new double[anzahlKennzahlen][stichproben];
+		if (anzahlPfade == 0) {
+			return;
+		}
+		IntStream.range(0, stichproben).parallel().forEach(b -> {
+			final SplittableRandom zufall = new SplittableRandom(startwert + b * GOLDEN_GAMMA);
+			final double[] summe = new double[anzahlKennzahlen];
+			for (int n = 0; n < anzahlPfade; ++n) {
+				final double[] w = werte[zufall.nextInt(anzahlPfade)];
+				for (int i = 0; i < anzahlKennzahlen; ++i) {
+					summe[i] += w[i];
+				}
+			}
+			for (int i = 0; i < anzahlKennzahlen; ++i) {
+				stichprobenMittel[i][b] = summe[i] / anzahlPfade;
+			}
+		});
+		for (double[] m : stichprobenMittel) {
+			Arrays.sort(m);
+		}
+	}
+
+	/**
+	 * Anzahl der Pfade.
+	 * 
+	 * @return die Anzahl
+	 */
+	public int getAnzahlPfade() {
+		return anzahlPfade;
+	}
+
+	/**
+	 * Mittelwert einer Kennzahl ber alle Pfade.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Mittelwert
+	 */
+	public double getMittelwert(final int i) {
+		return mittel[i];
+	}
+
+	/**
+	 * Bootstrap-Standardfehler des Mittelwerts einer Kennzahl.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Standardfehler
+	 */
+	public double getStandardfehler(final int i) {
+		final double[] m = stichprobenMittel[i];
+		double summe = 0.0;
+		for (double x : m) {
+			summe += x;
+		}
+		final double mw = summe / m.length;
+		double q = 0.0;
+		for (double x : m) {
+			q += (x - mw) * (x - mw);
+		}
+		return Math.sqrt(q / (m.length - 1));
+	}
+
+	/**
+	 * Quantil der Mittelwerte der Stichproben einer Kennzahl.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @param q
+	 *            das Niveau zwischen 0 und 1
+	 * @return das Quantil
+	 */
+	public double getQuantil(final int i, final double q) {
+		final double[] m = stichprobenMittel[i];
+		final int index = (int) Math.ceil(q * m.length) - 1;
+		return m[Math.max(0, Math.min(m.length - 1, index))];
+	}
+
+	/**
+	 * Schreibe die berschrift zu {@link #write(PrintStream, String)}.
+	 * 
+	 * @param out
+	 *            Ausgabe
+	 * @param kopf
+	 *            die berschrift der fhrenden Spalten, ohne abschlieendes Semikolon
+	 * @param kennzahlen
+	 *            Namen der Kennzahlen
+	 */
+	public static void writeHeader(final PrintStream out, final String kopf, final List<String> kennzahlen) {
+		out.print(kopf + ";Anzahl Pfade");
+		for (String k : kennzahlen) {
+			out.print(";" + k + " Mittelwert;" + k + " Bootstrap Standardfehler;" + k + " Bootstrap KI 95% unten;" + k
+					+ " Bootstrap KI 95% oben");
+		}
+		out.println();
+	}
+
+	/**
+	 * Schreibe die Ergebnisse aller Kennzahlen in eine Zeile. Nicht definierte Werte werden wie in
+	 * {@link Schaetzer#write(PrintStream, String)} als leere Zelle geschrieben.
+	 * 
+	 * @param out
+	 *            Ausgabe
+	 * @param kopf
+	 *            die fhrenden Spalten der Zeile, ohne abschlieendes Semikolon
+	 */
+	public void write(final PrintStream out, final String kopf) {
+		final DecimalFormat df = new DecimalFormat("#.##############################");
+		out.print(kopf + ";" + anzahlPfade);
+		for (int i = 0; i < mittel.length; ++i) {
+			out.print(";" + Schaetzer.format(df, getMittelwert(i)) + ";" + Schaetzer.format(df, getStandardfehler(i))
+					+ ";" + Schaetzer.format(df, getQuantil(i, 0.025)) + ";"
+					+ Schaetzer.format(df, getQuantil(i, 0.975)));
+		}
+		out.println();
+	}
+}
@@ -0,0 +1,72 @@
+package de.gdv.bsm.vu.kennzahlen;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.gdv.bsm.intern.szenario.Pfad;
+import de.gdv.bsm.intern.szenario.PfadZeile;
+import de.gdv.bsm.intern.szenario.Szenario;
+
+/**
+ * Kontrollvariablen aus dem Szenariensatz fr {@link KontrollvariablenSchaetzer}. Es sind die Abweichungen der
+ * Martingaltests eines Pfades von ihrem bekannten Erwartungswert, ihr Erwartungswert ist daher 0:
+ * <ul>
+ * <li>Aktien: diskontierte Dividenden bis zum Horizont zuzglich des diskontierten Aktienindex am Horizont, abzglich
+ * des Index zum Zeitpunkt 0,</li>
+ * <li>Immobilien: ebenso mit Mieten und Immobilienindex,</li>
+ * <li>Diskont: Summe der Diskontfunktion bis zum Horizont abzglich der Summe der Zerobondpreise aus der
+ * Anfangszinskurve.</li>
+ * </ul>
+ * Der Horizont ist das Minimum aus Projektionshorizont und maximaler Restlaufzeit des Szenariensatzes.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class EsgKontrollen {
+	/** Namen der Kontrollvariablen in der Reihenfolge von {@link #berechne(Szenario, int)}. */
+	public static final List<String> NAMEN = Arrays.asList("Aktien", "Immobilien", "Diskont");
+
+	private EsgKontrollen() {
+	}
+
+	/**
+	 * Berechne die Kontrollvariablen eines Pfades.
+	 * 
+	 * @param szenario
+	 *            der Szenariensatz
+	 * @param pfad
+	 *            der Pfad
+	 * @return die Werte in der Reihenfolge von {@link #NAMEN}
+	 */
+	public static double[] berechne(final Szenario szenario, final int pfad) {
+		final int horizont = Math.min(szenario.projektionsHorizont, szenario.maximaleRestlaufzeit);
+		final Pfad p = szenario.getPfad(pfad);
+		final PfadZeile start = p.getPfadZeile(0);
+		double aktien = 0.0;
+		double immobilien = 0.0;
+		double diskont = 0.0;
+		for (int t = 1; t <= horizont; ++t) {
+			final PfadZeile z = p.getPfadZeile(t);
+			final double d = z.diskontFunktion / start.diskontFunktion;
+			aktien += d * z.dividenden;
+			immobilien += d * z.mieten;
+			diskont += d - Math.pow(1.0 + start.getSpotRlz(t), -t);
+			if (t == horizont) {
+				aktien += d * z.aktien;
+				immobilien += d * z.immobilien;
+			}
+		}
+		return new double[] { aktien - start.aktien, immobilien - start.immobilien, diskont };
+	}
+}
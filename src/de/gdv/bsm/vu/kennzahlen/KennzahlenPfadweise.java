@@ -7,13 +7,14 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import de.gdv.bsm.intern.applic.TableField;
+import de.gdv.bsm.intern.applic.TableFieldZugriff;
+import de.gdv.bsm.intern.math.KahanSumme;
 import de.gdv.bsm.vu.berechnung.AggZeile;
 
 /**
@@ -89,35 +90,80 @@ public class KennzahlenPfadweise {
 			final double monat) {
 		this.szenarioId = szenarioId;
 		this.pfad = pfad;
-		zag = aggZeilen.stream().mapToDouble(z -> dfVu(z.getZagFaellig(), z, monat) + df(z.getZagEndzahlung(), z))
-				.sum();
-
-		be = aggZeilen.stream()
-				.mapToDouble(z -> dfVu(z.getLGesAgg(), z, monat) + df(z.getEndZahlungAgg(), z)
-						- dfVu(z.getBStochAgg(), z, monat) + dfVu(z.getKStochAgg(), z, monat)
-						+ df(z.getAufwendungenKa(), z))
-				.sum();
-
-		gcr = aggZeilen.stream().mapToDouble(z -> dfVu(z.getGcrUeB(), z, monat)).sum();
-		grnd = aggZeilen.stream().mapToDouble(z -> df(z.getRueckZahlung(), z) + df(z.getZinsen(), z)).sum();
-		steuer = aggZeilen.stream().mapToDouble(z -> df(z.getErtragsSteuerLs(), z)).sum();
-		mwPassiva = aggZeilen.stream()
-				.mapToDouble(z -> dfVu(z.getZagFaellig(), z, monat) + df(z.getZagEndzahlung(), z)
-						+ dfVu(z.getLGesAgg(), z, monat) + df(z.getEndZahlungAgg(), z)
-						- dfVu(z.getBStochAgg(), z, monat) + dfVu(z.getKStochAgg(), z, monat)
-						+ df(z.getAufwendungenKa(), z) + dfVu(z.getGcrUeB(), z, monat) + df(z.getRueckZahlung(), z)
-						+ df(z.getZinsen(), z) + df(z.getErtragsSteuerLs(), z) + dfVu(z.getCfRvstochAgg(), z, monat))
-				.sum();
-		ueberschussFond = aggZeilen.stream().mapToDouble(z -> df(z.getCashflowSf(), z)).sum();
-		ewGar = aggZeilen.stream().mapToDouble(z -> dfVu(z.getLGarAgg(), z, monat) + dfVu(z.getKAgg(), z, monat)
-				- dfVu(z.getBAgg(), z, monat) + df(z.getAufwendungenKa(), z)).sum();
-		rr = aggZeilen.stream().mapToDouble(z -> -dfVu(z.getCfRvstochAgg(), z, monat)).sum();
-		epifp = aggZeilen.stream().mapToDouble(z -> df(z.getJueVnKP(), z)).sum();
-		kbm = aggZeilen.stream().mapToDouble(z -> dfVu(z.getCashflowGesamt(), z, monat)).sum();
-		zueb = aggZeilen.stream().mapToDouble(z -> dfVu(z.getZuebCashflowAgg(), z, monat) + df(z.getEndZahlungAgg(), z))
-				.sum();
-		optionen = aggZeilen.stream().mapToDouble(z -> dfVu(z.getOptionenCashflowAgg(), z, monat)).sum();
+		final KahanSumme summen = new KahanSumme(ANZAHL_KENNZAHLEN);
+		summiere(aggZeilen, monat, summen);
+		zag = summen.getSumme(ZAG);
+		be = summen.getSumme(BE);
+		gcr = summen.getSumme(GCR);
+		grnd = summen.getSumme(GRND);
+		steuer = summen.getSumme(STEUER);
+		mwPassiva = summen.getSumme(MW_PASSIVA);
+		ueberschussFond = summen.getSumme(UEBERSCHUSS_FOND);
+		ewGar = summen.getSumme(EW_GAR);
+		rr = summen.getSumme(RR);
+		epifp = summen.getSumme(EPIFP);
+		kbm = summen.getSumme(KBM);
+		zueb = summen.getSumme(ZUEB);
+		optionen = summen.getSumme(OPTIONEN);
+	}
 
+	/**
+	 * Berechne die Kennzahlen zu einem Pfad und schreibe sie in der Reihenfolge von {@link #getKennzahlNamen()} in
+	 * einen Satz.
+	 * 
+	 * @param aggZeilen
+	 *            ber alle Zeiten
+	 * @param monat
+	 *            der Zahlungsmonat aus den zeitunabhngigen Managementregeln
+	 * @param summen
+	 *            Speicher fr mindestens {@link #ANZAHL_KENNZAHLEN} Summen, der Inhalt wird berschrieben
+	 * @param satz
+	 *            der Satz
+	 * @param von
+	 *            Position der ersten Kennzahl im Satz
+	 */
+	public static void berechne(final List<AggZeile> aggZeilen, final double monat, final KahanSumme summen,
+			final double[] satz, final int von) {
+		summiere(aggZeilen, monat, summen);
+		for (int k = 0; k < ANZAHL_KENNZAHLEN; ++k) {
+			satz[von + k] = summen.getSumme(k);
+		}
+	}
+
+	private static void summiere(final List<AggZeile> aggZeilen, final double monat, final KahanSumme summen) {
+		// Alle Kennzahlen werden in einem Durchlauf ber die Zeit ermittelt. Summiert wird nach dem Verfahren von
+		// DoubleStream.sum, damit die Ergebnisse bitgenau denen der frheren Summation je Kennzahl entsprechen.
+		summen.reset();
+		for (AggZeile z : aggZeilen) {
+			final double zagFaellig = dfVu(z.getZagFaellig(), z, monat);
+			final double zagEndzahlung = df(z.getZagEndzahlung(), z);
+			final double lGes = dfVu(z.getLGesAgg(), z, monat);
+			final double endZahlung = df(z.getEndZahlungAgg(), z);
+			final double bStoch = dfVu(z.getBStochAgg(), z, monat);
+			final double kStoch = dfVu(z.getKStochAgg(), z, monat);
+			final double aufwendungenKa = df(z.getAufwendungenKa(), z);
+			final double gcrUeb = dfVu(z.getGcrUeB(), z, monat);
+			final double rueckZahlung = df(z.getRueckZahlung(), z);
+			final double zinsen = df(z.getZinsen(), z);
+			final double ertragsSteuer = df(z.getErtragsSteuerLs(), z);
+			final double cfRvStoch = dfVu(z.getCfRvstochAgg(), z, monat);
+
+			summen.add(ZAG, zagFaellig + zagEndzahlung);
+			summen.add(BE, lGes + endZahlung - bStoch + kStoch + aufwendungenKa);
+			summen.add(GCR, gcrUeb);
+			summen.add(GRND, rueckZahlung + zinsen);
+			summen.add(STEUER, ertragsSteuer);
+			summen.add(MW_PASSIVA, zagFaellig + zagEndzahlung + lGes + endZahlung - bStoch + kStoch + aufwendungenKa
+					+ gcrUeb + rueckZahlung + zinsen + ertragsSteuer + cfRvStoch);
+			summen.add(UEBERSCHUSS_FOND, df(z.getCashflowSf(), z));
+			summen.add(EW_GAR, dfVu(z.getLGarAgg(), z, monat) + dfVu(z.getKAgg(), z, monat)
+					- dfVu(z.getBAgg(), z, monat) + aufwendungenKa);
+			summen.add(RR, -cfRvStoch);
+			summen.add(EPIFP, df(z.getJueVnKP(), z));
+			summen.add(KBM, dfVu(z.getCashflowGesamt(), z, monat));
+			summen.add(ZUEB, dfVu(z.getZuebCashflowAgg(), z, monat) + endZahlung);
+			summen.add(OPTIONEN, dfVu(z.getOptionenCashflowAgg(), z, monat));
+		}
 	}
 
 	/**
@@ -237,51 +283,54 @@ public class KennzahlenPfadweise {
 	 * 
 	 * @param ausgabe
 	 *            Ausgabedatei (voller Pfad)
-	 * @param kp
+	 * @param pfadErgebnisse
 	 *            Kennzahlen pfadweise zur Ermittlung der Stressszenarien
 	 * @throws FileNotFoundException
 	 *             bei Ausgabefehlern
 	 */
-	public static void writeSchaeterMittelwerte(final File ausgabe, final List<KennzahlenPfadweise> kp)
+	public static void writeSchaeterMittelwerte(final File ausgabe, final PfadErgebnisse pfadErgebnisse)
 			throws FileNotFoundException {
-		final List<Integer> szenarien = new ArrayList<>();
-		int lastValue = Integer.MIN_VALUE;
-		for (KennzahlenPfadweise k : kp) {
-			final int id = k.getSzenarioId();
-			if (id != lastValue) {
-				szenarien.add(id);
-				lastValue = id;
-			}
-		}
 		try (final PrintStream out = new PrintStream(new FileOutputStream(ausgabe))) {
-			writeSchaeterMittelwerteById(out, szenarien);
+			writeSchaeterMittelwerteById(out, new ArrayList<>(pfadErgebnisse.getSzenarien()));
 		}
 	}
 
-	private final static List<Field> ausgabeFelder = new ArrayList<>();
+	private final static List<TableFieldZugriff.Spalte> ausgabeFelder = new ArrayList<>();
 	private final static Map<String, String> spaltenNamen = new HashMap<>();
 
 	static {
-		char spalte1 = 'A';
-		char spalte2 = ' ';
-		for (Field field : KennzahlenPfadweise.class.getDeclaredFields()) {
-			final TableField tableField = field.getAnnotation(TableField.class);
-			if (tableField != null) {
-				final String spaltenName = (spalte2 == ' ' ? "" : String.valueOf(spalte2)) + String.valueOf(spalte1);
-				if (field.getType().equals(double.class)) {
-					ausgabeFelder.add(field);
-					spaltenNamen.put(field.getName(), spaltenName);
-				}
-				if (spalte1 == 'Z') {
-					spalte1 = 'A';
-					spalte2 = (char) (spalte2 + 1);
-				} else {
-					spalte1 = (char) (spalte1 + 1);
-				}
+		for (TableFieldZugriff.Spalte field : TableFieldZugriff.fuer(KennzahlenPfadweise.class).getSpalten()) {
+			if (field.getTyp() == double.class) {
+				ausgabeFelder.add(field);
+				spaltenNamen.put(field.getName(), field.getExcelSpalte());
 			}
-
 		}
+	}
 
+	/** Anzahl der Kennzahlen, siehe {@link #getKennzahlNamen()}. */
+	public static final int ANZAHL_KENNZAHLEN = ausgabeFelder.size();
+	// Position der Kennzahlen in den Werten:
+	private static final int ZAG = index("zag");
+	private static final int BE = index("be");
+	private static final int GCR = index("gcr");
+	private static final int GRND = index("grnd");
+	private static final int STEUER = index("steuer");
+	private static final int MW_PASSIVA = index("mwPassiva");
+	private static final int UEBERSCHUSS_FOND = index("ueberschussFond");
+	private static final int EW_GAR = index("ewGar");
+	private static final int RR = index("rr");
+	private static final int EPIFP = index("epifp");
+	private static final int KBM = index("kbm");
+	private static final int ZUEB = index("zueb");
+	private static final int OPTIONEN = index("optionen");
+
+	private static int index(final String name) {
+		for (int i = 0; i < ausgabeFelder.size(); ++i) {
+			if (ausgabeFelder.get(i).getName().equals(name)) {
+				return i;
+			}
+		}
+		throw new IllegalStateException("Die Kennzahl " + name + " ist in KennzahlenPfadweise unbekannt.");
 	}
 
 	/**
@@ -295,8 +344,8 @@ public class KennzahlenPfadweise {
 	public static void writeSchaeterMittelwerteById(final PrintStream ausgabe, final List<Integer> szenarien) {
 		ausgabe.println("StressSzenario;Kennzahl;Spalte;Spalte CV");
 		for (int szenario : szenarien) {
-			for (Field field : ausgabeFelder) {
-				final String cvKennzahlen = field.getAnnotation(TableField.class).cvKennzahlen();
+			for (TableFieldZugriff.Spalte field : ausgabeFelder) {
+				final String cvKennzahlen = field.getTableField().cvKennzahlen();
 				final String cvSpalte = getCvSpalte(cvKennzahlen);
 				ausgabe.println(
 						szenario + ";" + field.getName() + ";" + spaltenNamen.get(field.getName()) + ";" + cvSpalte);
@@ -304,6 +353,32 @@ public class KennzahlenPfadweise {
 		}
 	}
 
+	/**
+	 * Namen aller Kennzahlen in der Reihenfolge von {@link #getWerte()}.
+	 * 
+	 * @return die Namen
+	 */
+	public static List<String> getKennzahlNamen() {
+		final List<String> namen = new ArrayList<>();
+		for (TableFieldZugriff.Spalte field : ausgabeFelder) {
+			namen.add(field.getName());
+		}
+		return namen;
+	}
+
+	/**
+	 * Werte aller Kennzahlen dieses Pfades in der Reihenfolge von {@link #getKennzahlNamen()}.
+	 * 
+	 * @return die Werte
+	 */
+	public double[] getWerte() {
+		final double[] werte = new double[ausgabeFelder.size()];
+		for (int i = 0; i < werte.length; ++i) {
+			werte[i] = ausgabeFelder.get(i).getDouble(this);
+		}
+		return werte;
+	}
+
 	/**
 	 * Ermittle zu einem Feldnamen den Spaltennamen. Das Feld muss in dieser Klasse definiert sein, die Annotation
 	 * {@link TableField} besitzen und vom Typ double sein.
@@ -318,4 +393,5 @@ public class KennzahlenPfadweise {
 		}
 		return spaltenNamen.get(cvName);
 	}
+
 }
@@ -7,15 +7,14 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import de.gdv.bsm.intern.applic.TableField;
+import de.gdv.bsm.intern.applic.TableFieldZugriff;
+import de.gdv.bsm.intern.math.KahanSumme;
 import de.gdv.bsm.vu.berechnung.AggZeile;
 import de.gdv.bsm.vu.berechnung.RzgZeile;
 
@@ -88,10 +87,107 @@ public class KennzahlenPfadweiseLoB {
 	public KennzahlenPfadweiseLoB(final int szenarioId, final int pfad, final String lob,
 			final Map<Integer, Map<String, Map<String, List<RzgZeile>>>> rzgZeilenMap, final List<AggZeile> aggZeilen,
 			final double monat) {
+		this(szenarioId, pfad, lob, alleZeilen(rzgZeilenMap), aggZeilen, monat);
+	}
+
+	private KennzahlenPfadweiseLoB(final int szenarioId, final int pfad, final String lob, final RzgZeile[] rzgZeilen,
+			final List<AggZeile> aggZeilen, final double monat) {
+		this(szenarioId, pfad, lob, rzgZeilen, 0, rzgZeilen.length, aggZeilen, monat);
+	}
+
+	/**
+	 * Erstelle die Kennzahlen zu einem Pfad anhand eines Bereiches bereits nach LoB gruppierter Rzg-Zeilen.
+	 * 
+	 * @param szenarioId
+	 *            zu dem die Berechnung gehrt
+	 * @param pfad
+	 *            der Berechnung
+	 * @param lob
+	 *            die zu berechnende LoB
+	 * @param rzgZeilen
+	 *            Feld mit den rzg-Zeilen
+	 * @param von
+	 *            erste Zeile der LoB
+	 * @param bis
+	 *            Ende der Zeilen der LoB (exklusive)
+	 * @param aggZeilen
+	 *            ber alle Zeiten
+	 * @param monat
+	 *            der Zahlungsmonat aus den zeitunabhngigen Managementregeln
+	 */
+	public KennzahlenPfadweiseLoB(final int szenarioId, final int pfad, final String lob, final RzgZeile[] rzgZeilen,
+			final int von, final int bis, final List<AggZeile> aggZeilen, final double monat) {
 		this.szenarioId = szenarioId;
 		this.pfad = pfad;
 		this.lob = lob;
+		final KahanSumme summen = new KahanSumme(ANZAHL_KENNZAHLEN);
+		summiere(rzgZeilen, von, bis, aggZeilen, monat, summen);
+		be = summen.getSumme(BE);
+		ueberschussFond = summen.getSumme(UEBERSCHUSS_FOND);
+		ewGar = summen.getSumme(EW_GAR);
+		epifp = summen.getSumme(EPIFP);
+		zueb = summen.getSumme(ZUEB);
+		optionen = summen.getSumme(OPTIONEN);
+		rr = summen.getSumme(RR);
+		gcr = summen.getSumme(GCR);
+		kbm = summen.getSumme(KBM);
+	}
 
+	/**
+	 * Berechne die Kennzahlen einer LoB zu einem Pfad und schreibe sie in der Reihenfolge von
+	 * {@link #getKennzahlNamen()} in einen Satz.
+	 * 
+	 * @param rzgZeilen
+	 *            Feld mit den rzg-Zeilen
+	 * @param von
+	 *            erste Zeile der LoB
+	 * @param bis
+	 *            Ende der Zeilen der LoB (exklusive)
+	 * @param aggZeilen
+	 *            ber alle Zeiten
+	 * @param monat
+	 *            der Zahlungsmonat aus den zeitunabhngigen Managementregeln
+	 * @param summen
+	 *            Speicher fr mindestens {@link #ANZAHL_KENNZAHLEN} Summen, der Inhalt wird berschrieben
+	 * @param satz
+	 *            der Satz
+	 * @param anfang
+	 *            Position der ersten Kennzahl im Satz
+	 */
+	public static void berechne(final RzgZeile[] rzgZeilen, final int von, final int bis,
+			final List<AggZeile> aggZeilen, final double monat, final KahanSumme summen, final double[] satz,
+			final int anfang) {
+		summiere(rzgZeilen, von, bis, aggZeilen, monat, summen);
+		for (int k = 0; k < ANZAHL_KENNZAHLEN; ++k) {
+			satz[anfang + k] = summen.getSumme(k);
+		}
+	}
+
+	private static void summiere(final RzgZeile[] rzgZeilen, final int von, final int bis,
+			final List<AggZeile> aggZeilen, final double monat, final KahanSumme summen) {
+		// alle Kennzahlen in einem Durchlauf, summiert wird nach dem Verfahren von DoubleStream.sum (bitgenau)
+		summen.reset();
+		for (int i = von; i < bis; ++i) {
+			final RzgZeile z = rzgZeilen[i];
+			final AggZeile agg = aggZeilen.get(z.getZeit());
+			final double kostenKa = df(z.getKostenKaRzg(), agg);
+			final double endZahlung = df(z.getEndZahlung(), agg);
+
+			summen.add(BE, kostenKa + dfVu(z.getLGesamt(), agg, monat) + endZahlung
+					- dfVu(z.getBeitraegeStoch(), agg, monat) + dfVu(z.getKostenStoch(), agg, monat));
+			summen.add(UEBERSCHUSS_FOND, df(z.getSurplusFondRzg(), agg));
+			summen.add(EW_GAR, dfVu(z.getLGarantiertDet(), agg, monat) + dfVu(z.getKosten(), agg, monat)
+					- dfVu(z.getPraemien(), agg, monat) + kostenKa);
+			summen.add(EPIFP, df(z.getJueVnKpRzg(), agg));
+			summen.add(ZUEB, dfVu(z.getCashflowZuebRzg(), agg, monat) + endZahlung);
+			summen.add(OPTIONEN, dfVu(z.getCashflowOptionenRzg(), agg, monat));
+			summen.add(RR, dfVu(-z.getCfRvStoch(), agg, monat));
+			summen.add(GCR, dfVu(z.getCfGcrRzg(), agg, monat));
+			summen.add(KBM, dfVu(z.getKbmRzg(), agg, monat));
+		}
+	}
+
+	private static RzgZeile[] alleZeilen(final Map<Integer, Map<String, Map<String, List<RzgZeile>>>> rzgZeilenMap) {
 		final List<RzgZeile> rzgZeilen = new ArrayList<>();
 		for (int zins : rzgZeilenMap.keySet()) {
 			for (String altNeu : rzgZeilenMap.get(zins).keySet()) {
@@ -100,30 +196,7 @@ public class KennzahlenPfadweiseLoB {
 				}
 			}
 		}
-
-		be = rzgZeilen.stream()
-				.mapToDouble(z -> df(z.getKostenKaRzg(), aggZeilen.get(z.getZeit()))
-						+ dfVu(z.getLGesamt(), aggZeilen.get(z.getZeit()), monat)
-						+ df(z.getEndZahlung(), aggZeilen.get(z.getZeit()))
-						- dfVu(z.getBeitraegeStoch(), aggZeilen.get(z.getZeit()), monat)
-						+ dfVu(z.getKostenStoch(), aggZeilen.get(z.getZeit()), monat))
-				.sum();
-		ueberschussFond = rzgZeilen.stream().mapToDouble(z -> df(z.getSurplusFondRzg(), aggZeilen.get(z.getZeit())))
-				.sum();
-		ewGar = rzgZeilen.stream()
-				.mapToDouble(z -> dfVu(z.getLGarantiertDet(), aggZeilen.get(z.getZeit()), monat)
-						+ dfVu(z.getKosten(), aggZeilen.get(z.getZeit()), monat)
-						- dfVu(z.getPraemien(), aggZeilen.get(z.getZeit()), monat)
-						+ df(z.getKostenKaRzg(), aggZeilen.get(z.getZeit())))
-				.sum();
-		epifp = rzgZeilen.stream().mapToDouble(z -> df(z.getJueVnKpRzg(), aggZeilen.get(z.getZeit()))).sum();
-		zueb = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getCashflowZuebRzg(), aggZeilen.get(z.getZeit()), monat)
-				+ df(z.getEndZahlung(), aggZeilen.get(z.getZeit()))).sum();
-		optionen = rzgZeilen.stream()
-				.mapToDouble(z -> dfVu(z.getCashflowOptionenRzg(), aggZeilen.get(z.getZeit()), monat)).sum();
-		rr = rzgZeilen.stream().mapToDouble(z -> dfVu(-z.getCfRvStoch(), aggZeilen.get(z.getZeit()), monat)).sum();
-		gcr = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getCfGcrRzg(), aggZeilen.get(z.getZeit()), monat)).sum();
-		kbm = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getKbmRzg(), aggZeilen.get(z.getZeit()), monat)).sum();
+		return rzgZeilen.toArray(new RzgZeile[rzgZeilen.size()]);
 	}
 
 	/**
@@ -215,59 +288,81 @@ public class KennzahlenPfadweiseLoB {
 	 * 
 	 * @param ausgabe
 	 *            Ausgabedatei (voller Pfad)
-	 * @param kp
-	 *            Kennzahlen pfadweise zur Ermittlung der Stressszenarien
+	 * @param pfadErgebnisse
+	 *            Kennzahlen pfadweise zur Ermittlung der Stressszenarien und LoB
 	 * @throws FileNotFoundException
 	 *             bei Ausgabefehlern
 	 */
-	public static void writeSchaeterMittelwerteLob(final File ausgabe, final List<KennzahlenPfadweiseLoB> kp)
+	public static void writeSchaeterMittelwerteLob(final File ausgabe, final PfadErgebnisse pfadErgebnisse)
 			throws FileNotFoundException {
-
-		final List<Integer> szenarien = new ArrayList<>();
+		final List<Integer> szenarien = new ArrayList<>(pfadErgebnisse.getSzenarien());
 		final Map<Integer, List<String>> lobs = new HashMap<>();
-		final Map<Integer, Set<String>> bekannt = new HashMap<>();
-		for (KennzahlenPfadweiseLoB k : kp) {
-			final int id = k.getSzenarioId();
-			if (!bekannt.containsKey(id)) {
-				szenarien.add(id);
-				lobs.put(id, new ArrayList<>());
-				bekannt.put(id, new HashSet<>());
-			}
-			final String lob = k.getLob();
-			if (!bekannt.get(id).contains(lob)) {
-				lobs.get(id).add(lob);
-				bekannt.get(id).add(lob);
-			}
+		for (int id : szenarien) {
+			lobs.put(id, pfadErgebnisse.getLobs(id));
 		}
 		try (final PrintStream out = new PrintStream(new FileOutputStream(ausgabe))) {
 			writeSchaeterMittelwerteLobById(out, szenarien, lobs);
 		}
 	}
 
-	private final static List<Field> ausgabeFelder = new ArrayList<>();
+	private final static List<TableFieldZugriff.Spalte> ausgabeFelder = new ArrayList<>();
 	private final static Map<String, String> spaltenNamen = new HashMap<>();
 
 	static {
-		char spalte1 = 'A';
-		char spalte2 = ' ';
-		for (Field field : KennzahlenPfadweiseLoB.class.getDeclaredFields()) {
-			final TableField tableField = field.getAnnotation(TableField.class);
-			if (tableField != null) {
-				final String spaltenName = (spalte2 == ' ' ? "" : String.valueOf(spalte2)) + String.valueOf(spalte1);
-				if (field.getType().equals(double.class)) {
-					ausgabeFelder.add(field);
-					spaltenNamen.put(field.getName(), spaltenName);
-				}
-				if (spalte1 == 'Z') {
-					spalte1 = 'A';
-					spalte2 = (char) (spalte2 + 1);
-				} else {
-					spalte1 = (char) (spalte1 + 1);
-				}
+		for (TableFieldZugriff.Spalte field : TableFieldZugriff.fuer(KennzahlenPfadweiseLoB.class).getSpalten()) {
+			if (field.getTyp() == double.class) {
+				ausgabeFelder.add(field);
+				spaltenNamen.put(field.getName(), field.getExcelSpalte());
+			}
+		}
+	}
+
+	/** Anzahl der Kennzahlen, siehe {@link #getKennzahlNamen()}. */
+	public static final int ANZAHL_KENNZAHLEN = ausgabeFelder.size();
+	// Position der Kennzahlen in den Werten:
+	private static final int BE = index("be");
+	private static final int UEBERSCHUSS_FOND = index("ueberschussFond");
+	private static final int EW_GAR = index("ewGar");
+	private static final int EPIFP = index("epifp");
+	private static final int ZUEB = index("zueb");
+	private static final int OPTIONEN = index("optionen");
+	private static final int RR = index("rr");
+	private static final int GCR = index("gcr");
+	private static final int KBM = index("kbm");
+
+	private static int index(final String name) {
+		for (int i = 0; i < ausgabeFelder.size(); ++i) {
+			if (ausgabeFelder.get(i).getName().equals(name)) {
+				return i;
 			}
+		}
+		throw new IllegalStateException("Die Kennzahl " + name + " ist in KennzahlenPfadweiseLoB unbekannt.");
+	}
 
+	/**
+	 * Namen aller Kennzahlen in der Reihenfolge von {@link #getWerte()}.
+	 * 
+	 * @return die Namen
+	 */
+	public static List<String> getKennzahlNamen() {
+		final List<String> namen = new ArrayList<>();
+		for (TableFieldZugriff.Spalte field : ausgabeFelder) {
+			namen.add(field.getName());
 		}
+		return namen;
+	}
 
+	/**
+	 * Werte aller Kennzahlen dieses Pfades und LoB in der Reihenfolge von {@link #getKennzahlNamen()}.
+	 * 
+	 * @return die Werte
+	 */
+	public double[] getWerte() {
+		final double[] werte = new double[ausgabeFelder.size()];
+		for (int i = 0; i < werte.length; ++i) {
+			werte[i] = ausgabeFelder.get(i).getDouble(this);
+		}
+		return werte;
 	}
 
 	/**
@@ -285,9 +380,9 @@ public class KennzahlenPfadweiseLoB {
 		ausgabe.println("StressSzenario;LoB;Kennzahl;Spalte;Spalte CV");
 		for (int szenario : szenarien) {
 			final List<String> lobs = szenarioLobs.get(szenario);
-			for (Field field : ausgabeFelder) {
+			for (TableFieldZugriff.Spalte field : ausgabeFelder) {
 				for (String lob : lobs) {
-					final String cvKennzahlen = field.getAnnotation(TableField.class).cvKennzahlen();
+					final String cvKennzahlen = field.getTableField().cvKennzahlen();
 					final String cvSpalte = KennzahlenPfadweise.getCvSpalte(cvKennzahlen);
 					ausgabe.println(szenario + ";" + lob + ";" + field.getName() + ";"
 							+ spaltenNamen.get(field.getName()) + ";" + cvSpalte);
@@ -0,0 +1,296 @@
+package de.gdv.bsm.vu.kennzahlen;
+
+import java.io.PrintStream;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * Schtzer fr die Mittelwerte einer Reihe pfadweiser Kennzahlen mit Kontrollvariablen, deren Erwartungswert bekannt
+ * und 0 ist (siehe {@link EsgKontrollen}). Je Kennzahl werden die Kontrollvariablen per linearer Regression
+ * herausgerechnet:
+ * <code>Mittelwert CV = Mittelwert - beta * Mittelwert der Kontrollvariablen</code>. Der Faktor der
+ * Varianzreduktion ist das Verhltnis der Varianz der Kennzahl zur Varianz der Residuen; um ihn verringert sich die
+ * Anzahl der Pfade, die fr die gleiche Genauigkeit ntig ist.
+ * <p/>
+ * Die Pfade werden einzeln hinzugefgt, es werden nur Summen mitgefhrt (Verfahren nach Welford). Schtzer
+ * verschiedener Threads oder Teillufe knnen mit {@link #add(KontrollvariablenSchaetzer)} zusammengefhrt werden.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class KontrollvariablenSchaetzer {
+	private long anzahl = 0;
+	private final double[] mittel;
+	private final double[] mittelKontrolle;
+	// Summe der quadrierten Abweichungen der Kennzahlen vom Mittelwert:
+	private final double[] m2;
+	// Summe der Produkte der Abweichungen der Kontrollvariablen untereinander:
+	private final double[][] coKontrolle;
+	// Summe der Produkte der Abweichungen von Kontrollvariable und Kennzahl:
+	private final double[][] co;
+
+	/**
+	 * Erstelle einen leeren Schtzer.
+	 * 
+	 * @param anzahlKennzahlen
+	 *            Anzahl der Kennzahlen je Pfad
+	 * @param anzahlKontrollen
+	 *            Anzahl der Kontrollvariablen je Pfad
+	 */
+	public KontrollvariablenSchaetzer(final int anzahlKennzahlen, final int anzahlKontrollen) {
+		mittel = new double[anzahlKennzahlen];
+		mittelKontrolle = new double[anzahlKontrollen];
+		m2 = new double[anzahlKennzahlen];
+		coKontrolle = new double[anzahlKontrollen][anzahlKontrollen];
+		co = new double[anzahlKontrollen][anzahlKennzahlen];
+	}
+
+	/**
+	 * Fge die Werte eines Pfades hinzu.
+	 * 
+	 * @param satz
+	 *            der Satz des Pfades, siehe {@link PfadErgebnisse}
+	 * @param von
+	 *            Beginn der Kennzahlen im Satz
+	 * @param kontrollen
+	 *            die Kontrollvariablen
+	 */
+	public void add(final double[] satz, final int von, final double[] kontrollen) {
+		++anzahl;
+		final double[] dk = new double[kontrollen.length];
+		for (int j = 0; j < kontrollen.length; ++j) {
+			dk[j] = kontrollen[j] - mittelKontrolle[j];
+			mittelKontrolle[j] += dk[j] / anzahl;
+		}
+		for (int j = 0; j < kontrollen.length; ++j) {
+			for (int l = 0; l < kontrollen.length; ++l) {
+				coKontrolle[j][l] += dk[j] * (kontrollen[l] - mittelKontrolle[l]);
+			}
+		}
+		for (int i = 0; i < mittel.length; ++i) {
+			final double d = satz[von + i] - mittel[i];
+			mittel[i] += d / anzahl;
+			final double dNeu = satz[von + i] - mittel[i];
+			m2[i] += d * dNeu;
+			for (int j = 0; j < kontrollen.length; ++j) {
+				co[j][i] += dk[j] * dNeu;
+			}
+		}
+	}
+
+	/**
+	 * Fhre einen anderen Schtzer mit diesem zusammen (Verfahren nach Chan).
+	 * 
+	 * @param s
+	 *            der andere Schtzer
+	 */
+	public void add(final KontrollvariablenSchaetzer s) {
+		if (s.anzahl == 0) {
+			return;
+		}
+		final long n = anzahl + s.anzahl;
+		final double f = (double) anzahl * s.anzahl / n;
+		final double[] dk = new double[mittelKontrolle.length];
+		for (int j = 0; j < dk.length; ++j) {
+			dk[j] = s.mittelKontrolle[j] - mittelKontrolle[j];
+		}
+		for (int j = 0; j < dk.length; ++j) {
+			for (int l = 0; l < dk.length; ++l) {
+				coKontrolle[j][l] += s.coKontrolle[j][l] + dk[j] * dk[l] * f;
+			}
+		}
+		for (int i = 0; i < mittel.length; ++i) {
+			final double d = s.mittel[i] - mittel[i];
+			m2[i] += s.m2[i] + d * d * f;
+			for (int j = 0; j < dk.length; ++j) {
+				co[j][i] += s.co[j][i] + dk[j] * d * f;
+			}
+			mittel[i] += d * s.anzahl / n;
+		}
+		for (int j = 0; j < dk.length; ++j) {
+			mittelKontrolle[j] += dk[j] * s.anzahl / n;
+		}
+		anzahl = n;
+	}
+
+	/**
+	 * Anzahl der hinzugefgten Pfade.
+	 * 
+	 * @return die Anzahl
+	 */
+	public long getAnzahl() {
+		return anzahl;
+	}
+
+	/**
+	 * Einfacher Mittelwert einer Kennzahl.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Mittelwert
+	 */
+	public double getMittelwert(final int i) {
+		return mittel[i];
+	}
+
+	/**
+	 * Standardfehler des einfachen Mittelwerts einer Kennzahl.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Standardfehler
+	 */
+	public double getStandardfehler(final int i) {
+		return anzahl < 2 ? Double.NaN : Math.sqrt(m2[i] / (anzahl - 1) / anzahl);
+	}
+
+	/**
+	 * Mittelwert einer Kennzahl, bereinigt um die Abweichung der Kontrollvariablen von ihrem Erwartungswert 0.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Mittelwert
+	 */
+	public double getMittelwertCv(final int i) {
+		final double[] beta = beta(i);
+		double m = mittel[i];
+		for (int j = 0; j < beta.length; ++j) {
+			m -= beta[j] * mittelKontrolle[j];
+		}
+		return m;
+	}
+
+	/**
+	 * Standardfehler des bereinigten Mittelwerts einer Kennzahl.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Standardfehler
+	 */
+	public double getStandardfehlerCv(final int i) {
+		final long freiheitsgrade = anzahl - 1 - mittelKontrolle.length;
+		return freiheitsgrade < 1 ? Double.NaN : Math.sqrt(residuen(i) / freiheitsgrade / anzahl);
+	}
+
+	/**
+	 * Faktor der Varianzreduktion einer Kennzahl: Varianz der Kennzahl durch Varianz der Residuen.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Faktor
+	 */
+	public double getVarianzreduktion(final int i) {
+		final double se = getStandardfehlerCv(i);
+		final double s = getStandardfehler(i);
+		return s * s / (se * se);
+	}
+
+	/**
+	 * Summe der quadrierten Residuen der Regression.
+	 */
+	private double residuen(final int i) {
+		final double[] beta = beta(i);
+		double r = m2[i];
+		for (int j = 0; j < beta.length; ++j) {
+			r -= beta[j] * co[j][i];
+		}
+		return Math.max(0.0, r);
+	}
+
+	/**
+	 * Regressionskoeffizienten einer Kennzahl auf die Kontrollvariablen. Die Normalgleichungen werden per
+	 * Gau-Elimination gelst; Kontrollvariablen ohne Streuung oder linear abhngig von den brigen erhalten den
+	 * Koeffizienten 0.
+	 */
+	private double[] beta(final int i) {
+		final int m = mittelKontrolle.length;
+		final double[][] a = new double[m][m + 1];
+		for (int j = 0; j < m; ++j) {
+			System.arraycopy(coKontrolle[j], 0, a[j], 0, m);
+			a[j][m] = co[j][i];
+		}
+		final boolean[] genutzt = new boolean[m];
+		final int[] zeileZuSpalte = new int[m];
+		for (int spalte = 0; spalte < m; ++spalte) {
+			int pivot = -1;
+			for (int j = 0; j < m; ++j) {
+				if (!genutzt[j] && (pivot < 0 || Math.abs(a[j][spalte]) > Math.abs(a[pivot][spalte]))) {
+					pivot = j;
+				}
+			}
+			zeileZuSpalte[spalte] = -1;
+			if (pivot < 0 || Math.abs(a[pivot][spalte]) <= 1e-12 * coKontrolle[spalte][spalte]
+					|| coKontrolle[spalte][spalte] <= 0.0) {
+				continue;
+			}
+			genutzt[pivot] = true;
+			zeileZuSpalte[spalte] = pivot;
+			for (int j = 0; j < m; ++j) {
+				if (j != pivot) {
+					final double f = a[j][spalte] / a[pivot][spalte];
+					for (int l = spalte; l <= m; ++l) {
+						a[j][l] -= f * a[pivot][l];
+					}
+				}
+			}
+		}
+		final double[] beta = new double[m];
+		for (int spalte = 0; spalte < m; ++spalte) {
+			final int j = zeileZuSpalte[spalte];
+			if (j >= 0) {
+				beta[spalte] = a[j][m] / a[j][spalte];
+			}
+		}
+		return beta;
+	}
+
+	/**
+	 * Schreibe die berschrift zu {@link #write(PrintStream, String)}.
+	 * 
+	 * @param out
+	 *            Ausgabe
+	 * @param kopf
+	 *            die berschrift der fhrenden Spalten, ohne abschlieendes Semikolon
+	 * @param kennzahlen
+	 *            Namen der Kennzahlen
+	 */
+	public static void writeHeader(final PrintStream out, final String kopf, final List<String> kennzahlen) {
+		out.print(kopf + ";Anzahl Pfade");
+		for (String k : kennzahlen) {
+			out.print(";" + k + " Mittelwert;" + k + " Mittelwert CV;" + k + " Standardfehler;" + k
+					+ " Standardfehler CV;" + k + " Faktor Varianzreduktion");
+		}
+		out.println();
+	}
+
+	/**
+	 * Schreibe die Schtzer aller Kennzahlen in eine Zeile. Nicht definierte Schtzer werden wie in
+	 * {@link Schaetzer#write(PrintStream, String)} als leere Zelle geschrieben.
+	 * 
+	 * @param out
+	 *            Ausgabe
+	 * @param kopf
+	 *            die fhrenden Spalten der Zeile, ohne abschlieendes Semikolon
+	 */
+	public void write(final PrintStream out, final String kopf) {
+		final DecimalFormat df = new DecimalFormat("#.##############################");
+		out.print(kopf + ";" + anzahl);
+		for (int i = 0; i < mittel.length; ++i) {
+			out.print(";" + Schaetzer.format(df, getMittelwert(i)) + ";" + Schaetzer.format(df, getMittelwertCv(i))
+					+ ";" + Schaetzer.format(df, getStandardfehler(i)) + ";"
+					+ Schaetzer.format(df, getStandardfehlerCv(i)) + ";" + Schaetzer.format(df, getVarianzreduktion(i)));
+		}
+		out.println();
+	}
+}
@@ -2,9 +2,12 @@ package de.gdv.bsm.vu.kennzahlen;
 
 import static de.gdv.bsm.vu.module.DiskontFunktion.dfVu;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import de.gdv.bsm.intern.applic.TableField;
+import de.gdv.bsm.intern.math.KahanSumme;
 import de.gdv.bsm.vu.berechnung.AggZeile;
 import de.gdv.bsm.vu.berechnung.RzgZeile;
 import de.gdv.bsm.vu.module.DiskontFunktion;
@@ -52,6 +55,11 @@ public class MittelwerteNurCe {
 	@TableField
 	private final double aqOrig;
 
+	/** Namen der Kennzahlen in der Reihenfolge der Felder bzw. von {@link #berechne}. */
+	public static final List<String> KENNZAHLEN = Collections.unmodifiableList(Arrays.asList("aq", "l", "m", "aqOrig"));
+	/** Anzahl der Kennzahlen. */
+	public static final int ANZAHL_KENNZAHLEN = KENNZAHLEN.size();
+
 	/**
 	 * Erstelle die Kennzahlen zu einem Pfad anhand der Agg-Zeilen.
 	 * 
@@ -80,10 +88,50 @@ public class MittelwerteNurCe {
 		this.lob = lob;
 		this.zeit = zeit;
 
-		this.aq = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getLGarantiertDet(), aggZeile, monat)).sum();
-		this.l = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getKosten(), aggZeile, monat)).sum();
-		this.m = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getPraemien(), aggZeile, monat)).sum();
-		this.aqOrig = rzgZeilen.stream().mapToDouble(z -> z.getLGarantiertDet()).sum();
+		final double[] e = new double[ANZAHL_KENNZAHLEN];
+		berechne(rzgZeilen.toArray(new RzgZeile[rzgZeilen.size()]), 0, rzgZeilen.size(), aggZeile, monat,
+				new KahanSumme(ANZAHL_KENNZAHLEN), e, 0);
+		this.aq = e[0];
+		this.l = e[1];
+		this.m = e[2];
+		this.aqOrig = e[3];
+	}
+
+	/**
+	 * Berechne die Kennzahlen zu einem Pfad, ohne ein Objekt zu erzeugen. Die Kennzahlen werden in der Reihenfolge
+	 * von {@link #KENNZAHLEN} abgelegt.
+	 * 
+	 * @param rzgZeilen
+	 *            Feld mit den RZG-Zeilen
+	 * @param von
+	 *            erste Zeile, die zu diesem Zeitpunkt gehrt
+	 * @param bis
+	 *            Ende der Zeilen, die zu diesem Zeitpunkt gehren (exklusive)
+	 * @param aggZeile
+	 *            zum passenden Zeitpunkt
+	 * @param monat
+	 *            der Zahlungsmonat aus den zeitunabhngigen Managementregeln
+	 * @param summen
+	 *            Speicher fr mindestens {@link #ANZAHL_KENNZAHLEN} Summen, der Inhalt wird berschrieben
+	 * @param ergebnis
+	 *            Feld fr die Ergebnisse
+	 * @param offset
+	 *            Position der ersten Kennzahl in <code>ergebnis</code>
+	 */
+	public static void berechne(final RzgZeile[] rzgZeilen, final int von, final int bis, final AggZeile aggZeile,
+			final double monat, final KahanSumme summen, final double[] ergebnis, final int offset) {
+		// ein Durchlauf ber die Zeilen, summiert wird nach dem Verfahren von DoubleStream.sum (bitgenau)
+		summen.reset();
+		for (int i = von; i < bis; ++i) {
+			final RzgZeile z = rzgZeilen[i];
+			summen.add(0, dfVu(z.getLGarantiertDet(), aggZeile, monat));
+			summen.add(1, dfVu(z.getKosten(), aggZeile, monat));
+			summen.add(2, dfVu(z.getPraemien(), aggZeile, monat));
+			summen.add(3, z.getLGarantiertDet());
+		}
+		for (int k = 0; k < ANZAHL_KENNZAHLEN; ++k) {
+			ergebnis[offset + k] = summen.getSumme(k);
+		}
 	}
 
 	/**
@@ -3,9 +3,12 @@ package de.gdv.bsm.vu.kennzahlen;
 import static de.gdv.bsm.vu.module.DiskontFunktion.df;
 import static de.gdv.bsm.vu.module.DiskontFunktion.dfVu;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import de.gdv.bsm.intern.applic.TableField;
+import de.gdv.bsm.intern.math.KahanSumme;
 import de.gdv.bsm.vu.berechnung.AggZeile;
 import de.gdv.bsm.vu.berechnung.RzgZeile;
 import de.gdv.bsm.vu.module.DiskontFunktion;
@@ -69,6 +72,11 @@ public class MittelwerteUndCe {
 	@TableField
 	private final double br;
 
+	/** Namen der Kennzahlen in der Reihenfolge der Felder bzw. von {@link #berechne}. */
+	public static final List<String> KENNZAHLEN = Collections
+			.unmodifiableList(Arrays.asList("n", "o", "p", "q", "w", "bv", "bj", "bk", "af", "ag", "ak", "br"));
+	/** Anzahl der Kennzahlen. */
+	public static final int ANZAHL_KENNZAHLEN = KENNZAHLEN.size();
 
 	/**
 	 * Erstelle die Kennzahlen zu einem Pfad anhand der Agg-Zeilen.
@@ -98,18 +106,67 @@ public class MittelwerteUndCe {
 		this.lob = lob;
 		this.zeit = zeit;
 
-		this.n = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getlTod(), aggZeile, monat)).sum();
-		this.o = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getlKa(), aggZeile, monat)).sum();
-		this.p = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getsonstigeErlebensfallLeistungen(), aggZeile, monat)).sum();
-		this.q = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getlRkw(), aggZeile, monat)).sum();
-		this.w = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getDrDet(), aggZeile, monat)).sum();
-		this.bv = rzgZeilen.stream().mapToDouble(z -> df(z.getKostenKaRzg(), aggZeile)).sum();
-		this.bj = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getLGesamt(), aggZeile, monat)).sum();
-		this.bk = rzgZeilen.stream().mapToDouble(z -> df(z.getEndZahlung(), aggZeile)).sum();
-		this.af = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getBeitraegeStoch(), aggZeile, monat)).sum();
-		this.ag = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getKostenStoch(), aggZeile, monat)).sum();
-		this.ak = rzgZeilen.stream().mapToDouble(z -> dfVu(z.getCfRvStoch(), aggZeile, monat)).sum();
-		this.br = aggZeile.getfiMw();
+		final double[] e = new double[ANZAHL_KENNZAHLEN];
+		berechne(rzgZeilen.toArray(new RzgZeile[rzgZeilen.size()]), 0, rzgZeilen.size(), aggZeile, monat,
+				new KahanSumme(ANZAHL_KENNZAHLEN), e, 0);
+		this.n = e[0];
+		this.o = e[1];
+		this.p = e[2];
+		this.q = e[3];
+		this.w = e[4];
+		this.bv = e[5];
+		this.bj = e[6];
+		this.bk = e[7];
+		this.af = e[8];
+		this.ag = e[9];
+		this.ak = e[10];
+		this.br = e[11];
+	}
+
+	/**
+	 * Berechne die Kennzahlen zu einem Pfad, ohne ein Objekt zu erzeugen. Die Kennzahlen werden in der Reihenfolge
+	 * von {@link #KENNZAHLEN} abgelegt.
+	 * 
+	 * @param rzgZeilen
+	 *            Feld mit den rzg-Zeilen
+	 * @param von
+	 *            erste Zeile, die zu dieser Zeit gehrt
+	 * @param bis
+	 *            Ende der Zeilen, die zu dieser Zeit gehren (exklusive)
+	 * @param aggZeile
+	 *            passen zu den rzgZeilen
+	 * @param monat
+	 *            der Zahlungsmonat aus den zeitunabhngigen Managementregeln
+	 * @param summen
+	 *            Speicher fr mindestens {@link #ANZAHL_KENNZAHLEN} Summen, der Inhalt wird berschrieben
+	 * @param ergebnis
+	 *            Feld fr die Ergebnisse
+	 * @param offset
+	 *            Position der ersten Kennzahl in <code>ergebnis</code>
+	 */
+	public static void berechne(final RzgZeile[] rzgZeilen, final int von, final int bis, final AggZeile aggZeile,
+			final double monat, final KahanSumme summen, final double[] ergebnis, final int offset) {
+		// alle Kennzahlen in einem Durchlauf ber die Zeilen, summiert wird nach dem Verfahren von DoubleStream.sum
+		// (bitgenau wie die frhere Summation je Kennzahl):
+		summen.reset();
+		for (int i = von; i < bis; ++i) {
+			final RzgZeile z = rzgZeilen[i];
+			summen.add(0, dfVu(z.getlTod(), aggZeile, monat));
+			summen.add(1, dfVu(z.getlKa(), aggZeile, monat));
+			summen.add(2, dfVu(z.getsonstigeErlebensfallLeistungen(), aggZeile, monat));
+			summen.add(3, dfVu(z.getlRkw(), aggZeile, monat));
+			summen.add(4, dfVu(z.getDrDet(), aggZeile, monat));
+			summen.add(5, df(z.getKostenKaRzg(), aggZeile));
+			summen.add(6, dfVu(z.getLGesamt(), aggZeile, monat));
+			summen.add(7, df(z.getEndZahlung(), aggZeile));
+			summen.add(8, dfVu(z.getBeitraegeStoch(), aggZeile, monat));
+			summen.add(9, dfVu(z.getKostenStoch(), aggZeile, monat));
+			summen.add(10, dfVu(z.getCfRvStoch(), aggZeile, monat));
+		}
+		for (int k = 0; k < 11; ++k) {
+			ergebnis[offset + k] = summen.getSumme(k);
+		}
+		ergebnis[offset + 11] = aggZeile.getfiMw();
 	}
 
 	/**
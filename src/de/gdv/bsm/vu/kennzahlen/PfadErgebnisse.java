@@ -0,0 +1,371 @@
+package de.gdv.bsm.vu.kennzahlen;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import de.gdv.bsm.intern.applic.TableField;
+import de.gdv.bsm.intern.applic.TableFieldDaten;
+import de.gdv.bsm.intern.applic.TableFieldZugriff;
+
+/**
+ * Die pfadweisen Kennzahlen aller gerechneten Pfade in kompakter Form. Je Szenario und Pfad wird ein Satz als
+ * <code>double[]</code> abgelegt: zuerst die Werte von {@link KennzahlenPfadweise}, dann je LoB die Werte von
+ * {@link KennzahlenPfadweiseLoB}, jeweils in der Reihenfolge der Spalten (siehe
+ * {@link KennzahlenPfadweise#getKennzahlNamen()} und {@link KennzahlenPfadweiseLoB#getKennzahlNamen()}). Die LoB
+ * werden je Szenario einmal gespeichert.
+ * <p/>
+ * Der Satz wird am Ende eines Pfades direkt beschrieben (siehe {@link KennzahlenPfadweise#berechne} und
+ * {@link KennzahlenPfadweiseLoB#berechne}) und unverndert weitergereicht und abgelegt. Ausgabe und Anzeige lesen die Stze direkt, siehe
+ * {@link #getKennzahlenPfadweise(boolean)} und {@link #getKennzahlenPfadweiseLoB(boolean)}; die Positionen der Spalten
+ * im Satz werden dafr einmal je Zeilenklasse ermittelt.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class PfadErgebnisse {
+	private static final int anzahlKennzahlen = KennzahlenPfadweise.getKennzahlNamen().size();
+	private static final int anzahlKennzahlenLob = KennzahlenPfadweiseLoB.getKennzahlNamen().size();
+
+	// Kennzeichen der Schlsselspalten, die nicht im Satz stehen:
+	private static final int SZENARIO = -1;
+	private static final int PFAD = -2;
+	private static final int LOB = -3;
+	// je Spalte der Zeilenklasse die Position im Block des Satzes, oder die Schlsselspalte:
+	private static final int[] spaltenGesamt = spalten(KennzahlenPfadweise.class,
+			KennzahlenPfadweise.getKennzahlNamen());
+	private static final int[] spaltenLob = spalten(KennzahlenPfadweiseLoB.class,
+			KennzahlenPfadweiseLoB.getKennzahlNamen());
+	// je Kennzahl die Position der CV-Kennzahl im Satz; sie stammt immer aus dem Block des gesamten Bestands:
+	private static final int[] cvGesamt = cv(KennzahlenPfadweise.class);
+	private static final int[] cvLob = cv(KennzahlenPfadweiseLoB.class);
+
+	// je Szenario die LoB in der Reihenfolge der Stze:
+	private final Map<Integer, String[]> lobs = new HashMap<>();
+	// je Szenario und Pfad ein Satz:
+	private final TreeMap<Integer, TreeMap<Integer, double[]>> saetze = new TreeMap<>();
+
+	private static int[] spalten(final Class<?> klasse, final List<String> namen) {
+		final List<TableFieldZugriff.Spalte> s = TableFieldZugriff.fuer(klasse).getSpalten();
+		final int[] spalten = new int[s.size()];
+		for (int i = 0; i < spalten.length; ++i) {
+			final String name = s.get(i).getName();
+			if (s.get(i).getTyp() == double.class) {
+				spalten[i] = namen.indexOf(name);
+			} else if (name.equals("szenarioId")) {
+				spalten[i] = SZENARIO;
+			} else if (name.equals("pfad")) {
+				spalten[i] = PFAD;
+			} else if (name.equals("lob")) {
+				spalten[i] = LOB;
+			} else {
+				throw new IllegalStateException(
+						"Das Feld " + name + " aus " + klasse.getSimpleName() + " ist in den Stzen nicht enthalten.");
+			}
+		}
+		return spalten;
+	}
+
+	private static int[] cv(final Class<?> klasse) {
+		final List<String> namen = KennzahlenPfadweise.getKennzahlNamen();
+		final int[] cv = new int[klasse == KennzahlenPfadweise.class ? anzahlKennzahlen : anzahlKennzahlenLob];
+		int i = 0;
+		for (TableFieldZugriff.Spalte s : TableFieldZugriff.fuer(klasse).getSpalten()) {
+			if (s.getTyp() == double.class) {
+				cv[i] = namen.indexOf(s.getTableField().cvKennzahlen());
+				if (cv[i] < 0) {
+					throw new IllegalArgumentException("Die Kennzahl " + s.getTableField().cvKennzahlen()
+							+ " ist in KennzahlenPfadweise unbekannt.");
+				}
+				++i;
+			}
+		}
+		return cv;
+	}
+
+	/**
+	 * Lnge des Satzes eines Pfades. Er enthlt zuerst die Werte von {@link KennzahlenPfadweise}, danach je LoB die
+	 * Werte von {@link KennzahlenPfadweiseLoB}, jeweils in der Reihenfolge der Kennzahlnamen.
+	 * 
+	 * @param anzahlLobs
+	 *            Anzahl der LoB
+	 * @return die Lnge
+	 */
+	public static int getLaenge(final int anzahlLobs) {
+		return getAnfangLob(anzahlLobs);
+	}
+
+	/**
+	 * Beginn der Werte einer LoB im Satz.
+	 * 
+	 * @param lob
+	 *            Index der LoB in {@link #getLobs(int)}
+	 * @return die Position
+	 */
+	public static int getAnfangLob(final int lob) {
+		return anzahlKennzahlen + lob * anzahlKennzahlenLob;
+	}
+
+	/**
+	 * Position der CV-Kennzahl (siehe {@link TableField#cvKennzahlen()}) zu jeder Kennzahl von
+	 * {@link KennzahlenPfadweise} im Satz.
+	 * 
+	 * @return die Positionen, in der Reihenfolge von {@link KennzahlenPfadweise#getKennzahlNamen()}
+	 */
+	public static int[] getCvIndex() {
+		return cvGesamt.clone();
+	}
+
+	/**
+	 * Position der CV-Kennzahl zu jeder Kennzahl von {@link KennzahlenPfadweiseLoB} im Satz. Die CV-Kennzahlen sind
+	 * wie im Blatt Schaetzer Mittelwerte LoB solche des gesamten Bestands.
+	 * 
+	 * @return die Positionen, in der Reihenfolge von {@link KennzahlenPfadweiseLoB#getKennzahlNamen()}
+	 */
+	public static int[] getCvIndexLob() {
+		return cvLob.clone();
+	}
+
+	/**
+	 * Lege den Satz eines Pfades ab. Der Satz wird nicht kopiert und darf danach nicht mehr verndert werden.
+	 * 
+	 * @param szenarioId
+	 *            das Szenario
+	 * @param pfad
+	 *            der Pfad
+	 * @param lobListe
+	 *            die LoB in der Reihenfolge des Satzes
+	 * @param satz
+	 *            der Satz, siehe {@link #getLaenge(int)}
+	 */
+	public void add(final int szenarioId, final int pfad, final List<String> lobListe, final double[] satz) {
+		String[] l = lobs.get(szenarioId);
+		if (l == null) {
+			l = lobListe.toArray(new String[lobListe.size()]);
+			lobs.put(szenarioId, l);
+		}
+		if (l.length != lobListe.size() || satz.length != getAnfangLob(l.length)) {
+			throw new IllegalStateException("Pfad " + pfad + " von Szenario " + szenarioId + " hat "
+					+ lobListe.size() + " statt " + l.length + " LoB.");
+		}
+		for (int i = 0; i < l.length; ++i) {
+			if (!l[i].equals(lobListe.get(i))) {
+				throw new IllegalStateException("Pfad " + pfad + " von Szenario " + szenarioId + " hat die LoB "
+						+ lobListe.get(i) + " statt " + l[i] + ".");
+			}
+		}
+		saetze.computeIfAbsent(szenarioId, k -> new TreeMap<>()).put(pfad, satz);
+	}
+
+	/**
+	 * Die Szenarien, fr die Pfade vorliegen, aufsteigend sortiert.
+	 * 
+	 * @return die IDs der Szenarien
+	 */
+	public Set<Integer> getSzenarien() {
+		return Collections.unmodifiableSet(saetze.keySet());
+	}
+
+	/**
+	 * Die Pfade eines Szenarios, aufsteigend sortiert.
+	 * 
+	 * @param szenarioId
+	 *            das Szenario
+	 * @return die Pfade
+	 */
+	public Set<Integer> getPfade(final int szenarioId) {
+		final TreeMap<Integer, double[]> s = saetze.get(szenarioId);
+		return s == null ? Collections.emptySet() : Collections.unmodifiableSet(s.keySet());
+	}
+
+	/**
+	 * Die LoB eines Szenarios in der Reihenfolge der Stze.
+	 * 
+	 * @param szenarioId
+	 *            das Szenario
+	 * @return die LoB
+	 */
+	public List<String> getLobs(final int szenarioId) {
+		final String[] l = lobs.get(szenarioId);
+		return l == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(l));
+	}
+
+	/**
+	 * Werte der Kennzahlen eines Pfades, wie {@link KennzahlenPfadweise#getWerte()}.
+	 * 
+	 * @param szenarioId
+	 *            das Szenario
+	 * @param pfad
+	 *            der Pfad
+	 * @return die Werte
+	 */
+	public double[] getWerte(final int szenarioId, final int pfad) {
+		return Arrays.copyOf(satz(szenarioId, pfad), anzahlKennzahlen);
+	}
+
+	/**
+	 * Werte der Kennzahlen eines Pfades und einer LoB, wie {@link KennzahlenPfadweiseLoB#getWerte()}.
+	 * 
+	 * @param szenarioId
+	 *            das Szenario
+	 * @param pfad
+	 *            der Pfad
+	 * @param lob
+	 *            Index der LoB in {@link #getLobs(int)}
+	 * @return die Werte
+	 */
+	public double[] getWerteLob(final int szenarioId, final int pfad, final int lob) {
+		final int von = anzahlKennzahlen + lob * anzahlKennzahlenLob;
+		return Arrays.copyOfRange(satz(szenarioId, pfad), von, von + anzahlKennzahlenLob);
+	}
+
+	private double[] satz(final int szenarioId, final int pfad) {
+		final TreeMap<Integer, double[]> s = saetze.get(szenarioId);
+		final double[] satz = s == null ? null : s.get(pfad);
+		if (satz == null) {
+			throw new IllegalArgumentException("Pfad " + pfad + " von Szenario " + szenarioId + " ist nicht berechnet.");
+		}
+		return satz;
+	}
+
+	/**
+	 * Die Kennzahlen aller Pfade als Zeilen von {@link KennzahlenPfadweise}, sortiert nach Szenario und Pfad. Die Werte
+	 * werden direkt aus den Stzen gelesen.
+	 * 
+	 * @param pfad0Doppelt
+	 *            soll Pfad 0 zweimal enthalten sein (wie in der Ausgabe, wenn ab Pfad 0 gerechnet wird)?
+	 * @return die Zeilen
+	 */
+	public TableFieldDaten getKennzahlenPfadweise(final boolean pfad0Doppelt) {
+		final Zeilen zeilen = new Zeilen(spaltenGesamt, anzahlZeilen(pfad0Doppelt, false));
+		int z = 0;
+		for (Map.Entry<Integer, TreeMap<Integer, double[]>> s : saetze.entrySet()) {
+			for (Map.Entry<Integer, double[]> p : s.getValue().entrySet()) {
+				for (int n = p.getKey() == 0 && pfad0Doppelt ? 2 : 1; n > 0; --n) {
+					zeilen.set(z++, s.getKey(), p.getKey(), null, p.getValue(), 0);
+				}
+			}
+		}
+		return zeilen;
+	}
+
+	/**
+	 * Die Kennzahlen aller Pfade und LoB als Zeilen von {@link KennzahlenPfadweiseLoB}, sortiert nach Szenario und
+	 * Pfad, innerhalb eines Pfades in der Reihenfolge von {@link #getLobs(int)}. Die Werte werden direkt aus den Stzen
+	 * gelesen.
+	 * 
+	 * @param pfad0Doppelt
+	 *            soll Pfad 0 zweimal enthalten sein (wie in der Ausgabe, wenn ab Pfad 0 gerechnet wird)?
+	 * @return die Zeilen
+	 */
+	public TableFieldDaten getKennzahlenPfadweiseLoB(final boolean pfad0Doppelt) {
+		final Zeilen zeilen = new Zeilen(spaltenLob, anzahlZeilen(pfad0Doppelt, true));
+		int z = 0;
+		for (Map.Entry<Integer, TreeMap<Integer, double[]>> s : saetze.entrySet()) {
+			final String[] l = lobs.get(s.getKey());
+			for (Map.Entry<Integer, double[]> p : s.getValue().entrySet()) {
+				for (int n = p.getKey() == 0 && pfad0Doppelt ? 2 : 1; n > 0; --n) {
+					for (int i = 0; i < l.length; ++i) {
+						zeilen.set(z++, s.getKey(), p.getKey(), l[i], p.getValue(), getAnfangLob(i));
+					}
+				}
+			}
+		}
+		return zeilen;
+	}
+
+	private int anzahlZeilen(final boolean pfad0Doppelt, final boolean jeLob) {
+		int anzahl = 0;
+		for (Map.Entry<Integer, TreeMap<Integer, double[]>> s : saetze.entrySet()) {
+			final int pfade = s.getValue().size() + (pfad0Doppelt && s.getValue().containsKey(0) ? 1 : 0);
+			anzahl += jeLob ? pfade * lobs.get(s.getKey()).length : pfade;
+		}
+		return anzahl;
+	}
+
+	/**
+	 * Zeilen, deren Werte in den Stzen stehen; je Zeile wird nur der Satz und der Beginn des Blocks gespeichert.
+	 */
+	private static final class Zeilen implements TableFieldDaten {
+		private final int[] spalten;
+		private final int[] szenarioId;
+		private final int[] pfad;
+		private final String[] lob;
+		private final double[][] satz;
+		private final int[] von;
+
+		Zeilen(final int[] spalten, final int anzahl) {
+			this.spalten = spalten;
+			szenarioId = new int[anzahl];
+			pfad = new int[anzahl];
+			lob = new String[anzahl];
+			satz = new double[anzahl][];
+			von = new int[anzahl];
+		}
+
+		void set(final int zeile, final int szenarioId, final int pfad, final String lob, final double[] satz,
+				final int von) {
+			this.szenarioId[zeile] = szenarioId;
+			this.pfad[zeile] = pfad;
+			this.lob[zeile] = lob;
+			this.satz[zeile] = satz;
+			this.von[zeile] = von;
+		}
+
+		@Override
+		public int size() {
+			return satz.length;
+		}
+
+		@Override
+		public double getDouble(final int zeile, final TableFieldZugriff.Spalte spalte) {
+			final int i = spalten[spalte.getIndex()];
+			if (i >= 0) {
+				return satz[zeile][von[zeile] + i];
+			}
+			if (i == LOB) {
+				throw new IllegalStateException("Das Feld " + spalte.getName() + " ist nicht numerisch.");
+			}
+			return getInt(zeile, spalte);
+		}
+
+		@Override
+		public int getInt(final int zeile, final TableFieldZugriff.Spalte spalte) {
+			switch (spalten[spalte.getIndex()]) {
+			case SZENARIO:
+				return szenarioId[zeile];
+			case PFAD:
+				return pfad[zeile];
+			default:
+				throw new IllegalStateException("Das Feld " + spalte.getName() + " ist nicht vom Typ int.");
+			}
+		}
+
+		@Override
+		public Object get(final int zeile, final TableFieldZugriff.Spalte spalte) {
+			final int i = spalten[spalte.getIndex()];
+			if (i >= 0) {
+				return satz[zeile][von[zeile] + i];
+			}
+			if (i == LOB) {
+				return lob[zeile];
+			}
+			return getInt(zeile, spalte);
+		}
+	}
+}
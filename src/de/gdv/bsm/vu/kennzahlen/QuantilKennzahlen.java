@@ -0,0 +1,169 @@
+package de.gdv.bsm.vu.kennzahlen;
+
+import java.io.PrintStream;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quantile der Verteilung ausgewhlter pfadweiser Kennzahlen eines Stressszenarios, gesamt und je LoB. Die Pfade werden
+ * einzeln hinzugefgt, je Kennzahl wird eine {@link QuantilSkizze} fortgeschrieben. Kennzahlen, die es je LoB nicht
+ * gibt (zag), werden nur gesamt gefhrt.
+ * <p/>
+ * Objekte verschiedener Threads oder Teillufe knnen mit {@link #add(QuantilKennzahlen)} zusammengefhrt werden.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class QuantilKennzahlen {
+	/** Feldnamen der Kennzahlen, deren Quantile bestimmt werden. */
+	public static final List<String> KENNZAHLEN = Arrays.asList("be", "zag", "ueberschussFond", "optionen");
+	/** Niveaus der ausgegebenen Quantile. */
+	public static final double[] NIVEAUS = { 0.005, 0.05, 0.5, 0.95, 0.995 };
+	/** Bezeichnung der Gesamtwerte in der Spalte LoB. */
+	public static final String GESAMT = "Gesamt";
+
+	// Position der Kennzahlen im Block des gesamten Bestands bzw. einer LoB im Satz von PfadErgebnisse, -1 falls nicht
+	// vorhanden:
+	private static final int[] indexGesamt = index(KennzahlenPfadweise.getKennzahlNamen());
+	private static final int[] indexLob = index(KennzahlenPfadweiseLoB.getKennzahlNamen());
+
+	// Skizzen je LoB (Gesamt zuerst) und Kennzahl:
+	private final Map<String, QuantilSkizze[]> skizzen = new LinkedHashMap<>();
+
+	private static int[] index(final List<String> namen) {
+		final int[] index = new int[KENNZAHLEN.size()];
+		for (int i = 0; i < index.length; ++i) {
+			index[i] = namen.indexOf(KENNZAHLEN.get(i));
+		}
+		return index;
+	}
+
+	/**
+	 * Fge die Kennzahlen eines Pfades hinzu.
+	 * 
+	 * @param lobs
+	 *            die LoB in der Reihenfolge des Satzes
+	 * @param satz
+	 *            der Satz des Pfades, siehe {@link PfadErgebnisse}
+	 */
+	public void add(final List<String> lobs, final double[] satz) {
+		add(GESAMT, indexGesamt, satz, 0);
+		for (int l = 0; l < lobs.size(); ++l) {
+			add(lobs.get(l), indexLob, satz, PfadErgebnisse.getAnfangLob(l));
+		}
+	}
+
+	private void add(final String lob, final int[] index, final double[] satz, final int von) {
+		final QuantilSkizze[] s = skizzen(lob, index);
+		for (int i = 0; i < index.length; ++i) {
+			if (index[i] >= 0) {
+				s[i].add(satz[von + index[i]]);
+			}
+		}
+	}
+
+	private QuantilSkizze[] skizzen(final String lob, final int[] index) {
+		QuantilSkizze[] s = skizzen.get(lob);
+		if (s == null) {
+			s = new QuantilSkizze[index.length];
+			for (int i = 0; i < index.length; ++i) {
+				if (index[i] >= 0) {
+					s[i] = new QuantilSkizze();
+				}
+			}
+			skizzen.put(lob, s);
+		}
+		return s;
+	}
+
+	/**
+	 * Fhre ein anderes Objekt mit diesem zusammen.
+	 * 
+	 * @param q
+	 *            das andere Objekt
+	 */
+	public void add(final QuantilKennzahlen q) {
+		for (Map.Entry<String, QuantilSkizze[]> e : q.skizzen.entrySet()) {
+			final QuantilSkizze[] s = skizzen(e.getKey(), GESAMT.equals(e.getKey()) ? indexGesamt : indexLob);
+			for (int i = 0; i < s.length; ++i) {
+				if (s[i] != null) {
+					s[i].add(e.getValue()[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Skizze einer Kennzahl.
+	 * 
+	 * @param lob
+	 *            die LoB oder {@link #GESAMT}
+	 * @param kennzahl
+	 *            Feldname der Kennzahl aus {@link #KENNZAHLEN}
+	 * @return die Skizze, oder null, wenn fr diese Kennzahl und LoB kein Pfad vorliegt
+	 */
+	public QuantilSkizze getSkizze(final String lob, final String kennzahl) {
+		final int i = KENNZAHLEN.indexOf(kennzahl);
+		if (i < 0) {
+			throw new IllegalArgumentException("Fr die Kennzahl " + kennzahl + " werden keine Quantile bestimmt.");
+		}
+		final QuantilSkizze[] s = skizzen.get(lob);
+		return s == null ? null : s[i];
+	}
+
+	/**
+	 * Schreibe die berschrift zu {@link #write(PrintStream, String)}.
+	 * 
+	 * @param out
+	 *            Ausgabe
+	 * @param kopf
+	 *            die berschrift der fhrenden Spalten, ohne abschlieendes Semikolon
+	 */
+	public static void writeHeader(final PrintStream out, final String kopf) {
+		out.print(kopf + ";LoB;Kennzahl;Anzahl Pfade");
+		for (double niveau : NIVEAUS) {
+			out.print(";Quantil " + new DecimalFormat("#.#").format(100.0 * niveau) + "%");
+		}
+		out.println();
+	}
+
+	/**
+	 * Schreibe die Quantile aller LoB und Kennzahlen, je LoB und Kennzahl eine Zeile. Nicht definierte Quantile werden
+	 * wie in {@link Schaetzer#write(PrintStream, String)} als leere Zelle geschrieben.
+	 * 
+	 * @param out
+	 *            Ausgabe
+	 * @param kopf
+	 *            die fhrenden Spalten der Zeilen, ohne abschlieendes Semikolon
+	 */
+	public void write(final PrintStream out, final String kopf) {
+		final DecimalFormat df = new DecimalFormat("#.##############################");
+		for (Map.Entry<String, QuantilSkizze[]> e : skizzen.entrySet()) {
+			for (int i = 0; i < KENNZAHLEN.size(); ++i) {
+				final QuantilSkizze s = e.getValue()[i];
+				if (s == null) {
+					continue;
+				}
+				out.print(kopf + ";" + e.getKey() + ";" + KENNZAHLEN.get(i) + ";" + s.getAnzahl());
+				for (double niveau : NIVEAUS) {
+					out.print(";" + Schaetzer.format(df, s.getQuantil(niveau)));
+				}
+				out.println();
+			}
+		}
+	}
+}
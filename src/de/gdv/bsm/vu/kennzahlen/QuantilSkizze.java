@@ -0,0 +1,216 @@
+package de.gdv.bsm.vu.kennzahlen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Speichersparende Schtzung von Quantilen einer Reihe von Werten (Verfahren nach Karnin, Lang und Liberty, KLL).
+ * Die Werte werden in Stufen abgelegt; luft eine Stufe ber, so wird sie sortiert und jeder zweite Wert mit doppeltem
+ * Gewicht in die nchste Stufe bernommen. Der Speicherbedarf ist unabhngig von der Anzahl der Werte durch etwa
+ * <code>3 * k</code> Werte beschrnkt. Solange nicht mehr als <code>k</code> Werte hinzugefgt wurden, sind die
+ * Quantile exakt.
+ * <p/>
+ * Skizzen verschiedener Threads oder Teillufe knnen mit {@link #add(QuantilSkizze)} zusammengefhrt werden. Die
+ * Verdichtung ist deterministisch, bei gleicher Reihenfolge der Werte ist das Ergebnis daher reproduzierbar.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class QuantilSkizze {
+	/** Standardgre der obersten Stufe. */
+	public static final int K_STANDARD = 1000;
+
+	private final int k;
+	private final List<Stufe> stufen = new ArrayList<>();
+	private long anzahl = 0;
+
+	/**
+	 * Eine Stufe der Skizze. Jeder Wert der Stufe h steht fr <code>2^h</code> Werte.
+	 */
+	private static final class Stufe {
+		private double[] werte = new double[8];
+		private int anzahl = 0;
+		// bei der nchsten Verdichtung werden die Werte mit ungeradem Index bernommen
+		private boolean versatz = false;
+
+		private void add(final double x) {
+			if (anzahl == werte.length) {
+				werte = Arrays.copyOf(werte, 2 * anzahl);
+			}
+			werte[anzahl++] = x;
+		}
+	}
+
+	/**
+	 * Erstelle eine leere Skizze mit der Standardgre.
+	 */
+	public QuantilSkizze() {
+		this(K_STANDARD);
+	}
+
+	/**
+	 * Erstelle eine leere Skizze.
+	 * 
+	 * @param k
+	 *            Gre der obersten Stufe, bestimmt die Genauigkeit
+	 */
+	public QuantilSkizze(final int k) {
+		if (k < 2) {
+			throw new IllegalArgumentException("Die Gre der Skizze muss mindestens 2 sein: " + k);
+		}
+		this.k = k;
+		stufen.add(new Stufe());
+	}
+
+	/**
+	 * Fge einen Wert hinzu.
+	 * 
+	 * @param x
+	 *            der Wert
+	 */
+	public void add(final double x) {
+		stufen.get(0).add(x);
+		++anzahl;
+		verdichten();
+	}
+
+	/**
+	 * Fhre eine andere Skizze mit dieser zusammen.
+	 * 
+	 * @param s
+	 *            die andere Skizze
+	 */
+	public void add(final QuantilSkizze s) {
+		for (int h = 0; h < s.stufen.size(); ++h) {
+			if (h == stufen.size()) {
+				stufen.add(new Stufe());
+			}
+			final Stufe von = s.stufen.get(h);
+			for (int i = 0; i < von.anzahl; ++i) {
+				stufen.get(h).add(von.werte[i]);
+			}
+		}
+		anzahl += s.anzahl;
+		verdichten();
+	}
+
+	/**
+	 * Anzahl der hinzugefgten Werte.
+	 * 
+	 * @return die Anzahl
+	 */
+	public long getAnzahl() {
+		return anzahl;
+	}
+
+	/**
+	 * Schtze ein Quantil. Geliefert wird der kleinste gespeicherte Wert, bis zu dem das kumulierte Gewicht mindestens
+	 * den Anteil <code>q</code> aller Werte erreicht.
+	 * 
+	 * @param q
+	 *            das Niveau zwischen 0 und 1
+	 * @return das Quantil, oder NaN wenn keine Werte vorliegen
+	 */
+	public double getQuantil(final double q) {
+		if (anzahl == 0) {
+			return Double.NaN;
+		}
+		int n = 0;
+		for (Stufe s : stufen) {
+			n += s.anzahl;
+		}
+		// Werte und Gewichte gemeinsam nach den Werten sortieren:
+		final double[] werte = new double[n];
+		final long[] gewichte = new long[n];
+		final Integer[] index = new Integer[n];
+		int j = 0;
+		for (int h = 0; h < stufen.size(); ++h) {
+			final Stufe s = stufen.get(h);
+			for (int i = 0; i < s.anzahl; ++i) {
+				werte[j] = s.werte[i];
+				gewichte[j] = 1L << h;
+				index[j] = j;
+				++j;
+			}
+		}
+		Arrays.sort(index, (a, b) -> Double.compare(werte[a], werte[b]));
+		final double ziel = q * anzahl;
+		long kumuliert = 0;
+		for (int i = 0; i < n; ++i) {
+			kumuliert += gewichte[index[i]];
+			if (kumuliert >= ziel) {
+				return werte[index[i]];
+			}
+		}
+		return werte[index[n - 1]];
+	}
+
+	/**
+	 * Kapazitt einer Stufe. Die oberste Stufe fasst k Werte, darunter nimmt die Kapazitt je Stufe um den Faktor 2/3
+	 * ab.
+	 */
+	private int kapazitaet(final int h) {
+		final int tiefe = stufen.size() - 1 - h;
+		return Math.max(2, (int) Math.ceil(k * Math.pow(2.0 / 3.0, tiefe)));
+	}
+
+	/**
+	 * Verdichte, bis alle Werte in die Kapazitt passen.
+	 */
+	private void verdichten() {
+		while (true) {
+			int groesse = 0;
+			int kapazitaet = 0;
+			for (int h = 0; h < stufen.size(); ++h) {
+				groesse += stufen.get(h).anzahl;
+				kapazitaet += kapazitaet(h);
+			}
+			if (groesse <= kapazitaet) {
+				return;
+			}
+			for (int h = 0; h < stufen.size(); ++h) {
+				if (stufen.get(h).anzahl >= kapazitaet(h)) {
+					verdichten(h);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * bernimm jeden zweiten Wert einer Stufe sortiert in die nchste Stufe. Bei ungerader Anzahl bleibt der grte
+	 * Wert in der Stufe.
+	 */
+	private void verdichten(final int h) {
+		if (h + 1 == stufen.size()) {
+			stufen.add(new Stufe());
+		}
+		final Stufe s = stufen.get(h);
+		final Stufe naechste = stufen.get(h + 1);
+		Arrays.sort(s.werte, 0, s.anzahl);
+		final int paare = s.anzahl / 2;
+		final int versatz = s.versatz ? 1 : 0;
+		s.versatz = !s.versatz;
+		for (int i = 0; i < paare; ++i) {
+			naechste.add(s.werte[2 * i + versatz]);
+		}
+		if (s.anzahl % 2 == 1) {
+			s.werte[0] = s.werte[s.anzahl - 1];
+			s.anzahl = 1;
+		} else {
+			s.anzahl = 0;
+		}
+	}
+}
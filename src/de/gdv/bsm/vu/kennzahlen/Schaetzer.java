@@ -0,0 +1,229 @@
+package de.gdv.bsm.vu.kennzahlen;
+
+import java.io.PrintStream;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * Schtzer fr Mittelwert und Streuung einer Reihe pfadweiser Kennzahlen. Die Pfade werden einzeln hinzugefgt, es
+ * werden nur Summen mitgefhrt (Verfahren nach Welford). Zustzlich wird je Kennzahl die Kovarianz mit der zugehrigen
+ * CV-Kennzahl (siehe {@link de.gdv.bsm.intern.applic.TableField#cvKennzahlen()}) bestimmt.
+ * <p/>
+ * Schtzer verschiedener Threads oder Teillufe knnen mit {@link #add(Schaetzer)} zusammengefhrt werden.
+ * <p/>
+ * <h4>Rechtliche Hinweise</h4>
+ * 
+ * Das Simulationsmodell ist ein kostenfreies Produkt des GDV, das nach bestem Wissen und Gewissen von den zustndigen
+ * Mitarbeitern entwickelt wurde. Trotzdem ist nicht auszuschlieen, dass sich Fehler eingeschlichen haben oder dass die
+ * Berechnungen unter speziellen Datenbedingungen fehlerbehaftet sind. Entsprechende Rckmeldungen wrde der GDV
+ * begren. Der GDV bernimmt aber keine Haftung fr die fehlerfreie Funktionalitt des Modells oder den korrekten
+ * Einsatz im Unternehmen.
+ * <p/>
+ * Alle Inhalte des Simulationsmodells einschlielich aller Tabellen, Grafiken und Erluterungen sind urheberrechtlich
+ * geschtzt. Die ausschlielichen Nutzungsrechte liegen beim Gesamtverband der Deutschen Versicherungswirtschaft e.V.
+ * (GDV).
+ * <p/>
+ * <b>Simulationsmodell  GDV 2016</b>
+ */
+public class Schaetzer {
+	/** Quantil der Standardnormalverteilung fr das zweiseitige 95%-Konfidenzintervall. */
+	public static final double Z_95 = 1.959963984540054;
+
+	private long anzahl = 0;
+	private final double[] mittel;
+	private final double[] mittelCv;
+	// Summe der quadrierten Abweichungen vom Mittelwert:
+	private final double[] m2;
+	private final double[] m2Cv;
+	// Summe der Produkte der Abweichungen von Kennzahl und CV-Kennzahl:
+	private final double[] co;
+
+	/**
+	 * Erstelle einen leeren Schtzer.
+	 * 
+	 * @param anzahlKennzahlen
+	 *            Anzahl der Kennzahlen je Pfad
+	 */
+	public Schaetzer(final int anzahlKennzahlen) {
+		mittel = new double[anzahlKennzahlen];
+		mittelCv = new double[anzahlKennzahlen];
+		m2 = new double[anzahlKennzahlen];
+		m2Cv = new double[anzahlKennzahlen];
+		co = new double[anzahlKennzahlen];
+	}
+
+	/**
+	 * Fge die Kennzahlen eines Pfades hinzu.
+	 * 
+	 * @param satz
+	 *            der Satz des Pfades, siehe {@link PfadErgebnisse}
+	 * @param von
+	 *            Beginn der Kennzahlen im Satz
+	 * @param cvIndex
+	 *            je Kennzahl die Position der zugehrigen CV-Kennzahl im Satz
+	 */
+	public void add(final double[] satz, final int von, final int[] cvIndex) {
+		if (cvIndex.length != mittel.length || von + mittel.length > satz.length) {
+			throw new IllegalArgumentException("Falsche Anzahl Kennzahlen: " + cvIndex.length);
+		}
+		++anzahl;
+		for (int i = 0; i < mittel.length; ++i) {
+			final double wert = satz[von + i];
+			final double cvWert = satz[cvIndex[i]];
+			final double d = wert - mittel[i];
+			final double dCv = cvWert - mittelCv[i];
+			mittel[i] += d / anzahl;
+			mittelCv[i] += dCv / anzahl;
+			m2[i] += d * (wert - mittel[i]);
+			m2Cv[i] += dCv * (cvWert - mittelCv[i]);
+			co[i] += d * (cvWert - mittelCv[i]);
+		}
+	}
+
+	/**
+	 * Fhre einen anderen Schtzer mit diesem zusammen (Verfahren nach Chan). Das Ergebnis entspricht bis auf Rundung
+	 * dem Hinzufgen aller Pfade des anderen Schtzers.
+	 * 
+	 * @param s
+	 *            der andere Schtzer
+	 */
+	public void add(final Schaetzer s) {
+		if (s.mittel.length != mittel.length) {
+			throw new IllegalArgumentException("Falsche Anzahl Kennzahlen: " + s.mittel.length);
+		}
+		if (s.anzahl == 0) {
+			return;
+		}
+		final long n = anzahl + s.anzahl;
+		final double faktor = (double) anzahl * s.anzahl / n;
+		for (int i = 0; i < mittel.length; ++i) {
+			final double d = s.mittel[i] - mittel[i];
+			final double dCv = s.mittelCv[i] - mittelCv[i];
+			m2[i] += s.m2[i] + d * d * faktor;
+			m2Cv[i] += s.m2Cv[i] + dCv * dCv * faktor;
+			co[i] += s.co[i] + d * dCv * faktor;
+			mittel[i] += d * s.anzahl / n;
+			mittelCv[i] += dCv * s.anzahl / n;
+		}
+		anzahl = n;
+	}
+
+	/**
+	 * Anzahl der hinzugefgten Pfade.
+	 * 
+	 * @return die Anzahl
+	 */
+	public long getAnzahl() {
+		return anzahl;
+	}
+
+	/**
+	 * Mittelwert einer Kennzahl.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Wert
+	 */
+	public double getMittelwert(final int i) {
+		return anzahl == 0 ? Double.NaN : mittel[i];
+	}
+
+	/**
+	 * Empirische (erwartungstreue) Varianz einer Kennzahl.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Wert
+	 */
+	public double getVarianz(final int i) {
+		return anzahl < 2 ? Double.NaN : m2[i] / (anzahl - 1);
+	}
+
+	/**
+	 * Standardfehler des Mittelwerts einer Kennzahl.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Wert
+	 */
+	public double getStandardfehler(final int i) {
+		return Math.sqrt(getVarianz(i) / anzahl);
+	}
+
+	/**
+	 * Variationskoeffizient einer Kennzahl, Standardabweichung durch Betrag des Mittelwerts.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Wert
+	 */
+	public double getVariationskoeffizient(final int i) {
+		return Math.sqrt(getVarianz(i)) / Math.abs(getMittelwert(i));
+	}
+
+	/**
+	 * Korrelation einer Kennzahl mit ihrer CV-Kennzahl.
+	 * 
+	 * @param i
+	 *            Index der Kennzahl
+	 * @return der Wert
+	 */
+	public double getKorrelationCv(final int i) {
+		return anzahl < 2 ? Double.NaN : co[i] / Math.sqrt(m2[i] * m2Cv[i]);
+	}
+
+	/**
+	 * Schreibe die berschrift zu {@link #write(PrintStream, String)}.
+	 * 
+	 * @param out
+	 *            Ausgabe
+	 * @param kopf
+	 *            die berschrift der fhrenden Spalten, ohne abschlieendes Semikolon
+	 * @param kennzahlen
+	 *            Namen der Kennzahlen
+	 */
+	public static void writeHeader(final PrintStream out, final String kopf, final List<String> kennzahlen) {
+		out.print(kopf + ";Anzahl Pfade");
+		for (String k : kennzahlen) {
+			out.print(";" + k + " Mittelwert;" + k + " Standardabweichung;" + k + " Standardfehler;" + k
+					+ " Variationskoeffizient;" + k + " KI 95% unten;" + k + " KI 95% oben;" + k + " Korrelation CV");
+		}
+		out.println();
+	}
+
+	/**
+	 * Schreibe die Schtzer aller Kennzahlen in eine Zeile. Nicht definierte Schtzer werden als leere Zelle
+	 * geschrieben.
+	 * 
+	 * @param out
+	 *            Ausgabe
+	 * @param kopf
+	 *            die fhrenden Spalten der Zeile, ohne abschlieendes Semikolon
+	 */
+	public void write(final PrintStream out, final String kopf) {
+		final DecimalFormat df = new DecimalFormat("#.##############################");
+		out.print(kopf + ";" + anzahl);
+		for (int i = 0; i < mittel.length; ++i) {
+			final double m = getMittelwert(i);
+			final double se = getStandardfehler(i);
+			out.print(";" + format(df, m) + ";" + format(df, Math.sqrt(getVarianz(i))) + ";" + format(df, se) + ";"
+					+ format(df, getVariationskoeffizient(i)) + ";" + format(df, m - Z_95 * se) + ";"
+					+ format(df, m + Z_95 * se) + ";" + format(df, getKorrelationCv(i)));
+		}
+		out.println();
+	}
+
+	/**
+	 * Formatiere einen Wert fr die Dateien der stochastischen Kennzahlen. Nicht definierte Werte (z. B. die Streuung
+	 * bei weniger als zwei Pfaden) bleiben leer, damit sie nicht mit einem geschtzten Wert von 0 verwechselt werden.
+	 * 
+	 * @param df
+	 *            das Format
+	 * @param d
+	 *            der Wert
+	 * @return der Text der Zelle
+	 */
+	static String format(final DecimalFormat df, final double d) {
+		return Double.isFinite(d) ? df.format(d) : "";
+	}
+}
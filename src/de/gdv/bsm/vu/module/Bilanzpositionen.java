@@ -2,6 +2,7 @@ package de.gdv.bsm.vu.module;
 
 import static de.gdv.bsm.vu.module.Functions.inProzent;
 import static de.gdv.bsm.vu.module.Functions.nanZero;
+import static de.gdv.bsm.vu.module.Functions.zinsFaktorMonat;
 
 /**
  * VU-Funktionen fr die Bilanzpositionen.
@@ -265,7 +266,36 @@ public class Bilanzpositionen {
 	public static double surplusfondRzg(final double cfSurplus, final double deltaLn, final double deltaL,
 			final double deltaLRzgN, final double deltaLRzg, final double DR_ges, final double DR_ges_rz,
 			final String Flag_ueb) {
-		if (!Flag_ueb.equals("UEB")) {
+		return surplusfondRzg(cfSurplus, deltaLn, deltaL, deltaLRzgN, deltaLRzg, DR_ges, DR_ges_rz,
+				Flag_ueb.equals("UEB"));
+	}
+
+	/**
+	 * Wie {@link #surplusfondRzg(double, double, double, double, double, double, double, String)}, mit bereits
+	 * ausgewertetem Kennzeichen.
+	 * 
+	 * @param cfSurplus
+	 *            Cashflow, der fr die Berechnung des stochastischen Surplusfonds relevant ist
+	 * @param deltaLn
+	 *            Delta zw. gar. und ges. Leistunge im Jahr t+1
+	 * @param deltaL
+	 *            Delta zw. gar. und ges. Leistunge im Jahr t
+	 * @param deltaLRzgN
+	 *            Delta zw. gar. und ges. Leistunge im Jahr t+1 fr die rzg-Bestandsgruppe
+	 * @param deltaLRzg
+	 *            Delta zw. gar. und ges. Leistunge im Jahr t fr die rzg-Bestandsgruppe
+	 * @param DR_ges
+	 *            Lock-In-Deckungsrckstellung berschussberechtigtes Geschft
+	 * @param DR_ges_rz
+	 *            Lock-In-Deckungsrckstellung der Bestandsgruppe
+	 * @param ueb
+	 *            true bei berschussberechtigtem Geschft
+	 * @return der Wert
+	 */
+	public static double surplusfondRzg(final double cfSurplus, final double deltaLn, final double deltaL,
+			final double deltaLRzgN, final double deltaLRzg, final double DR_ges, final double DR_ges_rz,
+			final boolean ueb) {
+		if (!ueb) {
 			return 0.0;
 		}
 		if (deltaLn > 0.001) {
@@ -312,11 +342,43 @@ public class Bilanzpositionen {
 	public static double rohuebKpRzg(final double aKe, final double ke, final double drGes, final double drGesRzg,
 			final double rmz, final double re, final double ueE, final double drV, final double drKpV,
 			final String minMax) {
+		return rohuebKpRzg(aKe, ke, drGes, drGesRzg, rmz, re, ueE, drV, drKpV, minMax.equals("pos"));
+	}
+
+	/**
+	 * Wie {@link #rohuebKpRzg(double, double, double, double, double, double, double, double, double, String)}, mit
+	 * bereits ausgewertetem Kennzeichen.
+	 * 
+	 * @param aKe
+	 *            anrechenbare Kapitalertrge
+	 * @param ke
+	 *            Kapitalertrag abzgl. Aufwand Kapitalanlage
+	 * @param drGes
+	 *            Lock-In-Deckungsrckstellung aggregiert inkl. SAF
+	 * @param drGesRzg
+	 *            Lock-In-Deckungsrckstellung pro RZG inkl. SAF
+	 * @param rmz
+	 *            rechnungsmiger Zinsaufwand zzgl. Aufwand ZZR
+	 * @param re
+	 *            Risikoergebnis
+	 * @param ueE
+	 *            briges Ergebnis
+	 * @param drV
+	 *            Deckungsrckstellung Vorjahr
+	 * @param drKpV
+	 *            Deckungsrckstellung aus knftigen Prmien, Vorjahr
+	 * @param pos
+	 *            true fr den positiven Teil (pos), sonst der negative Teil
+	 * @return Rohberschuss
+	 */
+	public static double rohuebKpRzg(final double aKe, final double ke, final double drGes, final double drGesRzg,
+			final double rmz, final double re, final double ueE, final double drV, final double drKpV,
+			final boolean pos) {
 		if (nanZero(drV) < 0.01 || nanZero(drGes) < 0.01) {
 			return 0.0;
 		} else {
 			final double rohuebRzg;
-			if (minMax.equals("pos")) {
+			if (pos) {
 				rohuebRzg = Math.max((nanZero(drGesRzg) / drGes) * aKe - rmz + re + ueE, 0.0);
 			} else {
 				rohuebRzg = Math.min((nanZero(drGesRzg) / drGes) * aKe - rmz + re + ueE, 0.0);
@@ -477,9 +539,43 @@ public class Bilanzpositionen {
 	public static double cashflowZuebRzg(final double bar, final double le, final double lGarKv, final double lambdaV,
 			final double kaGarXs, final double lbwGarV, final double monat, final double t, final double omega,
 			final int rz, final double laFlv) {
+		return cashflowZuebRzg(bar, le, lGarKv, lambdaV, kaGarXs, lbwGarV, zinsFaktorMonat(rz, monat), t, omega,
+				laFlv);
+	}
+
+	/**
+	 * Wie
+	 * {@link #cashflowZuebRzg(double, double, double, double, double, double, double, double, double, int, double)},
+	 * mit bereits ermitteltem Zinsfaktor.
+	 * 
+	 * @param bar
+	 *            Barauszahlung
+	 * @param le
+	 *            Leistungeserhhung, gesamt
+	 * @param lGarKv
+	 *            smtliche garantierte Leistungen, mit Kapitalwahl, ohne Storno
+	 * @param lambdaV
+	 *            Gesamtstorno, Vorjahr
+	 * @param kaGarXs
+	 *            Kapitalabfindung Excess Betrag
+	 * @param lbwGarV
+	 *            Leistungsbarwert, garantiert, Vorjahr
+	 * @param zinsFaktor
+	 *            Zinsfaktor bis zum Flligkeitsmonat, siehe {@link Functions#zinsFaktorMonat(double, double)}
+	 * @param t
+	 *            Zeit
+	 * @param omega
+	 *            Projektionslnge
+	 * @param laFlv
+	 *            Leistungsanpassung, FLV
+	 * @return der Wert
+	 */
+	public static double cashflowZuebRzg(final double bar, final double le, final double lGarKv, final double lambdaV,
+			final double kaGarXs, final double lbwGarV, final double zinsFaktor, final double t, final double omega,
+			final double laFlv) {
 		final double cashflowZuebRzg = (nanZero(le) - nanZero(laFlv)) * (lambdaV * lGarKv + kaGarXs);
 		if (nanZero(lbwGarV) > 0.001) {
-			return cashflowZuebRzg + nanZero(bar) * Math.pow(1.0 + inProzent(rz), monat / 12.0);
+			return cashflowZuebRzg + nanZero(bar) * zinsFaktor;
 		} else {
 			return cashflowZuebRzg;
 		}
@@ -1,13 +1,11 @@
 package de.gdv.bsm.vu.module;
 
-import static de.gdv.bsm.vu.module.Functions.inProzent;
 import static de.gdv.bsm.vu.module.Functions.nanZero;
+import static de.gdv.bsm.vu.module.Functions.zinsFaktorMonat;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 
+import de.gdv.bsm.intern.math.IndexSortierung;
 import de.gdv.bsm.intern.params.VUHistorie;
 import de.gdv.bsm.intern.params.VUHistorieZeile;
 import de.gdv.bsm.vu.berechnung.FlvZeile;
@@ -357,39 +355,54 @@ public class Deklaration {
 	 * @return Gesamtverzinsung
 	 */
 	public static double vzGes(final double deklZins, final List<RzgZeile> rzgZeilen) {
+		return vzGes(deklZins, rzgZeilen, new IndexSortierung(rzgZeilen.size()));
+	}
+
+	/**
+	 * Wie {@link #vzGes(double, List)}, die Zinsgenerationen werden aber in einem wiederverwendbaren Arbeitsbereich
+	 * sortiert. Gleiche Sortierwerte bleiben in der Reihenfolge der rzg-Zeilen.
+	 * 
+	 * @param deklZins
+	 *            Zu verteilende Deklaration zum Zeitpunkt T
+	 * @param rzgZeilen
+	 *            rzg-Zeilen, die vom entsprechenden Agg Aggregiert werden
+	 * @param sortierung
+	 *            Arbeitsbereich fr die Sortierung, wird berschrieben
+	 * @return Gesamtverzinsung
+	 */
+	public static double vzGes(final double deklZins, final List<RzgZeile> rzgZeilen,
+			final IndexSortierung sortierung) {
 		// Wenn es nichts zu verteilen gibt ist die Hhe der Gesamtverzinsung Null. In jedem anderen Fall
 		// muss die Gesamtverzinsung hher als der kleinste Rechnungszins sein sein
 		if (deklZins < 0.001) {
 			return 0.0;
 		}
 
-		// Mappt zinsGenerationen zu den passenden RzgZeilen:
-		final Map<Double, List<RzgZeile>> rzgZuSortValue = new TreeMap<>();
-		for (RzgZeile z : rzgZeilen) {
-			if (z.getUebNueb().equals("UEB")) {
+		// Sortiert die Zinsgenerationen nach ihrem Sortierwert:
+		sortierung.clear();
+		for (int i = 0; i < rzgZeilen.size(); ++i) {
+			final RzgZeile z = rzgZeilen.get(i);
+			if (z.isUeb()) {
 				final double sortValue = z.getVg().getDrLockInRzg() > 0.0 ? z.getRmZTarif() / z.getVg().getDrLockInRzg()
 						: 0.0;
-
-				if (!rzgZuSortValue.containsKey(sortValue)) {
-					rzgZuSortValue.put(sortValue, new ArrayList<>());
-				}
-				rzgZuSortValue.get(sortValue).add(z);
+				sortierung.add(sortValue, i);
 			}
 		}
+		sortierung.sort();
 		double dr_summe = 0.0;
 		double gew_dr_summe = 0.0;
 		double vzGes = 0.0;
-		for (double sortValue : rzgZuSortValue.keySet()) {
-			for (RzgZeile z : rzgZuSortValue.get(sortValue)) {
-				if (vzGes < sortValue && dr_summe > 0.01) {
-					return vzGes;
-				}
-				final double dr = z.getVg().getDrLockInRzg();
-				if (dr > 0.01) {
-					dr_summe += dr;
-					gew_dr_summe += z.getRmZTarif();
-					vzGes = (deklZins + gew_dr_summe) / dr_summe;
-				}
+		for (int k = 0; k < sortierung.size(); ++k) {
+			final double sortValue = sortierung.getSchluessel(k);
+			final RzgZeile z = rzgZeilen.get(sortierung.getIndex(k));
+			if (vzGes < sortValue && dr_summe > 0.01) {
+				return vzGes;
+			}
+			final double dr = z.getVg().getDrLockInRzg();
+			if (dr > 0.01) {
+				dr_summe += dr;
+				gew_dr_summe += z.getRmZTarif();
+				vzGes = (deklZins + gew_dr_summe) / dr_summe;
 			}
 		}
 		return vzGes;
@@ -419,10 +432,37 @@ public class Deklaration {
 	 */
 	public static double deklRzg(final int Methode, final double vzGes, final double rz, final double drLockin,
 			final int t, final String uebLob, final double deklZinsGes, final double deklRest) {
+		return deklRzg(Methode, vzGes, rz, drLockin, t, uebLob.equals("NUEB"), deklZinsGes, deklRest);
+	}
+
+	/**
+	 * Wie {@link #deklRzg(int, double, double, double, int, String, double, double)}, mit bereits ausgewertetem
+	 * Kennzeichen.
+	 * 
+	 * @param Methode
+	 *            Deklarationsmethode
+	 * @param vzGes
+	 *            Gesamtverzinsung
+	 * @param rz
+	 *            Rechnungszins in Basispunkten
+	 * @param drLockin
+	 *            Lock-In Deckungsrckstellung Vorjahr
+	 * @param t
+	 *            Aktueller Zeitpunkt
+	 * @param nueb
+	 *            true, wenn das Geschft nicht berschussberechtigt ist (NUEB)
+	 * @param deklZinsGes
+	 *            Deklaration des Gesamtbestands
+	 * @param deklRest
+	 *            Deklaration, rest
+	 * @return der Wert
+	 */
+	public static double deklRzg(final int Methode, final double vzGes, final double rz, final double drLockin,
+			final int t, final boolean nueb, final double deklZinsGes, final double deklRest) {
 		if (t < 1) {
 			return 0.0;
 		}
-		if (uebLob.equals("NUEB")) {
+		if (nueb) {
 			return 0.0;
 		}
 		double deklRzg = 0.0;
@@ -482,10 +522,41 @@ public class Deklaration {
 	public static double anteilDekl(final int t, final String ueBlob, final double beitragRueRzg,
 			final double beitragRueAgg, final double anteilDeklV, final double drLockInV, final double sueAfV,
 			final double drLockInUebAggV, final double sueAfAggV) {
+		return anteilDekl(t, ueBlob.equals("NUEB"), beitragRueRzg, beitragRueAgg, anteilDeklV, drLockInV, sueAfV,
+				drLockInUebAggV, sueAfAggV);
+	}
+
+	/**
+	 * Wie {@link #anteilDekl(int, String, double, double, double, double, double, double, double)}, mit bereits
+	 * ausgewertetem Kennzeichen.
+	 * 
+	 * @param t
+	 *            Zeitpunkt
+	 * @param nueb
+	 *            true, wenn das Geschft nicht berschussberechtigt ist (NUEB)
+	 * @param beitragRueRzg
+	 *            Beitrag der Bestandsgruppe zum Rohberschuss
+	 * @param beitragRueAgg
+	 *            Beitrag zum Rohberschuss, aggregiert
+	 * @param anteilDeklV
+	 *            Anteil der Bestandsgruppe an der Deklaration Vorjahr
+	 * @param drLockInV
+	 *            Lock-In Deckungsrckstellung der Bestandsgruppe Vorjahr
+	 * @param sueAfV
+	 *            Schlussberschussanteilsfonds der Bestandsgruppe Vorjahr
+	 * @param drLockInUebAggV
+	 *            Deckungsrckstellung des berschussberechtigten Geschfts Vorjahr
+	 * @param sueAfAggV
+	 *            Schlussberschussanteilsfonds Vorjahr
+	 * @return der Wert
+	 */
+	public static double anteilDekl(final int t, final boolean nueb, final double beitragRueRzg,
+			final double beitragRueAgg, final double anteilDeklV, final double drLockInV, final double sueAfV,
+			final double drLockInUebAggV, final double sueAfAggV) {
 		if (t < 1) {
 			return 0.0;
 		}
-		if (ueBlob.equals("NUEB")) {
+		if (nueb) {
 			return 0.0;
 		}
 		if (beitragRueAgg > 0.001) {
@@ -520,7 +591,30 @@ public class Deklaration {
 	 */
 	public static double sueafZufFrfbUeberlauf(final double dekl, final double deklRz, final double pRfBUeberlauf,
 			final double fRfBUeberlauf, final int t, final String uebLob) {
-		if (t != 0 && dekl > 0.001 && uebLob.equals("UEB")) {
+		return sueafZufFrfbUeberlauf(dekl, deklRz, pRfBUeberlauf, fRfBUeberlauf, t, uebLob.equals("UEB"));
+	}
+
+	/**
+	 * Wie {@link #sueafZufFrfbUeberlauf(double, double, double, double, int, String)}, mit bereits ausgewertetem
+	 * Kennzeichen.
+	 * 
+	 * @param dekl
+	 *            Deklaration Gesamt
+	 * @param deklRz
+	 *            Deklaration Bestandsgruppe
+	 * @param pRfBUeberlauf
+	 *            Anteil an dem berlauf der freien RfB der in die Deklaration fliet
+	 * @param fRfBUeberlauf
+	 *            Anteil der RfB Zufhrung der nach Deklaration und Auffllen der fRfB auf ihre Maximalgre
+	 * @param t
+	 *            Aktueller Zeitpunkt
+	 * @param ueb
+	 *            true, wenn die Bestandsgruppe berschussberechtigt ist (UEB)
+	 * @return der Wert
+	 */
+	public static double sueafZufFrfbUeberlauf(final double dekl, final double deklRz, final double pRfBUeberlauf,
+			final double fRfBUeberlauf, final int t, final boolean ueb) {
+		if (t != 0 && dekl > 0.001 && ueb) {
 			return (1 - pRfBUeberlauf) * fRfBUeberlauf * deklRz / dekl;
 		} else {
 			return 0.0;
@@ -558,7 +652,42 @@ public class Deklaration {
 	public static double sUeAfzuf(final String deckStock, final double pBarAuszAufschub, final double pSUeAFZuf,
 			final double pSUeAFZufMin, final double drLockin, final double dekl, final int t,
 			final double sUeAFZuffRfBUeberlauf, final double reDet, final double uEdet, final int omega) {
-		if (deckStock.equals("Fonds")) {
+		return sUeAfzuf(deckStock.equals("Fonds"), pBarAuszAufschub, pSUeAFZuf, pSUeAFZufMin, drLockin, dekl, t,
+				sUeAFZuffRfBUeberlauf, reDet, uEdet, omega);
+	}
+
+	/**
+	 * Wie {@link #sUeAfzuf(String, double, double, double, double, double, int, double, double, double, int)}, mit
+	 * bereits ausgewertetem Deckungsstock.
+	 * 
+	 * @param fonds
+	 *            true fr Deckungsstock Fonds
+	 * @param pBarAuszAufschub
+	 *            Zielbarauszahlung in Anteilen des Risikoergebnisses FLV Aufschubphase
+	 * @param pSUeAFZuf
+	 *            Zielzufhrung zum SAF in Prozent der Deklaration
+	 * @param pSUeAFZufMin
+	 *            Mindestzufhrung zum SAF in Prozent der garantierten Deckungsrckstellung
+	 * @param drLockin
+	 *            Lock-In-Deckungsrckstellung fr die Bestandsgruppe Vorjahr
+	 * @param dekl
+	 *            Deklaration fr die Bestandsgruppe
+	 * @param t
+	 *            Zeitpunkt
+	 * @param sUeAFZuffRfBUeberlauf
+	 *            Zufhrung zum SAF fr eine Bestandsgruppe, die durch berlauf der freien RfB verursacht wird
+	 * @param reDet
+	 *            deterministisches Risikoergebnis Folgejahr
+	 * @param uEdet
+	 *            ?
+	 * @param omega
+	 *            Projektionslnge VT
+	 * @return der Wert
+	 */
+	public static double sUeAfzuf(final boolean fonds, final double pBarAuszAufschub, final double pSUeAFZuf,
+			final double pSUeAFZufMin, final double drLockin, final double dekl, final int t,
+			final double sUeAFZuffRfBUeberlauf, final double reDet, final double uEdet, final int omega) {
+		if (fonds) {
 			if (t >= omega) {
 				return 0.0;
 			} else {
@@ -612,7 +741,35 @@ public class Deklaration {
 	public static double sueAfFlvBewegungAus(final double sueAfV, final double sueAfZuf, final double sueAf56bEntnahme,
 			final String flvFlag, final String kdsFlag, final FlvZeile flv, final int omega, final int omegaRzg,
 			final int t) {
-		if (flvFlag.equals("FLV") && kdsFlag.equals("Fonds")) {
+		return sueAfFlvBewegungAus(sueAfV, sueAfZuf, sueAf56bEntnahme, flvFlag.equals("FLV") && kdsFlag.equals("Fonds"),
+				flv, omega, omegaRzg, t);
+	}
+
+	/**
+	 * Wie {@link #sueAfFlvBewegungAus(double, double, double, String, String, FlvZeile, int, int, int)}, mit bereits
+	 * ausgewerteten Kennzeichen.
+	 * 
+	 * @param sueAfV
+	 *            Schlussberschussanteilsfonds
+	 * @param sueAfZuf
+	 *            ?
+	 * @param sueAf56bEntnahme
+	 *            ?
+	 * @param flvFonds
+	 *            true, wenn die Zeile zu einem FLV-Bestand mit Deckungsstock Fonds gehrt
+	 * @param flv
+	 *            FlvZeile mit den Daten, die ursprnglich direkt bergeben wurden
+	 * @param omega
+	 *            max. Projektionslaenge (Zeitpunkte)
+	 * @param omegaRzg
+	 *            max. Projektionslaenge (Zeitpunkte), Bestandsgruppe
+	 * @param t
+	 *            Zeit
+	 * @return der Wert
+	 */
+	public static double sueAfFlvBewegungAus(final double sueAfV, final double sueAfZuf, final double sueAf56bEntnahme,
+			final boolean flvFonds, final FlvZeile flv, final int omega, final int omegaRzg, final int t) {
+		if (flvFonds) {
 			if (flv.getFondguthabenStochZp() + flv.getlKaAufschubStoch() > 0.0 && t < omegaRzg) {
 				return flv.getBeitragRenteStoch() / (flv.getFondguthabenStochZp() + flv.getlKaAufschubStoch())
 						* (sueAfV + sueAfZuf - sueAf56bEntnahme);
@@ -661,15 +818,55 @@ public class Deklaration {
 	public static double endZahlung(final String deckungsStock, final double sUeAfEntnahme, final double lockIn,
 			final double bar, final double fRfB, final double drLockInUebV, final double drLockInRzgV,
 			final String uebLob, final int t, final int omegaRzg, final int omega, final double lbw) {
+		if (!deckungsStock.equals("KDS") && !deckungsStock.equals("Fonds")) {
+			return 0.0;
+		}
+		return endZahlung(deckungsStock.equals("Fonds"), sUeAfEntnahme, lockIn, bar, fRfB, drLockInUebV, drLockInRzgV,
+				uebLob.equals("UEB"), t, omegaRzg, omega, lbw);
+	}
+
+	/**
+	 * Wie {@link #endZahlung(String, double, double, double, double, double, double, String, int, int, int, double)}
+	 * , mit bereits ausgewerteten Kennzeichen.
+	 * 
+	 * @param fonds
+	 *            true fr Deckungsstock Fonds, false fr KDS
+	 * @param sUeAfEntnahme
+	 *            Entnahme aus dem SAF
+	 * @param lockIn
+	 *            Stochastische Lock-In der berschussbeteiligung zum Zeitpunkt T
+	 * @param bar
+	 *            Hhe der Barauszahlung zum Zeitpunkt T
+	 * @param fRfB
+	 *            Freie RfB zum Zeitpunkt T
+	 * @param drLockInUebV
+	 *            ber die berschussberechtigten Bestnde aggregierte Deckungsrckstellung (inkl. Lock-In) zum
+	 *            Zeitpunkt T-1
+	 * @param drLockInRzgV
+	 *            Deckungsrckstellung der Bestandsgruppe (inkl. Lock-In) zum Zeitpunkt T-1
+	 * @param ueb
+	 *            true, wenn die Bestandsgruppe berschussberechtigt ist (UEB)
+	 * @param t
+	 *            Zeitpunkt
+	 * @param omegaRzg
+	 *            Projektionshorizont der Bestandsgruppe
+	 * @param omega
+	 *            Projektionshorizont
+	 * @param lbw
+	 *            Leistungsbarwert nchstes Jahr
+	 * @return der Wert
+	 */
+	public static double endZahlung(final boolean fonds, final double sUeAfEntnahme, final double lockIn,
+			final double bar, final double fRfB, final double drLockInUebV, final double drLockInRzgV,
+			final boolean ueb, final int t, final int omegaRzg, final int omega, final double lbw) {
 		double endZahlung = 0.0;
-		if (lbw <= 0.001 && deckungsStock.equals("KDS")) {
+		if (lbw <= 0.001 && !fonds) {
 			endZahlung = sUeAfEntnahme + lockIn + bar;
 		}
-		if (t == omega && deckungsStock.equals("KDS") && uebLob.equals("UEB")
-				&& Functions.nanZero(drLockInUebV) > 0.001) {
+		if (t == omega && !fonds && ueb && Functions.nanZero(drLockInUebV) > 0.001) {
 			endZahlung += fRfB * Functions.nanZero(drLockInRzgV) / drLockInUebV;
 		}
-		if (deckungsStock.equals("Fonds")) {
+		if (fonds) {
 			endZahlung = sUeAfEntnahme + bar;
 		}
 		return endZahlung;
@@ -697,8 +894,30 @@ public class Deklaration {
 	 */
 	public static double bar(final String deckStock, final double pBarAuszKlassik, final double beitrag,
 			final double dekl, final double sueafZuf, final double sueafZuffRfBberlauf) {
+		return bar(deckStock.equals("Fonds"), pBarAuszKlassik, beitrag, dekl, sueafZuf, sueafZuffRfBberlauf);
+	}
+
+	/**
+	 * Wie {@link #bar(String, double, double, double, double, double)}, mit bereits ausgewertetem Deckungsstock.
+	 * 
+	 * @param fonds
+	 *            true fr Deckungsstock Fonds
+	 * @param pBarAuszKlassik
+	 *            Zielanteil der Barauszahlung an der Deklaration
+	 * @param beitrag
+	 *            deterministisch projezierte Beitrag zum VU-Zeitpunkt in t
+	 * @param dekl
+	 *            Stochastische Deklaration der berschussanteile fr die Rechnungszinsgeneration zum Zeitpunkt T
+	 * @param sueafZuf
+	 *            Die Zufhrung zum Schlussberschussfonds fr die Rechnungszinsgeneration zum Zeitpunkt T
+	 * @param sueafZuffRfBberlauf
+	 *            Zufhrung zum SAF durch berlauf der freien RfB
+	 * @return der Wert
+	 */
+	public static double bar(final boolean fonds, final double pBarAuszKlassik, final double beitrag,
+			final double dekl, final double sueafZuf, final double sueafZuffRfBberlauf) {
 
-		if (deckStock.equals("Fonds")) {
+		if (fonds) {
 			return Math.max(dekl - (sueafZuf - sueafZuffRfBberlauf), 0);
 		} else {
 			return Math.min(pBarAuszKlassik * beitrag, Math.max(dekl - (sueafZuf - sueafZuffRfBberlauf), 0));
@@ -827,12 +1046,106 @@ public class Deklaration {
 			final int omega, final int omegaRzg, final int t) {
 		switch (kdsFlag) {
 		case "KDS":
+			return sUeAfEntnahme(leSueAf, lGarN, lbwGar, sueAfV, sueAfZuf, sueAf56bEntnahme, kaGarXsN, lambda, monat,
+					false, rzg, flvZeile, omega, omegaRzg, t);
+		case "Fonds":
+			return sUeAfEntnahme(leSueAf, lGarN, lbwGar, sueAfV, sueAfZuf, sueAf56bEntnahme, kaGarXsN, lambda, monat,
+					true, rzg, flvZeile, omega, omegaRzg, t);
+		}
+		return 0.0;
+	}
+
+	/**
+	 * Wie
+	 * {@link #sUeAfEntnahme(double, double, double, double, double, double, double, double, double, String, int, FlvZeile, int, int, int)}
+	 * , mit bereits ausgewertetem Deckungsstock.
+	 * 
+	 * @param leSueAf
+	 *            Die (aggregierte) garantierte Erhhung der anfnglich garantierten Leistungen
+	 * @param lGarN
+	 *            Deterministisch projezierten, garantierten Leistungen im Jahr T+1
+	 * @param lbwGar
+	 *            Leistungsbarwert der zuknftigen Leistungen Ende Jahr T
+	 * @param sueAfV
+	 *            Wert des SAF im Jahr T-1
+	 * @param sueAfZuf
+	 *            SAF Zufhrung im Jahr T
+	 * @param sueAf56bEntnahme
+	 *            SAF 56b-Entnahme im Jahr T
+	 * @param kaGarXsN
+	 *            Excess-Betrag der garantietren Kapitalabfindung im jahr T+1
+	 * @param lambda
+	 *            Relative Bestandsnderung durch Storno zum Zeitpunkt T
+	 * @param monat
+	 *            Monat der Zahlungseingnge (VU-Zeitpunkt)
+	 * @param fonds
+	 *            true fr Deckungsstock Fonds, false fr KDS
+	 * @param rzg
+	 *            Rechnungszinsgeneration
+	 * @param flvZeile
+	 *            Flv-Zeile zu den nchsten sechs Excel-Parametern
+	 * @param omega
+	 *            max. Projektionslaenge (Zeitpunkte)
+	 * @param omegaRzg
+	 *            Projektionslnge, Versicherungstechnik
+	 * @param t
+	 *            Zeitpunkt
+	 * @return der Wert
+	 */
+	public static double sUeAfEntnahme(final double leSueAf, final double lGarN, final double lbwGar,
+			final double sueAfV, final double sueAfZuf, final double sueAf56bEntnahme, final double kaGarXsN,
+			final double lambda, final double monat, final boolean fonds, final int rzg, final FlvZeile flvZeile,
+			final int omega, final int omegaRzg, final int t) {
+		return sUeAfEntnahme(leSueAf, lGarN, lbwGar, sueAfV, sueAfZuf, sueAf56bEntnahme, kaGarXsN, lambda,
+				zinsFaktorMonat(rzg, monat), fonds, flvZeile, omega, omegaRzg, t);
+	}
+
+	/**
+	 * Wie
+	 * {@link #sUeAfEntnahme(double, double, double, double, double, double, double, double, double, boolean, int, FlvZeile, int, int, int)}
+	 * , mit bereits ermitteltem Zinsfaktor.
+	 * 
+	 * @param leSueAf
+	 *            Die (aggregierte) garantierte Erhhung der anfnglich garantierten Leistungen
+	 * @param lGarN
+	 *            Deterministisch projezierten, garantierten Leistungen im Jahr T+1
+	 * @param lbwGar
+	 *            Leistungsbarwert der zuknftigen Leistungen Ende Jahr T
+	 * @param sueAfV
+	 *            Wert des SAF im Jahr T-1
+	 * @param sueAfZuf
+	 *            SAF Zufhrung im Jahr T
+	 * @param sueAf56bEntnahme
+	 *            SAF 56b-Entnahme im Jahr T
+	 * @param kaGarXsN
+	 *            Excess-Betrag der garantietren Kapitalabfindung im jahr T+1
+	 * @param lambda
+	 *            Relative Bestandsnderung durch Storno zum Zeitpunkt T
+	 * @param zinsFaktor
+	 *            Zinsfaktor bis zum VU-Zeitpunkt, siehe {@link Functions#zinsFaktorMonat(double, double)}
+	 * @param fonds
+	 *            true fr Deckungsstock Fonds, false fr KDS
+	 * @param flvZeile
+	 *            Flv-Zeile zu den nchsten sechs Excel-Parametern
+	 * @param omega
+	 *            max. Projektionslaenge (Zeitpunkte)
+	 * @param omegaRzg
+	 *            Projektionslnge, Versicherungstechnik
+	 * @param t
+	 *            Zeitpunkt
+	 * @return der Wert
+	 */
+	public static double sUeAfEntnahme(final double leSueAf, final double lGarN, final double lbwGar,
+			final double sueAfV, final double sueAfZuf, final double sueAf56bEntnahme, final double kaGarXsN,
+			final double lambda, final double zinsFaktor, final boolean fonds, final FlvZeile flvZeile,
+			final int omega, final int omegaRzg, final int t) {
+		if (!fonds) {
 			if (lbwGar != 0.0) { // Wenn LBW_gar = 0 ist ist auch L_gar_n = 0 (keine SAF_Entnahme)
-				return leSueAf * (lGarN * lambda + kaGarXsN) / Math.pow(1 + inProzent(rzg), monat / 12.0);
+				return leSueAf * (lGarN * lambda + kaGarXsN) / zinsFaktor;
 			} else {
 				return sueAfV + sueAfZuf - sueAf56bEntnahme;
 			}
-		case "Fonds":
+		} else {
 			if (flvZeile.getFondguthabenStochZp() + flvZeile.getlKaAufschubStoch() > 0.0 && t < omegaRzg) {
 				return flvZeile.getlKaAufschubStoch()
 						/ (flvZeile.getFondguthabenStochZp() + flvZeile.getlKaAufschubStoch())
@@ -972,12 +1285,44 @@ public class Deklaration {
 	public static double lGesamt(final double leGesamt, final double lGar, final int t, final int rz,
 			final double vgBar, final double vgLambda, final double kaGarXs, final double rkwXs, final double monat,
 			final double lbw) {
+		return lGesamt(leGesamt, lGar, t, vgBar, vgLambda, kaGarXs, rkwXs, zinsFaktorMonat(rz, monat), lbw);
+	}
+
+	/**
+	 * Wie {@link #lGesamt(double, double, int, int, double, double, double, double, double, double)}, mit bereits
+	 * ermitteltem Zinsfaktor.
+	 * 
+	 * @param leGesamt
+	 *            Die gesamte Erhhung der anfnglich garantierten Leistungen duch Deklartion (Lock-In und SAF) zum
+	 *            Zeitpunkt T-1
+	 * @param lGar
+	 *            Wert des anfnglich garantierter Leistungs-Cashflow zum Zeitpunkt T
+	 * @param t
+	 *            Aktueller Zeitpunkt
+	 * @param vgBar
+	 *            Barauszahlung im Vorjahr
+	 * @param vgLambda
+	 *            Relative Bestandsnderung durch Storno zum Zeitpunkt T-1
+	 * @param kaGarXs
+	 *            Excess-Betrag der garantierten Kapitalabfindung im Jahr T
+	 * @param rkwXs
+	 *            Excess-Betrag der Rckkufe im Jahr T
+	 * @param zinsFaktor
+	 *            Zinsfaktor bis zum Monat der Zahlungseingnge, siehe
+	 *            {@link Functions#zinsFaktorMonat(double, double)}
+	 * @param lbw
+	 *            ?
+	 * @return Leistungscashflow
+	 */
+	public static double lGesamt(final double leGesamt, final double lGar, final int t, final double vgBar,
+			final double vgLambda, final double kaGarXs, final double rkwXs, final double zinsFaktor,
+			final double lbw) {
 		double lGesamt;
 		if (t != 0) {
 			lGesamt = (1.0 + nanZero(leGesamt)) * (vgLambda * lGar + kaGarXs) + rkwXs;
 
 			if (lbw > 0.001) {
-				lGesamt += nanZero(vgBar) * Math.pow(1.0 + inProzent(rz), monat / 12.0);
+				lGesamt += nanZero(vgBar) * zinsFaktor;
 			}
 		} else {
 			lGesamt = lGar;
@@ -1049,7 +1394,22 @@ public class Deklaration {
 	 * @return der Wert
 	 */
 	public static double beitragRueRzg(final String ueblob, final double rE, final double uE) {
-		if (ueblob.equals("UEB")) {
+		return beitragRueRzg(ueblob.equals("UEB"), rE, uE);
+	}
+
+	/**
+	 * Wie {@link #beitragRueRzg(String, double, double)}, mit bereits ausgewertetem Kennzeichen.
+	 * 
+	 * @param ueb
+	 *            true, wenn das Geschft berschussberechtigt ist (UEB)
+	 * @param rE
+	 *            stoch. Risikoergebnis der Bestandsgruppe
+	 * @param uE
+	 *            stoch. briges Ergebnis der Bestandsgruppe
+	 * @return der Wert
+	 */
+	public static double beitragRueRzg(final boolean ueb, final double rE, final double uE) {
+		if (ueb) {
 			return Math.max(rE + uE, 0.0);
 		}
 		return 0.0;
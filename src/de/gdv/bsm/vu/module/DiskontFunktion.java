@@ -47,7 +47,20 @@ public class DiskontFunktion {
 	 * @return der diskontierte Wert
 	 */
 	public static double dfVu(double value, AggZeile aggZeile, final double monat) {
-		return df(value, aggZeile) * Math.pow(1.0 + Functions.nanZero(aggZeile.getJaehrlZinsEsg()), 1.0 - monat / 12.0);
+		return df(value, aggZeile) * aggZeile.getDfVuFaktor(monat);
+	}
+
+	/**
+	 * Faktor der Diskontierung zum VU-Zeitpunkt.
+	 * 
+	 * @param jaehrlZinsEsg
+	 *            mittlerer jhrlicher Zins
+	 * @param monat
+	 *            VU-Zeitpunkt
+	 * @return der Faktor
+	 */
+	public static double vuFaktor(final double jaehrlZinsEsg, final double monat) {
+		return Math.pow(1.0 + Functions.nanZero(jaehrlZinsEsg), 1.0 - monat / 12.0);
 	}
 
 }
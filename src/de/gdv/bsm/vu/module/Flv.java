@@ -1,7 +1,7 @@
 package de.gdv.bsm.vu.module;
 
-import static de.gdv.bsm.vu.module.Functions.inProzent;
 import static de.gdv.bsm.vu.module.Functions.nanZero;
+import static de.gdv.bsm.vu.module.Functions.zinsFaktorRestjahr;
 
 import de.gdv.bsm.vu.berechnung.FlvZeile;
 import de.gdv.bsm.vu.berechnung.RzgZeile;
@@ -275,11 +275,32 @@ public class Flv {
 	 */
 	public static double beitraegeStoch(final double Lambda_v, final double Beitrag_det, final String kategorie,
 			final String deckungsstock, final FlvZeile zeile) {
+		return beitraegeStoch(Lambda_v, Beitrag_det, kategorie.equals("FLV"),
+				deckungsstock.equals(RzgZeile.DECKUNGS_STOCK_KDS), zeile);
+	}
 
-		if (!kategorie.equals("FLV")) {
+	/**
+	 * Wie {@link #beitraegeStoch(double, double, String, String, FlvZeile)}, mit bereits ausgewerteten Kennzeichen.
+	 *
+	 * @param Lambda_v
+	 *            Relative Bestandsnderung durch Storno zum Zeitpunkt T-1
+	 * @param Beitrag_det
+	 *            Beitraege im Jahr T, deterministisch
+	 * @param flv
+	 *            true fr das Fondgebundene Geschft
+	 * @param kds
+	 *            true fr den Deckungsstock KDS
+	 * @param zeile
+	 *            zugehrige Flvzeile
+	 * @return der Wert
+	 */
+	public static double beitraegeStoch(final double Lambda_v, final double Beitrag_det, final boolean flv,
+			final boolean kds, final FlvZeile zeile) {
+
+		if (!flv) {
 			return Lambda_v * Beitrag_det;
 		}
-		if (deckungsstock.equals(RzgZeile.DECKUNGS_STOCK_KDS)) {
+		if (kds) {
 			return zeile.getBeitragRenteStoch();
 
 		}
@@ -313,9 +334,63 @@ public class Flv {
 	public static double leistungsAnpassungFlv(final double leistungsAnpassungFlvV, final double beitraegeDet,
 			final double beitraegeStoch, final double lbw, final double rz, final String kategorie, final double monat,
 			final int t) {
-		if (kategorie.equals("FLV") && lbw > 0.001 && t > 0) {
-			return ((beitraegeStoch - beitraegeDet) * Math.pow(1.0 + inProzent(rz), (1.0 - monat / 12.0)) / lbw)
-					+ nanZero(leistungsAnpassungFlvV);
+		return leistungsAnpassungFlv(leistungsAnpassungFlvV, beitraegeDet, beitraegeStoch, lbw, rz,
+				kategorie.equals("FLV"), monat, t);
+	}
+
+	/**
+	 * Wie {@link #leistungsAnpassungFlv(double, double, double, double, double, String, double, int)}, mit bereits
+	 * ausgewerteter Kategorie.
+	 * 
+	 * @param leistungsAnpassungFlvV
+	 *            Garantierte Leistungsanpassung zum ZP T-1
+	 * @param beitraegeDet
+	 *            Deterministische Projektion des zur Verrentung kommenenden Kapitals
+	 * @param beitraegeStoch
+	 *            Kapitalmarktabhngige Projektion des zur Verrentung kommenenden Kapitals
+	 * @param lbw
+	 *            Der Barwert der garantierten Leistungscashflows, gebildet mit dem Rechnungszins
+	 * @param rz
+	 *            Rechnungszins der Bestandsgruppe
+	 * @param flv
+	 *            true fr das Fondgebundene Geschft
+	 * @param monat
+	 *            Monat der Zahlungseingnge
+	 * @param t
+	 *            Aktueller Zeitpunkt
+	 * @return der Wert
+	 */
+	public static double leistungsAnpassungFlv(final double leistungsAnpassungFlvV, final double beitraegeDet,
+			final double beitraegeStoch, final double lbw, final double rz, final boolean flv, final double monat,
+			final int t) {
+		return leistungsAnpassungFlv(leistungsAnpassungFlvV, beitraegeDet, beitraegeStoch, lbw,
+				zinsFaktorRestjahr(rz, monat), flv, t);
+	}
+
+	/**
+	 * Wie {@link #leistungsAnpassungFlv(double, double, double, double, double, boolean, double, int)}, mit bereits
+	 * ermitteltem Zinsfaktor.
+	 * 
+	 * @param leistungsAnpassungFlvV
+	 *            Garantierte Leistungsanpassung zum ZP T-1
+	 * @param beitraegeDet
+	 *            Deterministische Projektion des zur Verrentung kommenenden Kapitals
+	 * @param beitraegeStoch
+	 *            Kapitalmarktabhngige Projektion des zur Verrentung kommenenden Kapitals
+	 * @param lbw
+	 *            Der Barwert der garantierten Leistungscashflows, gebildet mit dem Rechnungszins
+	 * @param zinsFaktor
+	 *            Zinsfaktor bis zum Jahresende, siehe {@link Functions#zinsFaktorRestjahr(double, double)}
+	 * @param flv
+	 *            true fr das Fondgebundene Geschft
+	 * @param t
+	 *            Aktueller Zeitpunkt
+	 * @return der Wert
+	 */
+	public static double leistungsAnpassungFlv(final double leistungsAnpassungFlvV, final double beitraegeDet,
+			final double beitraegeStoch, final double lbw, final double zinsFaktor, final boolean flv, final int t) {
+		if (flv && lbw > 0.001 && t > 0) {
+			return ((beitraegeStoch - beitraegeDet) * zinsFaktor / lbw) + nanZero(leistungsAnpassungFlvV);
 		} else {
 			return 0.0;
 		}
@@ -42,6 +42,35 @@ public class Functions {
 		return Double.isNaN(x) ? 0.0 : x;
 	}
 
+	/**
+	 * Aufzinsungsfaktor mit dem Rechnungszins vom Monat der Zahlung bis zum Jahresende. Der Faktor hngt nur von der
+	 * Rechnungszinsgeneration und dem Monat ab und kann daher je Zeile einmal ermittelt und in allen Pfaden verwendet
+	 * werden.
+	 * 
+	 * @param rz
+	 *            Rechnungszins in Basispunkten
+	 * @param monat
+	 *            Monat der Zahlung (VU-Zeitpunkt)
+	 * @return der Faktor
+	 */
+	public static double zinsFaktorRestjahr(final double rz, final double monat) {
+		return Math.pow(1 + inProzent(rz), 1 - monat / 12.0);
+	}
+
+	/**
+	 * Aufzinsungsfaktor mit dem Rechnungszins vom Jahresbeginn bis zum Monat der Zahlung. Wie bei
+	 * {@link #zinsFaktorRestjahr(double, double)} hngt der Faktor nicht vom Pfad ab.
+	 * 
+	 * @param rz
+	 *            Rechnungszins in Basispunkten
+	 * @param monat
+	 *            Monat der Zahlung (VU-Zeitpunkt)
+	 * @return der Faktor
+	 */
+	public static double zinsFaktorMonat(final double rz, final double monat) {
+		return Math.pow(1 + inProzent(rz), monat / 12.0);
+	}
+
 	/**
 	 * Summiere die Zahlen eines Arrays.
 	 * 
@@ -2291,25 +2291,40 @@ public class KaModellierung {
 	 * 
 	 */
 	public static int laengeProjektionDR(final String Deckungsstock, final List<RzgZeile> zeilen) {
-		int index = 0;
 		switch (Deckungsstock) {
 		case RzgZeile.DECKUNGS_STOCK_KDS:
+			return laengeProjektionDR(false, zeilen);
+		case RzgZeile.DECKUNGS_STOCK_FONDS:
+			return laengeProjektionDR(true, zeilen);
+		default:
+			throw new IllegalArgumentException("unbekanter Deckungsstock");
+
+		}
+	}
+
+	/**
+	 * Wie {@link #laengeProjektionDR(String, List)}, der Deckungsstock ist aber bereits als Kennzeichen ausgewertet.
+	 * 
+	 * @param fonds
+	 *            true fr Deckungsstock Fonds, false fr KDS
+	 * @param zeilen
+	 *            Alle rzg-Zeilen mit gleichem lob, zins, altNeu und deckungsStock
+	 * @return den Wert
+	 */
+	public static int laengeProjektionDR(final boolean fonds, final List<RzgZeile> zeilen) {
+		int index = 0;
+		if (fonds) {
 			for (RzgZeile z : zeilen) {
-				if (z.getDrDet() != 0.0 || (z.getRisikoErgebnis() + z.getUebrigesErgebnis() != 0.0)) {
+				if (z.getRisikoErgebnis() + z.getUebrigesErgebnis() != 0.0) {
 					index = z.getZeit();
 				}
 			}
-			break;
-		case RzgZeile.DECKUNGS_STOCK_FONDS:
+		} else {
 			for (RzgZeile z : zeilen) {
-				if (z.getRisikoErgebnis() + z.getUebrigesErgebnis() != 0.0) {
+				if (z.getDrDet() != 0.0 || (z.getRisikoErgebnis() + z.getUebrigesErgebnis() != 0.0)) {
 					index = z.getZeit();
 				}
 			}
-			break;
-		default:
-			throw new IllegalArgumentException("unbekanter Deckungsstock");
-
 		}
 		return index;
 	}
@@ -2376,7 +2391,27 @@ public class KaModellierung {
 	 */
 	public static double cfGcrRzg(final String kennzeichenUeb, final double uE, final double ueAlt, final double ueNeu,
 			final double gcrAgg) {
-		if (kennzeichenUeb.equals("UEB") && ueAlt + ueNeu > 0.001) {
+		return cfGcrRzg(kennzeichenUeb.equals("UEB"), uE, ueAlt, ueNeu, gcrAgg);
+	}
+
+	/**
+	 * Wie {@link #cfGcrRzg(String, double, double, double, double)}, mit bereits ausgewertetem Kennzeichen.
+	 * 
+	 * @param ueb
+	 *            true, wenn die Bestandsgruppe berschussberechtigt ist (UEB)
+	 * @param uE
+	 *            ?
+	 * @param ueAlt
+	 *            ?
+	 * @param ueNeu
+	 *            ?
+	 * @param gcrAgg
+	 *            ?
+	 * @return der Wert
+	 */
+	public static double cfGcrRzg(final boolean ueb, final double uE, final double ueAlt, final double ueNeu,
+			final double gcrAgg) {
+		if (ueb && ueAlt + ueNeu > 0.001) {
 			return uE / (ueAlt + ueNeu) * gcrAgg;
 		}
 		return 0.0;
@@ -2,6 +2,7 @@ package de.gdv.bsm.vu.module;
 
 import static de.gdv.bsm.vu.module.Functions.inProzent;
 import static de.gdv.bsm.vu.module.Functions.nanZero;
+import static de.gdv.bsm.vu.module.Functions.zinsFaktorRestjahr;
 
 /**
  * Funktionen des Excel-Moduls <code>Kundenverhalten</code>.
@@ -39,7 +40,7 @@ public class Kundenverhalten {
 	 */
 	public static double sBasis(final double lRkw, final double drDet, final int zinsGeneration, final double monat) {
 		if (drDet > 0.001) {
-			return lRkw * Math.pow(1 + inProzent(zinsGeneration), 1 - monat / 12.0) / drDet;
+			return lRkw * zinsFaktorRestjahr(zinsGeneration, monat) / drDet;
 		} else {
 			return 0.0;
 		}
@@ -96,7 +97,33 @@ public class Kundenverhalten {
 	 */
 	public static double lambdaStorno(final String zinsSensitiv, final double vgDeltaI, final double deltaTol,
 			final double deltaStorno, final double sBasis, final double drDet) {
-		if (drDet <= 0.001 || !zinsSensitiv.equals("j")) {
+		if (drDet <= 0.001) {
+			return 0.0;
+		}
+		return lambdaStorno(zinsSensitiv.equals("j"), vgDeltaI, deltaTol, deltaStorno, sBasis, drDet);
+	}
+
+	/**
+	 * Wie {@link #lambdaStorno(String, double, double, double, double, double)}, das Kennzeichen zinssensitiv ist
+	 * aber bereits beim Einlesen ausgewertet worden.
+	 * 
+	 * @param zinsSensitiv
+	 *            true, wenn das VN-Verhalten zinssensitiv ist (j)
+	 * @param vgDeltaI
+	 *            Zinsabstand zum Zeitpunkt T-1
+	 * @param deltaTol
+	 *            Toleranzschwelle fr den Zinsausschlag
+	 * @param deltaStorno
+	 *            Intensitt der Stornovernderung
+	 * @param sBasis
+	 *            Durchschnittliche Stornowahrscheinlichkeit zum Zeitpunkt T
+	 * @param drDet
+	 *            Deterministische Deckungsrckstellung zum Zeitpunkt T
+	 * @return Basisstorno
+	 */
+	public static double lambdaStorno(final boolean zinsSensitiv, final double vgDeltaI, final double deltaTol,
+			final double deltaStorno, final double sBasis, final double drDet) {
+		if (drDet <= 0.001 || !zinsSensitiv) {
 			return 0.0;
 		}
 		double lambdaStorno = 100 * Math.signum(vgDeltaI) * Math.max(Math.abs(vgDeltaI) - deltaTol, 0.0) * deltaStorno;
@@ -136,11 +163,41 @@ public class Kundenverhalten {
 	 */
 	public static double lambdaKa(final String zinssensitiv, final double deltaIV, final double deltaTol,
 			final double DeltaKa, final double drDet, final double ka, final double lambdaStorno, final double sBasis) {
+		if (drDet <= 0.001) {
+			return 0.0;
+		}
+		return lambdaKa(zinssensitiv.equals("j"), deltaIV, deltaTol, DeltaKa, drDet, ka, lambdaStorno, sBasis);
+	}
+
+	/**
+	 * Wie {@link #lambdaKa(String, double, double, double, double, double, double, double)}, das Kennzeichen
+	 * zinssensitiv ist aber bereits beim Einlesen ausgewertet worden.
+	 * 
+	 * @param zinssensitiv
+	 *            true, wenn das VN-Verhalten zinssensitiv ist (j)
+	 * @param deltaIV
+	 *            Zinsabstand zum Zeitpunkt T-1
+	 * @param deltaTol
+	 *            Toleranzschwelle fr den Zinsausschlag
+	 * @param DeltaKa
+	 *            Intensitt der Vernderung der Kapitalwahl in Abhngigkeit vom Zinsumfeld
+	 * @param drDet
+	 *            Deterministische Deckungsrckstellung im Jahr T-1
+	 * @param ka
+	 *            Kapitalabfindungen (nur von Rentenversicherungen) zum Zeitpunkt T
+	 * @param lambdaStorno
+	 *            Prozentuale Vernderung des Basisstornos zum Ende des Jahres T
+	 * @param sBasis
+	 *            ?
+	 * @return den Wert
+	 */
+	public static double lambdaKa(final boolean zinssensitiv, final double deltaIV, final double deltaTol,
+			final double DeltaKa, final double drDet, final double ka, final double lambdaStorno, final double sBasis) {
 		double lambdaKa = 0.0;
 		if (drDet <= 0.001) {
 			return 0.0;
 		}
-		if (zinssensitiv.equals("j")) {
+		if (zinssensitiv) {
 			lambdaKa = 100.0 * Math.signum(deltaIV) * Math.max(Math.abs(deltaIV) - deltaTol, 0.0) * DeltaKa;
 			lambdaKa = Math.max(-1.0, lambdaKa);
 			if (ka > 0.001) {
@@ -166,8 +223,27 @@ public class Kundenverhalten {
 	 */
 	public static double lambda(final String zinsSensitiv, final double vgLambda, final double lambdaStorno,
 			final double sBasis) {
+		return lambda(zinsSensitiv.equals("j"), vgLambda, lambdaStorno, sBasis);
+	}
+
+	/**
+	 * Wie {@link #lambda(String, double, double, double)}, das Kennzeichen zinssensitiv ist aber bereits beim
+	 * Einlesen ausgewertet worden.
+	 * 
+	 * @param zinsSensitiv
+	 *            true, wenn das VN-Verhalten zinssensitiv ist (j)
+	 * @param vgLambda
+	 *            Relative Bestandsnderung durch Storno zum Zeitpunkt T-1
+	 * @param lambdaStorno
+	 *            Prozentuale Vernderung des Basisstornos zum Ende des Jahres T
+	 * @param sBasis
+	 *            Durchschnittliche Stornowahrscheinlichkeit zum Zeitpunkt T einer Rechnungszinsgeneration
+	 * @return Bestandsnderung
+	 */
+	public static double lambda(final boolean zinsSensitiv, final double vgLambda, final double lambdaStorno,
+			final double sBasis) {
 		final double lambda;
-		if (zinsSensitiv.equals("j")) {
+		if (zinsSensitiv) {
 			lambda = vgLambda * (1.0 - lambdaStorno * sBasis);
 		} else {
 			lambda = vgLambda;
@@ -219,11 +295,46 @@ public class Kundenverhalten {
 	public static double rkwXs(final double sBasis, final double lambda, final double vgLambda,
 			final double lambdaStorno, final double drDet, final double vgLeLockInAggrFLV, final double lbwGar,
 			final double vgLaKapWahlXsAggr, final double lbwSonstErl, final double zinsGeneration, final double monat) {
+		return rkwXs(sBasis, lambda, vgLambda, lambdaStorno, drDet, vgLeLockInAggrFLV, lbwGar, vgLaKapWahlXsAggr,
+				lbwSonstErl, zinsFaktorRestjahr(zinsGeneration, monat));
+	}
+
+	/**
+	 * Wie {@link #rkwXs(double, double, double, double, double, double, double, double, double, double, double)}, mit
+	 * bereits ermitteltem Zinsfaktor.
+	 * 
+	 * @param sBasis
+	 *            Durchschnittliche Stornowahrscheinlichkeit zum Zeitpunkt T
+	 * @param lambda
+	 *            Relative Bestandsnderung durch Storno zum Zeitpunkt T
+	 * @param vgLambda
+	 *            Relative Bestandsnderung durch Storno zum Zeitpunkt T-1
+	 * @param lambdaStorno
+	 *            Prozentuale Vernderung des Basisstornos zum Ende des Jahres T
+	 * @param drDet
+	 *            Deckungsrckstellung fr nfnglich garantierte Leistungen im Jahr T
+	 * @param vgLeLockInAggrFLV
+	 *            Garantierte Erhhung der anfnglich garantierten Leistungen zum Zeitpunkt T
+	 * @param lbwGar
+	 *            Barwert der zuknftigen, deterministisch projezierten Leistungen zum Ende des Jahres T
+	 * @param vgLaKapWahlXsAggr
+	 *            Leistungsanpassung der zuknftigen Erlebensfallleistungen durch pfadabhngige Kapitalwahlnderung bis
+	 *            zum Jahr T
+	 * @param lbwSonstErl
+	 *            Barwert der zuknftigen, deterministisch projezierten sonstigen Erlebensfallleistungen zum Ende des
+	 *            Jahres T
+	 * @param zinsFaktor
+	 *            Zinsfaktor bis zum VU-Zeitpunkt, siehe {@link Functions#zinsFaktorRestjahr(double, double)}
+	 * @return Betrag
+	 */
+	public static double rkwXs(final double sBasis, final double lambda, final double vgLambda,
+			final double lambdaStorno, final double drDet, final double vgLeLockInAggrFLV, final double lbwGar,
+			final double vgLaKapWahlXsAggr, final double lbwSonstErl, final double zinsFaktor) {
 		if (lambda != 0.0) {
 			return vgLambda * lambdaStorno * sBasis
 					* (drDet + (Double.isNaN(vgLeLockInAggrFLV) ? 0.0 : vgLeLockInAggrFLV) * lbwGar / lambda
 							+ (Double.isNaN(vgLaKapWahlXsAggr) ? 0.0 : vgLaKapWahlXsAggr) * lbwSonstErl)
-					/ Math.pow(1 + inProzent(zinsGeneration), 1 - monat / 12.0);
+					/ zinsFaktor;
 		} else {
 			return 0.0;
 		}
@@ -268,9 +379,30 @@ public class Kundenverhalten {
 	 */
 	public static double laKapWahlXsAggr(final double vgLaKapWahlXsAggr, final double kaGarXs,
 			final double lbwGarSonstErl, final double rz, final double lambda, final double monat) {
+		return laKapWahlXsAggr(vgLaKapWahlXsAggr, kaGarXs, lbwGarSonstErl, lambda, zinsFaktorRestjahr(rz, monat));
+	}
+
+	/**
+	 * Wie {@link #laKapWahlXsAggr(double, double, double, double, double, double)}, mit bereits ermitteltem
+	 * Zinsfaktor.
+	 * 
+	 * @param vgLaKapWahlXsAggr
+	 *            Leistungsanpassung der zuknftigen Erlebensfallleistungen durch pfadabhngige Kapitalwahlnderung bis
+	 *            zum Jahr T-1
+	 * @param kaGarXs
+	 *            Excess Betrag fr die garantierten Rckkaufsleistunen zum Zeitpunkt T
+	 * @param lbwGarSonstErl
+	 *            Barwert der zuknftigen, deterministisch projezierten sonstigen Erlebensfallleistungen
+	 * @param lambda
+	 *            Relative Bestandsnderung durch Storno zum Zeitpunkt T
+	 * @param zinsFaktor
+	 *            Zinsfaktor bis zum VU-Zeitpunkt, siehe {@link Functions#zinsFaktorRestjahr(double, double)}
+	 * @return Leistungsanpassung
+	 */
+	public static double laKapWahlXsAggr(final double vgLaKapWahlXsAggr, final double kaGarXs,
+			final double lbwGarSonstErl, final double lambda, final double zinsFaktor) {
 		if (lbwGarSonstErl > 0.001 && lambda != 0) {
-			return nanZero(vgLaKapWahlXsAggr)
-					- kaGarXs * Math.pow(1.0 + inProzent(rz), 1.0 - monat / 12.0) / (lambda * lbwGarSonstErl);
+			return nanZero(vgLaKapWahlXsAggr) - kaGarXs * zinsFaktor / (lambda * lbwGarSonstErl);
 		} else {
 			return 0.0;
 		}
@@ -52,8 +52,39 @@ public class Rohueberschuss {
 	public static double zzrJ(final String altNeu, final double rz, final double ref, final double ref2M,
 			final double aufwand, final double dr, final String zzrMethode, final double korrekturRechnungsgrundl,
 			final double refStartR) {
+		return zzrJ(altNeu.equals("a"), rz, ref, ref2M, aufwand, dr, zzrMethode.equals("2M"),
+				korrekturRechnungsgrundl, refStartR);
+	}
+
+	/**
+	 * Wie {@link #zzrJ(String, double, double, double, double, double, String, double, double)}, mit bereits
+	 * ausgewerteten Kennzeichen.
+	 * 
+	 * @param altBestand
+	 *            true fr den Altbestand (a)
+	 * @param rz
+	 *            Rechnungszinsgeneration in Basispunkten
+	 * @param ref
+	 *            Referenzzinssatz
+	 * @param ref2M
+	 *            Referenzzinssatz, 2M
+	 * @param aufwand
+	 *            Aufwand fr die Zinszusatzreserve in Basispunkten bezogen auf die HGB-Deckungsrckstellung
+	 * @param dr
+	 *            HGB-Deckungsrckstellung
+	 * @param zzrMethode2M
+	 *            true, wenn die ZZR Methode fr Altbestand 2M ist
+	 * @param korrekturRechnungsgrundl
+	 *            Korrekturterm fr den Referenzzins aufgrund reduzierter Margen in Rechnungsgrundlagen
+	 * @param refStartR
+	 *            Startwert Referenzzins
+	 * @return der Wert
+	 */
+	public static double zzrJ(final boolean altBestand, final double rz, final double ref, final double ref2M,
+			final double aufwand, final double dr, final boolean zzrMethode2M, final double korrekturRechnungsgrundl,
+			final double refStartR) {
 		double ref_zins;
-		if (altNeu.equals("a") && zzrMethode.equals("2M")) {
+		if (altBestand && zzrMethode2M) {
 			ref_zins = ref2M;
 		} else {
 			ref_zins = ref;
@@ -146,6 +177,59 @@ public class Rohueberschuss {
 			final double lErlT, final double kaXs, final double vgLaKapWahlXsAggr, final double vgLbwSonstErl,
 			final double vuZeitpunkt, final double vgLambda, final double beitraegeStoch, final double beitraegeDet,
 			final String kategorie) {
+		return rmZTarif(rmzTarif, leAggrRz, lbwT, lbwT1, lt, t, rz, sueAfV, barAus, rkwXs, lErlT, kaXs,
+				vgLaKapWahlXsAggr, vgLbwSonstErl, vuZeitpunkt, vgLambda, beitraegeStoch, beitraegeDet,
+				kategorie.equals("FLV"));
+	}
+
+	/**
+	 * Wie die gleichnamige Funktion mit der Kategorie als Text, die Kategorie ist aber bereits ausgewertet.
+	 * 
+	 * @param rmzTarif
+	 *            Rechnnungsmiger Zinsaufwand aus der deterministischen Projektion
+	 * @param leAggrRz
+	 *            Garantierte Leistungserhhung aus dem Jahr t-1 fr die RZG rz
+	 * @param lbwT
+	 *            Leistungsbarwert aus der deterministischer Projektion, Jahr t
+	 * @param lbwT1
+	 *            Leistungsbarwert aus der deterministischer Projektion, Jahr t-1
+	 * @param lt
+	 *            Gesamtleistung, determinisch, Jahr t
+	 * @param t
+	 *            Aktueller Zeitpunkt
+	 * @param rz
+	 *            Rechnungszins
+	 * @param sueAfV
+	 *            SAF Entnahme
+	 * @param barAus
+	 *            Barauszahlung
+	 * @param rkwXs
+	 *            Rckkaufswerte Excess Betrag
+	 * @param lErlT
+	 *            Sonstige Erlebens-fallleistungen
+	 * @param kaXs
+	 *            Kapitalabfindung Excess Betrag
+	 * @param vgLaKapWahlXsAggr
+	 *            Leistungsanpassung Kapitalwahl
+	 * @param vgLbwSonstErl
+	 *            Leistungsbarwert SonstErll, deterministisch
+	 * @param vuZeitpunkt
+	 *            Monat der Auszahlung
+	 * @param vgLambda
+	 *            Gesamt Storno
+	 * @param beitraegeStoch
+	 *            Beitrge, stochastisch
+	 * @param beitraegeDet
+	 *            Prmien
+	 * @param flv
+	 *            true fr die Kategorie FLV
+	 * @return Aufwendungen
+	 */
+	public static double rmZTarif(final double rmzTarif, final double leAggrRz, final double lbwT, final double lbwT1,
+			final double lt, final int t, final double rz, final double sueAfV, final double barAus, final double rkwXs,
+			final double lErlT, final double kaXs, final double vgLaKapWahlXsAggr, final double vgLbwSonstErl,
+			final double vuZeitpunkt, final double vgLambda, final double beitraegeStoch, final double beitraegeDet,
+			final boolean flv) {
 
 		double rmZTarif;
 		if (t > 0 && lbwT1 > 0.001) {
@@ -158,7 +242,7 @@ public class Rohueberschuss {
 					- alpha * (rkwXs + (1 + nanZero(leAggrRz)) * kaXs + vgLambda * nanZero(vgLaKapWahlXsAggr) * lErlT)
 					+ (nanZero(sueAfV) + nanZero(barAus)) * beta;
 
-			if (kategorie.equals("FLV")) {
+			if (flv) {
 				rmZTarif = rmZTarif + (beitraegeStoch - vgLambda * beitraegeDet) * alpha;
 			}
 		} else {
@@ -586,49 +670,131 @@ public class Rohueberschuss {
 			final double i56bfRfB, final double i56bSueaf, final double sueafVj, final int strategie,
 			final double[] rfb56bVj, final double drVorDeklUeb, final double drLockInUebV, final double ke,
 			final double aKe) {
-		double JUe = 0.0, rfbZuf = 0.0, RfB56b = 0.0;
-
-		double KE_EK;
-		double JUE_Ziel_3;
-
-		// kein Unterschied bei Strategie
-		// Ermittlung der Hilfekennzahlen
-		final double sumRfb10 = mittlRfbZuf10J(t, vuHistorie, // RfB_Historie,
-				rfbZufVj, rfb56bVj);
-		final double sumRohueb10 = mittlRohueb10J(t, vuHistorie, // Rohueb_Historie,
-				rohueberschuss);
-
-		final double mBeteiligungVN;
-		if (sumRohueb10 > 1.0) {
-			mBeteiligungVN = Math.max(Math.min(sumRfb10 / sumRohueb10, 0.9), 0.0);
-		} else {
-			mBeteiligungVN = 0.9;
+		final double[] werte = new double[3];
+		jUERfBZuf(werte, t, rohueberschuss, mindZfGes, mindZf, jueZiel, ueeBestand, freieRfbVj, rfbZufVj,
+				vuHistorie, pRohueb, i56bfRfB, i56bSueaf, sueafVj, strategie, rfb56bVj, drVorDeklUeb, drLockInUebV,
+				ke, aKe);
+		switch (ergebnis) {
+		case 1:
+		case 2:
+		case 3:
+			return werte[ergebnis - 1];
+		default:
+			// dieser Fall darf eigentlich nicht eintreten
+			return Double.NaN;
 		}
+	}
 
+	/**
+	 * Wie {@link #jUERfBZuf(int, int, double[], double, double, double, double, double, double[], VUHistorie, double,
+	 * double, double, double, int, double[], double, double, double, double)}, liefert aber alle drei Ergebnisse aus
+	 * einer Auswertung. Die Aufteilung ist auf kleine Methoden verteilt, damit der JIT-Compiler sie in den Aufrufer
+	 * einbetten kann.
+	 * 
+	 * @param ergebnis
+	 *            nimmt die Ergebnisse auf (0 - realisierter Jahresberschuss, 1 - RfB Zuf, 2 - RfB 56b-Entnahme)
+	 * @param t
+	 *            Aktueller Zeitpunkt
+	 * @param rohueberschuss
+	 *            Rohberschuss
+	 * @param mindZfGes
+	 *            Mindestzufhrung gesamt (inkl. Krzungskonto)
+	 * @param mindZf
+	 *            Mindestzufhrung
+	 * @param jueZiel
+	 *            Ziel-Jahresberschuss
+	 * @param ueeBestand
+	 *            Kostenberschuss Bestand
+	 * @param freieRfbVj
+	 *            freie RfB zum Zeitpunkt t - 1
+	 * @param rfbZufVj
+	 *            Zufhrung zur Rckstellung fr Beitragsrckerstattung aus den Vorjahren
+	 * @param vuHistorie
+	 *            historische Werte fr die RfB Zufhrung und den Rohberschuss
+	 * @param pRohueb
+	 *            Managementregel (Beteiligung der VN am Rohberschuss)
+	 * @param i56bfRfB
+	 *            Managementregel (Entnahme aus der freien RfB bei negativer Rohberschussbeteiligung)
+	 * @param i56bSueaf
+	 *            Managementregel (Entnahme aus dem SAF bei negativer Rohberschussbeteiligung)
+	 * @param sueafVj
+	 *            SAF aus dem Vorjahr
+	 * @param strategie
+	 *            Strategie zur Ermittlung der Beteiligung der Versicherungsnehmer und Jahresberschuss
+	 * @param rfb56bVj
+	 *            Hhe der Entnahme aus der nicht festgelegten RfB gem 56b VAG zum Zeitpunkt t-1
+	 * @param drVorDeklUeb
+	 *            Deckungsrckstellung vor Deklaration zum Ende des Jahres t
+	 * @param drLockInUebV
+	 *            Deckungsrckstellung fr garantierte Leistungen zum Ende des Jahres t-1
+	 * @param ke
+	 *            Kapitalertrag
+	 * @param aKe
+	 *            Anrechenbare Kapitalertrge
+	 */
+	public static void jUERfBZuf(final double[] ergebnis, final int t, final double[] rohueberschuss,
+			final double mindZfGes, final double mindZf, final double jueZiel, final double ueeBestand,
+			final double freieRfbVj, final double[] rfbZufVj, final VUHistorie vuHistorie, final double pRohueb,
+			final double i56bfRfB, final double i56bSueaf, final double sueafVj, final int strategie,
+			final double[] rfb56bVj, final double drVorDeklUeb, final double drLockInUebV, final double ke,
+			final double aKe) {
 		final double rohUeb = nanZero(rohueberschuss[t]);
 
 		// a
 		if (rohUeb > mindZfGes) {
-			switch (strategie) {
-			case 1: // Steuerung ber die VN-Zielbeteiligung
-				JUe = Math.min(jueZiel, rohUeb - mindZfGes);
-				rfbZuf = rohUeb - JUe;
-				RfB56b = 0.0;
-				break;
-			case 2: // Steuerung ber eine Zielverzinsung des Eigenkapitals
-				rfbZuf = Math.max(pRohueb * rohUeb, mindZfGes);
-				JUe = rohUeb - rfbZuf;
-				RfB56b = 0.0;
-				break;
-			case 3: // KE_EK = NVZ * (EK + BW_GRK + DR_NUEB) + ZiRaZu
-				KE_EK = ke - aKe;
-				JUE_Ziel_3 = Math.max((1.0 - pRohueb) * (rohUeb - KE_EK), 0) + KE_EK;
-				rfbZuf = Math.max(rohUeb - JUE_Ziel_3, mindZfGes);
-				JUe = rohUeb - rfbZuf;
-				break;
-			}
-			// b
-		} else if (Math.min(0, ueeBestand) <= rohUeb && rohUeb <= mindZfGes) {
+			verteilungUeberMindZf(ergebnis, rohUeb, mindZfGes, jueZiel, pRohueb, strategie, ke, aKe);
+		} else {
+			verteilungBisMindZf(ergebnis, rohUeb, mindZfGes, mindZf, ueeBestand, freieRfbVj, i56bfRfB, i56bSueaf,
+					sueafVj, t, vuHistorie, rfbZufVj, rfb56bVj, rohueberschuss);
+		}
+
+		if (drLockInUebV == 0.0 && drVorDeklUeb == 0.0) {
+			ergebnis[0] = ergebnis[0] + ergebnis[1];
+			ergebnis[1] = 0.0;
+		}
+	}
+
+	/**
+	 * Fall a der Excel-Funktion JUE_RfBZuf: Rohberschuss oberhalb der Mindestzufhrung gesamt.
+	 */
+	private static void verteilungUeberMindZf(final double[] ergebnis, final double rohUeb, final double mindZfGes,
+			final double jueZiel, final double pRohueb, final int strategie, final double ke, final double aKe) {
+		double JUe = 0.0, rfbZuf = 0.0;
+
+		double KE_EK;
+		double JUE_Ziel_3;
+
+		switch (strategie) {
+		case 1: // Steuerung ber die VN-Zielbeteiligung
+			JUe = Math.min(jueZiel, rohUeb - mindZfGes);
+			rfbZuf = rohUeb - JUe;
+			break;
+		case 2: // Steuerung ber eine Zielverzinsung des Eigenkapitals
+			rfbZuf = Math.max(pRohueb * rohUeb, mindZfGes);
+			JUe = rohUeb - rfbZuf;
+			break;
+		case 3: // KE_EK = NVZ * (EK + BW_GRK + DR_NUEB) + ZiRaZu
+			KE_EK = ke - aKe;
+			JUE_Ziel_3 = Math.max((1.0 - pRohueb) * (rohUeb - KE_EK), 0) + KE_EK;
+			rfbZuf = Math.max(rohUeb - JUE_Ziel_3, mindZfGes);
+			JUe = rohUeb - rfbZuf;
+			break;
+		}
+		ergebnis[0] = JUe;
+		ergebnis[1] = rfbZuf;
+		ergebnis[2] = 0.0;
+	}
+
+	/**
+	 * Flle b und c der Excel-Funktion JUE_RfBZuf: Rohberschuss hchstens in Hhe der Mindestzufhrung gesamt.
+	 */
+	private static void verteilungBisMindZf(final double[] ergebnis, final double rohUeb, final double mindZfGes,
+			final double mindZf, final double ueeBestand, final double freieRfbVj, final double i56bfRfB,
+			final double i56bSueaf, final double sueafVj, final int t, final VUHistorie vuHistorie,
+			final double[] rfbZufVj, final double[] rfb56bVj, final double[] rohueberschuss) {
+		double JUe, rfbZuf, RfB56b;
+		// b
+		if (Math.min(0, ueeBestand) <= rohUeb && rohUeb <= mindZfGes) {
 			// b1
 			if (mindZf <= rohUeb && rohUeb <= mindZfGes) {
 				// kein Unterschied bei Strategie
@@ -645,26 +811,31 @@ public class Rohueberschuss {
 			// c
 		} else {
 			rfbZuf = 0.0;
-			RfB56b = Math.min(-1.0 * mBeteiligungVN * rohUeb,
+			RfB56b = Math.min(-1.0 * beteiligungVN(t, vuHistorie, rfbZufVj, rfb56bVj, rohueberschuss) * rohUeb,
 					i56bfRfB * Math.max(freieRfbVj, 0.0) + i56bSueaf * Math.max(sueafVj, 0.0));
 			JUe = rohUeb + RfB56b;
 		}
+		ergebnis[0] = JUe;
+		ergebnis[1] = rfbZuf;
+		ergebnis[2] = RfB56b;
+	}
 
-		if (drLockInUebV == 0.0 && drVorDeklUeb == 0.0) {
-			JUe = JUe + rfbZuf;
-			rfbZuf = 0.0;
-		}
+	/**
+	 * Mittlere Beteiligung der VN am Rohberschuss der letzten zehn Jahre, begrenzt auf 0 bis 90%.
+	 */
+	private static double beteiligungVN(final int t, final VUHistorie vuHistorie, final double[] rfbZufVj,
+			final double[] rfb56bVj, final double[] rohueberschuss) {
+		// kein Unterschied bei Strategie
+		// Ermittlung der Hilfekennzahlen
+		final double sumRfb10 = mittlRfbZuf10J(t, vuHistorie, // RfB_Historie,
+				rfbZufVj, rfb56bVj);
+		final double sumRohueb10 = mittlRohueb10J(t, vuHistorie, // Rohueb_Historie,
+				rohueberschuss);
 
-		switch (ergebnis) {
-		case 1:
-			return JUe;
-		case 2:
-			return rfbZuf;
-		case 3:
-			return RfB56b;
-		default:
-			// dieser Fall darf eigentlich nicht eintreten
-			return Double.NaN;
+		if (sumRohueb10 > 1.0) {
+			return Math.max(Math.min(sumRfb10 / sumRohueb10, 0.9), 0.0);
+		} else {
+			return 0.9;
 		}
 	}
 
@@ -754,18 +925,18 @@ public class Rohueberschuss {
 	 * @param t
 	 *            Aktueller Zeitpunkt
 	 * @param zzrSpotEsgArr
-	 *            Renditen von AAA-Anleihen der Jahre -9,...,0
+	 *            Rendite einer 10 Jhrigen Anleihe der Jahre 0,1,2,..., T, indiziert ber die Zeit
 	 * @param zinsArr
-	 *            Rendite einer 10 Jhrigen Anleihe der Jahre 0,1,2,..., T
+	 *            Renditen von AAA-Anleihen der Jahre 0,-1,...,-9, indiziert ber das negative Vorzeichen der Zeit
 	 * @return Referenzzinssatz
 	 */
 	public static double referenzZinssatz(final int t, final double[] zzrSpotEsgArr, final double[] zinsArr) {
 		double referenzZinssatz = 0.0;
 		for (int i = 0; i <= 9; ++i) {
 			if (t - i > 0) {
-				referenzZinssatz += zzrSpotEsgArr[i];
+				referenzZinssatz += zzrSpotEsgArr[t - i];
 			} else {
-				referenzZinssatz += zinsArr[i];
+				referenzZinssatz += zinsArr[i - t];
 			}
 		}
 		return referenzZinssatz /= 10.0;